@@ -1,9 +1,9 @@
 package com.group6.trafficgraphoptimizer;
 
-import com.group6.trafficgraphoptimizer.graph.Edge;
 import com.group6.trafficgraphoptimizer.graph.Graph;
 import com.group6.trafficgraphoptimizer.graph.Node;
 import com.group6.trafficgraphoptimizer.router.AdaptiveRouter;
+import com.group6.trafficgraphoptimizer.router.RouteResult;
 import com.group6.trafficgraphoptimizer.metrics.MetricsLogger;
 
 import java.io.File;
@@ -34,8 +34,9 @@ public class MainApp {
         // Run router
         AdaptiveRouter router = new AdaptiveRouter(graph);
         long startTime = System.currentTimeMillis();
-        List<Node> path = router.findShortestPath(A, D);
+        RouteResult route = router.route(A, D);
         long endTime = System.currentTimeMillis();
+        List<Node> path = route.getPath();
 
         // Print path
         if (path.isEmpty()) {
@@ -44,24 +45,12 @@ public class MainApp {
             System.out.println(" Path found from A to D:");
             path.forEach(n -> System.out.print(n + " "));
             System.out.println();
+            System.out.printf(" Cost: %.2f with traffic, %.2f without%n", route.getAdjustedCost(), route.getBaseCost());
         }
 
-        // Compute path cost
-        double totalCost = 0.0;
-        for (int i = 0; i < path.size() - 1; i++) {
-            Node from = path.get(i);
-            Node to = path.get(i + 1);
-            for (Edge edge : graph.getEdgesFrom(from)) {
-                if (edge.getTo().equals(to)) {
-                    totalCost += edge.getWeight(); // NOTE: This is original weight, not adjusted
-                    break;
-                }
-            }
-        }
-
-        // Log metrics
+        // Log metrics, with the cost the router actually optimized
         MetricsLogger logger = new MetricsLogger();
-        logger.log("A", "D", path.size(), totalCost, endTime - startTime);
+        logger.log("A", "D", path.size(), route.isFound() ? route.getAdjustedCost() : 0.0, endTime - startTime);
 
         // Ensure output directory exists
         File resultsDir = new File("results");
@@ -0,0 +1,147 @@
+package com.group6.trafficgraphoptimizer.experiment;
+
+import java.util.*;
+
+/**
+ * Settings of a load experiment, parsed from {@code --key=value} arguments.
+ * Every setting has a default, so running without arguments gives a small
+ * smoke test.
+ */
+public final class ExperimentConfig {
+
+    /** Router names understood by {@link ExperimentRunner}. */
+    public static final List<String> ROUTERS = List.of("static", "bidirectional", "adaptive", "alt", "ch", "crp");
+
+    /** Topologies understood by {@link ExperimentRunner}. */
+    public static final List<String> TOPOLOGIES = List.of("random", "grid");
+
+    private int nodes = 10_000;
+    private int edges = -1;
+    private int queries = 10_000;
+    private int warmupQueries = -1;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private long seed = 42L;
+    private List<String> routers = List.of("static", "bidirectional", "adaptive");
+    private String topology = "random";
+    private String output = "results/load_metrics.csv";
+
+    /**
+     * Parses command-line arguments such as {@code --nodes=1000000 --threads=8 --routers=static,ch}.
+     *
+     * @param args the arguments
+     * @return the configuration
+     * @throws IllegalArgumentException on unknown keys or invalid values
+     */
+    public static ExperimentConfig parse(String... args) {
+        ExperimentConfig config = new ExperimentConfig();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --key=value but got '" + arg + "'\n" + usage());
+            }
+            String key = arg.substring(2, eq);
+            String value = arg.substring(eq + 1);
+            switch (key) {
+                case "nodes": config.nodes = positive(key, value); break;
+                case "edges": config.edges = positive(key, value); break;
+                case "queries": config.queries = positive(key, value); break;
+                case "warmup": config.warmupQueries = nonNegative(key, value); break;
+                case "threads": config.threads = positive(key, value); break;
+                case "seed": config.seed = Long.parseLong(value); break;
+                case "routers": config.routers = routers(value); break;
+                case "topology": config.topology = oneOf(key, value, TOPOLOGIES); break;
+                case "output": config.output = value; break;
+                default: throw new IllegalArgumentException("Unknown option --" + key + "\n" + usage());
+            }
+        }
+        return config;
+    }
+
+    /**
+     * @return a description of the supported options and their defaults
+     */
+    public static String usage() {
+        return "Options: --nodes=10000 --edges=<4 x nodes> --queries=10000 --warmup=<queries / 10>"
+                + " --threads=<cores> --seed=42 --routers=static,bidirectional,adaptive"
+                + " (any of " + String.join(",", ROUTERS) + ") --topology=random|grid"
+                + " --output=results/load_metrics.csv";
+    }
+
+    public int getNodes() {
+        return nodes;
+    }
+
+    /**
+     * @return number of random edges to generate, by default four per node;
+     *         ignored for grids
+     */
+    public int getEdges() {
+        return edges < 0 ? (int) Math.min(Integer.MAX_VALUE, 4L * nodes) : edges;
+    }
+
+    public int getQueries() {
+        return queries;
+    }
+
+    /**
+     * @return queries run per router before measuring, by default a tenth of the measured ones
+     */
+    public int getWarmupQueries() {
+        return warmupQueries < 0 ? queries / 10 : warmupQueries;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public List<String> getRouters() {
+        return routers;
+    }
+
+    public String getTopology() {
+        return topology;
+    }
+
+    public String getOutput() {
+        return output;
+    }
+
+    @Override
+    public String toString() {
+        return topology + " graph with " + nodes + " nodes, " + queries + " queries on " + threads
+                + " threads, seed " + seed + ", routers " + routers;
+    }
+
+    private static int positive(String key, String value) {
+        int parsed = Integer.parseInt(value);
+        if (parsed < 1) throw new IllegalArgumentException("--" + key + " must be positive: " + value);
+        return parsed;
+    }
+
+    private static int nonNegative(String key, String value) {
+        int parsed = Integer.parseInt(value);
+        if (parsed < 0) throw new IllegalArgumentException("--" + key + " must not be negative: " + value);
+        return parsed;
+    }
+
+    private static String oneOf(String key, String value, List<String> allowed) {
+        if (!allowed.contains(value)) {
+            throw new IllegalArgumentException("--" + key + " must be one of " + allowed + ": " + value);
+        }
+        return value;
+    }
+
+    private static List<String> routers(String value) {
+        List<String> names = new ArrayList<>();
+        for (String name : value.split(",")) {
+            String trimmed = name.trim();
+            if (!names.contains(trimmed)) names.add(oneOf("routers", trimmed, ROUTERS));
+        }
+        if (names.isEmpty()) throw new IllegalArgumentException("--routers must name at least one router");
+        return List.copyOf(names);
+    }
+}
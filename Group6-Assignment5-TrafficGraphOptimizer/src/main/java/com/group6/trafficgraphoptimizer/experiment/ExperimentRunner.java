@@ -1,131 +1,468 @@
 package com.group6.trafficgraphoptimizer.experiment;
 
 import com.group6.trafficgraphoptimizer.graph.*;
+import com.group6.trafficgraphoptimizer.metrics.LatencyHistogram;
+import com.group6.trafficgraphoptimizer.metrics.MetricsLogger;
 import com.group6.trafficgraphoptimizer.router.*;
+import com.group6.trafficgraphoptimizer.router.ch.CHRouter;
+import com.group6.trafficgraphoptimizer.router.crp.CRPRouter;
+import com.group6.trafficgraphoptimizer.traffic.RandomTrafficModel;
 import com.opencsv.CSVWriter;
 
+import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Extended ExperimentRunner that logs:
- * - Path length
- * - Cost improvement
- * - Time improvement
+ * Load driver for the routers. Builds one shared graph of the configured size
+ * and topology, then for each selected router runs a warmup followed by the
+ * measured queries, spread over a fixed pool of threads. Every router answers
+ * the same seeded sequence of queries.
+ * <p>
+ * Reports per router:
+ * - Setup time (preprocessing)
+ * - Throughput in queries per second
+ * - Mean, p50, p90, p99, p99.9 and max latency
+ * <p>
+ * It also replays the first measured queries one at a time on the forward
+ * and the bidirectional {@link StaticRouter} and reports, per run, the cost,
+ * latency and settled nodes of both, and the overall savings of the
+ * bidirectional search.
+ * <p>
+ * Latencies go into per-router {@link LatencyHistogram}s of a
+ * {@link MetricsLogger}, so memory does not grow with the query count, and
+ * the logger takes an interval snapshot every second.
+ * <p>
+ * Usage: {@code ExperimentRunner --nodes=1000000 --queries=100000 --threads=8 --routers=static,ch},
+ * see {@link ExperimentConfig#usage()}.
  */
 public class ExperimentRunner {
 
-    private static final int NUM_RUNS = 100;
-    private static final int MIN_NODES = 200;
-    private static final int MAX_NODES = 300;
-    private static final int MIN_EDGES = 500;
-    private static final int MAX_EDGES = 1000;
+    // Queries a worker claims at once, to keep the shared counter cold
+    private static final int BATCH = 64;
 
     private static final String[] CSV_HEADER = {
+            "Router", "Topology", "Nodes", "Edges", "Threads", "Queries", "Found",
+            "Setup(ms)", "Throughput(q/s)", "Mean(us)", "P50(us)", "P90(us)", "P99(us)", "P99.9(us)", "Max(us)"
+    };
+
+    private static final String[] COMPARISON_HEADER = {
             "Run", "Start", "End",
-            "StaticCost", "StaticTime(ms)", "StaticPathLen",
-            "AdaptiveCost", "AdaptiveTime(ms)", "AdaptivePathLen",
-            "CostDelta(%)", "TimeDelta(%)"
+            "StaticCost", "StaticTime(ms)", "StaticSettled",
+            "BidirCost", "BidirTime(ms)", "BidirSettled"
     };
 
+    private static final long INTERVAL_MILLIS = 1000;
+
+    // Queries replayed for the forward versus bidirectional comparison
+    private static final int COMPARISON_RUNS = 100;
+
+    private final ExperimentConfig config;
+    private final MetricsLogger logger = new MetricsLogger();
+    private BidirectionalComparison comparison;
+
+    public ExperimentRunner(ExperimentConfig config) {
+        this.config = Objects.requireNonNull(config);
+    }
+
+    /**
+     * @return the logger holding the latency histograms and interval snapshots of the run
+     */
+    public MetricsLogger getLogger() {
+        return logger;
+    }
+
+    /**
+     * @return the forward versus bidirectional comparison of the last run, or null before the first
+     */
+    public BidirectionalComparison getComparison() {
+        return comparison;
+    }
+
     public static void main(String[] args) {
-        List<String[]> records = new ArrayList<>();
-        records.add(CSV_HEADER);
+        ExperimentConfig config;
+        try {
+            config = ExperimentConfig.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println("❌ " + e.getMessage());
+            return;
+        }
+
+        System.out.println("Running " + config);
+        ExperimentRunner runner = new ExperimentRunner(config);
+        List<RouterResult> results = runner.run();
+        for (RouterResult result : results) {
+            System.out.println(result);
+        }
+        writeCsv(config, results);
+        runner.getComparison().print();
+        runner.getComparison().writeCsv(config.getOutput().replaceFirst("(\\.csv)?$", "_bidirectional.csv"));
+        String intervals = config.getOutput().replaceFirst("(\\.csv)?$", "_intervals.csv");
+        runner.getLogger().exportLatencyIntervalsToCSV(intervals);
+    }
+
+    /**
+     * Runs the experiment.
+     *
+     * @return one result per configured router, in configuration order
+     */
+    public List<RouterResult> run() {
+        Graph graph = createGraph();
+        CompactGraph snapshot = graph.snapshot();
+        System.out.printf("Graph ready: %d nodes, %d edges%n", snapshot.nodeCount(), snapshot.edgeCount());
+
+        int warmup = config.getWarmupQueries();
+        int total = config.getQueries() + warmup;
+        Node[] starts = new Node[total];
+        Node[] ends = new Node[total];
+        SplittableRandom random = new SplittableRandom(config.getSeed());
+        for (int i = 0; i < total; i++) {
+            starts[i] = snapshot.node(random.nextInt(snapshot.nodeCount()));
+            ends[i] = snapshot.node(random.nextInt(snapshot.nodeCount()));
+        }
+
+        List<RouterResult> results = new ArrayList<>();
+        ExecutorService pool = Executors.newFixedThreadPool(config.getThreads());
+        ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor();
+        try {
+            ticker.scheduleAtFixedRate(logger::snapshotIntervals, INTERVAL_MILLIS, INTERVAL_MILLIS,
+                    TimeUnit.MILLISECONDS);
+            for (String name : config.getRouters()) {
+                long setupStart = System.nanoTime();
+                Router router = createRouter(name, graph);
+                long setupNanos = System.nanoTime() - setupStart;
 
-        for (int i = 1; i <= NUM_RUNS; i++) {
-            Graph graph = generateRandomGraph();
-            List<Node> nodeList = new ArrayList<>(graph.getNodes());
-            Node start = getRandomNode(nodeList);
-            Node end = getRandomNode(nodeList);
-            while (end.equals(start)) {
-                end = getRandomNode(nodeList);
+                runQueries(pool, router, starts, ends, config.getQueries(), warmup, new LatencyHistogram());
+                LatencyHistogram histogram = logger.latencyHistogram(name);
+                Measurement measurement = runQueries(pool, router, starts, ends, 0, config.getQueries(), histogram);
+                results.add(new RouterResult(name, config, snapshot.edgeCount(), setupNanos,
+                        measurement.elapsedNanos, measurement.found, histogram.snapshot()));
             }
+        } finally {
+            ticker.shutdownNow();
+            pool.shutdown();
+        }
+        logger.snapshotIntervals();
+        comparison = compareBidirectional(graph, starts, ends, warmup, Math.min(COMPARISON_RUNS, config.getQueries()));
+        return results;
+    }
 
-            // Static routing
-            StaticRouter staticRouter = new StaticRouter(graph);
+    // Replays queries [first, first + count) on one thread with both static modes
+    private static BidirectionalComparison compareBidirectional(Graph graph, Node[] starts, Node[] ends,
+                                                                int first, int count) {
+        StaticRouter staticRouter = new StaticRouter(graph);
+        StaticRouter bidirRouter = new StaticRouter(graph, StaticRouter.Mode.BIDIRECTIONAL);
+        BidirectionalComparison comparison = new BidirectionalComparison();
+        for (int i = first; i < first + count; i++) {
             long staticStart = System.nanoTime();
-            List<Node> staticPath = staticRouter.findShortestPath(start, end);
-            long staticEnd = System.nanoTime();
-            double staticTime = (staticEnd - staticStart) / 1_000_000.0;
-            double staticCost = calculatePathCost(staticPath, graph);
-            int staticLen = staticPath.size();
-
-            // Adaptive routing
-            AdaptiveRouter adaptiveRouter = new AdaptiveRouter(graph);
-            long adaptiveStart = System.nanoTime();
-            List<Node> adaptivePath = adaptiveRouter.findShortestPath(start, end);
-            long adaptiveEnd = System.nanoTime();
-            double adaptiveTime = (adaptiveEnd - adaptiveStart) / 1_000_000.0;
-            double adaptiveCost = calculatePathCost(adaptivePath, graph);
-            int adaptiveLen = adaptivePath.size();
-
-            double costDelta = staticCost > 0 ? ((staticCost - adaptiveCost) / staticCost) * 100 : 0;
-            double timeDelta = staticTime > 0 ? ((staticTime - adaptiveTime) / staticTime) * 100 : 0;
+            RouteResult staticResult = staticRouter.route(starts[i], ends[i], comparison.staticStats);
+            long staticNanos = System.nanoTime() - staticStart;
 
-            records.add(new String[] {
-                    String.valueOf(i),
-                    start.getId(), end.getId(),
-                    String.format("%.3f", staticCost),
-                    String.format("%.3f", staticTime),
-                    String.valueOf(staticLen),
-                    String.format("%.3f", adaptiveCost),
-                    String.format("%.3f", adaptiveTime),
-                    String.valueOf(adaptiveLen),
-                    String.format("%.2f", costDelta),
-                    String.format("%.2f", timeDelta)
+            long bidirStart = System.nanoTime();
+            RouteResult bidirResult = bidirRouter.route(starts[i], ends[i], comparison.bidirStats);
+            long bidirNanos = System.nanoTime() - bidirStart;
+
+            comparison.add(starts[i], ends[i], staticResult, staticNanos, bidirResult, bidirNanos);
+        }
+        return comparison;
+    }
+
+    private Graph createGraph() {
+        Random rand = new Random(config.getSeed());
+        if ("grid".equals(config.getTopology())) {
+            int side = (int) Math.ceil(Math.sqrt(config.getNodes()));
+            return GraphGenerator.grid(side, side, rand);
+        }
+        return GraphGenerator.random(config.getNodes(), config.getEdges(), rand);
+    }
+
+    private Router createRouter(String name, Graph graph) {
+        switch (name) {
+            case "static":
+                return new StaticRouter(graph);
+            case "bidirectional":
+                return new StaticRouter(graph, StaticRouter.Mode.BIDIRECTIONAL);
+            case "adaptive":
+                return new AdaptiveRouter(graph, new RandomTrafficModel(RandomTrafficModel.DEFAULT_MAX_INCREASE,
+                        config.getSeed()));
+            case "alt":
+                return new AltRouter(graph);
+            case "ch":
+                return new CHRouter(graph);
+            case "crp":
+                return new CRPRouter(graph);
+            default:
+                throw new IllegalArgumentException("Unknown router: " + name);
+        }
+    }
+
+    // Runs queries [first, first + count) on all threads, recording each latency
+    private Measurement runQueries(ExecutorService pool, Router router, Node[] starts, Node[] ends,
+                                   int first, int count, LatencyHistogram latencies) {
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger found = new AtomicInteger();
+        List<Callable<Void>> workers = new ArrayList<>(config.getThreads());
+        for (int t = 0; t < config.getThreads(); t++) {
+            workers.add(() -> {
+                int localFound = 0;
+                for (int from = next.getAndAdd(BATCH); from < count; from = next.getAndAdd(BATCH)) {
+                    for (int i = from, last = Math.min(count, from + BATCH); i < last; i++) {
+                        long queryStart = System.nanoTime();
+                        List<Node> path = router.findShortestPath(starts[first + i], ends[first + i]);
+                        latencies.record(System.nanoTime() - queryStart);
+                        if (!path.isEmpty()) localFound++;
+                    }
+                }
+                found.addAndGet(localFound);
+                return null;
             });
+        }
 
-            System.out.printf("Run %3d | ΔCost: %6.2f%% | ΔTime: %6.2f%%\n", i, costDelta, timeDelta);
+        long start = System.nanoTime();
+        try {
+            for (Future<Void> future : pool.invokeAll(workers)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running queries", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Query failed", e.getCause());
         }
+        return new Measurement(System.nanoTime() - start, found.get());
+    }
 
-        try (CSVWriter writer = new CSVWriter(new FileWriter("results/compare_metrics.csv"))) {
+    private static void writeCsv(ExperimentConfig config, List<RouterResult> results) {
+        List<String[]> records = new ArrayList<>();
+        records.add(CSV_HEADER);
+        for (RouterResult result : results) {
+            records.add(new String[] {
+                    result.getRouter(),
+                    config.getTopology(),
+                    String.valueOf(config.getNodes()),
+                    String.valueOf(result.getEdges()),
+                    String.valueOf(config.getThreads()),
+                    String.valueOf(result.getQueries()),
+                    String.valueOf(result.getFound()),
+                    String.format("%.1f", result.getSetupNanos() / 1_000_000.0),
+                    String.format("%.1f", result.getThroughput()),
+                    String.format("%.1f", result.getMeanMicros()),
+                    String.format("%.1f", result.percentileMicros(50)),
+                    String.format("%.1f", result.percentileMicros(90)),
+                    String.format("%.1f", result.percentileMicros(99)),
+                    String.format("%.1f", result.percentileMicros(99.9)),
+                    String.format("%.1f", result.percentileMicros(100))
+            });
+        }
+
+        File parent = new File(config.getOutput()).getParentFile();
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
+        }
+        try (CSVWriter writer = new CSVWriter(new FileWriter(config.getOutput()))) {
             writer.writeAll(records);
-            System.out.println("✅ Extended results written to results/compare_metrics.csv");
+            System.out.println("✅ Results written to " + config.getOutput());
         } catch (IOException e) {
             System.err.println("❌ Failed to write CSV: " + e.getMessage());
         }
     }
 
-    private static Graph generateRandomGraph() {
-        Graph graph = new Graph();
-        Random rand = new Random();
-        int numNodes = rand.nextInt(MAX_NODES - MIN_NODES + 1) + MIN_NODES;
-        int numEdges = rand.nextInt(MAX_EDGES - MIN_EDGES + 1) + MIN_EDGES;
-
-        List<Node> nodes = new ArrayList<>();
-        for (int i = 0; i < numNodes; i++) {
-            Node node = new Node("N" + i);
-            nodes.add(node);
-            graph.addNode(node);
-        }
-
-        for (int i = 0; i < numEdges; i++) {
-            Node from = nodes.get(rand.nextInt(numNodes));
-            Node to = nodes.get(rand.nextInt(numNodes));
-            if (!from.equals(to)) {
-                double weight = 1.0 + rand.nextDouble() * 9.0;
-                graph.addEdge(from, to, weight);
-            }
+    private static double percentSaved(double baseline, double improved) {
+        return baseline > 0 ? ((baseline - improved) / baseline) * 100 : 0;
+    }
+
+    private static final class Measurement {
+        final long elapsedNanos;
+        final int found;
+
+        Measurement(long elapsedNanos, int found) {
+            this.elapsedNanos = elapsedNanos;
+            this.found = found;
         }
+    }
 
-        return graph;
+    /**
+     * Throughput and latency distribution of one router.
+     */
+    public static final class RouterResult {
+        private final String router;
+        private final int edges;
+        private final int threads;
+        private final long setupNanos;
+        private final long elapsedNanos;
+        private final int found;
+        private final LatencyHistogram.Snapshot latencies;
+
+        RouterResult(String router, ExperimentConfig config, int edges, long setupNanos, long elapsedNanos,
+                     int found, LatencyHistogram.Snapshot latencies) {
+            this.router = router;
+            this.edges = edges;
+            this.threads = config.getThreads();
+            this.setupNanos = setupNanos;
+            this.elapsedNanos = elapsedNanos;
+            this.found = found;
+            this.latencies = latencies;
+        }
+
+        public String getRouter() {
+            return router;
+        }
+
+        public int getEdges() {
+            return edges;
+        }
+
+        public int getQueries() {
+            return (int) latencies.getCount();
+        }
+
+        /**
+         * @return number of queries that found a path
+         */
+        public int getFound() {
+            return found;
+        }
+
+        /**
+         * @return time spent building the router, including any preprocessing
+         */
+        public long getSetupNanos() {
+            return setupNanos;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * @return measured queries per second of wall-clock time over all threads
+         */
+        public double getThroughput() {
+            return elapsedNanos == 0 ? 0.0 : latencies.getCount() * 1e9 / elapsedNanos;
+        }
+
+        public double getMeanMicros() {
+            return latencies.getMean() / 1000.0;
+        }
+
+        /**
+         * Gets a latency percentile, accurate to within 1%.
+         *
+         * @param percentile between 0 and 100, where 100 gives the maximum
+         * @return the latency in microseconds
+         */
+        public double percentileMicros(double percentile) {
+            return latencies.getValueAtPercentile(percentile) / 1000.0;
+        }
+
+        public LatencyHistogram.Snapshot getLatencies() {
+            return latencies;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-13s | %2d threads | %10.1f q/s | p50 %9.1f us | p99 %9.1f us"
+                            + " | max %9.1f us | setup %8.1f ms | found %d/%d",
+                    router, threads, getThroughput(), percentileMicros(50), percentileMicros(99),
+                    percentileMicros(100), setupNanos / 1_000_000.0, found, getQueries());
+        }
     }
 
-    private static double calculatePathCost(List<Node> path, Graph graph) {
-        double total = 0.0;
-        for (int i = 0; i < path.size() - 1; i++) {
-            for (Edge edge : graph.getEdgesFrom(path.get(i))) {
-                if (edge.getTo().equals(path.get(i + 1))) {
-                    total += edge.getWeight();
-                    break;
-                }
+    /**
+     * Cost, latency and settled nodes of the forward and the bidirectional
+     * static search on the same queries.
+     */
+    public static final class BidirectionalComparison {
+        private final List<String[]> records = new ArrayList<>();
+        private final SearchStats staticStats = new SearchStats();
+        private final SearchStats bidirStats = new SearchStats();
+        private long staticNanos;
+        private long bidirNanos;
+        private int mismatches;
+
+        BidirectionalComparison() {
+            records.add(COMPARISON_HEADER);
+        }
+
+        private void add(Node start, Node end, RouteResult staticResult, long staticTime,
+                         RouteResult bidirResult, long bidirTime) {
+            staticNanos += staticTime;
+            bidirNanos += bidirTime;
+            // Unreachable on both sides gives NaN, which is not a mismatch
+            if (Math.abs(staticResult.getBaseCost() - bidirResult.getBaseCost()) > 1e-9) mismatches++;
+            records.add(new String[] {
+                    String.valueOf(records.size()),
+                    start.getId(),
+                    end.getId(),
+                    String.format("%.3f", staticResult.getBaseCost()),
+                    String.format("%.3f", staticTime / 1_000_000.0),
+                    String.valueOf(staticResult.getSettledNodes()),
+                    String.format("%.3f", bidirResult.getBaseCost()),
+                    String.format("%.3f", bidirTime / 1_000_000.0),
+                    String.valueOf(bidirResult.getSettledNodes())
+            });
+        }
+
+        /**
+         * @return number of replayed queries
+         */
+        public int getRuns() {
+            return records.size() - 1;
+        }
+
+        /**
+         * @return settled nodes and relaxed edges of the forward search over all runs
+         */
+        public SearchStats getStaticStats() {
+            return staticStats;
+        }
+
+        /**
+         * @return settled nodes and relaxed edges of the bidirectional search over all runs
+         */
+        public SearchStats getBidirectionalStats() {
+            return bidirStats;
+        }
+
+        /**
+         * @return runs where the two searches returned different costs, which should never happen
+         */
+        public int getCostMismatches() {
+            return mismatches;
+        }
+
+        public double getSettledSavedPercent() {
+            return percentSaved(staticStats.getSettledNodes(), bidirStats.getSettledNodes());
+        }
+
+        public double getTimeSavedPercent() {
+            return percentSaved(staticNanos, bidirNanos);
+        }
+
+        void print() {
+            for (String[] record : records.subList(1, records.size())) {
+                System.out.printf("Run %3s | static %s in %s ms, %s settled | bidir %s in %s ms, %s settled%n",
+                        record[0], record[3], record[4], record[5], record[6], record[7], record[8]);
+            }
+            System.out.println(this);
+        }
+
+        void writeCsv(String output) {
+            try (CSVWriter writer = new CSVWriter(new FileWriter(output))) {
+                writer.writeAll(records);
+                System.out.println("✅ Bidirectional comparison written to " + output);
+            } catch (IOException e) {
+                System.err.println("❌ Failed to write CSV: " + e.getMessage());
             }
         }
-        return path.isEmpty() ? Double.POSITIVE_INFINITY : total;
-    }
 
-    private static Node getRandomNode(List<Node> nodes) {
-        return nodes.get(new Random().nextInt(nodes.size()));
+        @Override
+        public String toString() {
+            return String.format("Bidirectional search: %.2f%% fewer settled nodes, %.2f%% less time over %d runs",
+                    getSettledSavedPercent(), getTimeSavedPercent(), getRuns());
+        }
     }
 }
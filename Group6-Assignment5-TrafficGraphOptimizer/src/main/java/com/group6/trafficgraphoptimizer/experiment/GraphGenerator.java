@@ -0,0 +1,80 @@
+package com.group6.trafficgraphoptimizer.experiment;
+
+import com.group6.trafficgraphoptimizer.graph.Graph;
+import com.group6.trafficgraphoptimizer.graph.Node;
+
+import java.util.*;
+
+/**
+ * Builds synthetic road networks for experiments and benchmarks.
+ * All generators are deterministic for a given {@link Random} seed.
+ */
+public final class GraphGenerator {
+
+    private GraphGenerator() {
+    }
+
+    /**
+     * Generates a graph with random directed edges between uniformly chosen nodes.
+     * Self-loops are skipped, so the result may have slightly fewer edges.
+     *
+     * @param numNodes number of intersections
+     * @param numEdges number of road attempts
+     * @param rand     source of randomness
+     * @return the generated graph
+     */
+    public static Graph random(int numNodes, int numEdges, Random rand) {
+        Graph graph = new Graph();
+        List<Node> nodes = addNodes(graph, numNodes);
+
+        for (int i = 0; i < numEdges; i++) {
+            Node from = nodes.get(rand.nextInt(numNodes));
+            Node to = nodes.get(rand.nextInt(numNodes));
+            if (!from.equals(to)) {
+                double weight = 1.0 + rand.nextDouble() * 9.0;
+                graph.addEdge(from, to, weight);
+            }
+        }
+
+        return graph;
+    }
+
+    /**
+     * Generates a city-block grid where every intersection is connected to its
+     * horizontal and vertical neighbours in both directions.
+     *
+     * @param width  intersections per row
+     * @param height number of rows
+     * @param rand   source of randomness for the edge weights
+     * @return the generated graph
+     */
+    public static Graph grid(int width, int height, Random rand) {
+        Graph graph = new Graph();
+        List<Node> nodes = addNodes(graph, width * height);
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                Node node = nodes.get(y * width + x);
+                if (x + 1 < width) connect(graph, node, nodes.get(y * width + x + 1), rand);
+                if (y + 1 < height) connect(graph, node, nodes.get((y + 1) * width + x), rand);
+            }
+        }
+
+        return graph;
+    }
+
+    private static List<Node> addNodes(Graph graph, int numNodes) {
+        List<Node> nodes = new ArrayList<>(numNodes);
+        for (int i = 0; i < numNodes; i++) {
+            Node node = new Node("N" + i);
+            nodes.add(node);
+            graph.addNode(node);
+        }
+        return nodes;
+    }
+
+    private static void connect(Graph graph, Node a, Node b, Random rand) {
+        graph.addEdge(a, b, 1.0 + rand.nextDouble() * 9.0);
+        graph.addEdge(b, a, 1.0 + rand.nextDouble() * 9.0);
+    }
+}
@@ -0,0 +1,230 @@
+package com.group6.trafficgraphoptimizer.graph;
+
+import java.util.*;
+
+/**
+ * {@link CompactGraph} held in heap arrays, built from a {@link Graph} or
+ * directly from an edge list.
+ */
+final class ArrayCompactGraph extends CompactGraph {
+
+    private final long version;
+
+    // Dense index to node and back
+    private final NodeIndex nodes;
+
+    // offsets[v]..offsets[v + 1] are the edge slots of node v
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+
+    // Stable Edge id of each slot, see Edge#getId()
+    private final int[] edgeIds;
+
+    // inOffsets[v]..inOffsets[v + 1] index inEdges/inSources for the edges into v
+    private final int[] inOffsets;
+    private final int[] inEdges;
+    private final int[] inSources;
+
+    private ArrayCompactGraph(long version, NodeIndex nodes,
+                              int[] offsets, int[] targets, double[] weights, int[] edgeIds) {
+        this.version = version;
+        this.nodes = nodes;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.edgeIds = edgeIds;
+
+        // Counting sort of the edge slots by target builds the reverse index
+        int n = nodes.size();
+        this.inOffsets = new int[n + 1];
+        for (int target : targets) {
+            inOffsets[target + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            inOffsets[v + 1] += inOffsets[v];
+        }
+        this.inEdges = new int[targets.length];
+        this.inSources = new int[targets.length];
+        int[] fill = Arrays.copyOf(inOffsets, n);
+        for (int v = 0; v < n; v++) {
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int i = fill[targets[e]]++;
+                inEdges[i] = e;
+                inSources[i] = v;
+            }
+        }
+    }
+
+    // Shares everything but the weights with the base graph
+    private ArrayCompactGraph(ArrayCompactGraph base, double[] weights) {
+        this.version = base.version;
+        this.nodes = base.nodes;
+        this.offsets = base.offsets;
+        this.targets = base.targets;
+        this.weights = weights;
+        this.edgeIds = base.edgeIds;
+        this.inOffsets = base.inOffsets;
+        this.inEdges = base.inEdges;
+        this.inSources = base.inSources;
+    }
+
+    static ArrayCompactGraph build(Graph graph) {
+        long version = graph.getVersion();
+        NodeRegistry nodes = graph.copyNodes();
+        int n = nodes.size();
+        int m = 0;
+        for (int v = 0; v < n; v++) {
+            m += graph.getEdgesFrom(v).size();
+        }
+
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[m];
+        double[] weights = new double[m];
+        int[] edgeIds = new int[m];
+        int slot = 0;
+        for (int v = 0; v < n; v++) {
+            offsets[v] = slot;
+            for (Edge edge : graph.getEdgesFrom(v)) {
+                targets[slot] = edge.target();
+                weights[slot] = edge.getWeight();
+                edgeIds[slot] = edge.getId();
+                slot++;
+            }
+        }
+        offsets[n] = slot;
+
+        return new ArrayCompactGraph(version, nodes, offsets, targets, weights, edgeIds);
+    }
+
+    /**
+     * Copies the structure of a snapshot with new weights, sharing the arrays
+     * when the snapshot is held on the heap.
+     */
+    static ArrayCompactGraph reweight(CompactGraph graph, double[] weights) {
+        if (weights.length != graph.edgeCount()) {
+            throw new IllegalArgumentException("Expected " + graph.edgeCount() + " weights but got " + weights.length);
+        }
+        if (graph instanceof ArrayCompactGraph) {
+            return new ArrayCompactGraph((ArrayCompactGraph) graph, weights.clone());
+        }
+        int n = graph.nodeCount();
+        int m = graph.edgeCount();
+        int[] offsets = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            offsets[v] = graph.firstEdge(v);
+        }
+        offsets[n] = m;
+        int[] targets = new int[m];
+        int[] edgeIds = new int[m];
+        for (int e = 0; e < m; e++) {
+            targets[e] = graph.target(e);
+            edgeIds[e] = graph.edgeId(e);
+        }
+        return new ArrayCompactGraph(graph.getVersion(), NodeIndex.of(graph), offsets, targets, weights.clone(),
+                edgeIds);
+    }
+
+    /**
+     * Builds the CSR arrays from an edge list by a stable counting sort on the
+     * source, so each node's edges keep their list order. The position of an
+     * edge in the list becomes its edge id.
+     *
+     * @param nodes   the node numbering
+     * @param sources source index of each edge
+     * @param targets target index of each edge
+     * @param weights weight of each edge
+     * @param count   number of edges, i.e. used length of the arrays
+     */
+    static ArrayCompactGraph fromEdges(NodeIndex nodes, int[] sources, int[] targets, double[] weights, int count) {
+        int n = nodes.size();
+        int[] offsets = new int[n + 1];
+        for (int e = 0; e < count; e++) {
+            offsets[sources[e] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] slotTargets = new int[count];
+        double[] slotWeights = new double[count];
+        int[] edgeIds = new int[count];
+        int[] fill = Arrays.copyOf(offsets, n);
+        for (int e = 0; e < count; e++) {
+            int slot = fill[sources[e]]++;
+            slotTargets[slot] = targets[e];
+            slotWeights[slot] = weights[e];
+            edgeIds[slot] = e;
+        }
+        return new ArrayCompactGraph(0, nodes, offsets, slotTargets, slotWeights, edgeIds);
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public int nodeCount() {
+        return nodes.size();
+    }
+
+    @Override
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    @Override
+    public int indexOf(Node node) {
+        return nodes.indexOf(node);
+    }
+
+    @Override
+    public Node node(int v) {
+        return nodes.node(v);
+    }
+
+    @Override
+    public int firstEdge(int v) {
+        return offsets[v];
+    }
+
+    @Override
+    public int endEdge(int v) {
+        return offsets[v + 1];
+    }
+
+    @Override
+    public int target(int edge) {
+        return targets[edge];
+    }
+
+    @Override
+    public double weight(int edge) {
+        return weights[edge];
+    }
+
+    @Override
+    public int edgeId(int edge) {
+        return edgeIds[edge];
+    }
+
+    @Override
+    public int firstInEdge(int v) {
+        return inOffsets[v];
+    }
+
+    @Override
+    public int endInEdge(int v) {
+        return inOffsets[v + 1];
+    }
+
+    @Override
+    public int inEdge(int i) {
+        return inEdges[i];
+    }
+
+    @Override
+    public int inSource(int i) {
+        return inSources[i];
+    }
+}
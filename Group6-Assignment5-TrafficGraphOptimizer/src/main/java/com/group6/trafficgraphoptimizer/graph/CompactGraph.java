@@ -0,0 +1,112 @@
+package com.group6.trafficgraphoptimizer.graph;
+
+/**
+ * Immutable compressed-sparse-row (CSR) snapshot of a {@link Graph}.
+ * Nodes are numbered densely from 0 in the graph's insertion order and the
+ * outgoing edges of node {@code v} occupy the slots
+ * {@code [firstEdge(v), endEdge(v))} of the primitive edge arrays, so routers
+ * can relax edges without hashing node ids or following object pointers.
+ * <p>
+ * A reverse index lists the incoming edges of every node the same way, for
+ * searches that run from the target backwards.
+ * <p>
+ * Snapshots built with {@link #of(Graph)} live on the heap; snapshots loaded
+ * with {@link GraphFile#map(java.nio.file.Path)} read the same layout straight
+ * from a memory-mapped file.
+ */
+public abstract class CompactGraph {
+
+    CompactGraph() {
+    }
+
+    /**
+     * Freezes the current state of a graph into a CSR snapshot. Prefer
+     * {@link Graph#snapshot()}, which caches the result.
+     *
+     * @param graph the graph to freeze
+     * @return a new snapshot
+     */
+    public static CompactGraph of(Graph graph) {
+        return ArrayCompactGraph.build(graph);
+    }
+
+    /**
+     * Creates a snapshot with the same nodes and edges but other weights, for
+     * example lower bounds of time-dependent travel times. Heap snapshots
+     * share their arrays with the copy.
+     *
+     * @param weights the weight of every edge slot
+     * @return a new snapshot with the given weights
+     * @throws IllegalArgumentException if there is not one weight per edge
+     */
+    public CompactGraph withWeights(double[] weights) {
+        return ArrayCompactGraph.reweight(this, weights);
+    }
+
+    /**
+     * Gets the version of the graph this snapshot was taken from.
+     *
+     * @return the source graph version
+     */
+    public abstract long getVersion();
+
+    public abstract int nodeCount();
+
+    public abstract int edgeCount();
+
+    /**
+     * Looks up the dense index of a node.
+     *
+     * @param node the node to look up
+     * @return its index, or -1 if the node is not part of the snapshot
+     */
+    public abstract int indexOf(Node node);
+
+    public abstract Node node(int v);
+
+    /**
+     * @param v a node index
+     * @return the first edge slot of {@code v}
+     */
+    public abstract int firstEdge(int v);
+
+    /**
+     * @param v a node index
+     * @return one past the last edge slot of {@code v}
+     */
+    public abstract int endEdge(int v);
+
+    public abstract int target(int edge);
+
+    public abstract double weight(int edge);
+
+    /**
+     * @param edge an edge slot
+     * @return the stable {@link Edge#getId()} of the edge in that slot
+     */
+    public abstract int edgeId(int edge);
+
+    /**
+     * @param v a node index
+     * @return the first position of {@code v} in the reverse index
+     */
+    public abstract int firstInEdge(int v);
+
+    /**
+     * @param v a node index
+     * @return one past the last position of {@code v} in the reverse index
+     */
+    public abstract int endInEdge(int v);
+
+    /**
+     * @param i a position in the reverse index
+     * @return the forward edge slot of that incoming edge
+     */
+    public abstract int inEdge(int i);
+
+    /**
+     * @param i a position in the reverse index
+     * @return the node the incoming edge starts from
+     */
+    public abstract int inSource(int i);
+}
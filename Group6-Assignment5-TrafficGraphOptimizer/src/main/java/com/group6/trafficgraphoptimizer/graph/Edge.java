@@ -9,6 +9,14 @@ public class Edge {
     private final Node to;
     private double weight;
 
+    // Stable id assigned by the owning graph, -1 for edges created outside a graph
+    private int id = -1;
+    private Graph owner;
+
+    // Handles of the end points in the owning graph
+    private int source = -1;
+    private int target = -1;
+
     /**
      * Constructs a new edge from one node to another with the given weight.
      *
@@ -22,6 +30,38 @@ public class Edge {
         this.weight = weight;
     }
 
+    /**
+     * Binds this edge to the graph that created it.
+     *
+     * @param owner  the graph this edge belongs to
+     * @param id     insertion-order id of the edge within that graph
+     * @param source handle of the source node in that graph
+     * @param target handle of the destination node in that graph
+     */
+    void attach(Graph owner, int id, int source, int target) {
+        this.owner = owner;
+        this.id = id;
+        this.source = source;
+        this.target = target;
+    }
+
+    int source() {
+        return source;
+    }
+
+    int target() {
+        return target;
+    }
+
+    /**
+     * Gets the id of this edge, stable for the lifetime of the owning graph.
+     *
+     * @return the edge id, or -1 if the edge was not added through a graph
+     */
+    public int getId() {
+        return id;
+    }
+
     public Node getFrom() {
         return from;
     }
@@ -34,8 +74,15 @@ public class Edge {
         return weight;
     }
 
+    /**
+     * Changes the weight of this edge. Snapshots taken from the owning graph
+     * before the change are not affected; the next snapshot picks it up.
+     *
+     * @param weight the new cost
+     */
     public void setWeight(double weight) {
         this.weight = weight;
+        if (owner != null) owner.markModified();
     }
 
     @Override
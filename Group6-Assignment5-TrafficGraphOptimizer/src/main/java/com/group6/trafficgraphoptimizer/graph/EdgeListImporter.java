@@ -0,0 +1,583 @@
+package com.group6.trafficgraphoptimizer.graph;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Streaming importer for road networks stored as edge lists, building a
+ * {@link CompactGraph} directly without going through {@link Graph}.
+ * <p>
+ * Supported formats:
+ * - DIMACS shortest-path {@code .gr} files: a {@code p sp <nodes> <arcs>}
+ *   problem line, {@code a <from> <to> <weight>} arc lines and {@code c}
+ *   comment lines. Nodes are named "1" to "n" as in the file.
+ * - DIMACS {@code .co} coordinate files: {@code v <id> <x> <y>} lines.
+ * - CSV edge lists: {@code from,to,weight} per line, optionally quoted and
+ *   optionally preceded by a header line. Blank lines and lines starting
+ *   with {@code #} are skipped. Nodes are numbered in order of first
+ *   appearance.
+ * <p>
+ * The file is memory-mapped in chunks of at most 1 GB and parsed in place
+ * byte by byte, in one pass and without creating a string per line. Only
+ * the primitive edge arrays are kept, so memory is bounded by the size of
+ * the resulting graph rather than the file. With a parallelism above one the
+ * chunks are parsed on that many threads; each chunk starts at the first
+ * line beginning inside it and the results are joined in file order, so the
+ * graph is the same as with a sequential import. Edge ids follow the order
+ * of the edges in the file.
+ * <p>
+ * To load a network repeatedly, import it once and save it with
+ * {@link GraphFile#write(CompactGraph, Path)}.
+ */
+public final class EdgeListImporter {
+
+    // Longest line accepted; a chunk maps this much past its end to finish its last line
+    static final int MAX_LINE_BYTES = 1 << 16;
+
+    private static final long MIN_CHUNK_BYTES = 1L << 20;
+    private static final long MAX_CHUNK_BYTES = 1L << 30;
+
+    private EdgeListImporter() {
+    }
+
+    /**
+     * Imports a DIMACS {@code .gr} file using all available processors.
+     *
+     * @param path the file to read
+     * @return the graph, with nodes named "1" to "n"
+     * @throws IOException if the file cannot be read or is malformed
+     */
+    public static CompactGraph readDimacs(Path path) throws IOException {
+        return readDimacs(path, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Imports a DIMACS {@code .gr} file.
+     *
+     * @param path        the file to read
+     * @param parallelism number of threads parsing chunks of the file
+     * @return the graph, with nodes named "1" to "n"
+     * @throws IOException if the file cannot be read or is malformed
+     */
+    public static CompactGraph readDimacs(Path path, int parallelism) throws IOException {
+        return readDimacs(path, parallelism, 0);
+    }
+
+    static CompactGraph readDimacs(Path path, int parallelism, long chunkBytes) throws IOException {
+        long[] problem = readDimacsProblem(path);
+        int n = (int) problem[0];
+        long m = problem[1];
+        List<DimacsArcs> chunks = parse(path, parallelism, chunkBytes, () -> new DimacsArcs(n));
+
+        long found = 0;
+        for (EdgeChunk chunk : chunks) {
+            found += chunk.size;
+        }
+        if (found != m) {
+            throw new IOException("Expected " + m + " arcs but found " + found + ": " + path);
+        }
+        EdgeChunk edges = concat(chunks, (int) m);
+        return ArrayCompactGraph.fromEdges(NodeIndex.numbered(n), edges.sources, edges.targets, edges.weights,
+                edges.size);
+    }
+
+    /**
+     * Reads the node coordinates of a DIMACS {@code .co} file.
+     *
+     * @param path      the file to read
+     * @param nodeCount number of nodes of the matching {@code .gr} file
+     * @return x and y of node index {@code v} at {@code 2v} and {@code 2v + 1},
+     * or NaN for nodes without coordinates
+     * @throws IOException if the file cannot be read or is malformed
+     */
+    public static double[] readDimacsCoordinates(Path path, int nodeCount) throws IOException {
+        if (nodeCount < 0) throw new IllegalArgumentException("Node count must not be negative: " + nodeCount);
+        double[] coordinates = new double[2 * nodeCount];
+        Arrays.fill(coordinates, Double.NaN);
+        // Every line writes its own slots, so chunks can share the array
+        parse(path, Runtime.getRuntime().availableProcessors(), 0, () -> new DimacsCoordinates(coordinates));
+        return coordinates;
+    }
+
+    /**
+     * Imports a CSV edge list using all available processors.
+     *
+     * @param path the file to read
+     * @return the graph, with nodes named as in the file
+     * @throws IOException if the file cannot be read or is malformed
+     */
+    public static CompactGraph readCsv(Path path) throws IOException {
+        return readCsv(path, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Imports a CSV edge list.
+     *
+     * @param path        the file to read
+     * @param parallelism number of threads parsing chunks of the file
+     * @return the graph, with nodes named as in the file
+     * @throws IOException if the file cannot be read or is malformed
+     */
+    public static CompactGraph readCsv(Path path, int parallelism) throws IOException {
+        return readCsv(path, parallelism, 0);
+    }
+
+    static CompactGraph readCsv(Path path, int parallelism, long chunkBytes) throws IOException {
+        List<CsvEdges> chunks = parse(path, parallelism, chunkBytes, CsvEdges::new);
+
+        // Number the nodes globally in order of first appearance, chunk by chunk
+        NodeRegistry nodes = new NodeRegistry(chunks.isEmpty() ? 0 : chunks.get(0).nodes.size());
+        long total = 0;
+        for (CsvEdges csv : chunks) {
+            int[] remap = new int[csv.nodes.size()];
+            for (int local = 0; local < remap.length; local++) {
+                remap[local] = nodes.intern(csv.nodes.node(local));
+            }
+            for (int e = 0; e < csv.size; e++) {
+                csv.sources[e] = remap[csv.sources[e]];
+                csv.targets[e] = remap[csv.targets[e]];
+            }
+            total += csv.size;
+        }
+        if (total > Integer.MAX_VALUE) throw new IOException("Too many edges: " + total);
+
+        EdgeChunk edges = concat(chunks, (int) total);
+        return ArrayCompactGraph.fromEdges(nodes, edges.sources, edges.targets, edges.weights,
+                edges.size);
+    }
+
+    // Finds the problem line, which must come before any other non-comment line
+    private static long[] readDimacsProblem(Path path) throws IOException {
+        long[] problem = new long[2];
+        boolean[] seen = new boolean[1];
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long start = 0; start < size && !seen[0]; start += MAX_CHUNK_BYTES) {
+                scan(channel, start, Math.min(size, start + MAX_CHUNK_BYTES), size, line -> {
+                    if (line.atEnd() || line.peek() == 'c') return true;
+                    if (line.peek() != 'p') throw line.error("Expected problem line");
+                    line.skip(1);
+                    if (!line.nextToken().equals("sp")) throw line.error("Not a shortest path problem");
+                    problem[0] = line.nextLong();
+                    problem[1] = line.nextLong();
+                    if (problem[0] < 0 || problem[0] > Integer.MAX_VALUE / 2
+                            || problem[1] < 0 || problem[1] > Integer.MAX_VALUE) {
+                        throw line.error("Unsupported problem size");
+                    }
+                    seen[0] = true;
+                    return false;
+                });
+            }
+        }
+        if (!seen[0]) throw new IOException("Missing problem line: " + path);
+        return problem;
+    }
+
+    // Parses the file in chunks, one handler per chunk, and returns the handlers in file order
+    private static <H extends LineHandler> List<H> parse(Path path, int parallelism, long chunkBytes,
+                                                         Supplier<H> handlers) throws IOException {
+        if (parallelism < 1) throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long chunk = chunkBytes > 0 ? chunkBytes
+                    : parallelism == 1 ? MAX_CHUNK_BYTES
+                    : Math.max(MIN_CHUNK_BYTES, Math.min(MAX_CHUNK_BYTES, size / (4L * parallelism) + 1));
+
+            List<H> results = new ArrayList<>();
+            List<long[]> ranges = new ArrayList<>();
+            for (long start = 0; start < size; start += chunk) {
+                results.add(handlers.get());
+                ranges.add(new long[] {start, Math.min(size, start + chunk)});
+            }
+
+            if (parallelism == 1 || ranges.size() <= 1) {
+                for (int i = 0; i < ranges.size(); i++) {
+                    scan(channel, ranges.get(i)[0], ranges.get(i)[1], size, results.get(i));
+                }
+                return results;
+            }
+
+            ExecutorService pool = Executors.newFixedThreadPool(Math.min(parallelism, ranges.size()));
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < ranges.size(); i++) {
+                    long[] range = ranges.get(i);
+                    H handler = results.get(i);
+                    futures.add(pool.submit(() -> {
+                        try {
+                            scan(channel, range[0], range[1], size, handler);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while importing " + path, e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof UncheckedIOException) throw ((UncheckedIOException) cause).getCause();
+                throw new IllegalStateException("Import failed", cause);
+            } finally {
+                pool.shutdownNow();
+            }
+            return results;
+        }
+    }
+
+    /**
+     * Hands every line that starts in {@code [start, end)} to the handler, with
+     * the line terminator removed. A chunk that does not start at the beginning
+     * of a line leaves that line to the previous chunk.
+     */
+    private static void scan(FileChannel channel, long start, long end, long size, LineHandler handler)
+            throws IOException {
+        long mapStart = start == 0 ? 0 : start - 1;
+        long mapEnd = Math.min(size, end + MAX_LINE_BYTES);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, mapStart, mapEnd - mapStart);
+        int limit = buffer.limit();
+        int stop = (int) (end - mapStart);
+        Line line = new Line(buffer, mapStart);
+
+        int p = 0;
+        if (start > 0) {
+            // Byte before the chunk tells whether a line starts at the chunk boundary
+            p = 1;
+            if (buffer.get(0) != '\n') {
+                while (p < limit && buffer.get(p) != '\n') p++;
+                p++;
+            }
+        }
+        while (p < stop) {
+            int eol = p;
+            while (eol < limit && buffer.get(eol) != '\n') eol++;
+            if (eol == limit && mapEnd < size) {
+                throw new IOException("Line longer than " + MAX_LINE_BYTES + " bytes at byte " + (mapStart + p));
+            }
+            int lineEnd = eol > p && buffer.get(eol - 1) == '\r' ? eol - 1 : eol;
+            line.reset(p, lineEnd);
+            line.skipBlanks();
+            if (!handler.line(line)) return;
+            p = eol + 1;
+        }
+    }
+
+    private static EdgeChunk concat(List<? extends EdgeChunk> chunks, int total) {
+        if (chunks.size() == 1) return chunks.get(0);
+        EdgeChunk all = new EdgeChunk(total);
+        for (EdgeChunk chunk : chunks) {
+            System.arraycopy(chunk.sources, 0, all.sources, all.size, chunk.size);
+            System.arraycopy(chunk.targets, 0, all.targets, all.size, chunk.size);
+            System.arraycopy(chunk.weights, 0, all.weights, all.size, chunk.size);
+            all.size += chunk.size;
+        }
+        return all;
+    }
+
+    private interface LineHandler {
+        /**
+         * @param line the line, positioned at its first non-blank byte
+         * @return false to stop scanning
+         */
+        boolean line(Line line) throws IOException;
+    }
+
+    /**
+     * Edges parsed from one chunk, in growable primitive arrays.
+     */
+    private static class EdgeChunk {
+        int[] sources;
+        int[] targets;
+        double[] weights;
+        int size;
+
+        EdgeChunk(int capacity) {
+            this.sources = new int[capacity];
+            this.targets = new int[capacity];
+            this.weights = new double[capacity];
+        }
+
+        void add(int source, int target, double weight) {
+            if (size == sources.length) {
+                int capacity = Math.max(16, size + (size >> 1));
+                sources = Arrays.copyOf(sources, capacity);
+                targets = Arrays.copyOf(targets, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+            }
+            sources[size] = source;
+            targets[size] = target;
+            weights[size] = weight;
+            size++;
+        }
+    }
+
+    private static final class DimacsArcs extends EdgeChunk implements LineHandler {
+        private final int nodeCount;
+
+        DimacsArcs(int nodeCount) {
+            super(0);
+            this.nodeCount = nodeCount;
+        }
+
+        @Override
+        public boolean line(Line line) throws IOException {
+            if (line.atEnd()) return true;
+            switch (line.peek()) {
+                case 'a':
+                    line.skip(1);
+                    int from = line.nextNode(nodeCount);
+                    int to = line.nextNode(nodeCount);
+                    add(from, to, line.nextWeight());
+                    return true;
+                case 'c':
+                case 'p':
+                    return true;
+                default:
+                    throw line.error("Unexpected line");
+            }
+        }
+    }
+
+    private static final class DimacsCoordinates implements LineHandler {
+        private final double[] coordinates;
+
+        DimacsCoordinates(double[] coordinates) {
+            this.coordinates = coordinates;
+        }
+
+        @Override
+        public boolean line(Line line) throws IOException {
+            if (line.atEnd()) return true;
+            switch (line.peek()) {
+                case 'v':
+                    line.skip(1);
+                    int v = line.nextNode(coordinates.length / 2);
+                    coordinates[2 * v] = line.nextDouble();
+                    coordinates[2 * v + 1] = line.nextDouble();
+                    return true;
+                case 'c':
+                case 'p':
+                    return true;
+                default:
+                    throw line.error("Unexpected line");
+            }
+        }
+    }
+
+    /**
+     * CSV edges of one chunk, with nodes numbered locally until the chunks are joined.
+     */
+    private static final class CsvEdges extends EdgeChunk implements LineHandler {
+        final NodeRegistry nodes = new NodeRegistry();
+
+        CsvEdges() {
+            super(0);
+        }
+
+        @Override
+        public boolean line(Line line) throws IOException {
+            if (line.atEnd() || line.peek() == '#') return true;
+            String from = line.nextField();
+            String to = line.nextField();
+            if (line.isFirstLine() && !line.isNumber()) return true; // header
+            double weight = line.nextWeight();
+            add(nodes.intern(from), nodes.intern(to), weight);
+            return true;
+        }
+    }
+
+    /**
+     * Cursor over one line of the mapped file.
+     */
+    private static final class Line {
+        private static final double[] POWERS_OF_TEN = new double[19];
+
+        static {
+            POWERS_OF_TEN[0] = 1;
+            for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+                POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+            }
+        }
+
+        private final MappedByteBuffer buffer;
+        private final long offset;
+        private int start;
+        private int pos;
+        private int end;
+
+        Line(MappedByteBuffer buffer, long offset) {
+            this.buffer = buffer;
+            this.offset = offset;
+        }
+
+        void reset(int start, int end) {
+            this.start = start;
+            this.pos = start;
+            this.end = end;
+        }
+
+        boolean isFirstLine() {
+            return offset + start == 0;
+        }
+
+        boolean atEnd() {
+            return pos >= end;
+        }
+
+        byte peek() {
+            return buffer.get(pos);
+        }
+
+        void skip(int bytes) {
+            pos += bytes;
+        }
+
+        void skipBlanks() {
+            while (pos < end && (buffer.get(pos) == ' ' || buffer.get(pos) == '\t')) pos++;
+        }
+
+        String nextToken() {
+            skipBlanks();
+            int from = pos;
+            while (pos < end && buffer.get(pos) != ' ' && buffer.get(pos) != '\t') pos++;
+            return text(from, pos);
+        }
+
+        // Reads a 1-based node id and returns its index
+        int nextNode(int nodeCount) throws IOException {
+            long id = nextLong();
+            if (id < 1 || id > nodeCount) throw error("Node id out of range 1.." + nodeCount);
+            return (int) id - 1;
+        }
+
+        long nextLong() throws IOException {
+            skipBlanks();
+            boolean negative = pos < end && buffer.get(pos) == '-';
+            if (negative) pos++;
+            int from = pos;
+            long value = 0;
+            while (pos < end && buffer.get(pos) >= '0' && buffer.get(pos) <= '9') {
+                if (pos - from == 18) throw error("Number too large");
+                value = value * 10 + (buffer.get(pos++) - '0');
+            }
+            if (pos == from) throw error("Expected a number");
+            return negative ? -value : value;
+        }
+
+        double nextWeight() throws IOException {
+            double weight = nextDouble();
+            if (!(weight >= 0) || Double.isInfinite(weight)) throw error("Invalid weight " + weight);
+            return weight;
+        }
+
+        /**
+         * Parses a decimal number. Plain numbers with up to 15 significant
+         * digits are converted exactly here; anything else, such as exponents,
+         * falls back to {@link Double#parseDouble}.
+         */
+        double nextDouble() throws IOException {
+            skipBlanks();
+            boolean quoted = pos < end && buffer.get(pos) == '"';
+            if (quoted) pos++;
+            int from = pos;
+            boolean negative = pos < end && (buffer.get(pos) == '-' || buffer.get(pos) == '+');
+            if (negative) negative = buffer.get(pos++) == '-';
+            long mantissa = 0;
+            int digits = 0;
+            int fraction = -1;
+            for (; pos < end; pos++) {
+                byte b = buffer.get(pos);
+                if (b >= '0' && b <= '9') {
+                    mantissa = mantissa * 10 + (b - '0');
+                    digits++;
+                    if (fraction >= 0) fraction++;
+                } else if (b == '.' && fraction < 0) {
+                    fraction = 0;
+                } else {
+                    break;
+                }
+            }
+            int tokenEnd = pos;
+            while (pos < end && isTokenByte(buffer.get(pos))) pos++;
+            if (pos == tokenEnd && digits > 0 && digits <= 15) {
+                double value = fraction > 0 ? mantissa / POWERS_OF_TEN[fraction] : mantissa;
+                finishField(quoted);
+                return negative ? -value : value;
+            }
+            String token = text(from, pos);
+            finishField(quoted);
+            try {
+                return Double.parseDouble(token);
+            } catch (NumberFormatException e) {
+                throw error("Expected a number but found '" + token + "'");
+            }
+        }
+
+        // Whether the rest of the line starts with something numeric, used to detect a CSV header
+        boolean isNumber() {
+            int p = pos;
+            while (p < end && (buffer.get(p) == ' ' || buffer.get(p) == '\t' || buffer.get(p) == '"')) p++;
+            if (p < end && (buffer.get(p) == '-' || buffer.get(p) == '+')) p++;
+            if (p < end && buffer.get(p) == '.') p++;
+            return p < end && buffer.get(p) >= '0' && buffer.get(p) <= '9';
+        }
+
+        // Reads up to the next comma, without surrounding blanks and quotes
+        String nextField() throws IOException {
+            skipBlanks();
+            int from = pos;
+            while (pos < end && buffer.get(pos) != ',') pos++;
+            if (pos == end) throw error("Expected from,to,weight");
+            int to = pos++;
+            while (to > from && (buffer.get(to - 1) == ' ' || buffer.get(to - 1) == '\t')) to--;
+            if (to - from >= 2 && buffer.get(from) == '"' && buffer.get(to - 1) == '"') {
+                from++;
+                to--;
+            }
+            if (to == from) throw error("Empty node id");
+            return text(from, to);
+        }
+
+        private void finishField(boolean quoted) throws IOException {
+            if (quoted) {
+                if (pos >= end || buffer.get(pos) != '"') throw error("Unterminated quote");
+                pos++;
+            }
+            skipBlanks();
+            if (pos < end && buffer.get(pos) == ',') pos++;
+        }
+
+        private static boolean isTokenByte(byte b) {
+            return b != ' ' && b != '\t' && b != ',' && b != '"';
+        }
+
+        private String text(int from, int to) {
+            byte[] bytes = new byte[to - from];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = buffer.get(from + i);
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        IOException error(String message) {
+            return new IOException(message + " at byte " + (offset + start) + ": "
+                    + text(start, Math.min(end, start + 80)));
+        }
+    }
+}
@@ -5,20 +5,69 @@ import java.util.*;
 /**
  * Represents the city traffic network as a graph where intersections are nodes
  * and roads are directed edges with weights (e.g., travel time).
+ * <p>
+ * Nodes are interned once in a {@link NodeRegistry} and stored by their
+ * {@code int} handle, so the edge lists are plain array lookups and node ids
+ * are only hashed when a {@link Node} comes in through the public API.
  */
 public class Graph {
-    // Set of all nodes in the graph
-    private final Set<Node> nodes;
+    // All nodes in the graph, numbered in insertion order
+    private final NodeRegistry nodes;
 
-    // Map each node to its outgoing edges
-    private final Map<Node, List<Edge>> adjacencyList;
+    // Outgoing edges of each node, indexed by handle
+    private final List<List<Edge>> adjacencyList;
+
+    // Incoming edges of each node, for searches that run backwards
+    private final List<List<Edge>> incomingList;
+
+    // Read-only set view of the registry
+    private final Set<Node> nodeSet;
+
+    // Number of edges ever added, used to hand out edge ids
+    private int edgeCount;
+
+    // Bumped on every structural or weight change
+    private volatile long version;
+
+    // Last frozen snapshot, rebuilt lazily when the version moves on
+    private volatile CompactGraph snapshot;
 
     /**
      * Initializes an empty graph.
      */
     public Graph() {
-        this.nodes = new HashSet<>();
-        this.adjacencyList = new HashMap<>();
+        this.nodes = new NodeRegistry();
+        this.adjacencyList = new ArrayList<>();
+        this.incomingList = new ArrayList<>();
+        this.nodeSet = new AbstractSet<>() {
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof Node && nodes.indexOf((Node) o) >= 0;
+            }
+
+            @Override
+            public Iterator<Node> iterator() {
+                return new Iterator<>() {
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < nodes.size();
+                    }
+
+                    @Override
+                    public Node next() {
+                        if (!hasNext()) throw new NoSuchElementException();
+                        return nodes.node(next++);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return nodes.size();
+            }
+        };
     }
 
     /**
@@ -27,8 +76,19 @@ public class Graph {
      * @param node the node to add
      */
     public void addNode(Node node) {
-        nodes.add(node);
-        adjacencyList.putIfAbsent(node, new ArrayList<>());
+        intern(node);
+    }
+
+    // Registers the node if it is new and returns its handle
+    private int intern(Node node) {
+        int count = nodes.size();
+        int v = nodes.intern(node);
+        if (v == count) {
+            adjacencyList.add(new ArrayList<>());
+            incomingList.add(new ArrayList<>());
+            markModified();
+        }
+        return v;
     }
 
     /**
@@ -39,10 +99,13 @@ public class Graph {
      * @param weight cost of travel (e.g., distance or time)
      */
     public void addEdge(Node from, Node to, double weight) {
-        addNode(from); // ensures from node exists
-        addNode(to);   // ensures to node exists
+        int source = intern(from); // ensures from node exists
+        int target = intern(to);   // ensures to node exists
         Edge edge = new Edge(from, to, weight);
-        adjacencyList.get(from).add(edge);
+        edge.attach(this, edgeCount++, source, target);
+        adjacencyList.get(source).add(edge);
+        incomingList.get(target).add(edge);
+        markModified();
     }
 
     /**
@@ -51,7 +114,36 @@ public class Graph {
      * @return a set of nodes
      */
     public Set<Node> getNodes() {
-        return Collections.unmodifiableSet(nodes);
+        return nodeSet;
+    }
+
+    /**
+     * Gets the number of nodes in the graph.
+     *
+     * @return the node count
+     */
+    public int getNodeCount() {
+        return nodes.size();
+    }
+
+    /**
+     * Gets the handle of a node, i.e. its position in insertion order.
+     *
+     * @param node the node to look up
+     * @return its handle, or -1 if the node is not in the graph
+     */
+    public int indexOf(Node node) {
+        return nodes.indexOf(node);
+    }
+
+    /**
+     * Gets the node with a given handle.
+     *
+     * @param v a handle below {@link #getNodeCount()}
+     * @return the node
+     */
+    public Node getNode(int v) {
+        return nodes.node(v);
     }
 
     /**
@@ -61,7 +153,78 @@ public class Graph {
      * @return list of outgoing edges
      */
     public List<Edge> getEdgesFrom(Node node) {
-        return adjacencyList.getOrDefault(node, Collections.emptyList());
+        int v = nodes.indexOf(node);
+        return v < 0 ? Collections.emptyList() : adjacencyList.get(v);
+    }
+
+    /**
+     * Gets all edges from the node with a given handle.
+     *
+     * @param v the handle of the source node
+     * @return list of outgoing edges
+     */
+    public List<Edge> getEdgesFrom(int v) {
+        return adjacencyList.get(v);
+    }
+
+    /**
+     * Gets all edges into a given node.
+     *
+     * @param node the destination node
+     * @return list of incoming edges
+     */
+    public List<Edge> getEdgesTo(Node node) {
+        int v = nodes.indexOf(node);
+        return v < 0 ? Collections.emptyList() : incomingList.get(v);
+    }
+
+    /**
+     * Gets the number of edges added to the graph.
+     *
+     * @return the edge count
+     */
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Gets the modification version of the graph. It changes whenever a node or
+     * edge is added or an edge weight is updated.
+     *
+     * @return the current version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns an immutable compressed-sparse-row snapshot of the graph. The
+     * snapshot is cached and only rebuilt after the graph has been modified.
+     *
+     * @return the current snapshot
+     */
+    public CompactGraph snapshot() {
+        CompactGraph current = snapshot;
+        if (current != null && current.getVersion() == version) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current == null || current.getVersion() != version) {
+                current = CompactGraph.of(this);
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    // Frozen copy of the node numbering for a snapshot
+    NodeRegistry copyNodes() {
+        return nodes.copy();
+    }
+
+    void markModified() {
+        version++;
     }
 
     /**
@@ -70,8 +233,8 @@ public class Graph {
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
-        for (Node node : adjacencyList.keySet()) {
-            for (Edge edge : adjacencyList.get(node)) {
+        for (List<Edge> edges : adjacencyList) {
+            for (Edge edge : edges) {
                 sb.append(edge.toString()).append("\n");
             }
         }
@@ -0,0 +1,287 @@
+package com.group6.trafficgraphoptimizer.graph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary file format for {@link CompactGraph}s, so a road network can be
+ * written once and then loaded without rebuilding it through
+ * {@link Graph#addEdge}.
+ * <p>
+ * The file is a 64-byte header followed by the CSR arrays exactly as the
+ * routers read them, little-endian and 8-byte aligned: forward offsets,
+ * targets, edge ids and weights, the reverse index, the node name offsets,
+ * an open-addressing hash table from node name to index and finally the
+ * UTF-8 node names. {@link #map(Path)} maps each section with
+ * {@link FileChannel#map} and reads it in place, so loading is instant and
+ * the data is shared through the page cache; {@link Node} objects are only
+ * created for the nodes a caller asks for.
+ */
+public final class GraphFile {
+
+    static final int MAGIC = 0x31464754; // "TGF1"
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_BYTES = 64;
+
+    // Section order in the file
+    static final int OFFSETS = 0;
+    static final int TARGETS = 1;
+    static final int EDGE_IDS = 2;
+    static final int WEIGHTS = 3;
+    static final int IN_OFFSETS = 4;
+    static final int IN_EDGES = 5;
+    static final int IN_SOURCES = 6;
+    static final int NAME_OFFSETS = 7;
+    static final int HASH_TABLE = 8;
+    static final int NAMES = 9;
+    static final int SECTIONS = 10;
+
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+
+    // Keeps the hash table section, 4 bytes per slot, below the 2 GB a mapping can hold
+    static final int MAX_HASH_SLOTS = 1 << 28;
+
+    /** Most nodes a graph file can hold. */
+    public static final int MAX_NODES = MAX_HASH_SLOTS / 4 * 2 - 1;
+
+    private GraphFile() {
+    }
+
+    /**
+     * Writes a snapshot to a file, replacing any existing file.
+     *
+     * @param graph the snapshot to write
+     * @param path  the target file
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if the graph has more than {@link #MAX_NODES} nodes
+     */
+    public static void write(CompactGraph graph, Path path) throws IOException {
+        int n = graph.nodeCount();
+        int m = graph.edgeCount();
+        if (n > MAX_NODES) {
+            throw new IllegalArgumentException("Graph files hold at most " + MAX_NODES + " nodes: " + n);
+        }
+
+        byte[][] names = new byte[n][];
+        long namesLength = 0;
+        for (int v = 0; v < n; v++) {
+            names[v] = graph.node(v).getId().getBytes(StandardCharsets.UTF_8);
+            namesLength += names[v].length;
+        }
+        if (namesLength > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Node names exceed 2 GB: " + namesLength);
+        }
+        int hashSlots = hashSlots(n);
+        int[] hashTable = new int[hashSlots];
+        for (int v = 0; v < n; v++) {
+            int slot = hash(graph.node(v).getId()) & (hashSlots - 1);
+            while (hashTable[slot] != 0) {
+                slot = (slot + 1) & (hashSlots - 1);
+            }
+            hashTable[slot] = v + 1;
+        }
+        long[] layout = layout(n, m, hashSlots, namesLength);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            Output out = new Output(channel);
+            out.putInt(MAGIC);
+            out.putInt(FORMAT_VERSION);
+            out.putLong(graph.getVersion());
+            out.putInt(n);
+            out.putInt(m);
+            out.putInt(hashSlots);
+            out.putInt(0);
+            out.putLong(namesLength);
+
+            out.section(layout[OFFSETS]);
+            for (int v = 0; v < n; v++) out.putInt(graph.firstEdge(v));
+            out.putInt(m);
+            out.section(layout[TARGETS]);
+            for (int e = 0; e < m; e++) out.putInt(graph.target(e));
+            out.section(layout[EDGE_IDS]);
+            for (int e = 0; e < m; e++) out.putInt(graph.edgeId(e));
+            out.section(layout[WEIGHTS]);
+            for (int e = 0; e < m; e++) out.putDouble(graph.weight(e));
+            out.section(layout[IN_OFFSETS]);
+            for (int v = 0; v < n; v++) out.putInt(graph.firstInEdge(v));
+            out.putInt(m);
+            out.section(layout[IN_EDGES]);
+            for (int i = 0; i < m; i++) out.putInt(graph.inEdge(i));
+            out.section(layout[IN_SOURCES]);
+            for (int i = 0; i < m; i++) out.putInt(graph.inSource(i));
+            out.section(layout[NAME_OFFSETS]);
+            int nameOffset = 0;
+            for (int v = 0; v < n; v++) {
+                out.putInt(nameOffset);
+                nameOffset += names[v].length;
+            }
+            out.putInt(nameOffset);
+            out.section(layout[HASH_TABLE]);
+            for (int slot : hashTable) out.putInt(slot);
+            out.section(layout[NAMES]);
+            for (byte[] name : names) out.putBytes(name);
+            out.section(layout[SECTIONS]);
+            out.flush();
+        }
+    }
+
+    /**
+     * Writes the current state of a graph to a file.
+     *
+     * @param graph the graph to write
+     * @param path  the target file
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Graph graph, Path path) throws IOException {
+        write(graph.snapshot(), path);
+    }
+
+    /**
+     * Maps a graph file into memory. Nothing is copied: routers read the
+     * arrays straight from the mapping.
+     *
+     * @param path the file written by {@link #write(CompactGraph, Path)}
+     * @return a read-only snapshot backed by the file
+     * @throws IOException if the file cannot be read or is not a graph file
+     */
+    public static CompactGraph map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) throw new IOException("Not a graph file: " + path);
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt(0) != MAGIC) throw new IOException("Not a graph file: " + path);
+            if (header.getInt(4) != FORMAT_VERSION) {
+                throw new IOException("Unsupported graph file version " + header.getInt(4) + ": " + path);
+            }
+            long version = header.getLong(8);
+            int n = header.getInt(16);
+            int m = header.getInt(20);
+            int hashSlots = header.getInt(24);
+            long namesLength = header.getLong(32);
+            if (n < 0 || n > MAX_NODES || m < 0 || hashSlots != hashSlots(n) || namesLength < 0) {
+                throw new IOException("Corrupt graph file header: " + path);
+            }
+
+            long[] layout = layout(n, m, hashSlots, namesLength);
+            if (channel.size() < layout[SECTIONS]) throw new IOException("Truncated graph file: " + path);
+            ByteBuffer[] sections = new ByteBuffer[SECTIONS];
+            for (int s = 0; s < SECTIONS; s++) {
+                sections[s] = channel.map(FileChannel.MapMode.READ_ONLY, layout[s], layout[s + 1] - layout[s])
+                        .order(ByteOrder.LITTLE_ENDIAN);
+            }
+            return new MappedCompactGraph(version, n, m, hashSlots, sections);
+        }
+    }
+
+    static int hash(String id) {
+        int h = id.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    // Power of two with at most 50% load; computed in long, since the shift overflows for n >= 2^29
+    static int hashSlots(int n) {
+        long slots = Math.max(2L, Long.highestOneBit(Math.max(1, n)) << 2);
+        if (slots > MAX_HASH_SLOTS) {
+            throw new IllegalArgumentException("Graph files hold at most " + MAX_NODES + " nodes: " + n);
+        }
+        return (int) slots;
+    }
+
+    // Start of every section, with the end of the file at index SECTIONS
+    static long[] layout(int n, int m, int hashSlots, long namesLength) {
+        long[] bytes = new long[SECTIONS];
+        bytes[OFFSETS] = 4L * (n + 1);
+        bytes[TARGETS] = 4L * m;
+        bytes[EDGE_IDS] = 4L * m;
+        bytes[WEIGHTS] = 8L * m;
+        bytes[IN_OFFSETS] = 4L * (n + 1);
+        bytes[IN_EDGES] = 4L * m;
+        bytes[IN_SOURCES] = 4L * m;
+        bytes[NAME_OFFSETS] = 4L * (n + 1);
+        bytes[HASH_TABLE] = 4L * hashSlots;
+        bytes[NAMES] = namesLength;
+
+        long[] starts = new long[SECTIONS + 1];
+        long position = HEADER_BYTES;
+        for (int s = 0; s < SECTIONS; s++) {
+            if (bytes[s] > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Graph too large for the file format: section " + s
+                        + " needs " + bytes[s] + " bytes");
+            }
+            starts[s] = position;
+            position = align(position + bytes[s]);
+        }
+        starts[SECTIONS] = position;
+        return starts;
+    }
+
+    private static long align(long position) {
+        return (position + 7) & ~7L;
+    }
+
+    // Buffered little-endian writer on a channel
+    private static final class Output {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        private long position;
+
+        Output(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(4);
+            buffer.putInt(value);
+            position += 4;
+        }
+
+        void putLong(long value) throws IOException {
+            ensure(8);
+            buffer.putLong(value);
+            position += 8;
+        }
+
+        void putDouble(double value) throws IOException {
+            ensure(8);
+            buffer.putDouble(value);
+            position += 8;
+        }
+
+        void putBytes(byte[] bytes) throws IOException {
+            for (int offset = 0; offset < bytes.length; ) {
+                ensure(1);
+                int chunk = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.put(bytes, offset, chunk);
+                offset += chunk;
+                position += chunk;
+            }
+        }
+
+        // Pads with zeros up to the start of the next section
+        void section(long start) throws IOException {
+            while (position < start) {
+                ensure(1);
+                buffer.put((byte) 0);
+                position++;
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) flush();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.group6.trafficgraphoptimizer.graph;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link CompactGraph} read in place from a memory-mapped {@link GraphFile}.
+ * Node names are decoded, and {@link Node}s created, only on request.
+ */
+final class MappedCompactGraph extends CompactGraph {
+
+    private final long version;
+    private final int nodeCount;
+    private final int edgeCount;
+    private final int hashMask;
+
+    private final IntBuffer offsets;
+    private final IntBuffer targets;
+    private final IntBuffer edgeIds;
+    private final DoubleBuffer weights;
+    private final IntBuffer inOffsets;
+    private final IntBuffer inEdges;
+    private final IntBuffer inSources;
+    private final IntBuffer nameOffsets;
+    private final IntBuffer hashTable;
+    private final ByteBuffer names;
+
+    MappedCompactGraph(long version, int nodeCount, int edgeCount, int hashSlots, ByteBuffer[] sections) {
+        this.version = version;
+        this.nodeCount = nodeCount;
+        this.edgeCount = edgeCount;
+        this.hashMask = hashSlots - 1;
+        this.offsets = sections[GraphFile.OFFSETS].asIntBuffer();
+        this.targets = sections[GraphFile.TARGETS].asIntBuffer();
+        this.edgeIds = sections[GraphFile.EDGE_IDS].asIntBuffer();
+        this.weights = sections[GraphFile.WEIGHTS].asDoubleBuffer();
+        this.inOffsets = sections[GraphFile.IN_OFFSETS].asIntBuffer();
+        this.inEdges = sections[GraphFile.IN_EDGES].asIntBuffer();
+        this.inSources = sections[GraphFile.IN_SOURCES].asIntBuffer();
+        this.nameOffsets = sections[GraphFile.NAME_OFFSETS].asIntBuffer();
+        this.hashTable = sections[GraphFile.HASH_TABLE].asIntBuffer();
+        this.names = sections[GraphFile.NAMES];
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    @Override
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public int indexOf(Node node) {
+        String id = node.getId();
+        byte[] wanted = id.getBytes(StandardCharsets.UTF_8);
+        for (int slot = GraphFile.hash(id) & hashMask; ; slot = (slot + 1) & hashMask) {
+            int v = hashTable.get(slot) - 1;
+            if (v < 0) return -1;
+            if (nameEquals(v, wanted)) return v;
+        }
+    }
+
+    @Override
+    public Node node(int v) {
+        int start = nameOffsets.get(v);
+        byte[] bytes = new byte[nameOffsets.get(v + 1) - start];
+        names.get(start, bytes);
+        return new Node(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public int firstEdge(int v) {
+        return offsets.get(v);
+    }
+
+    @Override
+    public int endEdge(int v) {
+        return offsets.get(v + 1);
+    }
+
+    @Override
+    public int target(int edge) {
+        return targets.get(edge);
+    }
+
+    @Override
+    public double weight(int edge) {
+        return weights.get(edge);
+    }
+
+    @Override
+    public int edgeId(int edge) {
+        return edgeIds.get(edge);
+    }
+
+    @Override
+    public int firstInEdge(int v) {
+        return inOffsets.get(v);
+    }
+
+    @Override
+    public int endInEdge(int v) {
+        return inOffsets.get(v + 1);
+    }
+
+    @Override
+    public int inEdge(int i) {
+        return inEdges.get(i);
+    }
+
+    @Override
+    public int inSource(int i) {
+        return inSources.get(i);
+    }
+
+    private boolean nameEquals(int v, byte[] wanted) {
+        int start = nameOffsets.get(v);
+        if (nameOffsets.get(v + 1) - start != wanted.length) return false;
+        for (int i = 0; i < wanted.length; i++) {
+            if (names.get(start + i) != wanted[i]) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,72 @@
+package com.group6.trafficgraphoptimizer.graph;
+
+/**
+ * Mapping between nodes and the dense indices of a {@link CompactGraph}.
+ */
+interface NodeIndex {
+
+    int size();
+
+    /**
+     * @param node the node to look up
+     * @return its index, or -1 if unknown
+     */
+    int indexOf(Node node);
+
+    Node node(int v);
+
+    /**
+     * Index that reads the node numbering of an existing snapshot.
+     */
+    static NodeIndex of(CompactGraph graph) {
+        return new NodeIndex() {
+            @Override
+            public int size() {
+                return graph.nodeCount();
+            }
+
+            @Override
+            public int indexOf(Node node) {
+                return graph.indexOf(node);
+            }
+
+            @Override
+            public Node node(int v) {
+                return graph.node(v);
+            }
+        };
+    }
+
+    /**
+     * Index for nodes named "1" to "count", as in DIMACS files, where node
+     * {@code k} has index {@code k - 1}. Stores nothing and creates node
+     * objects only on request.
+     */
+    static NodeIndex numbered(int count) {
+        return new NodeIndex() {
+            @Override
+            public int size() {
+                return count;
+            }
+
+            @Override
+            public int indexOf(Node node) {
+                String id = node.getId();
+                int length = id.length();
+                if (length == 0 || length > 10 || id.charAt(0) == '0') return -1;
+                long value = 0;
+                for (int i = 0; i < length; i++) {
+                    char c = id.charAt(i);
+                    if (c < '0' || c > '9') return -1;
+                    value = value * 10 + (c - '0');
+                }
+                return value <= count ? (int) value - 1 : -1;
+            }
+
+            @Override
+            public Node node(int v) {
+                return new Node(Integer.toString(v + 1));
+            }
+        };
+    }
+}
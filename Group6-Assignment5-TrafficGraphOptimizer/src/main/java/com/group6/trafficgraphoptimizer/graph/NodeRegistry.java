@@ -0,0 +1,170 @@
+package com.group6.trafficgraphoptimizer.graph;
+
+import java.util.Arrays;
+
+/**
+ * Interns node ids to dense {@code int} handles, numbered from 0 in the
+ * order the nodes are first seen. Code that works on handles compares and
+ * indexes plain ints; {@link Node} objects are only needed at the API
+ * boundary, through {@link #node(int)}.
+ * <p>
+ * Lookups use an open-addressing table of handles with the id hashes kept
+ * alongside, so a miss rarely compares strings and no boxed keys or map
+ * entries are allocated per node. Not thread-safe; {@link #copy()} gives an
+ * independent registry that can be shared read-only.
+ */
+public final class NodeRegistry implements NodeIndex {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Node[] nodes;
+    private int[] hashes;
+    private int size;
+
+    // Open-addressing table of handle + 1, 0 for empty slots; at most half full
+    private int[] table;
+
+    public NodeRegistry() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * @param expectedNodes number of nodes to make room for up front
+     */
+    public NodeRegistry(int expectedNodes) {
+        if (expectedNodes < 0) {
+            throw new IllegalArgumentException("Expected nodes must not be negative: " + expectedNodes);
+        }
+        int capacity = Math.max(INITIAL_CAPACITY, expectedNodes);
+        this.nodes = new Node[capacity];
+        this.hashes = new int[capacity];
+        this.table = new int[tableSize(capacity)];
+    }
+
+    private NodeRegistry(NodeRegistry other) {
+        this.nodes = Arrays.copyOf(other.nodes, other.size);
+        this.hashes = Arrays.copyOf(other.hashes, other.size);
+        this.size = other.size;
+        this.table = other.table.clone();
+    }
+
+    /**
+     * Returns the handle of a node, registering it if it is new. The first
+     * node registered with an id is the one {@link #node(int)} returns.
+     *
+     * @param node the node to intern
+     * @return its handle
+     */
+    public int intern(Node node) {
+        String id = node.getId();
+        int hash = id.hashCode();
+        int mask = table.length - 1;
+        for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+            int entry = table[slot];
+            if (entry == 0) {
+                return insert(node, hash, slot);
+            }
+            int handle = entry - 1;
+            if (hashes[handle] == hash && nodes[handle].getId().equals(id)) return handle;
+        }
+    }
+
+    /**
+     * Returns the handle of an id, registering a new node for it if needed.
+     *
+     * @param id the node id
+     * @return its handle
+     */
+    public int intern(String id) {
+        int handle = indexOf(id);
+        return handle >= 0 ? handle : intern(new Node(id));
+    }
+
+    /**
+     * @param node the node to look up
+     * @return its handle, or -1 if it was never registered
+     */
+    @Override
+    public int indexOf(Node node) {
+        return indexOf(node.getId());
+    }
+
+    /**
+     * @param id the node id to look up
+     * @return its handle, or -1 if it was never registered
+     */
+    public int indexOf(String id) {
+        int hash = id.hashCode();
+        int mask = table.length - 1;
+        for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+            int entry = table[slot];
+            if (entry == 0) return -1;
+            int handle = entry - 1;
+            if (hashes[handle] == hash && nodes[handle].getId().equals(id)) return handle;
+        }
+    }
+
+    /**
+     * @param handle a handle below {@link #size()}
+     * @return the node registered under it
+     */
+    @Override
+    public Node node(int handle) {
+        if (handle >= size) throw new IndexOutOfBoundsException("No node with handle " + handle);
+        return nodes[handle];
+    }
+
+    /**
+     * @return number of registered nodes, one more than the highest handle
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return an independent copy holding the nodes registered so far
+     */
+    public NodeRegistry copy() {
+        return new NodeRegistry(this);
+    }
+
+    private int insert(Node node, int hash, int slot) {
+        if (size == nodes.length) {
+            int capacity = nodes.length + (nodes.length >> 1) + 1;
+            nodes = Arrays.copyOf(nodes, capacity);
+            hashes = Arrays.copyOf(hashes, capacity);
+        }
+        int handle = size++;
+        nodes[handle] = node;
+        hashes[handle] = hash;
+        if (2 * size > table.length) {
+            rehash(tableSize(size));
+        } else {
+            table[slot] = handle + 1;
+        }
+        return handle;
+    }
+
+    private void rehash(int tableSize) {
+        table = new int[tableSize];
+        int mask = tableSize - 1;
+        for (int handle = 0; handle < size; handle++) {
+            int slot = spread(hashes[handle]) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = handle + 1;
+        }
+    }
+
+    // Smallest power of two that keeps the table at most half full
+    private static int tableSize(int capacity) {
+        return Integer.highestOneBit(Math.max(1, capacity) * 2 - 1) << 1;
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,183 @@
+package com.group6.trafficgraphoptimizer.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Log-bucketed latency histogram in the style of HdrHistogram. Values are
+ * nanoseconds; every power-of-two range is split into 128 linear
+ * sub-buckets, so any recorded value is reported within 1% of its true
+ * value, from one nanosecond up to centuries, in a fixed 57 KB of counters.
+ * <p>
+ * {@link #record(long)} is lock-free and safe to call from many threads.
+ * {@link #snapshot()} gives the totals so far and {@link #intervalSnapshot()}
+ * the values recorded since the previous interval snapshot.
+ */
+public class LatencyHistogram {
+
+    // 2^SUB_BUCKET_BITS linear buckets cover [0, 2^SUB_BUCKET_BITS); above that, each
+    // power of two gets 2^(SUB_BUCKET_BITS - 1) sub-buckets
+    private static final int SUB_BUCKET_BITS = 8;
+    private static final int SUB_BUCKET_HALF = 1 << (SUB_BUCKET_BITS - 1);
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) << (SUB_BUCKET_BITS - 1);
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+    private final long createdNanos = System.nanoTime();
+
+    // Cumulative snapshot at the end of the last interval
+    private Snapshot lastInterval;
+
+    public LatencyHistogram() {
+        this.lastInterval = new Snapshot(new long[BUCKETS], 0, 0, 0, createdNanos, createdNanos);
+    }
+
+    /**
+     * Records one latency.
+     *
+     * @param nanos the latency in nanoseconds; negative values count as zero
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(indexOf(value));
+        totalCount.increment();
+        totalNanos.add(value);
+        long currentMax = max.get();
+        while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+            currentMax = max.get();
+        }
+    }
+
+    /**
+     * @return number of recorded values
+     */
+    public long getCount() {
+        return totalCount.sum();
+    }
+
+    /**
+     * Copies the counts recorded so far. Values recorded concurrently may or may
+     * not be included.
+     *
+     * @return the cumulative distribution
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        return new Snapshot(copy, count, totalNanos.sum(), max.get(), createdNanos, System.nanoTime());
+    }
+
+    /**
+     * Returns the distribution of the values recorded since the previous call,
+     * or since creation for the first call.
+     *
+     * @return the interval distribution
+     */
+    public synchronized Snapshot intervalSnapshot() {
+        Snapshot current = snapshot();
+        long[] delta = new long[BUCKETS];
+        long count = 0;
+        long intervalMax = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            delta[i] = current.counts[i] - lastInterval.counts[i];
+            count += delta[i];
+            if (delta[i] > 0) intervalMax = Math.min(current.max, highestEquivalentValue(i));
+        }
+        Snapshot interval = new Snapshot(delta, count, current.sumNanos - lastInterval.sumNanos, intervalMax,
+                lastInterval.endNanos, current.endNanos);
+        lastInterval = current;
+        return interval;
+    }
+
+    static int indexOf(long value) {
+        if (value < 2 * SUB_BUCKET_HALF) return (int) value;
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return (shift << (SUB_BUCKET_BITS - 1)) + (int) (value >>> shift);
+    }
+
+    static long highestEquivalentValue(int index) {
+        if (index < 2 * SUB_BUCKET_HALF) return index;
+        int shift = (index >>> (SUB_BUCKET_BITS - 1)) - 1;
+        long sub = index - ((long) shift << (SUB_BUCKET_BITS - 1));
+        long upper = ((sub + 1) << shift) - 1;
+        return upper < 0 ? Long.MAX_VALUE : upper;
+    }
+
+    /**
+     * Immutable copy of a histogram's counts, over its whole life or one interval.
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long sumNanos;
+        private final long max;
+        private final long startNanos;
+        private final long endNanos;
+
+        private Snapshot(long[] counts, long count, long sumNanos, long max, long startNanos, long endNanos) {
+            this.counts = counts;
+            this.count = count;
+            this.sumNanos = sumNanos;
+            this.max = max;
+            this.startNanos = startNanos;
+            this.endNanos = endNanos;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return mean latency in nanoseconds, or 0 if empty
+         */
+        public double getMean() {
+            return count == 0 ? 0.0 : (double) sumNanos / count;
+        }
+
+        /**
+         * @return largest latency in nanoseconds, or 0 if empty
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * @return length of the covered period in nanoseconds
+         */
+        public long getDurationNanos() {
+            return endNanos - startNanos;
+        }
+
+        /**
+         * Gets the latency at a percentile, rounded up to the top of its bucket.
+         *
+         * @param percentile between 0 and 100
+         * @return the latency in nanoseconds, or 0 if empty
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (count == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(Math.min(100.0, percentile) / 100.0 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) return Math.min(max, highestEquivalentValue(i));
+            }
+            return max;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("count=%d, mean=%.1fus, p50=%.1fus, p90=%.1fus, p99=%.1fus, p99.9=%.1fus, max=%.1fus",
+                    count, getMean() / 1000.0, getValueAtPercentile(50) / 1000.0,
+                    getValueAtPercentile(90) / 1000.0, getValueAtPercentile(99) / 1000.0,
+                    getValueAtPercentile(99.9) / 1000.0, max / 1000.0);
+        }
+    }
+}
@@ -1,27 +1,51 @@
 
 package com.group6.trafficgraphoptimizer.metrics;
 
+import com.group6.trafficgraphoptimizer.router.CacheStats;
 import com.opencsv.CSVWriter;
 
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 /**
  * Utility class for recording and exporting experiment metrics like runtime,
- * path length, and path cost for route evaluations.
+ * path length, and path cost for route evaluations, plus route cache counters.
+ * <p>
+ * Latencies can also be recorded per router into {@link LatencyHistogram}s
+ * at nanosecond resolution, from any number of threads, and exported as
+ * percentile summaries and per-interval snapshots.
  */
 public class MetricsLogger {
 
     private final List<String[]> records;
     private final String[] header = { "Start", "End", "PathLength", "TotalCost", "ExecutionTime(ms)" };
 
+    private final List<String[]> cacheRecords;
+    private final String[] cacheHeader = { "Cache", "Hits", "Misses", "Evictions", "Invalidations", "Size", "HitRate" };
+
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentSkipListMap<>();
+    private final List<String[]> intervalRecords;
+    private final String[] summaryHeader = {
+            "Router", "Count", "Mean(us)", "P50(us)", "P90(us)", "P99(us)", "P99.9(us)", "Max(us)"
+    };
+    private final String[] intervalHeader = {
+            "Router", "IntervalEnd(ms)", "Count", "Throughput(q/s)",
+            "Mean(us)", "P50(us)", "P90(us)", "P99(us)", "P99.9(us)", "Max(us)"
+    };
+    private final long startNanos = System.nanoTime();
+
     /**
      * Constructs a new MetricsLogger instance to track metrics for one or more runs.
      */
     public MetricsLogger() {
         this.records = new ArrayList<>();
         records.add(header); // Add CSV header
+        this.cacheRecords = new ArrayList<>();
+        cacheRecords.add(cacheHeader);
+        this.intervalRecords = new ArrayList<>();
+        intervalRecords.add(intervalHeader);
     }
 
     /**
@@ -43,14 +67,123 @@ public class MetricsLogger {
         });
     }
 
+    /**
+     * Records the counters of a route cache.
+     *
+     * @param name  label of the cache, e.g. the router it wraps
+     * @param stats counters taken from {@link com.group6.trafficgraphoptimizer.router.CachingRouter#getStats()}
+     */
+    public void logCacheStats(String name, CacheStats stats) {
+        cacheRecords.add(new String[] {
+                name,
+                String.valueOf(stats.getHits()),
+                String.valueOf(stats.getMisses()),
+                String.valueOf(stats.getEvictions()),
+                String.valueOf(stats.getInvalidations()),
+                String.valueOf(stats.getSize()),
+                String.format("%.4f", stats.getHitRate())
+        });
+    }
+
+    /**
+     * Gets the latency histogram of a router, creating it on first use.
+     *
+     * @param router label of the router, e.g. "static"
+     * @return the router's histogram
+     */
+    public LatencyHistogram latencyHistogram(String router) {
+        return latencies.computeIfAbsent(router, name -> new LatencyHistogram());
+    }
+
+    /**
+     * Records the latency of one query. Safe to call from many threads.
+     *
+     * @param router label of the router that answered the query
+     * @param nanos  time taken in nanoseconds
+     */
+    public void recordLatency(String router, long nanos) {
+        latencyHistogram(router).record(nanos);
+    }
+
+    /**
+     * Closes the current interval of every router's histogram and records its
+     * distribution, to be written by {@link #exportLatencyIntervalsToCSV(String)}.
+     * Call it periodically, e.g. once per second, during a run.
+     */
+    public synchronized void snapshotIntervals() {
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        for (Map.Entry<String, LatencyHistogram> entry : latencies.entrySet()) {
+            LatencyHistogram.Snapshot interval = entry.getValue().intervalSnapshot();
+            double seconds = interval.getDurationNanos() / 1e9;
+            String[] row = new String[intervalHeader.length];
+            row[0] = entry.getKey();
+            row[1] = String.valueOf(elapsedMillis);
+            row[2] = String.valueOf(interval.getCount());
+            row[3] = String.format("%.1f", seconds > 0 ? interval.getCount() / seconds : 0.0);
+            fillPercentiles(row, 4, interval);
+            intervalRecords.add(row);
+        }
+    }
+
     /**
      * Exports all recorded metrics to a CSV file.
      *
      * @param filePath output file path (e.g., "results/metrics.csv")
      */
     public void exportToCSV(String filePath) {
+        export(records, filePath);
+    }
+
+    /**
+     * Exports all recorded cache counters to a CSV file.
+     *
+     * @param filePath output file path (e.g., "results/cache_metrics.csv")
+     */
+    public void exportCacheStatsToCSV(String filePath) {
+        export(cacheRecords, filePath);
+    }
+
+    /**
+     * Exports the latency distribution of every router over the whole run.
+     *
+     * @param filePath output file path (e.g., "results/latency_summary.csv")
+     */
+    public void exportLatencySummaryToCSV(String filePath) {
+        List<String[]> rows = new ArrayList<>();
+        rows.add(summaryHeader);
+        for (Map.Entry<String, LatencyHistogram> entry : latencies.entrySet()) {
+            LatencyHistogram.Snapshot snapshot = entry.getValue().snapshot();
+            String[] row = new String[summaryHeader.length];
+            row[0] = entry.getKey();
+            row[1] = String.valueOf(snapshot.getCount());
+            fillPercentiles(row, 2, snapshot);
+            rows.add(row);
+        }
+        export(rows, filePath);
+    }
+
+    /**
+     * Exports the interval distributions recorded by {@link #snapshotIntervals()}.
+     *
+     * @param filePath output file path (e.g., "results/latency_intervals.csv")
+     */
+    public synchronized void exportLatencyIntervalsToCSV(String filePath) {
+        export(intervalRecords, filePath);
+    }
+
+    // Mean, p50, p90, p99, p99.9 and max in microseconds, starting at row[from]
+    private static void fillPercentiles(String[] row, int from, LatencyHistogram.Snapshot snapshot) {
+        row[from] = String.format("%.2f", snapshot.getMean() / 1000.0);
+        row[from + 1] = String.format("%.2f", snapshot.getValueAtPercentile(50) / 1000.0);
+        row[from + 2] = String.format("%.2f", snapshot.getValueAtPercentile(90) / 1000.0);
+        row[from + 3] = String.format("%.2f", snapshot.getValueAtPercentile(99) / 1000.0);
+        row[from + 4] = String.format("%.2f", snapshot.getValueAtPercentile(99.9) / 1000.0);
+        row[from + 5] = String.format("%.2f", snapshot.getMax() / 1000.0);
+    }
+
+    private static void export(List<String[]> rows, String filePath) {
         try (CSVWriter writer = new CSVWriter(new FileWriter(filePath))) {
-            writer.writeAll(records);
+            writer.writeAll(rows);
             System.out.println("Metrics exported to " + filePath);
         } catch (IOException e) {
             System.err.println("Failed to export metrics: " + e.getMessage());
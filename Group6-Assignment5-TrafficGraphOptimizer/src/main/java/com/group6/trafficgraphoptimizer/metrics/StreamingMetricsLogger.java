@@ -0,0 +1,314 @@
+package com.group6.trafficgraphoptimizer.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Streaming counterpart of {@link MetricsLogger} for long runs. Rows are
+ * appended to the CSV file while the run is going instead of being collected
+ * in memory, so memory stays bounded and a crash loses at most the last
+ * flush interval.
+ * <p>
+ * Routing threads hand rows to a bounded lock-free ring buffer; a single
+ * background thread drains it in batches, formats the rows into a reused
+ * buffer and appends them to the file, flushing periodically. When the ring
+ * is full, {@link OverflowPolicy} decides whether the caller waits or the
+ * row is dropped.
+ */
+public class StreamingMetricsLogger implements AutoCloseable {
+
+    /**
+     * What {@link #log} does when the ring buffer is full.
+     */
+    public enum OverflowPolicy {
+        /** Wait for the writer to make room (backpressure). */
+        BLOCK,
+        /** Discard the row and count it in {@link #getDropped()}. */
+        DROP
+    }
+
+    public static final int DEFAULT_CAPACITY = 8192;
+    public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 1000;
+
+    private static final String HEADER = "\"Start\",\"End\",\"PathLength\",\"TotalCost\",\"ExecutionTime(ms)\"\n";
+
+    // Rows drained per write, and how long the writer parks when idle
+    private static final int BATCH = 256;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(500);
+
+    private final Path file;
+    private final OverflowPolicy policy;
+    private final long flushIntervalNanos;
+
+    // Ring slots; sequences[i] == position + 1 once the row at position is published,
+    // and == position + capacity once it has been consumed and the slot is free again
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final String[] starts;
+    private final String[] ends;
+    private final int[] pathLengths;
+    private final double[] totalCosts;
+    private final long[] executionTimes;
+
+    private final AtomicLong tail = new AtomicLong();
+    private long head;
+    private volatile long written;
+    private volatile long flushed;
+    private volatile boolean flushRequested;
+
+    private final LongAdder dropped = new LongAdder();
+    private final Thread writer;
+    private volatile boolean closed;
+    private volatile IOException failure;
+
+    /**
+     * Creates a logger with default capacity, backpressure and a one-second flush interval.
+     *
+     * @param filePath CSV file to append to; the header is written if the file is new or empty
+     * @throws IOException if the file cannot be opened
+     */
+    public StreamingMetricsLogger(String filePath) throws IOException {
+        this(filePath, DEFAULT_CAPACITY, OverflowPolicy.BLOCK, DEFAULT_FLUSH_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Creates a logger and starts its writer thread.
+     *
+     * @param filePath             CSV file to append to; the header is written if the file is new or empty
+     * @param capacity             rows the ring buffer holds, rounded up to a power of two
+     * @param policy               behaviour when the ring buffer is full
+     * @param flushIntervalMillis  maximum time a written row may sit in the file buffer
+     * @throws IOException if the file cannot be opened
+     */
+    public StreamingMetricsLogger(String filePath, int capacity, OverflowPolicy policy, long flushIntervalMillis)
+            throws IOException {
+        if (capacity < 1) throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        if (flushIntervalMillis < 1) {
+            throw new IllegalArgumentException("Flush interval must be positive: " + flushIntervalMillis);
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.file = Paths.get(filePath);
+        this.policy = policy;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.mask = size - 1;
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.starts = new String[size];
+        this.ends = new String[size];
+        this.pathLengths = new int[size];
+        this.totalCosts = new double[size];
+        this.executionTimes = new long[size];
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        if (Files.size(file) == 0) {
+            out.write(HEADER);
+        }
+
+        this.writer = new Thread(() -> drainLoop(out), "metrics-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queues a metric entry for writing. Safe to call from any number of threads.
+     *
+     * @param start         ID of the starting node
+     * @param end           ID of the ending node
+     * @param pathLength    Number of nodes in the path
+     * @param totalCost     Total weight of the path
+     * @param executionTime Time taken to compute the path (in milliseconds)
+     * @return true if the row was queued, false if it was dropped
+     * @throws IllegalStateException if the logger has been closed
+     */
+    public boolean log(String start, String end, int pathLength, double totalCost, long executionTime) {
+        if (closed) throw new IllegalStateException("Logger is closed");
+        long position = claim();
+        if (position < 0) {
+            dropped.increment();
+            return false;
+        }
+        int slot = (int) position & mask;
+        starts[slot] = start;
+        ends[slot] = end;
+        pathLengths[slot] = pathLength;
+        totalCosts[slot] = totalCost;
+        executionTimes[slot] = executionTime;
+        sequences.set(slot, position + 1);
+        return true;
+    }
+
+    // Reserves the next ring position, or returns -1 if the row has to be dropped
+    private long claim() {
+        int idle = 0;
+        while (true) {
+            long position = tail.get();
+            long sequence = sequences.get((int) position & mask);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) return position;
+            } else if (sequence < position) {
+                // Slot still holds an unwritten row from the previous lap: the ring is full
+                if (policy == OverflowPolicy.DROP || failure != null) return -1;
+                if (closed) throw new IllegalStateException("Logger is closed");
+                if (++idle > 64) LockSupport.parkNanos(IDLE_PARK_NANOS);
+                else Thread.onSpinWait();
+            }
+            // Otherwise another producer took this position; retry with the new tail
+        }
+    }
+
+    /**
+     * Waits until every row queued before this call has been written and flushed.
+     *
+     * @throws IllegalStateException if the writer failed
+     */
+    public void flush() {
+        long target = tail.get();
+        while (flushed < target && failure == null && writer.isAlive()) {
+            flushRequested = true;
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+        if (failure != null) throw new IllegalStateException("Failed to write metrics", failure);
+    }
+
+    /**
+     * Writes all queued rows, flushes and closes the file. Further calls to
+     * {@link #log} fail; rows logged concurrently with closing may be lost, so
+     * stop the routing threads first.
+     */
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return rows written to the file so far, not necessarily flushed
+     */
+    public long getWritten() {
+        return written;
+    }
+
+    /**
+     * @return rows discarded because the ring was full or the writer failed
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public OverflowPolicy getPolicy() {
+        return policy;
+    }
+
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    private void drainLoop(Writer out) {
+        StringBuilder buffer = new StringBuilder(BATCH * 48);
+        long lastFlush = System.nanoTime();
+        boolean dirty = false;
+        try (out) {
+            while (true) {
+                boolean finishing = closed;
+                int rows = drain(buffer);
+                if (rows > 0) {
+                    out.append(buffer);
+                    buffer.setLength(0);
+                    written += rows;
+                    dirty = true;
+                }
+
+                long now = System.nanoTime();
+                if (dirty && (now - lastFlush >= flushIntervalNanos || flushRequested || finishing)) {
+                    flushRequested = false;
+                    out.flush();
+                    flushed = written;
+                    lastFlush = now;
+                    dirty = false;
+                }
+                if (rows == 0) {
+                    // Only stop once a pass after close() found nothing left
+                    if (finishing && tail.get() == head) break;
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+        } catch (IOException e) {
+            failure = e;
+            System.err.println("Failed to write metrics: " + e.getMessage());
+        }
+    }
+
+    // Moves up to BATCH published rows from the ring into the buffer
+    private int drain(StringBuilder buffer) {
+        int rows = 0;
+        while (rows < BATCH) {
+            int slot = (int) head & mask;
+            if (sequences.get(slot) != head + 1) break;
+            appendRow(buffer, starts[slot], ends[slot], pathLengths[slot], totalCosts[slot], executionTimes[slot]);
+            starts[slot] = null;
+            ends[slot] = null;
+            sequences.set(slot, head + mask + 1);
+            head++;
+            rows++;
+        }
+        return rows;
+    }
+
+    /**
+     * Formats one row the way {@link MetricsLogger#exportToCSV} does, with every
+     * field quoted and the cost rounded to two decimals, without allocating.
+     */
+    static void appendRow(StringBuilder buffer, String start, String end, int pathLength, double totalCost,
+                          long executionTime) {
+        appendQuoted(buffer, start).append(',');
+        appendQuoted(buffer, end).append(',');
+        buffer.append('"').append(pathLength).append("\",\"");
+        appendFixed2(buffer, totalCost);
+        buffer.append("\",\"").append(executionTime).append("\"\n");
+    }
+
+    private static StringBuilder appendQuoted(StringBuilder buffer, String value) {
+        buffer.append('"');
+        for (int i = 0, n = value.length(); i < n; i++) {
+            char c = value.charAt(i);
+            if (c == '"') buffer.append('"');
+            buffer.append(c);
+        }
+        return buffer.append('"');
+    }
+
+    private static void appendFixed2(StringBuilder buffer, double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value) || Math.abs(value) >= 1e16) {
+            buffer.append(String.format("%.2f", value));
+            return;
+        }
+        long hundredths = Math.round(Math.abs(value) * 100);
+        if (value < 0 && hundredths != 0) buffer.append('-');
+        buffer.append(hundredths / 100).append('.');
+        long fraction = hundredths % 100;
+        if (fraction < 10) buffer.append('0');
+        buffer.append(fraction);
+    }
+}
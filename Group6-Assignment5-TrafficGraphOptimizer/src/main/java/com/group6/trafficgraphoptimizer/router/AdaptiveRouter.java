@@ -1,26 +1,91 @@
 package com.group6.trafficgraphoptimizer.router;
 
-import com.group6.trafficgraphoptimizer.graph.Edge;
+import com.group6.trafficgraphoptimizer.graph.CompactGraph;
 import com.group6.trafficgraphoptimizer.graph.Graph;
 import com.group6.trafficgraphoptimizer.graph.Node;
+import com.group6.trafficgraphoptimizer.traffic.OverlayTrafficModel;
+import com.group6.trafficgraphoptimizer.traffic.RandomTrafficModel;
+import com.group6.trafficgraphoptimizer.traffic.TrafficModel;
+import com.group6.trafficgraphoptimizer.traffic.TrafficOverlay;
 
 import java.util.*;
+import java.util.function.Supplier;
 
 /**
  * An adaptive traffic-aware routing engine using Dijkstra's algorithm as a base.
  * This version allows for dynamic weight adjustments to model changing traffic.
+ * <p>
+ * Edge costs come from a pluggable {@link TrafficModel}, asked once per query.
+ * By default congestion is simulated with {@link RandomTrafficModel}.
  */
-public class AdaptiveRouter {
+public class AdaptiveRouter implements RouteResultRouter {
 
-    private final Graph graph;
+    private static final RoutingCounters COUNTERS = RoutingCounters.forRouter("adaptive");
+
+    private final Supplier<CompactGraph> snapshots;
+    private final TrafficModel trafficModel;
 
     /**
-     * Constructs an AdaptiveRouter over a traffic graph.
+     * Constructs an AdaptiveRouter over a traffic graph. Each query runs on the
+     * graph's current snapshot, so later changes to the graph are picked up.
      *
      * @param graph the graph representing the road network
      */
     public AdaptiveRouter(Graph graph) {
-        this.graph = graph;
+        this(graph, new RandomTrafficModel());
+    }
+
+    /**
+     * Constructs an AdaptiveRouter that reads live edge weights from a traffic
+     * overlay instead of simulating congestion.
+     *
+     * @param graph   the graph representing the road network
+     * @param overlay live weights for the graph's edges
+     */
+    public AdaptiveRouter(Graph graph, TrafficOverlay overlay) {
+        this(graph, new OverlayTrafficModel(overlay));
+    }
+
+    /**
+     * Constructs an AdaptiveRouter with a custom traffic model.
+     *
+     * @param graph        the graph representing the road network
+     * @param trafficModel supplies the edge costs of each query
+     */
+    public AdaptiveRouter(Graph graph, TrafficModel trafficModel) {
+        this.snapshots = graph::snapshot;
+        this.trafficModel = Objects.requireNonNull(trafficModel);
+    }
+
+    /**
+     * Constructs an AdaptiveRouter over a frozen snapshot.
+     *
+     * @param graph the snapshot representing the road network
+     */
+    public AdaptiveRouter(CompactGraph graph) {
+        this(graph, new RandomTrafficModel());
+    }
+
+    /**
+     * Constructs an AdaptiveRouter over a frozen snapshot with a custom traffic model.
+     *
+     * @param graph        the snapshot representing the road network
+     * @param trafficModel supplies the edge costs of each query
+     */
+    public AdaptiveRouter(CompactGraph graph, TrafficModel trafficModel) {
+        this.snapshots = () -> graph;
+        this.trafficModel = Objects.requireNonNull(trafficModel);
+    }
+
+    public TrafficModel getTrafficModel() {
+        return trafficModel;
+    }
+
+    /**
+     * @return the live counters shared by all adaptive routers
+     */
+    public RoutingCounters getCounters() {
+        return COUNTERS;
     }
 
     /**
@@ -30,65 +95,58 @@ public class AdaptiveRouter {
      * @param end   the target intersection
      * @return the list of nodes representing the optimal path, or empty if none found
      */
+    @Override
     public List<Node> findShortestPath(Node start, Node end) {
-        Map<Node, Double> distances = new HashMap<>();
-        Map<Node, Node> previous = new HashMap<>();
-        PriorityQueue<Node> queue = new PriorityQueue<>(Comparator.comparingDouble(distances::get));
-
-        for (Node node : graph.getNodes()) {
-            distances.put(node, Double.POSITIVE_INFINITY);
-        }
-        distances.put(start, 0.0);
-        queue.add(start);
-
-        while (!queue.isEmpty()) {
-            Node current = queue.poll();
-            if (current.equals(end)) break;
-
-            for (Edge edge : graph.getEdgesFrom(current)) {
-                double adjustedWeight = adjustWeight(edge); // dynamic adaptation
-                double newDist = distances.get(current) + adjustedWeight;
-                if (newDist < distances.get(edge.getTo())) {
-                    distances.put(edge.getTo(), newDist);
-                    previous.put(edge.getTo(), current);
-                    queue.add(edge.getTo());
-                }
-            }
-        }
+        return findShortestPath(start, end, null);
+    }
 
-        return reconstructPath(previous, start, end);
+    /**
+     * Finds the shortest path and records the search effort.
+     *
+     * @param start the starting intersection
+     * @param end   the target intersection
+     * @param stats receives the number of settled nodes and relaxed edges, may be null
+     * @return the list of nodes representing the optimal path, or empty if none found
+     */
+    public List<Node> findShortestPath(Node start, Node end, SearchStats stats) {
+        return route(start, end, stats).getPath();
     }
 
     /**
-     * Adjusts the edge weight dynamically — this is the "smart" part of the algorithm.
-     * In real-world use, this might include congestion data, weather, etc.
+     * Finds the optimal route under current traffic with its cost and search effort.
      *
-     * @param edge the original edge
-     * @return adjusted cost
+     * @param start the starting intersection
+     * @param end   the target intersection
+     * @return the route, priced both with the stored weights and with the traffic-adjusted costs
      */
-    private double adjustWeight(Edge edge) {
-        // Example logic: simulate congestion by increasing cost randomly
-        double trafficFactor = 1.0 + Math.random() * 0.2; // ±20% weight fluctuation
-        return edge.getWeight() * trafficFactor;
+    @Override
+    public RouteResult route(Node start, Node end) {
+        return route(start, end, null);
     }
 
     /**
-     * Reconstructs the path from start to end based on backtracking through the `previous` map.
+     * Finds the optimal route under current traffic with its cost and search effort.
      *
-     * @param previous the map of node predecessors
-     * @param start    start node
-     * @param end      end node
-     * @return ordered list of nodes in the path
+     * @param start the starting intersection
+     * @param end   the target intersection
+     * @param stats also receives the search effort, may be null
+     * @return the route, priced both with the stored weights and with the traffic-adjusted costs
      */
-    private List<Node> reconstructPath(Map<Node, Node> previous, Node start, Node end) {
-        LinkedList<Node> path = new LinkedList<>();
-        Node current = end;
-        while (current != null && !current.equals(start)) {
-            path.addFirst(current);
-            current = previous.get(current);
+    public RouteResult route(Node start, Node end, SearchStats stats) {
+        RoutingQueryEvent event = new RoutingQueryEvent();
+        event.begin();
+        RouteResult result;
+        try {
+            CompactGraph graph = snapshots.get();
+            TrafficModel.EdgeCosts costs = trafficModel.forQuery(start, end);
+            result = DijkstraSearch.route(graph, start, end,
+                    (edge, baseWeight) -> costs.cost(graph.edgeId(edge), baseWeight), stats);
+        } catch (RuntimeException e) {
+            COUNTERS.recordFailure();
+            throw e;
         }
-        if (current == null) return Collections.emptyList(); // no path found
-        path.addFirst(start);
-        return path;
+        COUNTERS.record(result);
+        event.commitQuery(COUNTERS.getRouter(), start, end, result);
+        return result;
     }
 }
@@ -0,0 +1,116 @@
+package com.group6.trafficgraphoptimizer.router;
+
+import com.group6.trafficgraphoptimizer.graph.CompactGraph;
+import com.group6.trafficgraphoptimizer.graph.Graph;
+import com.group6.trafficgraphoptimizer.graph.Node;
+
+import java.util.*;
+
+/**
+ * Goal-directed A* router using landmark lower bounds (ALT). The bounds come
+ * from a {@link LandmarkTable} and never overestimate, so the returned paths
+ * are exact shortest paths while far fewer nodes are settled than with plain
+ * Dijkstra.
+ * <p>
+ * The router works on a frozen snapshot; build a new one after the graph changes.
+ */
+public class AltRouter implements Router {
+
+    /** Landmarks built by the convenience constructor. */
+    public static final int DEFAULT_LANDMARKS = 8;
+
+    // Landmarks consulted per query, picked by their bound between source and target
+    private static final int ACTIVE_LANDMARKS = 4;
+
+    private final CompactGraph graph;
+    private final LandmarkTable landmarks;
+
+    /**
+     * Constructs an AltRouter over the graph's current snapshot, with
+     * {@link #DEFAULT_LANDMARKS} landmarks chosen by avoid selection.
+     *
+     * @param graph the graph to route over
+     */
+    public AltRouter(Graph graph) {
+        this(graph.snapshot(), LandmarkTable.build(graph.snapshot(), DEFAULT_LANDMARKS, LandmarkSelection.AVOID, 42L));
+    }
+
+    /**
+     * Constructs an AltRouter from a prebuilt landmark table.
+     *
+     * @param graph     the snapshot to route over
+     * @param landmarks landmark distances computed on that same snapshot
+     */
+    public AltRouter(CompactGraph graph, LandmarkTable landmarks) {
+        if (landmarks.getGraph() != graph) {
+            throw new IllegalArgumentException("Landmark table was built for a different graph snapshot");
+        }
+        this.graph = graph;
+        this.landmarks = landmarks;
+    }
+
+    public LandmarkTable getLandmarks() {
+        return landmarks;
+    }
+
+    /**
+     * Finds the shortest path from start to end with A* search.
+     *
+     * @param start the starting node
+     * @param end   the destination node
+     * @return list of nodes in the shortest path
+     */
+    @Override
+    public List<Node> findShortestPath(Node start, Node end) {
+        return findShortestPath(start, end, null);
+    }
+
+    /**
+     * Finds the shortest path from start to end and records how much of the
+     * graph the search had to explore.
+     *
+     * @param start the starting node
+     * @param end   the destination node
+     * @param stats receives settled-node and relaxation counts, may be null
+     * @return list of nodes in the shortest path
+     */
+    public List<Node> findShortestPath(Node start, Node end, SearchStats stats) {
+        int source = graph.indexOf(start);
+        int target = graph.indexOf(end);
+        if (source < 0 || target < 0) {
+            return start.equals(end) ? List.of(start) : Collections.emptyList();
+        }
+
+        int[] active = new int[ACTIVE_LANDMARKS];
+        int activeCount = landmarks.selectActive(source, target, active);
+
+        SearchWorkspace workspace = SearchWorkspace.forThread(SearchWorkspace.FORWARD, graph.nodeCount());
+        IndexedMinHeap queue = workspace.heap();
+        workspace.set(source, 0.0, -1, -1);
+        queue.insertOrDecrease(source, landmarks.lowerBound(source, target, active, activeCount));
+        int settled = 0;
+        int relaxed = 0;
+
+        while (!queue.isEmpty()) {
+            int current = queue.poll();
+            settled++;
+            if (current == target) break;
+
+            double base = workspace.distance(current);
+            for (int e = graph.firstEdge(current), last = graph.endEdge(current); e < last; e++) {
+                relaxed++;
+                int to = graph.target(e);
+                double newDist = base + graph.weight(e);
+                if (newDist < workspace.distance(to)) {
+                    double estimate = landmarks.lowerBound(to, target, active, activeCount);
+                    if (estimate == Double.POSITIVE_INFINITY) continue; // target unreachable from here
+                    workspace.set(to, newDist, current, e);
+                    queue.insertOrDecrease(to, newDist + estimate);
+                }
+            }
+        }
+
+        if (stats != null) stats.add(settled, relaxed);
+        return DijkstraSearch.reconstructPath(graph, workspace, source, target);
+    }
+}
@@ -0,0 +1,467 @@
+package com.group6.trafficgraphoptimizer.router;
+
+import com.group6.trafficgraphoptimizer.graph.CompactGraph;
+import com.group6.trafficgraphoptimizer.graph.Graph;
+import com.group6.trafficgraphoptimizer.graph.Node;
+
+import java.util.*;
+
+/**
+ * Router that returns several routes per query instead of one.
+ * <p>
+ * {@link #findKShortestPaths} gives the k cheapest loopless paths with Yen's
+ * algorithm. Paths are told apart by their nodes, so parallel edges never
+ * produce the same route twice. Every query for more than one path first
+ * grows a reverse shortest-path tree from the destination, which is shared by
+ * all spur searches of that query:
+ * - When the tree path from a spur node avoids the blocked root nodes and
+ *   edges, it is the spur path and no search runs at all.
+ * - Otherwise the spur search is an A* search guided by the tree distances,
+ *   which stay valid lower bounds when edges and nodes are removed.
+ * <p>
+ * {@link #findAlternatives} gives routes that are meaningfully different
+ * rather than strictly next-cheapest, with the penalty method: edges of the
+ * routes found so far become more expensive and the search is repeated.
+ * Routes that share too much with an earlier route or are too long compared
+ * with the best one are dropped.
+ * <p>
+ * Searches run in the calling thread's pooled {@link SearchWorkspace}s, and
+ * blocked nodes and edges and edge penalties live in epoch-stamped arrays
+ * that are pooled per thread as well, so a query allocates nothing sized by
+ * the graph.
+ */
+public class AlternativeRouter implements Router {
+
+    /** Weight factor applied to the edges of each route already found. */
+    public static final double PENALTY = 1.4;
+
+    /** Largest cost of an alternative, relative to the best route. */
+    public static final double MAX_STRETCH = 1.5;
+
+    /** Largest part of an alternative's cost it may share with any earlier route. */
+    public static final double MAX_SHARING = 0.8;
+
+    private final CompactGraph graph;
+    private final boolean reuseReverseTree;
+
+    /**
+     * Constructs an AlternativeRouter over the graph's current snapshot.
+     *
+     * @param graph the graph to route over
+     */
+    public AlternativeRouter(Graph graph) {
+        this(graph.snapshot(), true);
+    }
+
+    /**
+     * Constructs an AlternativeRouter over a snapshot.
+     *
+     * @param graph            the snapshot to route over
+     * @param reuseReverseTree false runs textbook Yen's algorithm with a plain
+     *                         Dijkstra search per spur node, for comparison
+     */
+    public AlternativeRouter(CompactGraph graph, boolean reuseReverseTree) {
+        this.graph = graph;
+        this.reuseReverseTree = reuseReverseTree;
+    }
+
+    /**
+     * Finds the shortest path from start to end.
+     *
+     * @param start the starting node
+     * @param end   the destination node
+     * @return list of nodes in the path, or empty if none found
+     */
+    @Override
+    public List<Node> findShortestPath(Node start, Node end) {
+        List<List<Node>> paths = findKShortestPaths(start, end, 1);
+        return paths.isEmpty() ? Collections.emptyList() : paths.get(0);
+    }
+
+    /**
+     * Finds the k cheapest loopless paths.
+     *
+     * @param start the starting node
+     * @param end   the destination node
+     * @param k     number of paths wanted
+     * @return up to k paths in order of increasing cost, empty if none exists
+     */
+    public List<List<Node>> findKShortestPaths(Node start, Node end, int k) {
+        return findKShortestPaths(start, end, k, null);
+    }
+
+    /**
+     * Finds the k cheapest loopless paths and records the search effort.
+     *
+     * @param start the starting node
+     * @param end   the destination node
+     * @param k     number of paths wanted
+     * @param stats receives the work of every search, may be null
+     * @return up to k paths in order of increasing cost, empty if none exists
+     */
+    public List<List<Node>> findKShortestPaths(Node start, Node end, int k, SearchStats stats) {
+        if (k < 1) throw new IllegalArgumentException("k must be positive: " + k);
+        int source = graph.indexOf(start);
+        int target = graph.indexOf(end);
+        if (source < 0 || target < 0) {
+            return start.equals(end) ? List.of(List.of(start)) : Collections.emptyList();
+        }
+
+        // A single path needs no spur searches, so the reverse tree would be wasted
+        Query query = new Query(target, stats, reuseReverseTree && k > 1);
+        Path best = query.search(source, null, 0.0, false);
+        if (best == null) return Collections.emptyList();
+        if (source == target) return List.of(best.toNodes(graph));
+
+        List<Path> accepted = new ArrayList<>();
+        accepted.add(best);
+        PriorityQueue<Path> candidates = new PriorityQueue<>(Comparator.comparingDouble(p -> p.cost));
+        Set<Path> seen = new HashSet<>(accepted);
+
+        while (accepted.size() < k) {
+            Path previous = accepted.get(accepted.size() - 1);
+            for (int i = 0; i + 1 < previous.nodes.length; i++) {
+                query.block(accepted, previous, i);
+                Path candidate = query.search(previous.nodes[i], previous, previous.costUpTo(graph, i), false);
+                if (candidate != null && seen.add(candidate)) {
+                    candidates.add(candidate);
+                }
+            }
+            if (candidates.isEmpty()) break;
+            accepted.add(candidates.poll());
+        }
+
+        List<List<Node>> paths = new ArrayList<>(accepted.size());
+        for (Path path : accepted) {
+            paths.add(path.toNodes(graph));
+        }
+        return paths;
+    }
+
+    /**
+     * Finds up to k good alternative routes with the penalty method.
+     *
+     * @param start the starting node
+     * @param end   the destination node
+     * @param k     number of routes wanted, including the best one
+     * @return the best route followed by up to k - 1 alternatives, empty if none exists
+     */
+    public List<List<Node>> findAlternatives(Node start, Node end, int k) {
+        if (k < 1) throw new IllegalArgumentException("k must be positive: " + k);
+        int source = graph.indexOf(start);
+        int target = graph.indexOf(end);
+        if (source < 0 || target < 0) {
+            return start.equals(end) ? List.of(List.of(start)) : Collections.emptyList();
+        }
+
+        Query query = new Query(target, null, reuseReverseTree);
+        Path best = query.search(source, null, 0.0, false);
+        if (best == null) return Collections.emptyList();
+        if (source == target) return List.of(best.toNodes(graph));
+
+        List<Path> routes = new ArrayList<>();
+        routes.add(best);
+        query.penalize(best);
+        // Every route found makes its edges dearer; give up after a few rounds without a usable one
+        for (int misses = 0; routes.size() < k && misses < 2 * k; ) {
+            Path candidate = query.search(source, null, 0.0, true);
+            if (candidate == null) break;
+            query.penalize(candidate);
+            double cost = candidate.realCost(graph);
+            if (cost <= MAX_STRETCH * best.cost && !routes.contains(candidate)
+                    && !sharesTooMuch(candidate, cost, routes)) {
+                routes.add(candidate.withCost(cost));
+                misses = 0;
+            } else {
+                misses++;
+            }
+        }
+
+        List<List<Node>> paths = new ArrayList<>(routes.size());
+        for (Path route : routes) {
+            paths.add(route.toNodes(graph));
+        }
+        return paths;
+    }
+
+    private boolean sharesTooMuch(Path candidate, double cost, List<Path> routes) {
+        for (Path route : routes) {
+            int[] used = route.edges.clone();
+            Arrays.sort(used);
+            double shared = 0;
+            for (int e : candidate.edges) {
+                if (Arrays.binarySearch(used, e) >= 0) shared += graph.weight(e);
+            }
+            if (shared > MAX_SHARING * cost) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Search state of one query: the reverse tree to the target, the nodes
+     * and edges blocked for the current spur search and the edge penalties.
+     */
+    private final class Query {
+        private final int target;
+        private final SearchStats stats;
+        private final SearchWorkspace tree;
+        private final Marks marks;
+        private final int penaltyEpoch;
+        private int epoch;
+
+        Query(int target, SearchStats stats, boolean withTree) {
+            this.target = target;
+            this.stats = stats;
+            this.tree = withTree
+                    ? DijkstraSearch.oneToAll(graph, target, true, SearchWorkspace.BACKWARD)
+                    : null;
+            this.marks = Marks.forThread(graph.nodeCount(), graph.edgeCount());
+            this.epoch = marks.nextBlockEpoch();
+            this.penaltyEpoch = marks.nextPenaltyEpoch();
+        }
+
+        /**
+         * Blocks the root path of spur index i of the previous path, and the
+         * next hop of every accepted path with the same root, including any
+         * parallel edges of that hop.
+         */
+        void block(List<Path> accepted, Path previous, int i) {
+            epoch = marks.nextBlockEpoch();
+            for (int j = 0; j < i; j++) {
+                marks.blockedNodes[previous.nodes[j]] = epoch;
+            }
+            for (Path path : accepted) {
+                if (path.edges.length > i && path.sharesRoot(previous, i)) {
+                    int from = path.nodes[i];
+                    int to = path.nodes[i + 1];
+                    for (int e = graph.firstEdge(from), last = graph.endEdge(from); e < last; e++) {
+                        if (graph.target(e) == to) marks.blockedEdges[e] = epoch;
+                    }
+                }
+            }
+        }
+
+        private boolean isBlocked(int node, int edge) {
+            return marks.blockedNodes[node] == epoch || marks.blockedEdges[edge] == epoch;
+        }
+
+        // Makes the edges of a route dearer for the following penalized searches
+        void penalize(Path path) {
+            for (int e : path.edges) {
+                marks.penalties[e] = penalty(e) * PENALTY;
+                marks.penaltyStamps[e] = penaltyEpoch;
+            }
+        }
+
+        private double penalty(int edge) {
+            return marks.penaltyStamps[edge] == penaltyEpoch ? marks.penalties[edge] : 1.0;
+        }
+
+        /**
+         * Finds the cheapest path from a spur node to the target that avoids
+         * the blocked nodes and edges.
+         *
+         * @param spur      the node to start from
+         * @param root      the path whose prefix up to the spur node is prepended, or null
+         * @param rootCost  cost of that prefix
+         * @param penalized multiply the weights by the penalties of the routes found so far
+         * @return the full path, or null if the target cannot be reached
+         */
+        Path search(int spur, Path root, double rootCost, boolean penalized) {
+            if (tree != null && !penalized) {
+                Path direct = followTree(spur, root, rootCost);
+                if (direct != null) return direct;
+            }
+
+            SearchWorkspace workspace = SearchWorkspace.forThread(SearchWorkspace.FORWARD, graph.nodeCount());
+            IndexedMinHeap queue = workspace.heap();
+            workspace.set(spur, 0.0, -1, -1);
+            queue.insertOrDecrease(spur, estimate(spur));
+            int settled = 0;
+            int relaxed = 0;
+
+            while (!queue.isEmpty()) {
+                int current = queue.poll();
+                settled++;
+                if (current == target) break;
+
+                double base = workspace.distance(current);
+                for (int e = graph.firstEdge(current), last = graph.endEdge(current); e < last; e++) {
+                    relaxed++;
+                    int to = graph.target(e);
+                    if (isBlocked(to, e)) continue;
+                    double weight = penalized ? graph.weight(e) * penalty(e) : graph.weight(e);
+                    double newDist = base + weight;
+                    if (newDist < workspace.distance(to)) {
+                        double h = estimate(to);
+                        if (h == Double.POSITIVE_INFINITY) continue;
+                        workspace.set(to, newDist, current, e);
+                        queue.insertOrDecrease(to, newDist + h);
+                    }
+                }
+            }
+            if (stats != null) stats.add(settled, relaxed);
+            if (!workspace.isVisited(target)) return null;
+
+            int length = 1;
+            for (int v = target; v != spur; v = workspace.parent(v)) {
+                length++;
+            }
+            int prefix = root == null ? 0 : rootLength(root, spur);
+            int[] nodes = new int[prefix + length];
+            int[] edges = new int[prefix + length - 1];
+            if (root != null) {
+                System.arraycopy(root.nodes, 0, nodes, 0, prefix);
+                System.arraycopy(root.edges, 0, edges, 0, prefix);
+            }
+            int i = nodes.length - 1;
+            for (int v = target; v != spur; v = workspace.parent(v), i--) {
+                nodes[i] = v;
+                edges[i - 1] = workspace.parentEdge(v);
+            }
+            nodes[i] = spur;
+            return new Path(nodes, edges, rootCost + workspace.distance(target));
+        }
+
+        // Uses the tree path from the spur node if nothing on it is blocked
+        private Path followTree(int spur, Path root, double rootCost) {
+            if (!tree.isVisited(spur)) return null;
+            int length = 1;
+            for (int v = spur; v != target; v = tree.parent(v)) {
+                if (isBlocked(tree.parent(v), tree.parentEdge(v))) return null;
+                length++;
+            }
+            int prefix = root == null ? 0 : rootLength(root, spur);
+            int[] nodes = new int[prefix + length];
+            int[] edges = new int[prefix + length - 1];
+            if (root != null) {
+                System.arraycopy(root.nodes, 0, nodes, 0, prefix);
+                System.arraycopy(root.edges, 0, edges, 0, prefix);
+            }
+            int i = prefix;
+            for (int v = spur; v != target; v = tree.parent(v), i++) {
+                nodes[i] = v;
+                edges[i] = tree.parentEdge(v);
+            }
+            nodes[i] = target;
+            return new Path(nodes, edges, rootCost + tree.distance(spur));
+        }
+
+        // Lower bound on the distance to the target, or 0 without a tree
+        private double estimate(int v) {
+            return tree == null ? 0.0 : tree.distance(v);
+        }
+
+        private int rootLength(Path root, int spur) {
+            int prefix = 0;
+            while (root.nodes[prefix] != spur) prefix++;
+            return prefix;
+        }
+    }
+
+    /**
+     * Epoch-stamped blocked marks and edge penalties, pooled per thread like
+     * {@link SearchWorkspace}. A mark only counts if its stamp equals the
+     * current epoch, so starting a query or a spur search is constant time.
+     */
+    private static final class Marks {
+        private static final ThreadLocal<Marks> POOL = ThreadLocal.withInitial(Marks::new);
+
+        int[] blockedNodes = new int[0];
+        int[] blockedEdges = new int[0];
+        int[] penaltyStamps = new int[0];
+        double[] penalties = new double[0];
+        private int blockEpoch;
+        private int penaltyEpoch;
+
+        static Marks forThread(int nodeCount, int edgeCount) {
+            Marks marks = POOL.get();
+            if (marks.blockedNodes.length < nodeCount) {
+                marks.blockedNodes = Arrays.copyOf(marks.blockedNodes, nodeCount);
+            }
+            if (marks.blockedEdges.length < edgeCount) {
+                marks.blockedEdges = Arrays.copyOf(marks.blockedEdges, edgeCount);
+                marks.penaltyStamps = Arrays.copyOf(marks.penaltyStamps, edgeCount);
+                marks.penalties = Arrays.copyOf(marks.penalties, edgeCount);
+            }
+            return marks;
+        }
+
+        int nextBlockEpoch() {
+            if (++blockEpoch == Integer.MAX_VALUE) {
+                Arrays.fill(blockedNodes, 0);
+                Arrays.fill(blockedEdges, 0);
+                blockEpoch = 1;
+            }
+            return blockEpoch;
+        }
+
+        int nextPenaltyEpoch() {
+            if (++penaltyEpoch == Integer.MAX_VALUE) {
+                Arrays.fill(penaltyStamps, 0);
+                penaltyEpoch = 1;
+            }
+            return penaltyEpoch;
+        }
+    }
+
+    /**
+     * A path as node indices and the edge slots between them.
+     */
+    private static final class Path {
+        final int[] nodes;
+        final int[] edges;
+        final double cost;
+
+        Path(int[] nodes, int[] edges, double cost) {
+            this.nodes = nodes;
+            this.edges = edges;
+            this.cost = cost;
+        }
+
+        Path withCost(double cost) {
+            return new Path(nodes, edges, cost);
+        }
+
+        double costUpTo(CompactGraph graph, int i) {
+            double total = 0;
+            for (int j = 0; j < i; j++) {
+                total += graph.weight(edges[j]);
+            }
+            return total;
+        }
+
+        boolean sharesRoot(Path other, int i) {
+            for (int j = 0; j <= i; j++) {
+                if (nodes[j] != other.nodes[j]) return false;
+            }
+            return true;
+        }
+
+        double realCost(CompactGraph graph) {
+            double total = 0;
+            for (int e : edges) {
+                total += graph.weight(e);
+            }
+            return total;
+        }
+
+        List<Node> toNodes(CompactGraph graph) {
+            List<Node> path = new ArrayList<>(nodes.length);
+            for (int v : nodes) {
+                path.add(graph.node(v));
+            }
+            return path;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Path && Arrays.equals(nodes, ((Path) o).nodes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(nodes);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.group6.trafficgraphoptimizer.router;
+
+/**
+ * Point-in-time counters of a {@link CachingRouter}.
+ */
+public final class CacheStats {
+
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long invalidations;
+    private final int size;
+
+    public CacheStats(long hits, long misses, long evictions, long invalidations, int size) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.invalidations = invalidations;
+        this.size = size;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return entries dropped to stay within the capacity
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return entries dropped because the graph or its weights changed
+     */
+    public long getInvalidations() {
+        return invalidations;
+    }
+
+    /**
+     * @return number of cached routes
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return fraction of lookups answered from the cache, or 0 if there were none
+     */
+    public double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return "hits=" + hits + ", misses=" + misses + ", evictions=" + evictions
+                + ", invalidations=" + invalidations + ", size=" + size;
+    }
+}
@@ -0,0 +1,205 @@
+package com.group6.trafficgraphoptimizer.router;
+
+import com.group6.trafficgraphoptimizer.graph.Graph;
+import com.group6.trafficgraphoptimizer.graph.Node;
+import com.group6.trafficgraphoptimizer.traffic.TrafficOverlay;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Caches the routes of another router, for workloads that repeat popular
+ * (start, end) pairs.
+ * <p>
+ * The cache is split into independently locked segments, each an LRU map, so
+ * concurrent lookups rarely contend. Every entry remembers the graph version
+ * and, optionally, the traffic overlay version it was computed under. When
+ * either moves on, a segment drops all its entries on the next access, so a
+ * route is never served after {@link Graph#addEdge} or a weight update.
+ * Cached paths are returned as unmodifiable lists.
+ */
+public class CachingRouter implements Router {
+
+    // Segments are only used once there are enough entries to spread
+    private static final int MAX_SEGMENTS = 16;
+    private static final int MIN_SEGMENT_CAPACITY = 16;
+
+    private final Router delegate;
+    private final LongSupplier graphVersion;
+    private final LongSupplier weightVersion;
+    private final int capacity;
+    private final Segment[] segments;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * Caches routes over a graph whose edge weights change only through the graph.
+     *
+     * @param delegate computes routes on a cache miss
+     * @param graph    the graph the delegate routes over
+     * @param capacity maximum number of cached routes
+     */
+    public CachingRouter(Router delegate, Graph graph, int capacity) {
+        this(delegate, graph::getVersion, () -> 0L, capacity);
+    }
+
+    /**
+     * Caches routes over a graph with live traffic weights.
+     *
+     * @param delegate computes routes on a cache miss
+     * @param graph    the graph the delegate routes over
+     * @param overlay  the live weights the delegate routes with
+     * @param capacity maximum number of cached routes
+     */
+    public CachingRouter(Router delegate, Graph graph, TrafficOverlay overlay, int capacity) {
+        this(delegate, graph::getVersion, overlay::getVersion, capacity);
+    }
+
+    private CachingRouter(Router delegate, LongSupplier graphVersion, LongSupplier weightVersion, int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        this.delegate = Objects.requireNonNull(delegate);
+        this.graphVersion = graphVersion;
+        this.weightVersion = weightVersion;
+        this.capacity = capacity;
+
+        int segmentCount = Integer.highestOneBit(Math.max(1, Math.min(MAX_SEGMENTS, capacity / MIN_SEGMENT_CAPACITY)));
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            int segmentCapacity = capacity / segmentCount + (i < capacity % segmentCount ? 1 : 0);
+            segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    /**
+     * Returns the cached route if it is still current, otherwise asks the
+     * delegate and caches its answer.
+     *
+     * @param start the starting node
+     * @param end   the destination node
+     * @return unmodifiable list of nodes in the path, or empty if none found
+     */
+    @Override
+    public List<Node> findShortestPath(Node start, Node end) {
+        Key key = new Key(start, end);
+        Segment segment = segments[(key.hashCode() & 0x7fffffff) % segments.length];
+        long graphV = graphVersion.getAsLong();
+        long weightV = weightVersion.getAsLong();
+
+        List<Node> cached = segment.get(key, graphV, weightV);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+
+        // Searched outside the lock; racing misses on one key just compute it twice
+        List<Node> path = List.copyOf(delegate.findShortestPath(start, end));
+        segment.put(key, path, graphV, weightV);
+        return path;
+    }
+
+    /**
+     * Drops all cached routes.
+     */
+    public void invalidateAll() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public Router getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * @return current hit, miss and eviction counts
+     */
+    public CacheStats getStats() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), invalidations.sum(), size);
+    }
+
+    private static final class Key {
+        private final Node start;
+        private final Node end;
+        private final int hash;
+
+        Key(Node start, Node end) {
+            this.start = start;
+            this.end = end;
+            int h = 31 * start.hashCode() + end.hashCode();
+            this.hash = h ^ (h >>> 16);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return start.equals(other.start) && end.equals(other.end);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    // One LRU map guarded by its own monitor, valid for a single pair of versions
+    private final class Segment {
+        private final LinkedHashMap<Key, List<Node>> entries;
+        private long graphV;
+        private long weightV;
+
+        Segment(int segmentCapacity) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, List<Node>> eldest) {
+                    if (size() > segmentCapacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        synchronized List<Node> get(Key key, long graphVersion, long weightVersion) {
+            if (graphVersion != graphV || weightVersion != weightV) {
+                // Stale segment: everything in it predates the change
+                if (graphVersion < graphV || (graphVersion == graphV && weightVersion < weightV)) return null;
+                invalidations.add(entries.size());
+                entries.clear();
+                graphV = graphVersion;
+                weightV = weightVersion;
+                return null;
+            }
+            return entries.get(key);
+        }
+
+        synchronized void put(Key key, List<Node> path, long graphVersion, long weightVersion) {
+            // A newer version arrived while the route was computed
+            if (graphVersion != graphV || weightVersion != weightV) return;
+            entries.put(key, path);
+        }
+
+        synchronized void clear() {
+            entries.clear();
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+}
@@ -0,0 +1,381 @@
+package com.group6.trafficgraphoptimizer.router;
+
+import com.group6.trafficgraphoptimizer.graph.CompactGraph;
+import com.group6.trafficgraphoptimizer.graph.Graph;
+import com.group6.trafficgraphoptimizer.graph.Node;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Parallel one-to-all shortest paths with delta-stepping. Nodes are kept in
+ * buckets of width delta by tentative distance, and the lowest non-empty
+ * bucket is processed as a whole:
+ * - Light edges, of weight at most delta, are relaxed repeatedly until the
+ *   bucket stops changing, since they can put nodes back into it.
+ * - Heavy edges are relaxed once for every node that left the bucket, as
+ *   they always lead to later buckets.
+ * <p>
+ * The nodes of a bucket are split over the executor's threads. Distances
+ * live in one shared array updated with compare-and-set, so a relaxation only
+ * wins if it lowers the distance; every task collects the nodes it improved
+ * in its own list, and the calling thread sorts them into the buckets between
+ * rounds. Small rounds run on the calling thread, where handing them out
+ * would cost more than it saves.
+ * <p>
+ * Buckets are a cyclic window of at most {@value #MAX_WINDOW} slots. Nodes
+ * beyond the window, which only very long edges or a small delta produce, wait
+ * in an overflow list until the window has been worked through.
+ * <p>
+ * Instances are thread-safe: every search allocates its own state.
+ */
+public class DeltaSteppingSearch {
+
+    // Rounds smaller than this many nodes per task run on fewer tasks
+    private static final int MIN_NODES_PER_TASK = 512;
+
+    // Weight quantile used for tuning delta, so a few very long edges do not inflate it
+    private static final double WEIGHT_QUANTILE = 0.99;
+    private static final int WEIGHT_SAMPLES = 1 << 16;
+
+    // Most cyclic buckets a search keeps
+    static final int MAX_WINDOW = 1024;
+
+    private final CompactGraph graph;
+    private final double delta;
+    private final ExecutorService executor;
+    private final int parallelism;
+
+    // Pending nodes are never more than the longest edge past the current
+    // bucket, so this many cyclic buckets are enough unless capped
+    private final int window;
+
+    /**
+     * Constructs a search over the graph's current snapshot using the common
+     * fork/join pool and a tuned bucket width.
+     *
+     * @param graph the graph to search
+     */
+    public DeltaSteppingSearch(Graph graph) {
+        this(graph.snapshot(), ForkJoinPool.commonPool(), ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * Constructs a search over a snapshot with a tuned bucket width.
+     *
+     * @param graph       the snapshot to search
+     * @param executor    runs the relaxation tasks
+     * @param parallelism number of threads of the executor, used to size tasks
+     */
+    public DeltaSteppingSearch(CompactGraph graph, ExecutorService executor, int parallelism) {
+        this(graph, tuneDelta(graph), executor, parallelism);
+    }
+
+    /**
+     * Constructs a search over a snapshot.
+     *
+     * @param graph       the snapshot to search
+     * @param delta       the bucket width, positive
+     * @param executor    runs the relaxation tasks
+     * @param parallelism number of threads of the executor, used to size tasks
+     */
+    public DeltaSteppingSearch(CompactGraph graph, double delta, ExecutorService executor, int parallelism) {
+        if (!(delta > 0) || Double.isInfinite(delta)) {
+            throw new IllegalArgumentException("Delta must be positive: " + delta);
+        }
+        this.graph = graph;
+        this.delta = delta;
+        this.executor = Objects.requireNonNull(executor);
+        this.parallelism = Math.max(1, parallelism);
+        double maxWeight = 0;
+        for (int e = 0; e < graph.edgeCount(); e++) {
+            double w = graph.weight(e);
+            if (Double.isFinite(w)) maxWeight = Math.max(maxWeight, w);
+        }
+        this.window = (int) Math.min(MAX_WINDOW, (long) Math.ceil(maxWeight / delta) + 2);
+    }
+
+    /**
+     * Picks a bucket width from the weight distribution: a high quantile of
+     * the edge weights divided by the average out-degree. Smaller buckets do
+     * less wasted work, wider ones give each round more nodes to share out.
+     *
+     * @param graph the snapshot to tune for
+     * @return the bucket width, positive
+     */
+    public static double tuneDelta(CompactGraph graph) {
+        int edges = graph.edgeCount();
+        if (edges == 0) return 1.0;
+        int step = Math.max(1, edges / WEIGHT_SAMPLES);
+        double[] sample = new double[(edges + step - 1) / step];
+        int size = 0;
+        for (int e = 0; e < edges; e += step) {
+            double w = graph.weight(e);
+            if (Double.isFinite(w)) sample[size++] = w;
+        }
+        if (size == 0) return 1.0;
+        Arrays.sort(sample, 0, size);
+        double weight = sample[(int) Math.min(size - 1, (long) (size * WEIGHT_QUANTILE))];
+        double averageDegree = Math.max(1.0, (double) edges / Math.max(1, graph.nodeCount()));
+        double delta = weight / averageDegree;
+        return delta > 0 ? delta : 1.0;
+    }
+
+    public CompactGraph getGraph() {
+        return graph;
+    }
+
+    public double getDelta() {
+        return delta;
+    }
+
+    /**
+     * Computes the cost of the shortest path from a source to every node.
+     *
+     * @param source the source node
+     * @return distances indexed by node index of the snapshot, infinity where
+     * unreachable; all infinite if the source is not in the graph
+     */
+    public double[] computeDistances(Node source) {
+        return computeDistances(source, null);
+    }
+
+    /**
+     * Computes the cost of the shortest path from a source to every node and
+     * records the search effort.
+     *
+     * @param source the source node
+     * @param stats  receives the nodes taken from buckets and the edges relaxed, may be null
+     * @return distances indexed by node index of the snapshot, infinity where
+     * unreachable; all infinite if the source is not in the graph
+     */
+    public double[] computeDistances(Node source, SearchStats stats) {
+        int s = graph.indexOf(source);
+        if (s < 0) {
+            double[] distances = new double[graph.nodeCount()];
+            Arrays.fill(distances, Double.POSITIVE_INFINITY);
+            return distances;
+        }
+        return new Run(s).execute(stats);
+    }
+
+    /**
+     * State of one search.
+     */
+    private final class Run {
+        // Raw bits of the non-negative distances, which order like the distances themselves
+        private final AtomicLongArray distances;
+        private final Worker[] workers;
+
+        // Cyclic buckets for [windowStart, windowStart + window), later buckets wait in overflow
+        private final IntList[] buckets = new IntList[window];
+        private IntList overflow = new IntList();
+        private long windowStart;
+
+        // Dedupes the current round and the nodes removed from the current bucket
+        private final int[] roundMark;
+        private final int[] removedMark;
+        private int round;
+        private int phase;
+
+        private int[] frontier = new int[16];
+        private int[] removed = new int[16];
+
+        Run(int source) {
+            int n = graph.nodeCount();
+            this.distances = new AtomicLongArray(n);
+            long infinity = Double.doubleToRawLongBits(Double.POSITIVE_INFINITY);
+            for (int v = 0; v < n; v++) {
+                distances.lazySet(v, infinity);
+            }
+            this.workers = new Worker[parallelism];
+            for (int t = 0; t < workers.length; t++) {
+                workers[t] = new Worker();
+            }
+            this.roundMark = new int[n];
+            this.removedMark = new int[n];
+            distances.set(source, Double.doubleToRawLongBits(0.0));
+            add(0, source);
+        }
+
+        double[] execute(SearchStats stats) {
+            long bucket = 0;
+            while (bucket >= 0) {
+                phase++;
+                int removedCount = 0;
+                int size;
+                // Light edges can refill the bucket, so repeat until it stays empty
+                while ((size = collect(bucket)) > 0) {
+                    for (int i = 0; i < size; i++) {
+                        int v = frontier[i];
+                        if (removedMark[v] != phase) {
+                            removedMark[v] = phase;
+                            if (removedCount == removed.length) removed = Arrays.copyOf(removed, removedCount * 2);
+                            removed[removedCount++] = v;
+                        }
+                    }
+                    relax(frontier, size, true);
+                }
+                relax(removed, removedCount, false);
+                bucket = nextBucket(bucket);
+            }
+
+            long settled = 0;
+            long relaxed = 0;
+            for (Worker worker : workers) {
+                settled += worker.settled;
+                relaxed += worker.relaxed;
+            }
+            if (stats != null) stats.add(settled, relaxed);
+
+            double[] result = new double[distances.length()];
+            for (int v = 0; v < result.length; v++) {
+                result[v] = Double.longBitsToDouble(distances.get(v));
+            }
+            return result;
+        }
+
+        // Moves the nodes still in a bucket into the frontier, dropping duplicates and stale entries
+        private int collect(long bucket) {
+            round++;
+            IntList pending = buckets[(int) (bucket % window)];
+            if (pending == null) return 0;
+            int size = 0;
+            for (int i = 0; i < pending.size; i++) {
+                int v = pending.values[i];
+                if (roundMark[v] == round || bucketOf(v) != bucket) continue;
+                roundMark[v] = round;
+                if (size == frontier.length) frontier = Arrays.copyOf(frontier, size * 2);
+                frontier[size++] = v;
+            }
+            pending.size = 0;
+            return size;
+        }
+
+        private long bucketOf(int v) {
+            return (long) (Double.longBitsToDouble(distances.get(v)) / delta);
+        }
+
+        private void add(long bucket, int v) {
+            if (bucket >= windowStart + window) {
+                overflow.add(v);
+                return;
+            }
+            int slot = (int) (bucket % window);
+            IntList list = buckets[slot];
+            if (list == null) buckets[slot] = list = new IntList();
+            list.add(v);
+        }
+
+        // First non-empty bucket after the given one, or -1 when all are empty
+        private long nextBucket(long bucket) {
+            for (long b = bucket + 1; b < windowStart + window; b++) {
+                IntList pending = buckets[(int) (b % window)];
+                if (pending != null && pending.size > 0) return b;
+            }
+            // Window exhausted: restart it at the lowest pending overflow bucket
+            long next = Long.MAX_VALUE;
+            for (int i = 0; i < overflow.size; i++) {
+                long b = bucketOf(overflow.values[i]);
+                // Entries whose node has since been lowered into an earlier bucket are stale
+                if (b > bucket) next = Math.min(next, b);
+            }
+            if (next == Long.MAX_VALUE) return -1;
+            IntList waiting = overflow;
+            overflow = new IntList();
+            windowStart = next;
+            for (int i = 0; i < waiting.size; i++) {
+                int v = waiting.values[i];
+                long b = bucketOf(v);
+                if (b >= next) add(b, v);
+            }
+            return next;
+        }
+
+        // Relaxes the light or heavy edges of the given nodes, split over the executor
+        private void relax(int[] nodes, int size, boolean light) {
+            int taskCount = Math.min(workers.length, Math.max(1, size / MIN_NODES_PER_TASK));
+            if (taskCount == 1) {
+                workers[0].relax(nodes, 0, size, light);
+            } else {
+                List<Callable<Void>> tasks = new ArrayList<>(taskCount);
+                for (int task = 0; task < taskCount; task++) {
+                    Worker worker = workers[task];
+                    int first = (int) ((long) size * task / taskCount);
+                    int last = (int) ((long) size * (task + 1) / taskCount);
+                    tasks.add(() -> {
+                        worker.relax(nodes, first, last, light);
+                        return null;
+                    });
+                }
+                try {
+                    for (Future<Void> future : executor.invokeAll(tasks)) {
+                        future.get();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted during delta-stepping search", e);
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Delta-stepping search failed", e.getCause());
+                }
+            }
+            for (int task = 0; task < taskCount; task++) {
+                IntList improved = workers[task].improved;
+                for (int i = 0; i < improved.size; i++) {
+                    int v = improved.values[i];
+                    add(bucketOf(v), v);
+                }
+                improved.size = 0;
+            }
+        }
+
+        /**
+         * Improved nodes and counters of one task; only touched by one thread per round.
+         */
+        private final class Worker {
+            final IntList improved = new IntList();
+            long settled;
+            long relaxed;
+
+            void relax(int[] nodes, int first, int last, boolean light) {
+                for (int i = first; i < last; i++) {
+                    int v = nodes[i];
+                    if (light) settled++;
+                    double base = Double.longBitsToDouble(distances.get(v));
+                    for (int e = graph.firstEdge(v), end = graph.endEdge(v); e < end; e++) {
+                        double w = graph.weight(e);
+                        if ((w <= delta) != light) continue;
+                        relaxed++;
+                        int to = graph.target(e);
+                        if (lower(to, base + w)) improved.add(to);
+                    }
+                }
+            }
+
+            // Atomic minimum; true if this call lowered the distance
+            private boolean lower(int v, double distance) {
+                long bits = Double.doubleToRawLongBits(distance);
+                long current = distances.get(v);
+                while (bits < current) {
+                    if (distances.compareAndSet(v, current, bits)) return true;
+                    current = distances.get(v);
+                }
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Growable list of node indices.
+     */
+    private static final class IntList {
+        int[] values = new int[8];
+        int size;
+
+        void add(int v) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = v;
+        }
+    }
+}
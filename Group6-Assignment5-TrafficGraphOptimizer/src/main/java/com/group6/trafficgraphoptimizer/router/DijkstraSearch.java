@@ -0,0 +1,228 @@
+package com.group6.trafficgraphoptimizer.router;
+
+import com.group6.trafficgraphoptimizer.graph.CompactGraph;
+import com.group6.trafficgraphoptimizer.graph.Node;
+
+import java.util.*;
+
+/**
+ * Point-to-point Dijkstra over a {@link CompactGraph}, shared by the routers.
+ * Works on dense node indices and primitive arrays only; nodes are translated
+ * back to {@link Node} objects when the path is reconstructed.
+ */
+final class DijkstraSearch {
+
+    private DijkstraSearch() {
+    }
+
+    /**
+     * Finds the cheapest route from start to end.
+     *
+     * @param graph   the snapshot to search
+     * @param start   the starting node
+     * @param end     the destination node
+     * @param weigher cost function applied to every relaxed edge
+     * @param stats   receives the search effort, may be null
+     * @return the route, its base and weighed cost and the search effort
+     */
+    static RouteResult route(CompactGraph graph, Node start, Node end, EdgeWeigher weigher, SearchStats stats) {
+        int source = graph.indexOf(start);
+        int target = graph.indexOf(end);
+        if (source < 0 || target < 0) {
+            return start.equals(end) ? RouteResult.trivial(graph, start) : RouteResult.notFound(graph, 0, 0, 0, 0);
+        }
+
+        SearchWorkspace workspace = SearchWorkspace.forThread(SearchWorkspace.FORWARD, graph.nodeCount());
+        IndexedMinHeap queue = workspace.heap();
+        workspace.reach(source, 0.0, -1, -1);
+        int settled = 0;
+        int relaxed = 0;
+        int reached = 1;
+
+        while (!queue.isEmpty()) {
+            int current = queue.poll();
+            settled++;
+            if (current == target) break;
+
+            double base = workspace.distance(current);
+            for (int e = graph.firstEdge(current), last = graph.endEdge(current); e < last; e++) {
+                relaxed++;
+                int to = graph.target(e);
+                double newDist = base + weigher.weight(e, graph.weight(e));
+                if (newDist < workspace.distance(to)) {
+                    workspace.reach(to, newDist, current, e);
+                    reached++;
+                }
+            }
+        }
+
+        if (stats != null) stats.add(settled, relaxed, settled + reached);
+        int queuePeak = queue.peakSize();
+        if (!workspace.isVisited(target)) {
+            return RouteResult.notFound(graph, settled, relaxed, settled + reached, queuePeak);
+        }
+        return RouteResult.found(graph, source, edgeSlots(workspace, source, target), workspace.distance(target),
+                settled, relaxed, settled + reached, queuePeak);
+    }
+
+    /**
+     * Finds the cheapest path from start to end by growing a forward search from
+     * start and a backward search over incoming edges from end, always expanding
+     * the side with the smaller queue head. It stops once the two queue heads
+     * together can no longer beat the best meeting point found so far.
+     *
+     * @param graph the snapshot to search
+     * @param start the starting node
+     * @param end   the destination node
+     * @param stats receives the search effort of both sides, may be null
+     * @return the route, its cost and the search effort of both sides
+     */
+    static RouteResult bidirectionalRoute(CompactGraph graph, Node start, Node end, SearchStats stats) {
+        int source = graph.indexOf(start);
+        int target = graph.indexOf(end);
+        if (source < 0 || target < 0 || source == target) {
+            return start.equals(end) ? RouteResult.trivial(graph, start) : RouteResult.notFound(graph, 0, 0, 0, 0);
+        }
+
+        SearchWorkspace forward = SearchWorkspace.forThread(SearchWorkspace.FORWARD, graph.nodeCount());
+        SearchWorkspace backward = SearchWorkspace.forThread(SearchWorkspace.BACKWARD, graph.nodeCount());
+        IndexedMinHeap forwardQueue = forward.heap();
+        IndexedMinHeap backwardQueue = backward.heap();
+        forward.reach(source, 0.0, -1, -1);
+        backward.reach(target, 0.0, -1, -1);
+
+        double best = Double.POSITIVE_INFINITY;
+        int meeting = -1;
+        int settled = 0;
+        int relaxed = 0;
+        int reached = 2;
+
+        while (true) {
+            double forwardTop = forwardQueue.isEmpty() ? Double.POSITIVE_INFINITY : forwardQueue.peekKey();
+            double backwardTop = backwardQueue.isEmpty() ? Double.POSITIVE_INFINITY : backwardQueue.peekKey();
+            if (forwardTop + backwardTop >= best) break;
+            settled++;
+
+            if (forwardTop <= backwardTop) {
+                int current = forwardQueue.poll();
+                double base = forward.distance(current);
+                for (int e = graph.firstEdge(current), last = graph.endEdge(current); e < last; e++) {
+                    relaxed++;
+                    int to = graph.target(e);
+                    double newDist = base + graph.weight(e);
+                    if (newDist < forward.distance(to)) {
+                        forward.reach(to, newDist, current, e);
+                        reached++;
+                    }
+                    double through = newDist + backward.distance(to);
+                    if (through < best) {
+                        best = through;
+                        meeting = to;
+                    }
+                }
+            } else {
+                int current = backwardQueue.poll();
+                double base = backward.distance(current);
+                for (int i = graph.firstInEdge(current), last = graph.endInEdge(current); i < last; i++) {
+                    relaxed++;
+                    int from = graph.inSource(i);
+                    int e = graph.inEdge(i);
+                    double newDist = base + graph.weight(e);
+                    if (newDist < backward.distance(from)) {
+                        backward.reach(from, newDist, current, e);
+                        reached++;
+                    }
+                    double through = newDist + forward.distance(from);
+                    if (through < best) {
+                        best = through;
+                        meeting = from;
+                    }
+                }
+            }
+        }
+
+        if (stats != null) stats.add(settled, relaxed, settled + reached);
+        int queuePeak = forwardQueue.peakSize() + backwardQueue.peakSize();
+        if (meeting < 0) return RouteResult.notFound(graph, settled, relaxed, settled + reached, queuePeak);
+
+        int[] forwardSlots = edgeSlots(forward, source, meeting);
+        int hops = forwardSlots.length;
+        for (int v = meeting; v != target; v = backward.parent(v)) {
+            hops++;
+        }
+        int[] slots = Arrays.copyOf(forwardSlots, hops);
+        int i = forwardSlots.length;
+        for (int v = meeting; v != target; v = backward.parent(v)) {
+            slots[i++] = backward.parentEdge(v);
+        }
+        return RouteResult.found(graph, source, slots, forward.distance(meeting) + backward.distance(meeting),
+                settled, relaxed, settled + reached, queuePeak);
+    }
+
+    /**
+     * Runs an exhaustive search from one node and leaves the result in the
+     * calling thread's workspace for the given slot.
+     *
+     * @param graph   the snapshot to search
+     * @param source  the root node index
+     * @param reverse follow incoming edges, giving distances to the root instead of from it
+     * @param slot    the workspace slot to use
+     * @return the workspace holding distances and parents for every reached node
+     */
+    static SearchWorkspace oneToAll(CompactGraph graph, int source, boolean reverse, int slot) {
+        SearchWorkspace workspace = SearchWorkspace.forThread(slot, graph.nodeCount());
+        IndexedMinHeap queue = workspace.heap();
+        workspace.reach(source, 0.0, -1, -1);
+
+        while (!queue.isEmpty()) {
+            int current = queue.poll();
+            double base = workspace.distance(current);
+            if (reverse) {
+                for (int i = graph.firstInEdge(current), last = graph.endInEdge(current); i < last; i++) {
+                    int from = graph.inSource(i);
+                    int e = graph.inEdge(i);
+                    double newDist = base + graph.weight(e);
+                    if (newDist < workspace.distance(from)) {
+                        workspace.reach(from, newDist, current, e);
+                    }
+                }
+            } else {
+                for (int e = graph.firstEdge(current), last = graph.endEdge(current); e < last; e++) {
+                    int to = graph.target(e);
+                    double newDist = base + graph.weight(e);
+                    if (newDist < workspace.distance(to)) {
+                        workspace.reach(to, newDist, current, e);
+                    }
+                }
+            }
+        }
+        return workspace;
+    }
+
+    // Edge slots of the tree path from source to target, in order
+    private static int[] edgeSlots(SearchWorkspace workspace, int source, int target) {
+        int hops = 0;
+        for (int v = target; v != source; v = workspace.parent(v)) {
+            hops++;
+        }
+        int[] slots = new int[hops];
+        for (int v = target; v != source; v = workspace.parent(v)) {
+            slots[--hops] = workspace.parentEdge(v);
+        }
+        return slots;
+    }
+
+    /**
+     * Reconstructs the path by walking the parent pointers back from the target.
+     */
+    static List<Node> reconstructPath(CompactGraph graph, SearchWorkspace workspace, int source, int target) {
+        if (!workspace.isVisited(target)) return Collections.emptyList();
+        ArrayList<Node> path = new ArrayList<>();
+        for (int v = target; v != source; v = workspace.parent(v)) {
+            path.add(graph.node(v));
+        }
+        path.add(graph.node(source));
+        Collections.reverse(path);
+        return path;
+    }
+}
@@ -0,0 +1,163 @@
+package com.group6.trafficgraphoptimizer.router;
+
+import com.group6.trafficgraphoptimizer.graph.CompactGraph;
+import com.group6.trafficgraphoptimizer.graph.Graph;
+import com.group6.trafficgraphoptimizer.graph.Node;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Computes many-to-many travel-cost matrices. Each source gets one Dijkstra
+ * search that stops once every target is settled, and the searches are
+ * spread over an executor, by default the common fork/join pool. Workers only
+ * read the shared snapshot and use their own thread-local search workspace,
+ * so throughput scales with the number of cores.
+ */
+public class DistanceMatrixRouter {
+
+    // Tasks per worker thread, so uneven searches still balance out
+    private static final int TASKS_PER_THREAD = 4;
+
+    private final Supplier<CompactGraph> snapshots;
+    private final ExecutorService executor;
+    private final int parallelism;
+
+    /**
+     * Constructs a matrix router over a graph using the common fork/join pool.
+     *
+     * @param graph the graph to route over
+     */
+    public DistanceMatrixRouter(Graph graph) {
+        this(graph, ForkJoinPool.commonPool(), ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * Constructs a matrix router over a graph using the given executor.
+     *
+     * @param graph       the graph to route over
+     * @param executor    runs the per-source searches
+     * @param parallelism number of threads of the executor, used to size tasks
+     */
+    public DistanceMatrixRouter(Graph graph, ExecutorService executor, int parallelism) {
+        this.snapshots = graph::snapshot;
+        this.executor = Objects.requireNonNull(executor);
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Constructs a matrix router over a frozen snapshot using the given executor.
+     *
+     * @param graph       the snapshot to route over
+     * @param executor    runs the per-source searches
+     * @param parallelism number of threads of the executor, used to size tasks
+     */
+    public DistanceMatrixRouter(CompactGraph graph, ExecutorService executor, int parallelism) {
+        this.snapshots = () -> graph;
+        this.executor = Objects.requireNonNull(executor);
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Computes the cost of the shortest path from every source to every target.
+     *
+     * @param sources row nodes
+     * @param targets column nodes
+     * @return row-major matrix where entry {@code i * targets.size() + j} is the
+     *         cost from source i to target j, or infinity if unreachable
+     * @throws IllegalArgumentException if the matrix has more entries than fit
+     *         in one array
+     */
+    public double[] computeMatrix(List<Node> sources, List<Node> targets) {
+        int rows = sources.size();
+        int cols = targets.size();
+        if ((long) rows * cols > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Distance matrix too large: " + rows + " x " + cols
+                    + " entries exceed the array limit of " + Integer.MAX_VALUE);
+        }
+        CompactGraph graph = snapshots.get();
+        double[] result = new double[rows * cols];
+        if (rows == 0 || cols == 0) return result;
+
+        int[] sourceIds = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            sourceIds[i] = graph.indexOf(sources.get(i));
+        }
+        int[] targetIds = new int[cols];
+        boolean[] isTarget = new boolean[graph.nodeCount()];
+        int distinctTargets = 0;
+        for (int j = 0; j < cols; j++) {
+            int t = graph.indexOf(targets.get(j));
+            targetIds[j] = t;
+            if (t >= 0 && !isTarget[t]) {
+                isTarget[t] = true;
+                distinctTargets++;
+            }
+        }
+        int targetCount = distinctTargets;
+
+        int taskCount = Math.min(rows, parallelism * TASKS_PER_THREAD);
+        List<Callable<Void>> tasks = new ArrayList<>(taskCount);
+        for (int task = 0; task < taskCount; task++) {
+            int firstRow = (int) ((long) rows * task / taskCount);
+            int lastRow = (int) ((long) rows * (task + 1) / taskCount);
+            tasks.add(() -> {
+                for (int row = firstRow; row < lastRow; row++) {
+                    fillRow(graph, row, sourceIds[row], sources.get(row), targetIds, targets, isTarget, targetCount,
+                            result);
+                }
+                return null;
+            });
+        }
+
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while computing distance matrix", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Distance matrix search failed", e.getCause());
+        }
+        return result;
+    }
+
+    // One-to-many Dijkstra from a single source, writing one row of the matrix
+    private static void fillRow(CompactGraph graph, int row, int source, Node sourceNode, int[] targetIds,
+                                List<Node> targets, boolean[] isTarget, int targetCount, double[] result) {
+        int cols = targetIds.length;
+        int offset = row * cols;
+        if (source < 0) {
+            for (int j = 0; j < cols; j++) {
+                result[offset + j] = sourceNode.equals(targets.get(j)) ? 0.0 : Double.POSITIVE_INFINITY;
+            }
+            return;
+        }
+
+        SearchWorkspace workspace = SearchWorkspace.forThread(SearchWorkspace.FORWARD, graph.nodeCount());
+        IndexedMinHeap queue = workspace.heap();
+        workspace.reach(source, 0.0, -1, -1);
+        int remaining = targetCount;
+
+        while (!queue.isEmpty() && remaining > 0) {
+            int current = queue.poll();
+            if (isTarget[current]) remaining--;
+
+            double base = workspace.distance(current);
+            for (int e = graph.firstEdge(current), last = graph.endEdge(current); e < last; e++) {
+                int to = graph.target(e);
+                double newDist = base + graph.weight(e);
+                if (newDist < workspace.distance(to)) {
+                    workspace.reach(to, newDist, current, e);
+                }
+            }
+        }
+
+        for (int j = 0; j < cols; j++) {
+            int t = targetIds[j];
+            result[offset + j] = t < 0 ? Double.POSITIVE_INFINITY : workspace.distance(t);
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.group6.trafficgraphoptimizer.router;
+
+import com.group6.trafficgraphoptimizer.graph.CompactGraph;
+import com.group6.trafficgraphoptimizer.graph.Edge;
+import com.group6.trafficgraphoptimizer.graph.Graph;
+import com.group6.trafficgraphoptimizer.graph.Node;
+
+import java.util.*;
+
+/**
+ * Shortest-path tree from one source to every node that is kept up to date
+ * as edge weights change, instead of being recomputed from scratch.
+ * <p>
+ * Weight changes are queued with {@link #updateWeight} and applied in one
+ * batch by {@link #repair()}, in the style of Ramalingam and Reps:
+ * - Increases only matter on tree edges. Every node below an increased tree
+ *   edge loses its distance and is seeded again from its cheapest incoming
+ *   edge out of the unaffected part of the tree.
+ * - Decreases seed the head of the edge if it now offers a shorter path.
+ * - A Dijkstra search from the seeds settles only the nodes whose distance
+ *   or parent can change and stops where the old tree is still valid.
+ * The work is therefore proportional to the affected part of the tree, not
+ * to the size of the graph.
+ * <p>
+ * The tree works on the topology of the snapshot it was built from and keeps
+ * its own copy of the weights. Edges added to the graph later are not seen.
+ * Not thread-safe.
+ */
+public class DynamicShortestPathTree {
+
+    private final CompactGraph graph;
+    private final int source;
+
+    // Current weight and source node of every edge slot
+    private final double[] weights;
+    private final int[] sources;
+
+    // Edge id to edge slot, -1 for ids not in the snapshot
+    private final int[] slotOfEdge;
+
+    private final double[] distances;
+    private final int[] parents;
+    private final int[] parentEdges;
+
+    private final IndexedMinHeap heap;
+
+    // Marks the nodes cut off by the current repair; reused through epochs
+    private final int[] affected;
+    private int epoch;
+    private int[] stack;
+
+    // Queued weight changes
+    private int[] pendingSlots = new int[16];
+    private double[] pendingWeights = new double[16];
+    private int pendingCount;
+
+    /**
+     * Builds the tree on the current snapshot of a graph.
+     *
+     * @param graph  the road network
+     * @param source the root of the tree
+     * @throws IllegalArgumentException if the source is not in the graph
+     */
+    public DynamicShortestPathTree(Graph graph, Node source) {
+        this(graph.snapshot(), source);
+    }
+
+    /**
+     * Builds the tree on a frozen snapshot.
+     *
+     * @param graph  the road network
+     * @param source the root of the tree
+     * @throws IllegalArgumentException if the source is not in the graph
+     */
+    public DynamicShortestPathTree(CompactGraph graph, Node source) {
+        this.graph = graph;
+        this.source = graph.indexOf(source);
+        if (this.source < 0) throw new IllegalArgumentException("Source not in graph: " + source);
+
+        int n = graph.nodeCount();
+        int m = graph.edgeCount();
+        this.weights = new double[m];
+        this.sources = new int[m];
+        int maxEdgeId = -1;
+        for (int v = 0; v < n; v++) {
+            for (int e = graph.firstEdge(v), last = graph.endEdge(v); e < last; e++) {
+                weights[e] = graph.weight(e);
+                sources[e] = v;
+                maxEdgeId = Math.max(maxEdgeId, graph.edgeId(e));
+            }
+        }
+        this.slotOfEdge = new int[maxEdgeId + 1];
+        Arrays.fill(slotOfEdge, -1);
+        for (int e = 0; e < m; e++) {
+            slotOfEdge[graph.edgeId(e)] = e;
+        }
+
+        this.distances = new double[n];
+        this.parents = new int[n];
+        this.parentEdges = new int[n];
+        this.affected = new int[n];
+        this.stack = new int[16];
+        this.heap = new IndexedMinHeap(n);
+
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        Arrays.fill(parents, -1);
+        Arrays.fill(parentEdges, -1);
+        distances[this.source] = 0.0;
+        heap.insertOrDecrease(this.source, 0.0);
+        settle(null);
+    }
+
+    public Node getSource() {
+        return graph.node(source);
+    }
+
+    /**
+     * Queues the current weight of an edge, typically after
+     * {@link Edge#setWeight(double)}.
+     *
+     * @param edge an edge of the graph the tree was built from
+     * @throws IllegalArgumentException if the edge is not part of the tree's snapshot
+     */
+    public void updateWeight(Edge edge) {
+        updateWeight(edge.getId(), edge.getWeight());
+    }
+
+    /**
+     * Queues a new weight for an edge.
+     *
+     * @param edgeId the {@link Edge#getId()} of the edge
+     * @param weight the new weight, not negative
+     * @throws IllegalArgumentException if the edge is unknown or the weight is negative or NaN
+     */
+    public void updateWeight(int edgeId, double weight) {
+        if (edgeId < 0 || edgeId >= slotOfEdge.length || slotOfEdge[edgeId] < 0) {
+            throw new IllegalArgumentException("Edge " + edgeId + " is not part of the tree's graph");
+        }
+        if (!(weight >= 0)) throw new IllegalArgumentException("Weight must not be negative: " + weight);
+        if (pendingCount == pendingSlots.length) {
+            pendingSlots = Arrays.copyOf(pendingSlots, pendingCount * 2);
+            pendingWeights = Arrays.copyOf(pendingWeights, pendingCount * 2);
+        }
+        pendingSlots[pendingCount] = slotOfEdge[edgeId];
+        pendingWeights[pendingCount] = weight;
+        pendingCount++;
+    }
+
+    /**
+     * @return number of weight changes queued since the last repair
+     */
+    public int getPendingUpdates() {
+        return pendingCount;
+    }
+
+    /**
+     * Applies the queued weight changes and repairs the tree.
+     *
+     * @return number of nodes settled by the repair
+     */
+    public int repair() {
+        return repair(null);
+    }
+
+    /**
+     * Applies the queued weight changes and repairs the tree.
+     *
+     * @param stats receives the repair effort, may be null
+     * @return number of nodes settled by the repair
+     */
+    public int repair(SearchStats stats) {
+        if (pendingCount == 0) return 0;
+        if (++epoch == Integer.MAX_VALUE) {
+            Arrays.fill(affected, 0);
+            epoch = 1;
+        }
+
+        // Roots of the subtrees hanging below an increased tree edge
+        int count = 0;
+        for (int i = 0; i < pendingCount; i++) {
+            int e = pendingSlots[i];
+            double old = weights[e];
+            weights[e] = pendingWeights[i];
+            int v = graph.target(e);
+            if (weights[e] > old && parentEdges[v] == e && affected[v] != epoch) {
+                count = push(count, v);
+            }
+        }
+
+        // Collect the whole subtrees; children are the targets of their parent edge
+        for (int i = 0; i < count; i++) {
+            int u = stack[i];
+            for (int e = graph.firstEdge(u), last = graph.endEdge(u); e < last; e++) {
+                int t = graph.target(e);
+                if (parentEdges[t] == e && affected[t] != epoch) {
+                    count = push(count, t);
+                }
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            int v = stack[i];
+            distances[v] = Double.POSITIVE_INFINITY;
+            parents[v] = -1;
+            parentEdges[v] = -1;
+        }
+
+        // Reconnect every cut-off node through its cheapest edge from the intact tree
+        for (int i = 0; i < count; i++) {
+            int v = stack[i];
+            for (int j = graph.firstInEdge(v), last = graph.endInEdge(v); j < last; j++) {
+                int from = graph.inSource(j);
+                if (affected[from] == epoch) continue;
+                int e = graph.inEdge(j);
+                double newDist = distances[from] + weights[e];
+                if (newDist < distances[v]) {
+                    distances[v] = newDist;
+                    parents[v] = from;
+                    parentEdges[v] = e;
+                }
+            }
+            if (distances[v] < Double.POSITIVE_INFINITY) heap.insertOrDecrease(v, distances[v]);
+        }
+
+        // Edges that became cheaper may offer shorter paths
+        for (int i = 0; i < pendingCount; i++) {
+            int e = pendingSlots[i];
+            int from = sources[e];
+            if (affected[from] == epoch) continue;
+            relax(from, e);
+        }
+        pendingCount = 0;
+
+        return settle(stats);
+    }
+
+    private int push(int count, int v) {
+        affected[v] = epoch;
+        if (count == stack.length) stack = Arrays.copyOf(stack, count * 2);
+        stack[count] = v;
+        return count + 1;
+    }
+
+    private void relax(int from, int e) {
+        int to = graph.target(e);
+        double newDist = distances[from] + weights[e];
+        if (newDist < distances[to]) {
+            distances[to] = newDist;
+            parents[to] = from;
+            parentEdges[to] = e;
+            heap.insertOrDecrease(to, newDist);
+        }
+    }
+
+    // Runs Dijkstra from the queued nodes until no distance can improve
+    private int settle(SearchStats stats) {
+        int settled = 0;
+        int relaxed = 0;
+        while (!heap.isEmpty()) {
+            int current = heap.poll();
+            settled++;
+            for (int e = graph.firstEdge(current), last = graph.endEdge(current); e < last; e++) {
+                relaxed++;
+                relax(current, e);
+            }
+        }
+        if (stats != null) stats.add(settled, relaxed);
+        return settled;
+    }
+
+    /**
+     * Gets the shortest distance from the source, repairing first if updates are queued.
+     *
+     * @param target the node to look up
+     * @return the distance, or infinity if the node is unreachable or unknown
+     */
+    public double getDistance(Node target) {
+        repair();
+        int v = graph.indexOf(target);
+        return v < 0 ? Double.POSITIVE_INFINITY : distances[v];
+    }
+
+    /**
+     * Gets the shortest path from the source, repairing first if updates are queued.
+     *
+     * @param target the destination node
+     * @return the list of nodes in the path, or empty if the node is unreachable or unknown
+     */
+    public List<Node> getPath(Node target) {
+        repair();
+        int v = graph.indexOf(target);
+        if (v < 0 || distances[v] == Double.POSITIVE_INFINITY) return Collections.emptyList();
+        ArrayList<Node> path = new ArrayList<>();
+        for (; v != source; v = parents[v]) {
+            path.add(graph.node(v));
+        }
+        path.add(graph.node(source));
+        Collections.reverse(path);
+        return path;
+    }
+}
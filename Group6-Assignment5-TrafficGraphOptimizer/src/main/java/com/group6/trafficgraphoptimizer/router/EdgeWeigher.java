@@ -0,0 +1,18 @@
+package com.group6.trafficgraphoptimizer.router;
+
+/**
+ * Computes the cost a search uses for an edge of a {@link com.group6.trafficgraphoptimizer.graph.CompactGraph}.
+ */
+@FunctionalInterface
+interface EdgeWeigher {
+
+    /** Uses the stored edge weight as-is. */
+    EdgeWeigher BASE = (edge, baseWeight) -> baseWeight;
+
+    /**
+     * @param edge       the edge slot being relaxed
+     * @param baseWeight the weight stored in the snapshot
+     * @return the cost to use for this relaxation
+     */
+    double weight(int edge, double baseWeight);
+}
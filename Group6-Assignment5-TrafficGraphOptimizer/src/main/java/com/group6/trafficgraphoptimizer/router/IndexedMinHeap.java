@@ -0,0 +1,214 @@
+package com.group6.trafficgraphoptimizer.router;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Indexed d-ary min-heap over int ids in {@code [0, capacity)} with true
+ * decrease-key. Each id is in the heap at most once and its position is
+ * tracked, so a shorter tentative distance moves the existing entry up
+ * instead of adding a stale duplicate.
+ */
+public final class IndexedMinHeap {
+
+    /** Arity used by the routers; 4-ary heaps are shallower and more cache friendly than binary. */
+    public static final int DEFAULT_ARITY = 4;
+
+    private final int arity;
+
+    // heap[i] is the id at heap position i, keys[i] its priority
+    private int[] heap;
+    private double[] keys;
+
+    // positions[id] is the heap position of id, or -1 if absent
+    private int[] positions;
+
+    private int size;
+
+    // Largest size since the last clear
+    private int peakSize;
+
+    /**
+     * Creates a heap with the default arity.
+     *
+     * @param capacity number of distinct ids the heap can hold
+     */
+    public IndexedMinHeap(int capacity) {
+        this(capacity, DEFAULT_ARITY);
+    }
+
+    /**
+     * Creates a heap with the given arity.
+     *
+     * @param capacity number of distinct ids the heap can hold
+     * @param arity    children per heap node, 2 for a binary heap
+     */
+    public IndexedMinHeap(int capacity, int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Heap arity must be at least 2: " + arity);
+        }
+        this.arity = arity;
+        this.heap = new int[Math.max(capacity, 1)];
+        this.keys = new double[heap.length];
+        this.positions = new int[heap.length];
+        Arrays.fill(positions, -1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the largest number of ids held at once since the heap was last cleared
+     */
+    public int peakSize() {
+        return peakSize;
+    }
+
+    public int capacity() {
+        return positions.length;
+    }
+
+    public boolean contains(int id) {
+        return positions[id] >= 0;
+    }
+
+    /**
+     * Grows the heap so it can hold ids up to {@code capacity - 1}.
+     *
+     * @param capacity required id range
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity <= positions.length) return;
+        int oldLength = positions.length;
+        heap = Arrays.copyOf(heap, capacity);
+        keys = Arrays.copyOf(keys, capacity);
+        positions = Arrays.copyOf(positions, capacity);
+        Arrays.fill(positions, oldLength, capacity, -1);
+    }
+
+    /**
+     * Inserts an id, or lowers its key if it is already present with a larger one.
+     *
+     * @param id  the id to insert
+     * @param key its priority
+     * @return true if the heap changed
+     */
+    public boolean insertOrDecrease(int id, double key) {
+        int pos = positions[id];
+        if (pos < 0) {
+            pos = size++;
+            if (size > peakSize) peakSize = size;
+            heap[pos] = id;
+            keys[pos] = key;
+            positions[id] = pos;
+            siftUp(pos);
+            return true;
+        }
+        if (key < keys[pos]) {
+            keys[pos] = key;
+            siftUp(pos);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return the smallest key in the heap
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public double peekKey() {
+        if (size == 0) throw new NoSuchElementException("Heap is empty");
+        return keys[0];
+    }
+
+    /**
+     * @return the id with the smallest key, without removing it
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public int peek() {
+        if (size == 0) throw new NoSuchElementException("Heap is empty");
+        return heap[0];
+    }
+
+    /**
+     * Removes and returns the id with the smallest key.
+     *
+     * @return the removed id
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public int poll() {
+        if (size == 0) throw new NoSuchElementException("Heap is empty");
+        int top = heap[0];
+        positions[top] = -1;
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            keys[0] = keys[size];
+            positions[heap[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    /**
+     * Removes all ids. Runs in time proportional to the current size, not the capacity.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+        peakSize = 0;
+    }
+
+    private void siftUp(int pos) {
+        int id = heap[pos];
+        double key = keys[pos];
+        while (pos > 0) {
+            int parent = (pos - 1) / arity;
+            if (keys[parent] <= key) break;
+            move(parent, pos);
+            pos = parent;
+        }
+        place(id, key, pos);
+    }
+
+    private void siftDown(int pos) {
+        int id = heap[pos];
+        double key = keys[pos];
+        while (true) {
+            int first = pos * arity + 1;
+            if (first >= size) break;
+            int last = Math.min(first + arity, size);
+            int best = first;
+            double bestKey = keys[first];
+            for (int c = first + 1; c < last; c++) {
+                if (keys[c] < bestKey) {
+                    best = c;
+                    bestKey = keys[c];
+                }
+            }
+            if (bestKey >= key) break;
+            move(best, pos);
+            pos = best;
+        }
+        place(id, key, pos);
+    }
+
+    private void move(int from, int to) {
+        heap[to] = heap[from];
+        keys[to] = keys[from];
+        positions[heap[to]] = to;
+    }
+
+    private void place(int id, double key, int pos) {
+        heap[pos] = id;
+        keys[pos] = key;
+        positions[id] = pos;
+    }
+}
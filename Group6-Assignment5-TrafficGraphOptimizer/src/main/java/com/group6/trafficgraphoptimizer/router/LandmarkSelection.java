@@ -0,0 +1,20 @@
+package com.group6.trafficgraphoptimizer.router;
+
+/**
+ * Strategies for picking the landmarks of a {@link LandmarkTable}.
+ */
+public enum LandmarkSelection {
+
+    /**
+     * Each new landmark is the node farthest from all landmarks chosen so far,
+     * spreading landmarks towards the edges of the network.
+     */
+    FARTHEST,
+
+    /**
+     * Goldberg and Werneck's "avoid" heuristic: grow a shortest-path tree from a
+     * random root and place the next landmark at the end of the subtree where
+     * the current landmarks give the weakest lower bounds.
+     */
+    AVOID
+}
@@ -0,0 +1,321 @@
+package com.group6.trafficgraphoptimizer.router;
+
+import com.group6.trafficgraphoptimizer.graph.CompactGraph;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Precomputed distances between every node and a small set of landmarks,
+ * giving exact-preserving A* lower bounds by the triangle inequality (ALT).
+ * <p>
+ * Distances are stored node-major in two flat arrays, so all landmark values
+ * of a node sit next to each other when the heuristic is evaluated.
+ */
+public final class LandmarkTable {
+
+    private final CompactGraph graph;
+    private final int[] landmarks;
+
+    // fromLandmark[v * count + l] = d(landmark l, v); toLandmark[v * count + l] = d(v, landmark l)
+    private final double[] fromLandmark;
+    private final double[] toLandmark;
+
+    private final long preprocessingNanos;
+
+    private LandmarkTable(CompactGraph graph, int[] landmarks, double[] fromLandmark, double[] toLandmark,
+                          long preprocessingNanos) {
+        this.graph = graph;
+        this.landmarks = landmarks;
+        this.fromLandmark = fromLandmark;
+        this.toLandmark = toLandmark;
+        this.preprocessingNanos = preprocessingNanos;
+    }
+
+    /**
+     * Selects landmarks and computes their distance tables. Each landmark's
+     * columns are filled on the common fork/join pool as soon as it is picked,
+     * overlapping with the search that picks the next one.
+     *
+     * @param graph     the snapshot to preprocess
+     * @param count     number of landmarks, capped at the node count
+     * @param selection how landmarks are picked
+     * @param seed      seed for the random choices of the selection
+     * @return the landmark table
+     * @throws IllegalArgumentException if the tables would exceed the array limit
+     */
+    public static LandmarkTable build(CompactGraph graph, int count, LandmarkSelection selection, long seed) {
+        long startTime = System.nanoTime();
+        int n = graph.nodeCount();
+        int k = Math.max(0, Math.min(count, n));
+        int cells;
+        try {
+            cells = Math.multiplyExact(n, k);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Landmark table too large: " + n + " nodes x " + k + " landmarks", e);
+        }
+        int[] landmarks = new int[k];
+        double[] from = new double[cells];
+        double[] to = new double[cells];
+
+        // Column fills still running; each writes a distinct column, so they can run independently
+        ForkJoinTask<?>[] columns = new ForkJoinTask<?>[2 * k];
+        Random rand = new Random(seed);
+        if (selection == LandmarkSelection.AVOID) {
+            selectAvoid(graph, landmarks, from, to, columns, rand);
+        } else {
+            selectFarthest(graph, landmarks, from, to, columns, rand);
+        }
+        for (ForkJoinTask<?> column : columns) {
+            if (column != null) column.join();
+        }
+
+        return new LandmarkTable(graph, landmarks, from, to, System.nanoTime() - startTime);
+    }
+
+    public CompactGraph getGraph() {
+        return graph;
+    }
+
+    public int landmarkCount() {
+        return landmarks.length;
+    }
+
+    /**
+     * @param l a landmark position
+     * @return the node index of that landmark
+     */
+    public int landmark(int l) {
+        return landmarks[l];
+    }
+
+    /**
+     * @return wall-clock time spent selecting landmarks and building the tables
+     */
+    public long getPreprocessingNanos() {
+        return preprocessingNanos;
+    }
+
+    /**
+     * Lower bound on the distance from v to t using every landmark.
+     *
+     * @param v a node index
+     * @param t the target node index
+     * @return a lower bound, or infinity if t is provably unreachable from v
+     */
+    public double lowerBound(int v, int t) {
+        double best = 0.0;
+        for (int l = 0; l < landmarks.length; l++) {
+            best = Math.max(best, bound(v, t, l));
+        }
+        return best;
+    }
+
+    /**
+     * Lower bound on the distance from v to t using a subset of the landmarks.
+     *
+     * @param v      a node index
+     * @param t      the target node index
+     * @param active landmark positions to use
+     * @param size   number of valid entries in {@code active}
+     * @return a lower bound, or infinity if t is provably unreachable from v
+     */
+    public double lowerBound(int v, int t, int[] active, int size) {
+        double best = 0.0;
+        for (int i = 0; i < size; i++) {
+            best = Math.max(best, bound(v, t, active[i]));
+        }
+        return best;
+    }
+
+    /**
+     * Picks the landmarks that give the tightest bound between s and t, which
+     * are usually the most useful ones for the whole query.
+     *
+     * @param s      the source node index
+     * @param t      the target node index
+     * @param active receives the chosen landmark positions
+     * @return number of landmarks written to {@code active}
+     */
+    public int selectActive(int s, int t, int[] active) {
+        int size = Math.min(active.length, landmarks.length);
+        double[] bounds = new double[size];
+        int filled = 0;
+        for (int l = 0; l < landmarks.length; l++) {
+            double b = bound(s, t, l);
+            int pos = filled < size ? filled++ : size;
+            while (pos > 0 && bounds[pos - 1] < b) {
+                if (pos < size) {
+                    bounds[pos] = bounds[pos - 1];
+                    active[pos] = active[pos - 1];
+                }
+                pos--;
+            }
+            if (pos < size) {
+                bounds[pos] = b;
+                active[pos] = l;
+            }
+        }
+        return filled;
+    }
+
+    // Both triangle-inequality bounds for one landmark; NaN terms come from unreachable landmarks
+    private double bound(int v, int t, int l) {
+        int k = landmarks.length;
+        double forward = fromLandmark[t * k + l] - fromLandmark[v * k + l];
+        double backward = toLandmark[v * k + l] - toLandmark[t * k + l];
+        if (Double.isNaN(forward)) return Double.isNaN(backward) ? 0.0 : backward;
+        if (Double.isNaN(backward)) return forward;
+        return Math.max(forward, backward);
+    }
+
+    // Uses the FORWARD workspace; a selection search that must survive a join uses BACKWARD
+    private static void fillColumn(CompactGraph graph, int landmark, int l, int k, boolean reverse, double[] table) {
+        SearchWorkspace workspace = DijkstraSearch.oneToAll(graph, landmark, reverse, SearchWorkspace.FORWARD);
+        for (int v = 0, n = graph.nodeCount(); v < n; v++) {
+            table[v * k + l] = workspace.distance(v);
+        }
+    }
+
+    private static ForkJoinTask<?> forkColumn(CompactGraph graph, int landmark, int l, int k, boolean reverse,
+                                              double[] table) {
+        return ForkJoinTask.adapt(() -> fillColumn(graph, landmark, l, k, reverse, table)).fork();
+    }
+
+    // The next pick depends on the forward column, so only the reverse columns run in the background
+    private static void selectFarthest(CompactGraph graph, int[] landmarks, double[] from, double[] to,
+                                       ForkJoinTask<?>[] columns, Random rand) {
+        int n = graph.nodeCount();
+        int k = landmarks.length;
+        if (k == 0) return;
+
+        // Start from the node farthest from a random root
+        SearchWorkspace workspace = DijkstraSearch.oneToAll(graph, rand.nextInt(n), false, SearchWorkspace.FORWARD);
+        int candidate = 0;
+        double farthest = -1.0;
+        for (int v = 0; v < n; v++) {
+            double d = workspace.distance(v);
+            if (d != Double.POSITIVE_INFINITY && d > farthest) {
+                farthest = d;
+                candidate = v;
+            }
+        }
+
+        double[] nearest = new double[n];
+        Arrays.fill(nearest, Double.POSITIVE_INFINITY);
+        for (int l = 0; l < k; l++) {
+            landmarks[l] = candidate;
+            columns[2 * l + 1] = forkColumn(graph, candidate, l, k, true, to);
+            fillColumn(graph, candidate, l, k, false, from);
+
+            // Unreached nodes keep an infinite distance and are preferred next
+            candidate = 0;
+            farthest = -1.0;
+            for (int v = 0; v < n; v++) {
+                nearest[v] = Math.min(nearest[v], from[v * k + l]);
+                if (nearest[v] > farthest) {
+                    farthest = nearest[v];
+                    candidate = v;
+                }
+            }
+        }
+    }
+
+    // A round only reads the columns of earlier landmarks, so its tree search overlaps the previous fills
+    private static void selectAvoid(CompactGraph graph, int[] landmarks, double[] from, double[] to,
+                                    ForkJoinTask<?>[] columns, Random rand) {
+        int n = graph.nodeCount();
+        int k = landmarks.length;
+        boolean[] isLandmark = new boolean[n];
+        double[] size = new double[n];
+        int[] firstChild = new int[n];
+        int[] nextSibling = new int[n];
+        int[] stack = new int[n];
+        int[] postOrder = new int[n];
+
+        for (int l = 0; l < k; l++) {
+            int root = rand.nextInt(n);
+            SearchWorkspace tree = DijkstraSearch.oneToAll(graph, root, false, SearchWorkspace.BACKWARD);
+            if (l > 0) {
+                columns[2 * l - 2].join();
+                columns[2 * l - 1].join();
+            }
+
+            // Link the shortest-path tree into child lists
+            Arrays.fill(firstChild, -1);
+            for (int v = 0; v < n; v++) {
+                int parent = tree.parent(v);
+                if (parent >= 0) {
+                    nextSibling[v] = firstChild[parent];
+                    firstChild[parent] = v;
+                }
+            }
+
+            // Post-order pass: size is the total bound slack of a subtree, zero if it holds a landmark
+            int top = 0;
+            int order = 0;
+            stack[top++] = root;
+            while (top > 0) {
+                int v = stack[--top];
+                postOrder[order++] = v;
+                for (int c = firstChild[v]; c >= 0; c = nextSibling[c]) {
+                    stack[top++] = c;
+                }
+            }
+            for (int i = order - 1; i >= 0; i--) {
+                int v = postOrder[i];
+                double slack = tree.distance(v) - partialBound(root, v, l, k, from, to);
+                double total = isLandmark[v] ? -1.0 : Math.max(slack, 0.0);
+                for (int c = firstChild[v]; c >= 0 && total >= 0; c = nextSibling[c]) {
+                    total = size[c] < 0 ? -1.0 : total + size[c];
+                }
+                size[v] = total;
+            }
+
+            // Walk down the heaviest landmark-free subtree to a leaf
+            int v = root;
+            while (true) {
+                int best = -1;
+                double bestSize = 0.0;
+                for (int c = firstChild[v]; c >= 0; c = nextSibling[c]) {
+                    if (size[c] > bestSize) {
+                        bestSize = size[c];
+                        best = c;
+                    }
+                }
+                if (best < 0) break;
+                v = best;
+            }
+            if (isLandmark[v]) {
+                v = anyNonLandmark(isLandmark, rand);
+            }
+
+            landmarks[l] = v;
+            isLandmark[v] = true;
+            columns[2 * l] = forkColumn(graph, v, l, k, false, from);
+            columns[2 * l + 1] = forkColumn(graph, v, l, k, true, to);
+        }
+    }
+
+    // Lower bound for d(root, v) from the first `chosen` landmarks
+    private static double partialBound(int root, int v, int chosen, int k, double[] from, double[] to) {
+        double best = 0.0;
+        for (int l = 0; l < chosen; l++) {
+            double forward = from[v * k + l] - from[root * k + l];
+            double backward = to[root * k + l] - to[v * k + l];
+            if (!Double.isNaN(forward) && forward != Double.POSITIVE_INFINITY) best = Math.max(best, forward);
+            if (!Double.isNaN(backward) && backward != Double.POSITIVE_INFINITY) best = Math.max(best, backward);
+        }
+        return best;
+    }
+
+    private static int anyNonLandmark(boolean[] isLandmark, Random rand) {
+        int start = rand.nextInt(isLandmark.length);
+        for (int i = 0; i < isLandmark.length; i++) {
+            int v = (start + i) % isLandmark.length;
+            if (!isLandmark[v]) return v;
+        }
+        return start;
+    }
+}
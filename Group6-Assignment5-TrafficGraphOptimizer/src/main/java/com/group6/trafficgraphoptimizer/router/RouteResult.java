@@ -0,0 +1,183 @@
+package com.group6.trafficgraphoptimizer.router;
+
+import com.group6.trafficgraphoptimizer.graph.CompactGraph;
+import com.group6.trafficgraphoptimizer.graph.Node;
+
+import java.util.*;
+
+/**
+ * Outcome of one point-to-point query: the route as node indices and edge
+ * ids of the snapshot that was searched, its cost, and the work the search
+ * did.
+ * <p>
+ * The base cost sums the weights stored in the snapshot; the adjusted cost
+ * sums the costs the search actually used, such as the congested weights of
+ * the {@link AdaptiveRouter}. Callers no longer need to walk the graph again
+ * to price a route. {@link Node} objects are only looked up when
+ * {@link #getPath()} is called.
+ */
+public final class RouteResult {
+
+    private static final int[] NONE = new int[0];
+
+    private final CompactGraph graph;
+    private final int[] nodes;
+    private final int[] edges;
+    private final double baseCost;
+    private final double adjustedCost;
+    private final long settledNodes;
+    private final long relaxedEdges;
+    private final long heapOperations;
+    private final int queuePeak;
+    private final boolean found;
+    private List<Node> path;
+
+    private RouteResult(CompactGraph graph, int[] nodes, int[] edges, double baseCost, double adjustedCost,
+                        long settledNodes, long relaxedEdges, long heapOperations, int queuePeak,
+                        List<Node> path) {
+        this.graph = graph;
+        this.nodes = nodes;
+        this.edges = edges;
+        this.baseCost = baseCost;
+        this.adjustedCost = adjustedCost;
+        this.settledNodes = settledNodes;
+        this.relaxedEdges = relaxedEdges;
+        this.heapOperations = heapOperations;
+        this.queuePeak = queuePeak;
+        this.path = path;
+        this.found = path == null ? nodes.length > 0 : !path.isEmpty();
+    }
+
+    /**
+     * Builds a found route from its edge slots.
+     *
+     * @param graph        the snapshot that was searched
+     * @param source       the first node index
+     * @param edgeSlots    the edge slots from source to target, in order
+     * @param adjustedCost the cost the search computed for the route
+     */
+    static RouteResult found(CompactGraph graph, int source, int[] edgeSlots, double adjustedCost,
+                             long settledNodes, long relaxedEdges, long heapOperations, int queuePeak) {
+        int[] nodes = new int[edgeSlots.length + 1];
+        int[] edges = new int[edgeSlots.length];
+        double baseCost = 0.0;
+        nodes[0] = source;
+        for (int i = 0; i < edgeSlots.length; i++) {
+            int e = edgeSlots[i];
+            nodes[i + 1] = graph.target(e);
+            edges[i] = graph.edgeId(e);
+            baseCost += graph.weight(e);
+        }
+        return new RouteResult(graph, nodes, edges, baseCost, adjustedCost, settledNodes, relaxedEdges,
+                heapOperations, queuePeak, null);
+    }
+
+    /**
+     * @return a result without a route
+     */
+    static RouteResult notFound(CompactGraph graph, long settledNodes, long relaxedEdges, long heapOperations,
+                                int queuePeak) {
+        return new RouteResult(graph, NONE, NONE, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+                settledNodes, relaxedEdges, heapOperations, queuePeak, Collections.emptyList());
+    }
+
+    /**
+     * Result for a query from a node to itself, which also holds for nodes
+     * the snapshot does not contain.
+     */
+    static RouteResult trivial(CompactGraph graph, Node node) {
+        int v = graph.indexOf(node);
+        return new RouteResult(graph, v < 0 ? NONE : new int[]{v}, NONE, 0.0, 0.0, 0, 0, 0, 0,
+                List.of(node));
+    }
+
+    public boolean isFound() {
+        return found;
+    }
+
+    /**
+     * @return node indices of the route in the searched snapshot, empty if none found
+     */
+    public int[] getNodeIndices() {
+        return nodes.clone();
+    }
+
+    /**
+     * @return {@link com.group6.trafficgraphoptimizer.graph.Edge#getId()} of every edge on the route
+     */
+    public int[] getEdgeIds() {
+        return edges.clone();
+    }
+
+    /**
+     * @return number of edges on the route
+     */
+    public int getHopCount() {
+        return edges.length;
+    }
+
+    /**
+     * @return sum of the snapshot's weights along the route, or infinity if none found
+     */
+    public double getBaseCost() {
+        return baseCost;
+    }
+
+    /**
+     * @return sum of the costs the search used along the route, or infinity if none found
+     */
+    public double getAdjustedCost() {
+        return adjustedCost;
+    }
+
+    public long getSettledNodes() {
+        return settledNodes;
+    }
+
+    public long getRelaxedEdges() {
+        return relaxedEdges;
+    }
+
+    /**
+     * @return queue inserts, decrease-keys and removals
+     */
+    public long getHeapOperations() {
+        return heapOperations;
+    }
+
+    /**
+     * @return the most nodes queued at once; for two-sided searches the sum of both sides' peaks
+     */
+    public int getQueuePeak() {
+        return queuePeak;
+    }
+
+    /**
+     * @return the snapshot the node indices refer to
+     */
+    public CompactGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * @return the route as nodes, or empty if none found; built on first call
+     */
+    public List<Node> getPath() {
+        List<Node> result = path;
+        if (result == null) {
+            Node[] array = new Node[nodes.length];
+            for (int i = 0; i < nodes.length; i++) {
+                array[i] = graph.node(nodes[i]);
+            }
+            result = List.of(array);
+            path = result;
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "RouteResult[hops=" + edges.length + ", baseCost=" + baseCost + ", adjustedCost=" + adjustedCost
+                + ", settled=" + settledNodes + ", relaxed=" + relaxedEdges + ", heapOps=" + heapOperations + ", queuePeak=" + queuePeak + "]";
+    }
+}
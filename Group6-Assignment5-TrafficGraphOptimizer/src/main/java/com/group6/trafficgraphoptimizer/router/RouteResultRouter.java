@@ -0,0 +1,19 @@
+package com.group6.trafficgraphoptimizer.router;
+
+import com.group6.trafficgraphoptimizer.graph.Node;
+
+/**
+ * Router that reports the whole {@link RouteResult} of a query, so callers
+ * get the route's cost and search effort without walking the graph again.
+ */
+public interface RouteResultRouter extends Router {
+
+    /**
+     * Finds a route between two intersections.
+     *
+     * @param start the starting node
+     * @param end   the destination node
+     * @return the route with its costs and search effort
+     */
+    RouteResult route(Node start, Node end);
+}
@@ -0,0 +1,21 @@
+package com.group6.trafficgraphoptimizer.router;
+
+import com.group6.trafficgraphoptimizer.graph.Node;
+
+import java.util.List;
+
+/**
+ * Common interface of the point-to-point routers, so experiments and callers
+ * can swap routing strategies.
+ */
+public interface Router {
+
+    /**
+     * Finds a path between two intersections.
+     *
+     * @param start the starting node
+     * @param end   the destination node
+     * @return list of nodes in the path, or empty if none found
+     */
+    List<Node> findShortestPath(Node start, Node end);
+}
@@ -0,0 +1,160 @@
+package com.group6.trafficgraphoptimizer.router;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live totals of the queries answered by one kind of router, shared by all
+ * its instances. Counts are striped {@link LongAdder}s, so routers on many
+ * threads do not contend on one cache line.
+ * <p>
+ * Every set of counters is registered with the platform MBean server as
+ * {@code com.group6.trafficgraphoptimizer:type=RoutingCounters,router=<name>},
+ * where JConsole or any JMX client can read them and switch them off.
+ * Disabled counters cost one volatile read per query. They start enabled
+ * unless the {@code trafficgraphoptimizer.counters} system property is
+ * {@code false}.
+ */
+public final class RoutingCounters implements RoutingCountersMBean {
+
+    /** JMX domain of the counters. */
+    public static final String DOMAIN = "com.group6.trafficgraphoptimizer";
+
+    private static final ConcurrentMap<String, RoutingCounters> REGISTRY = new ConcurrentHashMap<>();
+    private static final boolean ENABLED_BY_DEFAULT =
+            Boolean.parseBoolean(System.getProperty("trafficgraphoptimizer.counters", "true"));
+
+    private final String router;
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder settledNodes = new LongAdder();
+    private final LongAdder relaxedEdges = new LongAdder();
+    private final LongAdder unreachable = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private volatile boolean enabled = ENABLED_BY_DEFAULT;
+
+    private RoutingCounters(String router) {
+        this.router = router;
+    }
+
+    /**
+     * Returns the counters of a router kind, creating and registering them
+     * with JMX on first use.
+     *
+     * @param router the router kind, e.g. "static"
+     * @return the shared counters
+     */
+    public static RoutingCounters forRouter(String router) {
+        return REGISTRY.computeIfAbsent(router, name -> {
+            RoutingCounters counters = new RoutingCounters(name);
+            counters.register();
+            return counters;
+        });
+    }
+
+    // Best effort: counters still work if JMX is unavailable or the name is taken
+    private void register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = getObjectName();
+            if (!server.isRegistered(name)) server.registerMBean(this, name);
+        } catch (JMException | SecurityException e) {
+            // Not visible over JMX, nothing else depends on it
+        }
+    }
+
+    /**
+     * @return the name the counters are registered under
+     */
+    public ObjectName getObjectName() {
+        try {
+            return new ObjectName(DOMAIN + ":type=RoutingCounters,router=" + router);
+        } catch (JMException e) {
+            throw new IllegalStateException("Invalid router name for JMX: " + router, e);
+        }
+    }
+
+    public String getRouter() {
+        return router;
+    }
+
+    /**
+     * Counts a completed query.
+     *
+     * @param result the query's outcome
+     */
+    public void record(RouteResult result) {
+        if (!enabled) return;
+        queries.increment();
+        settledNodes.add(result.getSettledNodes());
+        relaxedEdges.add(result.getRelaxedEdges());
+        if (!result.isFound()) unreachable.increment();
+    }
+
+    /**
+     * Counts a query that threw.
+     */
+    public void recordFailure() {
+        if (!enabled) return;
+        queries.increment();
+        failures.increment();
+    }
+
+    @Override
+    public long getQueries() {
+        return queries.sum();
+    }
+
+    @Override
+    public long getSettledNodes() {
+        return settledNodes.sum();
+    }
+
+    @Override
+    public long getRelaxedEdges() {
+        return relaxedEdges.sum();
+    }
+
+    @Override
+    public long getUnreachable() {
+        return unreachable.sum();
+    }
+
+    @Override
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Zeroes all counts. Queries running meanwhile may be partly counted.
+     */
+    @Override
+    public void reset() {
+        queries.reset();
+        settledNodes.reset();
+        relaxedEdges.reset();
+        unreachable.reset();
+        failures.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "RoutingCounters[" + router + ": queries=" + getQueries() + ", settled=" + getSettledNodes()
+                + ", relaxed=" + getRelaxedEdges() + ", unreachable=" + getUnreachable()
+                + ", failures=" + getFailures() + "]";
+    }
+}
@@ -0,0 +1,29 @@
+package com.group6.trafficgraphoptimizer.router;
+
+/**
+ * JMX view of a {@link RoutingCounters}.
+ */
+public interface RoutingCountersMBean {
+
+    long getQueries();
+
+    long getSettledNodes();
+
+    long getRelaxedEdges();
+
+    /**
+     * @return queries that completed without finding a route
+     */
+    long getUnreachable();
+
+    /**
+     * @return queries that threw an exception
+     */
+    long getFailures();
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    void reset();
+}
@@ -0,0 +1,59 @@
+package com.group6.trafficgraphoptimizer.router;
+
+import com.group6.trafficgraphoptimizer.graph.Node;
+import jdk.jfr.*;
+
+/**
+ * Flight Recorder event for one point-to-point query of the
+ * {@link StaticRouter} or {@link AdaptiveRouter}. Start a recording with
+ * {@code -XX:StartFlightRecording} or {@code jcmd <pid> JFR.start} to see
+ * what the routers were doing during a latency spike.
+ * <p>
+ * While no recording has the event enabled, {@link #shouldCommit()} is false
+ * and none of the fields are filled in; the JIT then removes the allocation,
+ * so the cost on the query path is close to zero.
+ */
+@Name("com.group6.trafficgraphoptimizer.RoutingQuery")
+@Label("Routing Query")
+@Category({"Traffic Graph Optimizer", "Routing"})
+@Description("A point-to-point shortest path query")
+@StackTrace(false)
+final class RoutingQueryEvent extends Event {
+
+    @Label("Router")
+    String router;
+
+    @Label("Source")
+    String source;
+
+    @Label("Target")
+    String target;
+
+    @Label("Found")
+    boolean found;
+
+    @Label("Settled Nodes")
+    long settledNodes;
+
+    @Label("Relaxed Edges")
+    long relaxedEdges;
+
+    @Label("Queue Peak")
+    @Description("Most nodes queued at once")
+    int queuePeak;
+
+    /**
+     * Fills in and commits the event if a recording wants it.
+     */
+    void commitQuery(String router, Node start, Node end, RouteResult result) {
+        if (!shouldCommit()) return;
+        this.router = router;
+        this.source = start.getId();
+        this.target = end.getId();
+        this.found = result.isFound();
+        this.settledNodes = result.getSettledNodes();
+        this.relaxedEdges = result.getRelaxedEdges();
+        this.queuePeak = result.getQueuePeak();
+        commit();
+    }
+}
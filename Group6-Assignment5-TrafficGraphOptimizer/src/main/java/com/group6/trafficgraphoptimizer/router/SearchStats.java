@@ -0,0 +1,78 @@
+package com.group6.trafficgraphoptimizer.router;
+
+/**
+ * Accumulates the work done by one or more searches, for comparing search
+ * strategies. Not thread-safe; use one instance per thread.
+ */
+public class SearchStats {
+
+    private long settledNodes;
+    private long relaxedEdges;
+    private long heapOperations;
+    private long queries;
+
+    /**
+     * Adds the work of one search.
+     *
+     * @param settled nodes removed from the queue
+     * @param relaxed edges examined
+     */
+    public void add(long settled, long relaxed) {
+        add(settled, relaxed, 0);
+    }
+
+    /**
+     * Adds the work of one search that also counted its queue operations.
+     *
+     * @param settled        nodes removed from the queue
+     * @param relaxed        edges examined
+     * @param heapOperations queue inserts, decrease-keys and removals
+     */
+    public void add(long settled, long relaxed, long heapOperations) {
+        settledNodes += settled;
+        relaxedEdges += relaxed;
+        this.heapOperations += heapOperations;
+        queries++;
+    }
+
+    /**
+     * Adds the work recorded in a route result.
+     *
+     * @param result the outcome of one query
+     */
+    public void add(RouteResult result) {
+        add(result.getSettledNodes(), result.getRelaxedEdges(), result.getHeapOperations());
+    }
+
+    public long getSettledNodes() {
+        return settledNodes;
+    }
+
+    public long getRelaxedEdges() {
+        return relaxedEdges;
+    }
+
+    /**
+     * @return queue operations, counted only by searches that report them
+     */
+    public long getHeapOperations() {
+        return heapOperations;
+    }
+
+    public long getQueries() {
+        return queries;
+    }
+
+    public void reset() {
+        settledNodes = 0;
+        relaxedEdges = 0;
+        heapOperations = 0;
+        queries = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "settled=" + settledNodes + ", relaxed=" + relaxedEdges + ", heapOps=" + heapOperations
+                + ", queries=" + queries;
+    }
+}
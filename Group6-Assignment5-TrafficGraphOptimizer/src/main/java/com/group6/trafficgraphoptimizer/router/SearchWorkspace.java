@@ -0,0 +1,171 @@
+package com.group6.trafficgraphoptimizer.router;
+
+import java.util.Arrays;
+
+/**
+ * Reusable, thread-confined state for one shortest-path search: tentative
+ * distances, parent pointers and the priority queue, all indexed by dense
+ * node ids.
+ * <p>
+ * Instead of refilling the arrays before every query, each entry carries the
+ * epoch in which it was last written. {@link #reset()} just advances the epoch,
+ * so entries from earlier queries read as unvisited and the cost of a query
+ * scales with the nodes it touches rather than with the graph size.
+ * <p>
+ * Workspaces are pooled per thread through {@link #forThread(int, int)} and
+ * must not be shared across threads.
+ */
+public final class SearchWorkspace {
+
+    /** Slot for forward (or the only) search of a query. */
+    public static final int FORWARD = 0;
+
+    /** Slot for the backward half of a bidirectional search. */
+    public static final int BACKWARD = 1;
+
+    private static final int SLOTS = 4;
+
+    private static final ThreadLocal<SearchWorkspace[]> POOL =
+            ThreadLocal.withInitial(() -> new SearchWorkspace[SLOTS]);
+
+    private double[] distances;
+    private int[] parents;
+    private int[] parentEdges;
+    private int[] stamps;
+    private int epoch;
+    private final IndexedMinHeap heap;
+
+    /**
+     * Creates a standalone workspace. Most callers should use {@link #forThread(int, int)}.
+     *
+     * @param capacity number of nodes the workspace can address
+     */
+    public SearchWorkspace(int capacity) {
+        capacity = Math.max(capacity, 1);
+        this.distances = new double[capacity];
+        this.parents = new int[capacity];
+        this.parentEdges = new int[capacity];
+        this.stamps = new int[capacity];
+        this.epoch = 1;
+        this.heap = new IndexedMinHeap(capacity);
+    }
+
+    /**
+     * Returns the calling thread's workspace for a slot, grown to the node count
+     * and reset for a new query.
+     *
+     * @param slot      which of the thread's workspaces to use, e.g. {@link #FORWARD}
+     * @param nodeCount number of nodes in the graph about to be searched
+     * @return a reset workspace
+     */
+    public static SearchWorkspace forThread(int slot, int nodeCount) {
+        SearchWorkspace[] pool = POOL.get();
+        SearchWorkspace workspace = pool[slot];
+        if (workspace == null) {
+            workspace = new SearchWorkspace(nodeCount);
+            pool[slot] = workspace;
+        } else {
+            workspace.ensureCapacity(nodeCount);
+        }
+        workspace.reset();
+        return workspace;
+    }
+
+    /**
+     * Forgets all distances and empties the queue. Runs in constant time apart
+     * from draining whatever is left in the queue.
+     */
+    public void reset() {
+        heap.clear();
+        if (++epoch == Integer.MAX_VALUE) {
+            Arrays.fill(stamps, 0);
+            epoch = 1;
+        }
+    }
+
+    /**
+     * Grows the workspace so it can address node ids up to {@code capacity - 1}.
+     *
+     * @param capacity required number of nodes
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity <= stamps.length) return;
+        distances = Arrays.copyOf(distances, capacity);
+        parents = Arrays.copyOf(parents, capacity);
+        parentEdges = Arrays.copyOf(parentEdges, capacity);
+        stamps = Arrays.copyOf(stamps, capacity);
+        heap.ensureCapacity(capacity);
+    }
+
+    /**
+     * @param v a node id
+     * @return true if {@code v} has been reached in the current query
+     */
+    public boolean isVisited(int v) {
+        return stamps[v] == epoch;
+    }
+
+    /**
+     * @param v a node id
+     * @return true if {@code v} has been reached and already removed from the queue
+     */
+    public boolean isSettled(int v) {
+        return stamps[v] == epoch && !heap.contains(v);
+    }
+
+    /**
+     * @param v a node id
+     * @return the tentative distance of {@code v}, or infinity if not reached yet
+     */
+    public double distance(int v) {
+        return stamps[v] == epoch ? distances[v] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * @param v a node id
+     * @return the predecessor of {@code v} on its tentative path, or -1
+     */
+    public int parent(int v) {
+        return stamps[v] == epoch ? parents[v] : -1;
+    }
+
+    /**
+     * @param v a node id
+     * @return the edge slot used to reach {@code v}, or -1
+     */
+    public int parentEdge(int v) {
+        return stamps[v] == epoch ? parentEdges[v] : -1;
+    }
+
+    /**
+     * Records a tentative distance without touching the queue.
+     *
+     * @param v          the node reached
+     * @param distance   its tentative distance
+     * @param parent     the predecessor node, or -1 for a search root
+     * @param parentEdge the edge slot used, or -1 for a search root
+     */
+    public void set(int v, double distance, int parent, int parentEdge) {
+        distances[v] = distance;
+        parents[v] = parent;
+        parentEdges[v] = parentEdge;
+        stamps[v] = epoch;
+    }
+
+    /**
+     * Records a tentative distance and queues the node with that distance as key.
+     *
+     * @param v          the node reached
+     * @param distance   its tentative distance
+     * @param parent     the predecessor node, or -1 for a search root
+     * @param parentEdge the edge slot used, or -1 for a search root
+     */
+    public void reach(int v, double distance, int parent, int parentEdge) {
+        set(v, distance, parent, parentEdge);
+        heap.insertOrDecrease(v, distance);
+    }
+
+    public IndexedMinHeap heap() {
+        return heap;
+    }
+}
@@ -3,22 +3,84 @@ package com.group6.trafficgraphoptimizer.router;
 import com.group6.trafficgraphoptimizer.graph.*;
 
 import java.util.*;
+import java.util.function.Supplier;
 
 /**
  * A traditional shortest-path router using standard Dijkstra's algorithm.
  * Used as a baseline to compare against the AdaptiveRouter.
  */
-public class StaticRouter {
+public class StaticRouter implements RouteResultRouter {
 
-    private final Graph graph;
+    /**
+     * How a point-to-point query explores the graph.
+     */
+    public enum Mode {
+        /** Forward Dijkstra from the start until the end is settled. */
+        UNIDIRECTIONAL,
+        /** Forward search from the start and backward search from the end, meeting in the middle. */
+        BIDIRECTIONAL
+    }
+
+    private final Supplier<CompactGraph> snapshots;
+    private final Mode mode;
+    private final RoutingCounters counters;
 
     /**
-     * Constructs a StaticRouter over a given graph.
+     * Constructs a StaticRouter over a given graph. Each query runs on the
+     * graph's current snapshot, so later changes to the graph are picked up.
      *
      * @param graph the graph to route over
      */
     public StaticRouter(Graph graph) {
-        this.graph = graph;
+        this(graph, Mode.UNIDIRECTIONAL);
+    }
+
+    /**
+     * Constructs a StaticRouter over a given graph with the given search mode.
+     *
+     * @param graph the graph to route over
+     * @param mode  how queries explore the graph
+     */
+    public StaticRouter(Graph graph, Mode mode) {
+        this.snapshots = graph::snapshot;
+        this.mode = Objects.requireNonNull(mode);
+        this.counters = counters(mode);
+    }
+
+    /**
+     * Constructs a StaticRouter over a frozen snapshot.
+     *
+     * @param graph the snapshot to route over
+     */
+    public StaticRouter(CompactGraph graph) {
+        this(graph, Mode.UNIDIRECTIONAL);
+    }
+
+    /**
+     * Constructs a StaticRouter over a frozen snapshot with the given search mode.
+     *
+     * @param graph the snapshot to route over
+     * @param mode  how queries explore the graph
+     */
+    public StaticRouter(CompactGraph graph, Mode mode) {
+        this.snapshots = () -> graph;
+        this.mode = Objects.requireNonNull(mode);
+        this.counters = counters(mode);
+    }
+
+    private static RoutingCounters counters(Mode mode) {
+        return RoutingCounters.forRouter(mode == Mode.BIDIRECTIONAL ? "bidirectional" : "static");
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * @return the live counters shared by all routers with this router's mode
+     */
+    public RoutingCounters getCounters() {
+        return counters;
     }
 
     /**
@@ -28,46 +90,59 @@ public class StaticRouter {
      * @param end   the destination node
      * @return list of nodes in the shortest path
      */
+    @Override
     public List<Node> findShortestPath(Node start, Node end) {
-        Map<Node, Double> distances = new HashMap<>();
-        Map<Node, Node> previous = new HashMap<>();
-        PriorityQueue<Node> queue = new PriorityQueue<>(Comparator.comparingDouble(distances::get));
+        return findShortestPath(start, end, null);
+    }
 
-        for (Node node : graph.getNodes()) {
-            distances.put(node, Double.POSITIVE_INFINITY);
-        }
-        distances.put(start, 0.0);
-        queue.add(start);
-
-        while (!queue.isEmpty()) {
-            Node current = queue.poll();
-            if (current.equals(end)) break;
-
-            for (Edge edge : graph.getEdgesFrom(current)) {
-                double newDist = distances.get(current) + edge.getWeight();
-                if (newDist < distances.get(edge.getTo())) {
-                    distances.put(edge.getTo(), newDist);
-                    previous.put(edge.getTo(), current);
-                    queue.add(edge.getTo());
-                }
-            }
-        }
+    /**
+     * Finds the shortest path from start to end and records how much of the
+     * graph the search had to explore.
+     *
+     * @param start the starting node
+     * @param end   the destination node
+     * @param stats receives settled-node and relaxation counts, may be null
+     * @return list of nodes in the shortest path
+     */
+    public List<Node> findShortestPath(Node start, Node end, SearchStats stats) {
+        return route(start, end, stats).getPath();
+    }
 
-        return reconstructPath(previous, start, end);
+    /**
+     * Finds the shortest route from start to end with its cost and search effort.
+     *
+     * @param start the starting node
+     * @param end   the destination node
+     * @return the route; base and adjusted cost are the same for this router
+     */
+    @Override
+    public RouteResult route(Node start, Node end) {
+        return route(start, end, null);
     }
 
     /**
-     * Reconstructs the shortest path based on the predecessor map.
+     * Finds the shortest route from start to end with its cost and search effort.
+     *
+     * @param start the starting node
+     * @param end   the destination node
+     * @param stats also receives the search effort, may be null
+     * @return the route; base and adjusted cost are the same for this router
      */
-    private List<Node> reconstructPath(Map<Node, Node> previous, Node start, Node end) {
-        LinkedList<Node> path = new LinkedList<>();
-        Node current = end;
-        while (current != null && !current.equals(start)) {
-            path.addFirst(current);
-            current = previous.get(current);
+    public RouteResult route(Node start, Node end, SearchStats stats) {
+        RoutingQueryEvent event = new RoutingQueryEvent();
+        event.begin();
+        RouteResult result;
+        try {
+            CompactGraph graph = snapshots.get();
+            result = mode == Mode.BIDIRECTIONAL
+                    ? DijkstraSearch.bidirectionalRoute(graph, start, end, stats)
+                    : DijkstraSearch.route(graph, start, end, EdgeWeigher.BASE, stats);
+        } catch (RuntimeException e) {
+            counters.recordFailure();
+            throw e;
         }
-        if (current == null) return Collections.emptyList();
-        path.addFirst(start);
-        return path;
+        counters.record(result);
+        event.commitQuery(counters.getRouter(), start, end, result);
+        return result;
     }
 }
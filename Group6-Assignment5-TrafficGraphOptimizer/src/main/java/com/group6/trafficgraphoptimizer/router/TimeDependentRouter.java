@@ -0,0 +1,213 @@
+package com.group6.trafficgraphoptimizer.router;
+
+import com.group6.trafficgraphoptimizer.graph.CompactGraph;
+import com.group6.trafficgraphoptimizer.graph.Graph;
+import com.group6.trafficgraphoptimizer.graph.Node;
+import com.group6.trafficgraphoptimizer.traffic.TravelTimeProfiles;
+
+import java.util.*;
+
+/**
+ * Router for time-dependent travel times. The cost of an edge depends on
+ * when it is entered, given by {@link TravelTimeProfiles}, so the best route
+ * changes with the departure time.
+ * <p>
+ * Point-to-point queries run a time-dependent Dijkstra on arrival times,
+ * which is exact because the profiles are FIFO. With landmarks, the search
+ * becomes A* with ALT bounds computed on the smallest travel time of every
+ * edge, which never overestimate the remaining time at any hour.
+ * <p>
+ * {@link #profile} answers for a whole departure window at once: it
+ * propagates piecewise-linear travel-time functions instead of single times,
+ * linking them along edges and taking their minimum where paths meet.
+ */
+public class TimeDependentRouter implements Router {
+
+    private static final int ACTIVE_LANDMARKS = 4;
+
+    private final CompactGraph graph;
+    private final TravelTimeProfiles profiles;
+
+    // ALT bounds on the lower-bound graph, null for plain Dijkstra
+    private final LandmarkTable landmarks;
+
+    /**
+     * Constructs a time-dependent Dijkstra router over the graph's current snapshot.
+     *
+     * @param graph    the graph to route over
+     * @param profiles travel-time profiles keyed by edge id
+     */
+    public TimeDependentRouter(Graph graph, TravelTimeProfiles profiles) {
+        this(graph.snapshot(), profiles, 0);
+    }
+
+    /**
+     * Constructs a time-dependent router over a snapshot.
+     *
+     * @param graph     the snapshot to route over
+     * @param profiles  travel-time profiles keyed by edge id
+     * @param landmarks number of ALT landmarks for A* search, 0 for plain Dijkstra
+     * @throws IllegalArgumentException if the profiles violate FIFO on the graph
+     */
+    public TimeDependentRouter(CompactGraph graph, TravelTimeProfiles profiles, int landmarks) {
+        if (landmarks < 0) throw new IllegalArgumentException("Landmark count must not be negative: " + landmarks);
+        profiles.checkFifo(graph);
+        this.graph = graph;
+        this.profiles = profiles;
+        if (landmarks == 0 || graph.nodeCount() == 0) {
+            this.landmarks = null;
+        } else {
+            double[] lowerBounds = new double[graph.edgeCount()];
+            for (int e = 0; e < lowerBounds.length; e++) {
+                lowerBounds[e] = profiles.lowerBound(graph.edgeId(e), graph.weight(e));
+            }
+            this.landmarks = LandmarkTable.build(graph.withWeights(lowerBounds),
+                    Math.min(landmarks, graph.nodeCount()), LandmarkSelection.AVOID, 42L);
+        }
+    }
+
+    public TravelTimeProfiles getProfiles() {
+        return profiles;
+    }
+
+    /**
+     * Finds the fastest path when departing at time 0.
+     *
+     * @param start the starting node
+     * @param end   the destination node
+     * @return list of nodes in the path, or empty if none found
+     */
+    @Override
+    public List<Node> findShortestPath(Node start, Node end) {
+        return findShortestPath(start, end, 0.0);
+    }
+
+    /**
+     * Finds the fastest path for a departure time.
+     *
+     * @param start     the starting node
+     * @param end       the destination node
+     * @param departure the departure time, in the unit of the profiles
+     * @return list of nodes in the path, or empty if none found
+     */
+    public List<Node> findShortestPath(Node start, Node end, double departure) {
+        return findShortestPath(start, end, departure, null);
+    }
+
+    /**
+     * Finds the fastest path for a departure time and records the search effort.
+     *
+     * @param start     the starting node
+     * @param end       the destination node
+     * @param departure the departure time, in the unit of the profiles
+     * @param stats     receives settled-node and relaxation counts, may be null
+     * @return list of nodes in the path, or empty if none found
+     */
+    public List<Node> findShortestPath(Node start, Node end, double departure, SearchStats stats) {
+        int source = graph.indexOf(start);
+        int target = graph.indexOf(end);
+        if (source < 0 || target < 0) {
+            return start.equals(end) ? List.of(start) : Collections.emptyList();
+        }
+        SearchWorkspace workspace = search(source, target, departure, stats);
+        return DijkstraSearch.reconstructPath(graph, workspace, source, target);
+    }
+
+    /**
+     * Computes the earliest arrival time for a departure time.
+     *
+     * @param start     the starting node
+     * @param end       the destination node
+     * @param departure the departure time
+     * @return the arrival time, or infinity if the destination cannot be reached
+     */
+    public double earliestArrival(Node start, Node end, double departure) {
+        int source = graph.indexOf(start);
+        int target = graph.indexOf(end);
+        if (source < 0 || target < 0) return start.equals(end) ? departure : Double.POSITIVE_INFINITY;
+        return search(source, target, departure, null).distance(target);
+    }
+
+    // Dijkstra or A* on arrival times; workspace distances are arrival times
+    private SearchWorkspace search(int source, int target, double departure, SearchStats stats) {
+        int[] active = new int[ACTIVE_LANDMARKS];
+        int activeCount = landmarks == null ? 0 : landmarks.selectActive(source, target, active);
+
+        SearchWorkspace workspace = SearchWorkspace.forThread(SearchWorkspace.FORWARD, graph.nodeCount());
+        IndexedMinHeap queue = workspace.heap();
+        workspace.set(source, departure, -1, -1);
+        queue.insertOrDecrease(source, departure);
+        int settled = 0;
+        int relaxed = 0;
+
+        while (!queue.isEmpty()) {
+            int current = queue.poll();
+            settled++;
+            if (current == target) break;
+
+            double time = workspace.distance(current);
+            for (int e = graph.firstEdge(current), last = graph.endEdge(current); e < last; e++) {
+                relaxed++;
+                int to = graph.target(e);
+                double arrival = time + profiles.travelTime(graph.edgeId(e), graph.weight(e), time);
+                if (arrival < workspace.distance(to)) {
+                    double estimate = landmarks == null ? 0.0 : landmarks.lowerBound(to, target, active, activeCount);
+                    if (estimate == Double.POSITIVE_INFINITY) continue; // target unreachable from here
+                    workspace.set(to, arrival, current, e);
+                    queue.insertOrDecrease(to, arrival + estimate);
+                }
+            }
+        }
+
+        if (stats != null) stats.add(settled, relaxed);
+        return workspace;
+    }
+
+    /**
+     * Computes the travel time from start to end for every departure time in
+     * a window, in one label-correcting search over travel-time functions.
+     *
+     * @param start the starting node
+     * @param end   the destination node
+     * @param from  the earliest departure time
+     * @param to    the latest departure time, not before {@code from}
+     * @return the travel time as a function of the departure time, or null if
+     * the destination cannot be reached
+     */
+    public TravelTimeFunction profile(Node start, Node end, double from, double to) {
+        if (!(from <= to)) throw new IllegalArgumentException("Empty departure window [" + from + ", " + to + "]");
+        int source = graph.indexOf(start);
+        int target = graph.indexOf(end);
+        if (source < 0 || target < 0) {
+            return start.equals(end) ? TravelTimeFunction.constant(from, to, 0.0) : null;
+        }
+
+        int[] active = new int[ACTIVE_LANDMARKS];
+        int activeCount = landmarks == null ? 0 : landmarks.selectActive(source, target, active);
+        TravelTimeFunction[] labels = new TravelTimeFunction[graph.nodeCount()];
+        IndexedMinHeap queue = new IndexedMinHeap(graph.nodeCount());
+        labels[source] = TravelTimeFunction.constant(from, to, 0.0);
+        queue.insertOrDecrease(source, 0.0);
+
+        while (!queue.isEmpty()) {
+            // Nothing left in the queue can beat the target at any departure time
+            if (labels[target] != null && queue.peekKey() >= labels[target].getMax()) break;
+            int current = queue.poll();
+            TravelTimeFunction label = labels[current];
+            for (int e = graph.firstEdge(current), last = graph.endEdge(current); e < last; e++) {
+                int next = graph.target(e);
+                double estimate = landmarks == null ? 0.0 : landmarks.lowerBound(next, target, active, activeCount);
+                if (estimate == Double.POSITIVE_INFINITY) continue;
+                TravelTimeFunction linked = label.link(profiles, graph.edgeId(e), graph.weight(e));
+                if (labels[target] != null && linked.getMin() + estimate >= labels[target].getMax()) continue;
+
+                TravelTimeFunction merged = labels[next] == null ? linked : labels[next].merge(linked);
+                if (merged != labels[next]) {
+                    labels[next] = merged;
+                    queue.insertOrDecrease(next, merged.getMin() + estimate);
+                }
+            }
+        }
+        return labels[target];
+    }
+}
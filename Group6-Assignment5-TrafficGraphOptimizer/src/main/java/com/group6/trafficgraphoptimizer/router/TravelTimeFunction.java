@@ -0,0 +1,235 @@
+package com.group6.trafficgraphoptimizer.router;
+
+import com.group6.trafficgraphoptimizer.traffic.TravelTimeProfiles;
+
+import java.util.Arrays;
+
+/**
+ * Travel time as a piecewise-linear function of the departure time over a
+ * window, the result of a profile query. Between two breakpoints the travel
+ * time changes linearly.
+ */
+public final class TravelTimeFunction {
+
+    // Relative tolerance for dropping collinear breakpoints and ignoring tiny improvements
+    private static final double EPSILON = 1e-9;
+
+    private final double[] times;
+    private final double[] values;
+    private final double min;
+    private final double max;
+
+    private TravelTimeFunction(double[] times, double[] values) {
+        this.times = times;
+        this.values = values;
+        double lowest = Double.POSITIVE_INFINITY;
+        double highest = Double.NEGATIVE_INFINITY;
+        for (double value : values) {
+            lowest = Math.min(lowest, value);
+            highest = Math.max(highest, value);
+        }
+        this.min = lowest;
+        this.max = highest;
+    }
+
+    static TravelTimeFunction constant(double from, double to, double value) {
+        return from == to
+                ? new TravelTimeFunction(new double[] {from}, new double[] {value})
+                : new TravelTimeFunction(new double[] {from, to}, new double[] {value, value});
+    }
+
+    /**
+     * @return the first departure time of the window
+     */
+    public double getFrom() {
+        return times[0];
+    }
+
+    /**
+     * @return the last departure time of the window
+     */
+    public double getTo() {
+        return times[times.length - 1];
+    }
+
+    /**
+     * @return number of breakpoints
+     */
+    public int size() {
+        return times.length;
+    }
+
+    public double time(int i) {
+        return times[i];
+    }
+
+    public double value(int i) {
+        return values[i];
+    }
+
+    /**
+     * @return the shortest travel time over the window
+     */
+    public double getMin() {
+        return min;
+    }
+
+    /**
+     * @return the longest travel time over the window
+     */
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * Evaluates the function.
+     *
+     * @param departure a departure time within the window
+     * @return the travel time when leaving at that time
+     * @throws IllegalArgumentException if the time is outside the window
+     */
+    public double valueAt(double departure) {
+        if (departure < getFrom() || departure > getTo()) {
+            throw new IllegalArgumentException("Departure " + departure + " outside [" + getFrom() + ", " + getTo() + "]");
+        }
+        int i = Arrays.binarySearch(times, departure);
+        if (i >= 0) return values[i];
+        int hi = -i - 1;
+        int lo = hi - 1;
+        double fraction = (departure - times[lo]) / (times[hi] - times[lo]);
+        return values[lo] + (values[hi] - values[lo]) * fraction;
+    }
+
+    /**
+     * Extends a function by one edge: the travel time to the head of the edge
+     * when its tail is reached after this function's travel time. Adds a
+     * breakpoint wherever the arrival at the tail crosses a breakpoint of the
+     * edge profile, so the result is exact.
+     */
+    TravelTimeFunction link(TravelTimeProfiles profiles, int edgeId, double baseWeight) {
+        int shape = profiles.shapeOf(edgeId);
+        if (shape < 0) {
+            double[] linked = values.clone();
+            for (int i = 0; i < linked.length; i++) {
+                linked[i] += baseWeight;
+            }
+            return new TravelTimeFunction(times, linked);
+        }
+
+        Builder out = new Builder(times.length * 2);
+        double period = profiles.getPeriod();
+        int first = profiles.firstPoint(shape);
+        int end = profiles.endPoint(shape);
+        for (int i = 0; i < times.length; i++) {
+            double arrival = times[i] + values[i];
+            out.add(times[i], values[i] + profiles.travelTime(edgeId, baseWeight, arrival));
+            if (i + 1 == times.length) break;
+
+            double nextArrival = times[i + 1] + values[i + 1];
+            if (nextArrival <= arrival) continue; // FIFO: arrival time is constant on this segment
+            for (double cycle = Math.floor(arrival / period) * period; cycle < nextArrival; cycle += period) {
+                for (int p = first; p < end; p++) {
+                    double tau = cycle + profiles.pointTime(p);
+                    if (tau <= arrival) continue;
+                    if (tau >= nextArrival) break;
+                    double fraction = (tau - arrival) / (nextArrival - arrival);
+                    double departure = times[i] + (times[i + 1] - times[i]) * fraction;
+                    double travel = values[i] + (values[i + 1] - values[i]) * fraction;
+                    out.add(departure, travel + profiles.travelTime(edgeId, baseWeight, tau));
+                }
+            }
+        }
+        return out.build();
+    }
+
+    /**
+     * Pointwise minimum of two functions over the same window.
+     *
+     * @return this function if the other one is nowhere shorter, otherwise the minimum
+     */
+    TravelTimeFunction merge(TravelTimeFunction other) {
+        Builder out = new Builder(times.length + other.times.length);
+        boolean improved = false;
+        int i = 0;
+        int j = 0;
+        double previousTime = Double.NaN;
+        double previousDiff = 0;
+        while (i < times.length || j < other.times.length) {
+            double t;
+            if (j == other.times.length || (i < times.length && times[i] < other.times[j])) {
+                t = times[i++];
+            } else if (i == times.length || other.times[j] < times[i]) {
+                t = other.times[j++];
+            } else {
+                t = times[i++];
+                j++;
+            }
+            double mine = valueAt(t);
+            double theirs = other.valueAt(t);
+            double diff = mine - theirs;
+
+            // The functions cross between the previous breakpoint and this one
+            if (!Double.isNaN(previousTime) && ((previousDiff > 0 && diff < 0) || (previousDiff < 0 && diff > 0))) {
+                double cross = previousTime + (t - previousTime) * previousDiff / (previousDiff - diff);
+                out.add(cross, valueAt(cross));
+            }
+            if (diff > EPSILON * Math.max(1.0, Math.abs(mine))) improved = true;
+            out.add(t, Math.min(mine, theirs));
+            previousTime = t;
+            previousDiff = diff;
+        }
+        return improved ? out.build() : this;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < times.length; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(String.format("%.2f -> %.2f", times[i], values[i]));
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Collects breakpoints in increasing time order, dropping collinear ones.
+     */
+    private static final class Builder {
+        private double[] times;
+        private double[] values;
+        private int size;
+
+        Builder(int capacity) {
+            this.times = new double[Math.max(2, capacity)];
+            this.values = new double[times.length];
+        }
+
+        void add(double time, double value) {
+            if (size > 0 && time <= times[size - 1]) {
+                // Same time again, e.g. a crossing on a breakpoint: keep the smaller value
+                values[size - 1] = Math.min(values[size - 1], value);
+                return;
+            }
+            if (size >= 2 && collinear(times[size - 2], values[size - 2], times[size - 1], values[size - 1],
+                    time, value)) {
+                size--;
+            }
+            if (size == times.length) {
+                times = Arrays.copyOf(times, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            times[size] = time;
+            values[size] = value;
+            size++;
+        }
+
+        private static boolean collinear(double t0, double v0, double t1, double v1, double t2, double v2) {
+            double expected = v0 + (v2 - v0) * (t1 - t0) / (t2 - t0);
+            return Math.abs(expected - v1) <= EPSILON * Math.max(1.0, Math.abs(v1));
+        }
+
+        TravelTimeFunction build() {
+            return new TravelTimeFunction(Arrays.copyOf(times, size), Arrays.copyOf(values, size));
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.group6.trafficgraphoptimizer.router.ch;
+
+import com.group6.trafficgraphoptimizer.graph.CompactGraph;
+import com.group6.trafficgraphoptimizer.graph.Graph;
+import com.group6.trafficgraphoptimizer.graph.Node;
+import com.group6.trafficgraphoptimizer.router.IndexedMinHeap;
+import com.group6.trafficgraphoptimizer.router.Router;
+import com.group6.trafficgraphoptimizer.router.SearchStats;
+import com.group6.trafficgraphoptimizer.router.SearchWorkspace;
+
+import java.util.*;
+
+/**
+ * Exact point-to-point router over a {@link ContractionHierarchy}. A query runs
+ * two Dijkstra searches that only climb to higher-ranked nodes, forward from
+ * the start and backward from the end, and joins them at the best meeting
+ * node. Shortcuts on the result are unpacked back into original road
+ * segments, so paths look the same as those of the StaticRouter.
+ * <p>
+ * The hierarchy is built once; build a new router after the graph changes.
+ */
+public class CHRouter implements Router {
+
+    private final ContractionHierarchy hierarchy;
+
+    /**
+     * Contracts the graph's current snapshot with default settings.
+     *
+     * @param graph the graph to route over
+     */
+    public CHRouter(Graph graph) {
+        this(new ContractionHierarchyBuilder().build(graph.snapshot()));
+    }
+
+    /**
+     * Constructs a router over a prebuilt hierarchy.
+     *
+     * @param hierarchy the contracted graph
+     */
+    public CHRouter(ContractionHierarchy hierarchy) {
+        this.hierarchy = hierarchy;
+    }
+
+    public ContractionHierarchy getHierarchy() {
+        return hierarchy;
+    }
+
+    /**
+     * Finds the shortest path from start to end.
+     *
+     * @param start the starting node
+     * @param end   the destination node
+     * @return list of nodes in the shortest path
+     */
+    @Override
+    public List<Node> findShortestPath(Node start, Node end) {
+        return findShortestPath(start, end, null);
+    }
+
+    /**
+     * Finds the shortest path from start to end and records how much of the
+     * hierarchy the search had to explore.
+     *
+     * @param start the starting node
+     * @param end   the destination node
+     * @param stats receives settled-node and relaxation counts, may be null
+     * @return list of nodes in the shortest path
+     */
+    public List<Node> findShortestPath(Node start, Node end, SearchStats stats) {
+        CompactGraph graph = hierarchy.getGraph();
+        int source = graph.indexOf(start);
+        int target = graph.indexOf(end);
+        if (source < 0 || target < 0 || source == target) {
+            return start.equals(end) ? List.of(start) : Collections.emptyList();
+        }
+
+        SearchWorkspace forward = SearchWorkspace.forThread(SearchWorkspace.FORWARD, graph.nodeCount());
+        SearchWorkspace backward = SearchWorkspace.forThread(SearchWorkspace.BACKWARD, graph.nodeCount());
+        IndexedMinHeap forwardQueue = forward.heap();
+        IndexedMinHeap backwardQueue = backward.heap();
+        forward.reach(source, 0.0, -1, -1);
+        backward.reach(target, 0.0, -1, -1);
+
+        double best = Double.POSITIVE_INFINITY;
+        int meeting = -1;
+        int settled = 0;
+        int relaxed = 0;
+
+        while (true) {
+            double forwardTop = forwardQueue.isEmpty() ? Double.POSITIVE_INFINITY : forwardQueue.peekKey();
+            double backwardTop = backwardQueue.isEmpty() ? Double.POSITIVE_INFINITY : backwardQueue.peekKey();
+            // Upward searches may pass the meeting node, so both sides must run past best
+            if (Math.min(forwardTop, backwardTop) >= best) break;
+            settled++;
+
+            if (forwardTop <= backwardTop) {
+                int current = forwardQueue.poll();
+                double base = forward.distance(current);
+                double through = base + backward.distance(current);
+                if (through < best) {
+                    best = through;
+                    meeting = current;
+                }
+                for (int i = hierarchy.firstUpEdge(current), last = hierarchy.endUpEdge(current); i < last; i++) {
+                    relaxed++;
+                    int e = hierarchy.upEdge(i);
+                    int to = hierarchy.edgeTo(e);
+                    double newDist = base + hierarchy.edgeWeight(e);
+                    if (newDist < forward.distance(to)) {
+                        forward.reach(to, newDist, current, e);
+                    }
+                }
+            } else {
+                int current = backwardQueue.poll();
+                double base = backward.distance(current);
+                double through = base + forward.distance(current);
+                if (through < best) {
+                    best = through;
+                    meeting = current;
+                }
+                for (int i = hierarchy.firstDownEdge(current), last = hierarchy.endDownEdge(current); i < last; i++) {
+                    relaxed++;
+                    int e = hierarchy.downEdge(i);
+                    int from = hierarchy.edgeFrom(e);
+                    double newDist = base + hierarchy.edgeWeight(e);
+                    if (newDist < backward.distance(from)) {
+                        backward.reach(from, newDist, current, e);
+                    }
+                }
+            }
+        }
+
+        if (stats != null) stats.add(settled, relaxed);
+        if (meeting < 0) return Collections.emptyList();
+        return unpack(graph, forward, backward, source, meeting);
+    }
+
+    // Joins both half paths and expands every shortcut into original edges
+    private List<Node> unpack(CompactGraph graph, SearchWorkspace forward, SearchWorkspace backward,
+                              int source, int meeting) {
+        ArrayDeque<Integer> upward = new ArrayDeque<>();
+        for (int v = meeting; v != source; v = forward.parent(v)) {
+            upward.push(forward.parentEdge(v));
+        }
+        List<Integer> hierarchyEdges = new ArrayList<>(upward);
+        for (int v = meeting; backward.parent(v) >= 0; v = backward.parent(v)) {
+            hierarchyEdges.add(backward.parentEdge(v));
+        }
+
+        List<Node> path = new ArrayList<>();
+        path.add(graph.node(source));
+        ArrayDeque<Integer> stack = new ArrayDeque<>();
+        for (int edge : hierarchyEdges) {
+            stack.push(edge);
+            while (!stack.isEmpty()) {
+                int e = stack.pop();
+                if (hierarchy.firstChild(e) < 0) {
+                    path.add(graph.node(hierarchy.edgeTo(e)));
+                } else {
+                    stack.push(hierarchy.secondChild(e));
+                    stack.push(hierarchy.firstChild(e));
+                }
+            }
+        }
+        return path;
+    }
+}
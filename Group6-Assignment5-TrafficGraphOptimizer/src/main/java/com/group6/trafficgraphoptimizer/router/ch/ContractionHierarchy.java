@@ -0,0 +1,168 @@
+package com.group6.trafficgraphoptimizer.router.ch;
+
+import com.group6.trafficgraphoptimizer.graph.CompactGraph;
+
+import java.util.Arrays;
+
+/**
+ * Immutable result of contracting a {@link CompactGraph}: a rank per node and
+ * the original edges plus shortcuts, split into an upward graph for the
+ * forward search and a reversed upward graph for the backward search.
+ * <p>
+ * Every hierarchy edge is either an original edge of the snapshot or a
+ * shortcut standing for two consecutive hierarchy edges through a node of
+ * lower rank, which is how paths are unpacked again.
+ */
+public final class ContractionHierarchy {
+
+    private final CompactGraph graph;
+    private final int[] rank;
+
+    // Hierarchy edges, indexed by edge id
+    private final int[] edgeFrom;
+    private final int[] edgeTo;
+    private final double[] edgeWeight;
+    private final int[] firstChild;
+    private final int[] secondChild;
+
+    // upEdges[upOffsets[v]..upOffsets[v + 1]) are edges v -> w with rank[w] > rank[v]
+    private final int[] upOffsets;
+    private final int[] upEdges;
+
+    // downEdges[downOffsets[v]..downOffsets[v + 1]) are edges u -> v with rank[u] > rank[v]
+    private final int[] downOffsets;
+    private final int[] downEdges;
+
+    private final int shortcutCount;
+    private final long preprocessingNanos;
+
+    ContractionHierarchy(CompactGraph graph, int[] rank, int[] edgeFrom, int[] edgeTo,
+                         double[] edgeWeight, int[] firstChild, int[] secondChild, long preprocessingNanos) {
+        this.graph = graph;
+        this.rank = rank;
+        this.edgeFrom = edgeFrom;
+        this.edgeTo = edgeTo;
+        this.edgeWeight = edgeWeight;
+        this.firstChild = firstChild;
+        this.secondChild = secondChild;
+        this.preprocessingNanos = preprocessingNanos;
+
+        int n = graph.nodeCount();
+        int edgeCount = edgeFrom.length;
+        this.upOffsets = new int[n + 1];
+        this.downOffsets = new int[n + 1];
+        int shortcuts = 0;
+        for (int e = 0; e < edgeCount; e++) {
+            if (firstChild[e] >= 0) shortcuts++;
+            if (rank[edgeFrom[e]] < rank[edgeTo[e]]) {
+                upOffsets[edgeFrom[e] + 1]++;
+            } else {
+                downOffsets[edgeTo[e] + 1]++;
+            }
+        }
+        this.shortcutCount = shortcuts;
+        for (int v = 0; v < n; v++) {
+            upOffsets[v + 1] += upOffsets[v];
+            downOffsets[v + 1] += downOffsets[v];
+        }
+
+        this.upEdges = new int[upOffsets[n]];
+        this.downEdges = new int[downOffsets[n]];
+        int[] upFill = Arrays.copyOf(upOffsets, n);
+        int[] downFill = Arrays.copyOf(downOffsets, n);
+        for (int e = 0; e < edgeCount; e++) {
+            if (rank[edgeFrom[e]] < rank[edgeTo[e]]) {
+                upEdges[upFill[edgeFrom[e]]++] = e;
+            } else {
+                downEdges[downFill[edgeTo[e]]++] = e;
+            }
+        }
+    }
+
+    public CompactGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * @param v a node index
+     * @return the contraction order of {@code v}; higher ranks were contracted later
+     */
+    public int rank(int v) {
+        return rank[v];
+    }
+
+    /**
+     * @return number of shortcut edges added during contraction
+     */
+    public int getShortcutCount() {
+        return shortcutCount;
+    }
+
+    /**
+     * @return number of hierarchy edges, original and shortcut
+     */
+    public int getEdgeCount() {
+        return edgeFrom.length;
+    }
+
+    /**
+     * @return wall-clock time spent contracting the graph
+     */
+    public long getPreprocessingNanos() {
+        return preprocessingNanos;
+    }
+
+    int firstUpEdge(int v) {
+        return upOffsets[v];
+    }
+
+    int endUpEdge(int v) {
+        return upOffsets[v + 1];
+    }
+
+    int upEdge(int i) {
+        return upEdges[i];
+    }
+
+    int firstDownEdge(int v) {
+        return downOffsets[v];
+    }
+
+    int endDownEdge(int v) {
+        return downOffsets[v + 1];
+    }
+
+    int downEdge(int i) {
+        return downEdges[i];
+    }
+
+    int edgeFrom(int e) {
+        return edgeFrom[e];
+    }
+
+    int edgeTo(int e) {
+        return edgeTo[e];
+    }
+
+    double edgeWeight(int e) {
+        return edgeWeight[e];
+    }
+
+    /**
+     * @param e a hierarchy edge id
+     * @return the first half of a shortcut, or -1 for an original edge
+     */
+    int firstChild(int e) {
+        return firstChild[e];
+    }
+
+    int secondChild(int e) {
+        return secondChild[e];
+    }
+
+    @Override
+    public String toString() {
+        return "ContractionHierarchy[nodes=" + graph.nodeCount() + ", edges=" + edgeFrom.length
+                + ", shortcuts=" + shortcutCount + ", preprocessing=" + preprocessingNanos / 1_000_000 + "ms]";
+    }
+}
@@ -0,0 +1,407 @@
+package com.group6.trafficgraphoptimizer.router.ch;
+
+import com.group6.trafficgraphoptimizer.graph.CompactGraph;
+import com.group6.trafficgraphoptimizer.router.IndexedMinHeap;
+import com.group6.trafficgraphoptimizer.router.SearchWorkspace;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Contracts a {@link CompactGraph} into a {@link ContractionHierarchy}.
+ * <p>
+ * Nodes are ordered by edge difference (shortcuts a contraction would add
+ * minus edges it removes), the number of already contracted neighbours and
+ * their depth in the hierarchy, which keeps contraction spread evenly.
+ * Contraction proceeds in rounds: every round picks the nodes whose priority
+ * is a local minimum among their neighbours, which form an independent set,
+ * runs their witness searches in parallel and then applies the shortcuts.
+ * Witness searches avoid every node picked in the same round, otherwise two
+ * nodes could each use a path through the other as witness and both drop a
+ * shortcut that is needed once they are contracted.
+ * Witness searches are bounded by a settle limit; when one gives up, a
+ * shortcut is added, which costs some extra edges but never correctness.
+ */
+public class ContractionHierarchyBuilder {
+
+    /** Default number of nodes a witness search may settle before giving up. */
+    public static final int DEFAULT_WITNESS_SETTLE_LIMIT = 500;
+
+    // Cheaper witness searches when only estimating a node's priority
+    private static final int ESTIMATE_SETTLE_LIMIT = 50;
+
+    private int witnessSettleLimit = DEFAULT_WITNESS_SETTLE_LIMIT;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * @param limit nodes a witness search may settle before giving up
+     * @return this builder
+     */
+    public ContractionHierarchyBuilder witnessSettleLimit(int limit) {
+        if (limit < 1) throw new IllegalArgumentException("Witness settle limit must be positive: " + limit);
+        this.witnessSettleLimit = limit;
+        return this;
+    }
+
+    /**
+     * @param threads worker threads used for priority updates and witness searches
+     * @return this builder
+     */
+    public ContractionHierarchyBuilder parallelism(int threads) {
+        if (threads < 1) throw new IllegalArgumentException("Parallelism must be positive: " + threads);
+        this.parallelism = threads;
+        return this;
+    }
+
+    /**
+     * Contracts the whole graph.
+     *
+     * @param graph the snapshot to preprocess
+     * @return the contraction hierarchy
+     */
+    public ContractionHierarchy build(CompactGraph graph) {
+        long startTime = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            Contraction contraction = new Contraction(graph, witnessSettleLimit);
+            contraction.run(pool);
+            return contraction.finish(System.nanoTime() - startTime);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Mutable state of one contraction run.
+     */
+    private static final class Contraction {
+        private final CompactGraph graph;
+        private final int n;
+        private final int settleLimit;
+        private final int estimateLimit;
+
+        // Edge store, original edges first, then shortcuts
+        private int edgeCount;
+        private int[] from;
+        private int[] to;
+        private double[] weight;
+        private int[] firstChild;
+        private int[] secondChild;
+
+        // Edge ids touching each uncontracted node; entries to contracted nodes are pruned lazily
+        private final IntList[] out;
+        private final IntList[] in;
+
+        private final boolean[] contracted;
+        // Nodes being contracted in the current round
+        private final boolean[] selected;
+        private final int[] rank;
+        private final int[] priority;
+        private final int[] deletedNeighbours;
+        private final int[] level;
+        private final boolean[] dirty;
+
+        Contraction(CompactGraph graph, int settleLimit) {
+            this.graph = graph;
+            this.n = graph.nodeCount();
+            this.settleLimit = settleLimit;
+            this.estimateLimit = Math.min(settleLimit, ESTIMATE_SETTLE_LIMIT);
+            int m = graph.edgeCount();
+            this.from = new int[Math.max(m, 16)];
+            this.to = new int[from.length];
+            this.weight = new double[from.length];
+            this.firstChild = new int[from.length];
+            this.secondChild = new int[from.length];
+            this.out = new IntList[n];
+            this.in = new IntList[n];
+            this.contracted = new boolean[n];
+            this.selected = new boolean[n];
+            this.rank = new int[n];
+            this.priority = new int[n];
+            this.deletedNeighbours = new int[n];
+            this.level = new int[n];
+            this.dirty = new boolean[n];
+            Arrays.fill(dirty, true);
+            for (int v = 0; v < n; v++) {
+                out[v] = new IntList();
+                in[v] = new IntList();
+            }
+
+            // Keep only the cheapest of parallel edges and drop self-loops
+            for (int v = 0; v < n; v++) {
+                for (int e = graph.firstEdge(v), last = graph.endEdge(v); e < last; e++) {
+                    int w = graph.target(e);
+                    if (w == v) continue;
+                    int existing = findEdge(v, w);
+                    if (existing < 0) {
+                        addEdge(v, w, graph.weight(e), -1, -1);
+                    } else if (graph.weight(e) < weight[existing]) {
+                        weight[existing] = graph.weight(e);
+                    }
+                }
+            }
+        }
+
+        void run(ForkJoinPool pool) {
+            int nextRank = 0;
+            while (nextRank < n) {
+                int[] remaining = IntStream.range(0, n).filter(v -> !contracted[v]).toArray();
+
+                pool.submit(() -> IntStream.of(remaining).parallel()
+                        .filter(v -> dirty[v])
+                        .forEach(v -> {
+                            priority[v] = 2 * (simulate(v, null) - degree(v)) + deletedNeighbours[v] + level[v];
+                            dirty[v] = false;
+                        })).join();
+
+                int[] round = IntStream.of(remaining).filter(this::isLocalMinimum).toArray();
+                for (int v : round) selected[v] = true;
+
+                Shortcuts[] found = new Shortcuts[round.length];
+                pool.submit(() -> IntStream.range(0, round.length).parallel().forEach(i -> {
+                    found[i] = new Shortcuts();
+                    simulate(round[i], found[i]);
+                })).join();
+
+                for (int v : round) {
+                    selected[v] = false;
+                    contracted[v] = true;
+                    rank[v] = nextRank++;
+                }
+                for (int i = 0; i < round.length; i++) {
+                    Shortcuts s = found[i];
+                    for (int j = 0; j < s.size; j++) {
+                        addShortcut(s.from[j], s.to[j], s.weight[j], s.inEdge[j], s.outEdge[j]);
+                    }
+                    touchNeighbours(round[i]);
+                }
+            }
+        }
+
+        ContractionHierarchy finish(long elapsedNanos) {
+            return new ContractionHierarchy(graph, rank,
+                    Arrays.copyOf(from, edgeCount), Arrays.copyOf(to, edgeCount),
+                    Arrays.copyOf(weight, edgeCount), Arrays.copyOf(firstChild, edgeCount),
+                    Arrays.copyOf(secondChild, edgeCount), elapsedNanos);
+        }
+
+        // Ties are broken by node index so that neighbours never both qualify
+        private boolean isLocalMinimum(int v) {
+            for (int i = 0; i < out[v].size; i++) {
+                if (beats(to[out[v].get(i)], v)) return false;
+            }
+            for (int i = 0; i < in[v].size; i++) {
+                if (beats(from[in[v].get(i)], v)) return false;
+            }
+            return true;
+        }
+
+        private boolean beats(int u, int v) {
+            return !contracted[u] && (priority[u] < priority[v] || (priority[u] == priority[v] && u < v));
+        }
+
+        // Uncontracted out-neighbours of v other than u
+        private int degreeOut(int v, int u) {
+            int degree = 0;
+            for (int i = 0; i < out[v].size; i++) {
+                int w = to[out[v].get(i)];
+                if (!contracted[w] && w != u) degree++;
+            }
+            return degree;
+        }
+
+        private int degree(int v) {
+            int degree = 0;
+            for (int i = 0; i < out[v].size; i++) {
+                if (!contracted[to[out[v].get(i)]]) degree++;
+            }
+            for (int i = 0; i < in[v].size; i++) {
+                if (!contracted[from[in[v].get(i)]]) degree++;
+            }
+            return degree;
+        }
+
+        /**
+         * Finds the shortcuts needed to contract v. Only reads shared state, so
+         * it can run concurrently for different nodes.
+         *
+         * @return number of shortcuts needed; they are collected into sink if not null
+         */
+        private int simulate(int v, Shortcuts sink) {
+            SearchWorkspace workspace = SearchWorkspace.forThread(SearchWorkspace.FORWARD, n);
+            int count = 0;
+            for (int i = 0; i < in[v].size; i++) {
+                int inEdge = in[v].get(i);
+                int u = from[inEdge];
+                if (contracted[u]) continue;
+
+                double maxOut = -1.0;
+                for (int j = 0; j < out[v].size; j++) {
+                    int w = to[out[v].get(j)];
+                    if (!contracted[w] && w != u) maxOut = Math.max(maxOut, weight[out[v].get(j)]);
+                }
+                if (maxOut < 0) continue;
+
+                witnessSearch(workspace, u, v, weight[inEdge] + maxOut, sink == null ? estimateLimit : settleLimit);
+                for (int j = 0; j < out[v].size; j++) {
+                    int outEdge = out[v].get(j);
+                    int w = to[outEdge];
+                    if (contracted[w] || w == u) continue;
+                    double via = weight[inEdge] + weight[outEdge];
+                    if (workspace.distance(w) > via) {
+                        count++;
+                        if (sink != null) sink.add(u, w, via, inEdge, outEdge);
+                    }
+                }
+            }
+            return count;
+        }
+
+        /**
+         * Dijkstra from u over uncontracted nodes that are not selected in
+         * this round. Stops at the distance limit, the settle limit, or once
+         * every out-neighbour of v has been settled.
+         */
+        private void witnessSearch(SearchWorkspace workspace, int u, int v, double limit, int maxSettled) {
+            workspace.reset();
+            IndexedMinHeap queue = workspace.heap();
+            workspace.reach(u, 0.0, -1, -1);
+            int targets = degreeOut(v, u);
+            int settled = 0;
+            while (!queue.isEmpty() && settled < maxSettled && targets > 0) {
+                if (queue.peekKey() > limit) break;
+                int x = queue.poll();
+                settled++;
+                if (x != u && findEdge(v, x) >= 0) targets--;
+                double base = workspace.distance(x);
+                IntList edges = out[x];
+                for (int i = 0; i < edges.size; i++) {
+                    int e = edges.get(i);
+                    int y = to[e];
+                    if (y == v || contracted[y] || selected[y]) continue;
+                    double newDist = base + weight[e];
+                    if (newDist < workspace.distance(y)) {
+                        workspace.reach(y, newDist, x, e);
+                    }
+                }
+            }
+        }
+
+        private void addShortcut(int u, int w, double via, int inEdge, int outEdge) {
+            int existing = findEdge(u, w);
+            if (existing < 0) {
+                addEdge(u, w, via, inEdge, outEdge);
+            } else if (via < weight[existing]) {
+                // Replace the more expensive edge so the remaining graph stays simple
+                weight[existing] = via;
+                firstChild[existing] = inEdge;
+                secondChild[existing] = outEdge;
+            }
+        }
+
+        private void touchNeighbours(int v) {
+            for (IntList edges : new IntList[] { out[v], in[v] }) {
+                for (int i = 0; i < edges.size; i++) {
+                    int e = edges.get(i);
+                    int u = from[e] == v ? to[e] : from[e];
+                    if (contracted[u]) continue;
+                    deletedNeighbours[u]++;
+                    level[u] = Math.max(level[u], level[v] + 1);
+                    dirty[u] = true;
+                    prune(u);
+                }
+            }
+        }
+
+        // Drops edges of u whose other end has been contracted
+        private void prune(int u) {
+            out[u].removeIf(e -> contracted[to[e]]);
+            in[u].removeIf(e -> contracted[from[e]]);
+        }
+
+        private int findEdge(int u, int w) {
+            IntList edges = out[u];
+            for (int i = 0; i < edges.size; i++) {
+                int e = edges.get(i);
+                if (to[e] == w) return e;
+            }
+            return -1;
+        }
+
+        private int addEdge(int u, int w, double cost, int first, int second) {
+            if (edgeCount == from.length) {
+                int capacity = from.length * 2;
+                from = Arrays.copyOf(from, capacity);
+                to = Arrays.copyOf(to, capacity);
+                weight = Arrays.copyOf(weight, capacity);
+                firstChild = Arrays.copyOf(firstChild, capacity);
+                secondChild = Arrays.copyOf(secondChild, capacity);
+            }
+            int e = edgeCount++;
+            from[e] = u;
+            to[e] = w;
+            weight[e] = cost;
+            firstChild[e] = first;
+            secondChild[e] = second;
+            out[u].add(e);
+            in[w].add(e);
+            return e;
+        }
+    }
+
+    /**
+     * Shortcuts found for one node, as parallel primitive arrays.
+     */
+    private static final class Shortcuts {
+        int size;
+        int[] from = new int[4];
+        int[] to = new int[4];
+        double[] weight = new double[4];
+        int[] inEdge = new int[4];
+        int[] outEdge = new int[4];
+
+        void add(int u, int w, double via, int first, int second) {
+            if (size == from.length) {
+                int capacity = size * 2;
+                from = Arrays.copyOf(from, capacity);
+                to = Arrays.copyOf(to, capacity);
+                weight = Arrays.copyOf(weight, capacity);
+                inEdge = Arrays.copyOf(inEdge, capacity);
+                outEdge = Arrays.copyOf(outEdge, capacity);
+            }
+            from[size] = u;
+            to[size] = w;
+            weight[size] = via;
+            inEdge[size] = first;
+            outEdge[size] = second;
+            size++;
+        }
+    }
+
+    /**
+     * Minimal growable list of ints.
+     */
+    private static final class IntList {
+        int size;
+        int[] items = new int[4];
+
+        int get(int i) {
+            return items[i];
+        }
+
+        void add(int value) {
+            if (size == items.length) items = Arrays.copyOf(items, size * 2);
+            items[size++] = value;
+        }
+
+        void removeIf(IntPredicate filter) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (!filter.test(items[i])) items[kept++] = items[i];
+            }
+            size = kept;
+        }
+    }
+}
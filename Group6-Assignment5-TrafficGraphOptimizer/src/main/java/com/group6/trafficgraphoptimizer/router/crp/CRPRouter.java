@@ -0,0 +1,177 @@
+package com.group6.trafficgraphoptimizer.router.crp;
+
+import com.group6.trafficgraphoptimizer.graph.CompactGraph;
+import com.group6.trafficgraphoptimizer.graph.Graph;
+import com.group6.trafficgraphoptimizer.graph.Node;
+import com.group6.trafficgraphoptimizer.router.IndexedMinHeap;
+import com.group6.trafficgraphoptimizer.router.Router;
+import com.group6.trafficgraphoptimizer.router.SearchStats;
+import com.group6.trafficgraphoptimizer.router.SearchWorkspace;
+
+import java.util.*;
+
+/**
+ * Exact point-to-point router over a {@link MultiLevelOverlay}. A query runs
+ * one Dijkstra search that uses original edges only inside the finest cells
+ * of the start and end. Everywhere else it moves at the highest level whose
+ * cell contains neither the start nor the end, jumping across each such cell
+ * along its clique and leaving it along the edges cut by that level. Clique
+ * hops on the result are unpacked back into original road segments.
+ * <p>
+ * Weight changes go through the overlay: queue them with
+ * {@link MultiLevelOverlay#updateWeight} and call
+ * {@link MultiLevelOverlay#recustomize()}.
+ */
+public class CRPRouter implements Router {
+
+    private final MultiLevelOverlay overlay;
+
+    /**
+     * Partitions the graph's current snapshot with default cell sizes and
+     * builds the overlay.
+     *
+     * @param graph the graph to route over
+     */
+    public CRPRouter(Graph graph) {
+        this(overlay(graph.snapshot()));
+    }
+
+    /**
+     * Constructs a router over a prebuilt overlay.
+     *
+     * @param overlay the customized overlay
+     */
+    public CRPRouter(MultiLevelOverlay overlay) {
+        this.overlay = overlay;
+    }
+
+    private static MultiLevelOverlay overlay(CompactGraph graph) {
+        return new MultiLevelOverlay(graph, new GraphPartitioner().build(graph));
+    }
+
+    public MultiLevelOverlay getOverlay() {
+        return overlay;
+    }
+
+    /**
+     * Finds the shortest path from start to end.
+     *
+     * @param start the starting node
+     * @param end   the destination node
+     * @return list of nodes in the shortest path
+     */
+    @Override
+    public List<Node> findShortestPath(Node start, Node end) {
+        return findShortestPath(start, end, null);
+    }
+
+    /**
+     * Finds the shortest path from start to end and records how much of the
+     * graph and overlay the search had to explore.
+     *
+     * @param start the starting node
+     * @param end   the destination node
+     * @param stats receives settled-node and relaxation counts, may be null
+     * @return list of nodes in the shortest path
+     */
+    public List<Node> findShortestPath(Node start, Node end, SearchStats stats) {
+        CompactGraph graph = overlay.getGraph();
+        Partition partition = overlay.getPartition();
+        int source = graph.indexOf(start);
+        int target = graph.indexOf(end);
+        if (source < 0 || target < 0 || source == target) {
+            return start.equals(end) ? List.of(start) : Collections.emptyList();
+        }
+
+        MultiLevelOverlay.Metric metric = overlay.metric();
+        SearchWorkspace workspace = SearchWorkspace.forThread(SearchWorkspace.BACKWARD, graph.nodeCount());
+        IndexedMinHeap queue = workspace.heap();
+        workspace.reach(source, 0.0, -1, -1);
+        int settled = 0;
+        int relaxed = 0;
+
+        while (!queue.isEmpty()) {
+            int current = queue.poll();
+            settled++;
+            if (current == target) break;
+            double base = workspace.distance(current);
+            int level = queryLevel(partition, current, source, target);
+
+            if (level >= 0) {
+                int cell = partition.cellOf(level, current);
+                int i = overlay.entryIndex(level, current);
+                if (i >= 0) {
+                    double[] clique = metric.cliques[level][cell];
+                    int exitCount = overlay.exitCount(level, cell);
+                    for (int j = 0; j < exitCount; j++) {
+                        relaxed++;
+                        int to = overlay.exit(level, cell, j);
+                        double newDist = base + clique[i * exitCount + j];
+                        if (newDist < workspace.distance(to)) {
+                            workspace.reach(to, newDist, current, MultiLevelOverlay.CLIQUE_HOP);
+                        }
+                    }
+                }
+                if (overlay.exitIndex(level, current) < 0) continue;
+            }
+            for (int e = graph.firstEdge(current), last = graph.endEdge(current); e < last; e++) {
+                int to = graph.target(e);
+                // Inside an overlay cell the clique already covers the edges
+                if (level >= 0 && partition.cellOf(level, to) == partition.cellOf(level, current)) continue;
+                relaxed++;
+                double newDist = base + metric.weights[e];
+                if (newDist < workspace.distance(to)) {
+                    workspace.reach(to, newDist, current, e);
+                }
+            }
+        }
+
+        if (stats != null) stats.add(settled, relaxed);
+        if (!workspace.isVisited(target)) return Collections.emptyList();
+        return unpack(graph, partition, metric, workspace, source, target);
+    }
+
+    /**
+     * @return the highest level whose cell of {@code v} holds neither the
+     * source nor the target, or -1 if {@code v} shares its finest cell with one
+     * of them
+     */
+    static int queryLevel(Partition partition, int v, int source, int target) {
+        for (int level = partition.levels() - 1; level >= 0; level--) {
+            int cell = partition.cellOf(level, v);
+            if (cell != partition.cellOf(level, source) && cell != partition.cellOf(level, target)) return level;
+        }
+        return -1;
+    }
+
+    private List<Node> unpack(CompactGraph graph, Partition partition, MultiLevelOverlay.Metric metric,
+                              SearchWorkspace workspace, int source, int target) {
+        int count = 1;
+        for (int v = target; v != source; v = workspace.parent(v)) {
+            count++;
+        }
+        int[] hops = new int[count];
+        boolean[] viaClique = new boolean[count];
+        int h = count - 1;
+        for (int v = target; v != source; v = workspace.parent(v), h--) {
+            hops[h] = v;
+            viaClique[h] = workspace.parentEdge(v) == MultiLevelOverlay.CLIQUE_HOP;
+        }
+        hops[0] = source;
+
+        // Unpacking searches use the forward workspace, so the query's tree stays intact
+        List<Node> path = new ArrayList<>();
+        path.add(graph.node(source));
+        for (h = 1; h < count; h++) {
+            int from = hops[h - 1];
+            int to = hops[h];
+            if (viaClique[h]) {
+                int level = queryLevel(partition, from, source, target);
+                overlay.unpack(metric, level, partition.cellOf(level, from), from, to, path);
+            } else {
+                path.add(graph.node(to));
+            }
+        }
+        return path;
+    }
+}
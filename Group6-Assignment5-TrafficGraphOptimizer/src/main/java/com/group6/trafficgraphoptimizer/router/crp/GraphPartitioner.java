@@ -0,0 +1,202 @@
+package com.group6.trafficgraphoptimizer.router.crp;
+
+import com.group6.trafficgraphoptimizer.graph.CompactGraph;
+
+import java.util.Arrays;
+
+/**
+ * Splits a {@link CompactGraph} into a nested {@link Partition} by recursive
+ * bisection, ignoring edge directions.
+ * <p>
+ * Each bisection orders the nodes by a breadth-first search from a
+ * pseudo-peripheral node (the last node reached by a search from an
+ * arbitrary one) and cuts the order in half. On road networks this gives two
+ * compact halves whose boundary is one search front wide. A few greedy
+ * passes then move boundary nodes that have more neighbours on the other
+ * side, as long as the halves stay balanced. Bisection continues until every
+ * piece fits the finest cell size; a piece becomes a cell of a level as soon
+ * as it fits that level's size, so the levels nest by construction.
+ */
+public class GraphPartitioner {
+
+    /** Default largest cell sizes per level, finest first. */
+    public static final int[] DEFAULT_CELL_SIZES = {256, 4096, 65536};
+
+    // Allowed excess of the larger half over an even split during refinement
+    private static final double IMBALANCE = 0.03;
+    private static final int REFINEMENT_PASSES = 4;
+
+    private int[] cellSizes = DEFAULT_CELL_SIZES.clone();
+
+    /**
+     * @param sizes largest number of nodes per cell on each level, finest
+     *              first and strictly increasing
+     * @return this partitioner
+     */
+    public GraphPartitioner cellSizes(int... sizes) {
+        if (sizes.length == 0) throw new IllegalArgumentException("Need at least one level");
+        for (int i = 0; i < sizes.length; i++) {
+            if (sizes[i] < 1 || (i > 0 && sizes[i] <= sizes[i - 1])) {
+                throw new IllegalArgumentException("Cell sizes must be positive and increasing: "
+                        + Arrays.toString(sizes));
+            }
+        }
+        this.cellSizes = sizes.clone();
+        return this;
+    }
+
+    /**
+     * Partitions the whole graph.
+     *
+     * @param graph the snapshot to partition
+     * @return the partition
+     */
+    public Partition build(CompactGraph graph) {
+        return new Bisection(graph, cellSizes).run();
+    }
+
+    /**
+     * Mutable state of one partitioning run.
+     */
+    private static final class Bisection {
+        private final int n;
+        private final int[] cellSizes;
+
+        // Undirected neighbours: neighbours[offsets[v]..offsets[v + 1])
+        private final int[] offsets;
+        private final int[] neighbours;
+
+        private final int[][] cellOf;
+        private final int[] cellCounts;
+
+        // Stamped membership of the piece being bisected and of the current search
+        private final int[] member;
+        private final int[] seen;
+        private int memberStamp;
+        private int seenStamp;
+        private final int[] side;
+
+        Bisection(CompactGraph graph, int[] cellSizes) {
+            this.n = graph.nodeCount();
+            this.cellSizes = cellSizes;
+            this.offsets = new int[n + 1];
+            for (int v = 0; v < n; v++) {
+                offsets[v + 1] = offsets[v] + (graph.endEdge(v) - graph.firstEdge(v))
+                        + (graph.endInEdge(v) - graph.firstInEdge(v));
+            }
+            this.neighbours = new int[offsets[n]];
+            for (int v = 0; v < n; v++) {
+                int fill = offsets[v];
+                for (int e = graph.firstEdge(v), last = graph.endEdge(v); e < last; e++) {
+                    neighbours[fill++] = graph.target(e);
+                }
+                for (int i = graph.firstInEdge(v), last = graph.endInEdge(v); i < last; i++) {
+                    neighbours[fill++] = graph.inSource(i);
+                }
+            }
+            this.cellOf = new int[cellSizes.length][n];
+            this.cellCounts = new int[cellSizes.length];
+            this.member = new int[n];
+            this.seen = new int[n];
+            this.side = new int[n];
+        }
+
+        Partition run() {
+            int[] all = new int[n];
+            for (int v = 0; v < n; v++) {
+                all[v] = v;
+            }
+            split(all, cellSizes.length - 1);
+            return new Partition(cellOf, cellCounts);
+        }
+
+        // Assigns cells from the given level down, bisecting while the piece is too large
+        private void split(int[] nodes, int level) {
+            while (level >= 0 && nodes.length <= cellSizes[level]) {
+                int cell = cellCounts[level]++;
+                for (int v : nodes) {
+                    cellOf[level][v] = cell;
+                }
+                level--;
+            }
+            if (level < 0) return;
+            int[][] halves = bisect(nodes);
+            split(halves[0], level);
+            split(halves[1], level);
+        }
+
+        private int[][] bisect(int[] nodes) {
+            memberStamp++;
+            for (int v : nodes) {
+                member[v] = memberStamp;
+            }
+            int[] order = new int[nodes.length];
+            breadthFirst(nodes, nodes[0], order);
+            breadthFirst(nodes, order[order.length - 1], order);
+
+            int half = nodes.length / 2;
+            for (int i = 0; i < order.length; i++) {
+                side[order[i]] = i < half ? 0 : 1;
+            }
+            int[] sizes = {half, nodes.length - half};
+            refine(order, sizes);
+
+            int[][] halves = {new int[sizes[0]], new int[sizes[1]]};
+            int[] fill = new int[2];
+            for (int v : order) {
+                halves[side[v]][fill[side[v]]++] = v;
+            }
+            return halves;
+        }
+
+        // Search order over the piece, restarting at unseen nodes if the piece is disconnected
+        private void breadthFirst(int[] nodes, int start, int[] order) {
+            seenStamp++;
+            int head = 0;
+            int tail = 0;
+            int next = 0;
+            seen[start] = seenStamp;
+            order[tail++] = start;
+            while (tail < nodes.length) {
+                if (head == tail) {
+                    while (seen[nodes[next]] == seenStamp) next++;
+                    seen[nodes[next]] = seenStamp;
+                    order[tail++] = nodes[next];
+                }
+                int v = order[head++];
+                for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                    int w = neighbours[i];
+                    if (member[w] == memberStamp && seen[w] != seenStamp) {
+                        seen[w] = seenStamp;
+                        order[tail++] = w;
+                    }
+                }
+            }
+        }
+
+        // Greedy boundary moves that shrink the cut and keep both halves within the imbalance
+        private void refine(int[] order, int[] sizes) {
+            int total = order.length;
+            int maxSide = Math.min(total - 1, (int) Math.ceil(total / 2.0 * (1 + IMBALANCE)));
+            for (int pass = 0; pass < REFINEMENT_PASSES; pass++) {
+                int moves = 0;
+                for (int v : order) {
+                    int own = side[v];
+                    int gain = 0;
+                    for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                        int w = neighbours[i];
+                        if (member[w] != memberStamp) continue;
+                        gain += side[w] == own ? -1 : 1;
+                    }
+                    if (gain > 0 && sizes[1 - own] < maxSide && sizes[own] > 1) {
+                        side[v] = 1 - own;
+                        sizes[own]--;
+                        sizes[1 - own]++;
+                        moves++;
+                    }
+                }
+                if (moves == 0) break;
+            }
+        }
+    }
+}
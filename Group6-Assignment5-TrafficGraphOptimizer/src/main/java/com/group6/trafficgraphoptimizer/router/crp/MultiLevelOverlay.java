@@ -0,0 +1,458 @@
+package com.group6.trafficgraphoptimizer.router.crp;
+
+import com.group6.trafficgraphoptimizer.graph.CompactGraph;
+import com.group6.trafficgraphoptimizer.graph.Edge;
+import com.group6.trafficgraphoptimizer.graph.Node;
+import com.group6.trafficgraphoptimizer.router.IndexedMinHeap;
+import com.group6.trafficgraphoptimizer.router.SearchWorkspace;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Multi-level overlay over a partitioned {@link CompactGraph}, in the style
+ * of customizable route planning.
+ * <p>
+ * On every level, the entries of a cell are its nodes with an incoming edge
+ * from outside the cell and its exits are those with an outgoing edge
+ * leaving it. Each cell stores a clique: the shortest distance inside the
+ * cell from every entry to every exit. Level 0 cliques come from searches on
+ * the original edges of the cell; higher cliques from searches over the
+ * cliques of the subcells one level down, joined by the edges between them.
+ * A query then only needs original edges inside the source and target cells
+ * and the cliques and cut edges of the overlay; see {@link CRPRouter}.
+ * <p>
+ * The partition only depends on the topology, the cliques on the weights.
+ * Weight changes are queued with {@link #updateWeight} and applied by
+ * {@link #recustomize()}, which only recomputes the cells containing a
+ * changed edge, bottom up. Each customization is published as a new
+ * immutable metric, so queries running meanwhile keep a consistent view.
+ * <p>
+ * Customization runs on one fork/join pool for the overlay's whole life, so
+ * the per-thread search workspaces of its workers are reused by every
+ * recustomization instead of being allocated again.
+ */
+public final class MultiLevelOverlay {
+
+    /** Parent edge of a search hop that follows a clique rather than an original edge. */
+    static final int CLIQUE_HOP = -2;
+
+    private final CompactGraph graph;
+    private final Partition partition;
+    private final int levels;
+    // Customizes the cells of a level in parallel; null to run them on the calling thread
+    private final ForkJoinPool pool;
+
+    // Boundary of cell c on level l: entries[l][entryOffsets[l][c]..entryOffsets[l][c + 1]), likewise exits
+    private final int[][] entryOffsets;
+    private final int[][] entries;
+    private final int[][] exitOffsets;
+    private final int[][] exits;
+
+    // Position of a node in its cell's entry or exit list on each level, -1 if it is not one
+    private final int[][] entryIndex;
+    private final int[][] exitIndex;
+
+    private final int[] edgeSource;
+    private final int[] slotOfEdge;
+
+    private volatile Metric metric;
+    private long customizationNanos;
+
+    // Weight changes queued since the last customization
+    private int[] pendingSlots = new int[16];
+    private double[] pendingWeights = new double[16];
+    private int pendingCount;
+
+    /**
+     * Builds the overlay and customizes it with the snapshot's weights, using
+     * the common fork/join pool.
+     *
+     * @param graph     the snapshot to route over
+     * @param partition a partition of the snapshot's nodes
+     */
+    public MultiLevelOverlay(CompactGraph graph, Partition partition) {
+        this(graph, partition, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Builds the overlay and customizes it with the snapshot's weights, on a
+     * pool of its own that it keeps for later recustomizations.
+     *
+     * @param graph       the snapshot to route over
+     * @param partition   a partition of the snapshot's nodes
+     * @param parallelism threads used to customize the cells of a level, 1 for the calling thread only
+     */
+    public MultiLevelOverlay(CompactGraph graph, Partition partition, int parallelism) {
+        this(graph, partition, pool(parallelism));
+    }
+
+    /**
+     * Builds the overlay and customizes it with the snapshot's weights.
+     *
+     * @param graph     the snapshot to route over
+     * @param partition a partition of the snapshot's nodes
+     * @param pool      runs the customization of every cell, or null for the calling thread
+     */
+    public MultiLevelOverlay(CompactGraph graph, Partition partition, ForkJoinPool pool) {
+        if (partition.nodeCount() != graph.nodeCount()) {
+            throw new IllegalArgumentException("Partition covers " + partition.nodeCount() + " nodes but the graph has "
+                    + graph.nodeCount());
+        }
+        this.graph = graph;
+        this.partition = partition;
+        this.levels = partition.levels();
+        this.pool = pool;
+
+        int n = graph.nodeCount();
+        int m = graph.edgeCount();
+        this.edgeSource = new int[m];
+        int maxEdgeId = -1;
+        for (int v = 0; v < n; v++) {
+            for (int e = graph.firstEdge(v), last = graph.endEdge(v); e < last; e++) {
+                edgeSource[e] = v;
+                maxEdgeId = Math.max(maxEdgeId, graph.edgeId(e));
+            }
+        }
+        this.slotOfEdge = new int[maxEdgeId + 1];
+        Arrays.fill(slotOfEdge, -1);
+        for (int e = 0; e < m; e++) {
+            slotOfEdge[graph.edgeId(e)] = e;
+        }
+
+        this.entryOffsets = new int[levels][];
+        this.entries = new int[levels][];
+        this.exitOffsets = new int[levels][];
+        this.exits = new int[levels][];
+        this.entryIndex = new int[levels][];
+        this.exitIndex = new int[levels][];
+        for (int level = 0; level < levels; level++) {
+            boolean[] isEntry = new boolean[n];
+            boolean[] isExit = new boolean[n];
+            for (int e = 0; e < m; e++) {
+                int u = edgeSource[e];
+                int w = graph.target(e);
+                if (partition.cellOf(level, u) != partition.cellOf(level, w)) {
+                    isExit[u] = true;
+                    isEntry[w] = true;
+                }
+            }
+            entryOffsets[level] = new int[partition.cellCount(level) + 1];
+            entryIndex[level] = new int[n];
+            entries[level] = boundary(level, isEntry, entryOffsets[level], entryIndex[level]);
+            exitOffsets[level] = new int[partition.cellCount(level) + 1];
+            exitIndex[level] = new int[n];
+            exits[level] = boundary(level, isExit, exitOffsets[level], exitIndex[level]);
+        }
+
+        double[] weights = new double[m];
+        for (int e = 0; e < m; e++) {
+            weights[e] = graph.weight(e);
+        }
+        Metric initial = new Metric(weights, new double[levels][][]);
+        long startTime = System.nanoTime();
+        for (int level = 0; level < levels; level++) {
+            initial.cliques[level] = new double[partition.cellCount(level)][];
+            customize(initial, level, IntStream.range(0, partition.cellCount(level)).toArray());
+        }
+        this.customizationNanos = System.nanoTime() - startTime;
+        this.metric = initial;
+    }
+
+    // Workers are daemon threads, so an unused overlay's pool never keeps the JVM alive
+    private static ForkJoinPool pool(int parallelism) {
+        if (parallelism < 1) throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        return parallelism == 1 ? null : new ForkJoinPool(parallelism);
+    }
+
+    // Groups the flagged nodes by cell into a CSR list and records their positions
+    private int[] boundary(int level, boolean[] flagged, int[] offsets, int[] index) {
+        int cells = offsets.length - 1;
+        for (int v = 0; v < flagged.length; v++) {
+            if (flagged[v]) offsets[partition.cellOf(level, v) + 1]++;
+        }
+        for (int c = 0; c < cells; c++) {
+            offsets[c + 1] += offsets[c];
+        }
+        int[] nodes = new int[offsets[cells]];
+        int[] fill = Arrays.copyOf(offsets, cells);
+        Arrays.fill(index, -1);
+        for (int v = 0; v < flagged.length; v++) {
+            if (!flagged[v]) continue;
+            int cell = partition.cellOf(level, v);
+            index[v] = fill[cell] - offsets[cell];
+            nodes[fill[cell]++] = v;
+        }
+        return nodes;
+    }
+
+    public CompactGraph getGraph() {
+        return graph;
+    }
+
+    public Partition getPartition() {
+        return partition;
+    }
+
+    public int levels() {
+        return levels;
+    }
+
+    /**
+     * @param level a level, 0 for the finest
+     * @return number of nodes that are an entry or exit of their cell on that level
+     */
+    public int getBoundaryNodeCount(int level) {
+        int count = 0;
+        for (int v = 0; v < graph.nodeCount(); v++) {
+            if (entryIndex[level][v] >= 0 || exitIndex[level][v] >= 0) count++;
+        }
+        return count;
+    }
+
+    /**
+     * @return time spent in the most recent customization, the initial one or
+     * the last {@link #recustomize()}
+     */
+    public synchronized long getCustomizationNanos() {
+        return customizationNanos;
+    }
+
+    /**
+     * Queues the current weight of an edge.
+     *
+     * @param edge an edge of the graph the overlay was built from
+     */
+    public void updateWeight(Edge edge) {
+        updateWeight(edge.getId(), edge.getWeight());
+    }
+
+    /**
+     * Queues a new weight for an edge. It takes effect at the next {@link #recustomize()}.
+     *
+     * @param edgeId the {@link Edge#getId()} of the edge
+     * @param weight the new weight, not negative
+     * @throws IllegalArgumentException if the edge is unknown or the weight is negative or NaN
+     */
+    public synchronized void updateWeight(int edgeId, double weight) {
+        if (edgeId < 0 || edgeId >= slotOfEdge.length || slotOfEdge[edgeId] < 0) {
+            throw new IllegalArgumentException("Edge " + edgeId + " is not part of the overlay's graph");
+        }
+        if (!(weight >= 0)) throw new IllegalArgumentException("Weight must not be negative: " + weight);
+        if (pendingCount == pendingSlots.length) {
+            pendingSlots = Arrays.copyOf(pendingSlots, pendingCount * 2);
+            pendingWeights = Arrays.copyOf(pendingWeights, pendingCount * 2);
+        }
+        pendingSlots[pendingCount] = slotOfEdge[edgeId];
+        pendingWeights[pendingCount] = weight;
+        pendingCount++;
+    }
+
+    /**
+     * @return number of weight changes queued since the last customization
+     */
+    public synchronized int getPendingUpdates() {
+        return pendingCount;
+    }
+
+    /**
+     * Applies the queued weight changes. Only cells that contain a changed
+     * edge are customized again, on every level; edges between top-level
+     * cells are read directly by queries and need no work.
+     *
+     * @return number of cells whose clique was recomputed
+     */
+    public synchronized int recustomize() {
+        if (pendingCount == 0) return 0;
+        long startTime = System.nanoTime();
+        Metric previous = metric;
+        double[] weights = previous.weights.clone();
+        boolean[][] dirty = new boolean[levels][];
+        for (int level = 0; level < levels; level++) {
+            dirty[level] = new boolean[partition.cellCount(level)];
+        }
+        for (int k = 0; k < pendingCount; k++) {
+            int e = pendingSlots[k];
+            weights[e] = pendingWeights[k];
+            int u = edgeSource[e];
+            int w = graph.target(e);
+            for (int level = 0; level < levels; level++) {
+                int cell = partition.cellOf(level, u);
+                if (cell == partition.cellOf(level, w)) dirty[level][cell] = true;
+            }
+        }
+        pendingCount = 0;
+
+        Metric next = new Metric(weights, new double[levels][][]);
+        int recomputed = 0;
+        for (int level = 0; level < levels; level++) {
+            next.cliques[level] = previous.cliques[level].clone();
+            boolean[] marks = dirty[level];
+            int[] cells = IntStream.range(0, marks.length).filter(c -> marks[c]).toArray();
+            customize(next, level, cells);
+            recomputed += cells.length;
+        }
+        metric = next;
+        customizationNanos = System.nanoTime() - startTime;
+        return recomputed;
+    }
+
+    // Computes the cliques of the given cells of a level; the level below must be done
+    private void customize(Metric target, int level, int[] cells) {
+        if (cells.length == 0) return;
+        if (pool == null || cells.length == 1) {
+            for (int cell : cells) {
+                target.cliques[level][cell] = clique(target, level, cell);
+            }
+            return;
+        }
+        pool.submit(() -> IntStream.of(cells).parallel()
+                .forEach(cell -> target.cliques[level][cell] = clique(target, level, cell))).join();
+    }
+
+    private double[] clique(Metric m, int level, int cell) {
+        int entryCount = entryCount(level, cell);
+        int exitCount = exitCount(level, cell);
+        double[] clique = new double[entryCount * exitCount];
+        if (exitCount == 0) return clique;
+        for (int i = 0; i < entryCount; i++) {
+            SearchWorkspace workspace = searchCell(m, level, cell, entry(level, cell, i), -1);
+            for (int j = 0; j < exitCount; j++) {
+                clique[i * exitCount + j] = workspace.distance(exit(level, cell, j));
+            }
+        }
+        return clique;
+    }
+
+    /**
+     * Dijkstra search confined to one cell. On level 0 it follows the cell's
+     * original edges; above, the cliques of the subcells and the original
+     * edges between them. Hops along a clique get {@link #CLIQUE_HOP} as
+     * parent edge.
+     *
+     * @param target the node to stop at, or -1 to stop once every exit of the cell is settled
+     * @return the calling thread's forward workspace
+     */
+    SearchWorkspace searchCell(Metric m, int level, int cell, int source, int target) {
+        SearchWorkspace workspace = SearchWorkspace.forThread(SearchWorkspace.FORWARD, graph.nodeCount());
+        IndexedMinHeap queue = workspace.heap();
+        workspace.reach(source, 0.0, -1, -1);
+        int remaining = target < 0 ? exitCount(level, cell) : 1;
+
+        while (!queue.isEmpty()) {
+            int current = queue.poll();
+            if (target < 0 ? exitIndex[level][current] >= 0 && --remaining == 0 : current == target) break;
+            double base = workspace.distance(current);
+
+            if (level == 0) {
+                for (int e = graph.firstEdge(current), last = graph.endEdge(current); e < last; e++) {
+                    int to = graph.target(e);
+                    if (partition.cellOf(0, to) != cell) continue;
+                    double newDist = base + m.weights[e];
+                    if (newDist < workspace.distance(to)) workspace.reach(to, newDist, current, e);
+                }
+                continue;
+            }
+
+            int below = level - 1;
+            int sub = partition.cellOf(below, current);
+            int i = entryIndex[below][current];
+            if (i >= 0) {
+                double[] clique = m.cliques[below][sub];
+                int exitCount = exitCount(below, sub);
+                for (int j = 0; j < exitCount; j++) {
+                    int to = exit(below, sub, j);
+                    double newDist = base + clique[i * exitCount + j];
+                    if (newDist < workspace.distance(to)) workspace.reach(to, newDist, current, CLIQUE_HOP);
+                }
+            }
+            if (exitIndex[below][current] >= 0) {
+                for (int e = graph.firstEdge(current), last = graph.endEdge(current); e < last; e++) {
+                    int to = graph.target(e);
+                    if (partition.cellOf(below, to) == sub || partition.cellOf(level, to) != cell) continue;
+                    double newDist = base + m.weights[e];
+                    if (newDist < workspace.distance(to)) workspace.reach(to, newDist, current, e);
+                }
+            }
+        }
+        return workspace;
+    }
+
+    /**
+     * Expands a clique hop into original nodes.
+     *
+     * @param out receives the nodes after {@code from}, up to and including {@code to}
+     */
+    void unpack(Metric m, int level, int cell, int from, int to, List<Node> out) {
+        SearchWorkspace workspace = searchCell(m, level, cell, from, to);
+        int hops = 0;
+        for (int v = to; v != from; v = workspace.parent(v)) {
+            hops++;
+        }
+        // Copy the hops out first, since unpacking them reuses the workspace
+        int[] nodes = new int[hops + 1];
+        int[] viaClique = new int[hops];
+        int i = hops;
+        for (int v = to; v != from; v = workspace.parent(v), i--) {
+            nodes[i] = v;
+            viaClique[i - 1] = workspace.parentEdge(v) == CLIQUE_HOP ? 1 : 0;
+        }
+        nodes[0] = from;
+        for (int h = 0; h < hops; h++) {
+            if (viaClique[h] == 1) {
+                unpack(m, level - 1, partition.cellOf(level - 1, nodes[h]), nodes[h], nodes[h + 1], out);
+            } else {
+                out.add(graph.node(nodes[h + 1]));
+            }
+        }
+    }
+
+    Metric metric() {
+        return metric;
+    }
+
+    int edgeSource(int e) {
+        return edgeSource[e];
+    }
+
+    int entryCount(int level, int cell) {
+        return entryOffsets[level][cell + 1] - entryOffsets[level][cell];
+    }
+
+    int exitCount(int level, int cell) {
+        return exitOffsets[level][cell + 1] - exitOffsets[level][cell];
+    }
+
+    int entry(int level, int cell, int i) {
+        return entries[level][entryOffsets[level][cell] + i];
+    }
+
+    int exit(int level, int cell, int j) {
+        return exits[level][exitOffsets[level][cell] + j];
+    }
+
+    int entryIndex(int level, int v) {
+        return entryIndex[level][v];
+    }
+
+    int exitIndex(int level, int v) {
+        return exitIndex[level][v];
+    }
+
+    /**
+     * Weights and cliques of one customization. Never changed once published.
+     */
+    static final class Metric {
+        // Weight of every edge slot
+        final double[] weights;
+
+        // cliques[level][cell] holds entry i to exit j at i * exitCount + j
+        final double[][][] cliques;
+
+        Metric(double[] weights, double[][][] cliques) {
+            this.weights = weights;
+            this.cliques = cliques;
+        }
+    }
+}
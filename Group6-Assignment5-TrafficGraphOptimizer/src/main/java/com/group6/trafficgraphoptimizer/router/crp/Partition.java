@@ -0,0 +1,117 @@
+package com.group6.trafficgraphoptimizer.router.crp;
+
+import java.util.Arrays;
+
+/**
+ * Nested multi-level partition of a graph's nodes into cells, as built by
+ * {@link GraphPartitioner}. Level 0 has the smallest cells; every cell of a
+ * level lies completely inside one cell of the next level up.
+ */
+public final class Partition {
+
+    // cellOf[level][v] is the cell of node v on that level
+    private final int[][] cellOf;
+    private final int[] cellCounts;
+
+    // Nodes of cell c on each level: members[level][memberOffsets[level][c]..memberOffsets[level][c + 1]),
+    // in index order; localIndex[level][v] is the position of v among the nodes of its cell
+    private final int[][] memberOffsets;
+    private final int[][] members;
+    private final int[][] localIndex;
+
+    Partition(int[][] cellOf, int[] cellCounts) {
+        this.cellOf = cellOf;
+        this.cellCounts = cellCounts;
+        int levels = cellCounts.length;
+        int n = cellOf[0].length;
+        this.memberOffsets = new int[levels][];
+        this.members = new int[levels][];
+        this.localIndex = new int[levels][];
+        for (int level = 0; level < levels; level++) {
+            int[] offsets = new int[cellCounts[level] + 1];
+            for (int v = 0; v < n; v++) {
+                offsets[cellOf[level][v] + 1]++;
+            }
+            for (int c = 0; c < cellCounts[level]; c++) {
+                offsets[c + 1] += offsets[c];
+            }
+            int[] nodes = new int[n];
+            int[] local = new int[n];
+            int[] fill = Arrays.copyOf(offsets, cellCounts[level]);
+            for (int v = 0; v < n; v++) {
+                int cell = cellOf[level][v];
+                local[v] = fill[cell] - offsets[cell];
+                nodes[fill[cell]++] = v;
+            }
+            memberOffsets[level] = offsets;
+            members[level] = nodes;
+            localIndex[level] = local;
+        }
+    }
+
+    public int levels() {
+        return cellCounts.length;
+    }
+
+    public int nodeCount() {
+        return cellOf[0].length;
+    }
+
+    /**
+     * @param level a level, 0 for the finest
+     * @return number of cells on the level
+     */
+    public int cellCount(int level) {
+        return cellCounts[level];
+    }
+
+    /**
+     * @param level a level, 0 for the finest
+     * @param v     a node index
+     * @return the cell containing the node on that level
+     */
+    public int cellOf(int level, int v) {
+        return cellOf[level][v];
+    }
+
+    int cellSize(int level, int cell) {
+        return memberOffsets[level][cell + 1] - memberOffsets[level][cell];
+    }
+
+    /**
+     * @return node {@code i} of a cell, in index order
+     */
+    int member(int level, int cell, int i) {
+        return members[level][memberOffsets[level][cell] + i];
+    }
+
+    /**
+     * @return position of node {@code v} among the nodes of its cell on the level
+     */
+    int localIndex(int level, int v) {
+        return localIndex[level][v];
+    }
+
+    /**
+     * @param level a level, 0 for the finest
+     * @return number of nodes in each cell of the level
+     */
+    public int[] cellSizes(int level) {
+        int[] sizes = new int[cellCounts[level]];
+        for (int cell = 0; cell < sizes.length; cell++) {
+            sizes[cell] = cellSize(level, cell);
+        }
+        return sizes;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Partition[");
+        for (int level = 0; level < levels(); level++) {
+            if (level > 0) sb.append(", ");
+            sb.append(cellCounts[level]).append(" cells (max ")
+                    .append(Arrays.stream(cellSizes(level)).max().orElse(0)).append(" nodes)");
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,384 @@
+package com.group6.trafficgraphoptimizer.router.crp;
+
+import com.group6.trafficgraphoptimizer.graph.CompactGraph;
+import com.group6.trafficgraphoptimizer.graph.Node;
+import com.group6.trafficgraphoptimizer.router.IndexedMinHeap;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Self-contained copy of one top-level cell of a {@link MultiLevelOverlay},
+ * so a region can be written to a file and served by a separate process.
+ * <p>
+ * A region holds its nodes and internal edges, the body that searches inside
+ * the region need, and its {@link RegionSummary}: entries, exits, clique and
+ * leaving edges. {@link ShardedRouter} holds only the summaries and asks a
+ * {@link RegionService} for searches inside a region. Regions do not
+ * reference each other, so each can be extracted, written and loaded again
+ * on its own, e.g. after {@link MultiLevelOverlay#recustomize()} changed only
+ * some of them.
+ */
+public final class RegionCell {
+
+    static final int MAGIC = 0x31435254; // "TRC1"
+    static final int FORMAT_VERSION = 2;
+
+    private final int region;
+    private final RegionSummary summary;
+    private final Node[] nodes;
+    private final Map<Node, Integer> indexOf;
+
+    // Internal edges: targets[offsets[v]..offsets[v + 1]) with their weights
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+
+    // The same edges by target, built on load for backward searches
+    private final int[] inOffsets;
+    private final int[] inSources;
+    private final double[] inWeights;
+
+    // Local ids of the summary's entries and exits
+    private final int[] entries;
+    private final int[] exits;
+
+    private RegionCell(RegionSummary summary, Node[] nodes, int[] offsets, int[] targets, double[] weights) {
+        this.region = summary.getRegion();
+        this.summary = summary;
+        this.nodes = nodes;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+
+        this.indexOf = new HashMap<>(nodes.length * 2);
+        for (int v = 0; v < nodes.length; v++) {
+            indexOf.put(nodes[v], v);
+        }
+        this.entries = new int[summary.entryCount()];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = local(summary.entry(i));
+        }
+        this.exits = new int[summary.exitCount()];
+        for (int j = 0; j < exits.length; j++) {
+            exits[j] = local(summary.exit(j));
+        }
+        int n = nodes.length;
+        this.inOffsets = new int[n + 1];
+        for (int to : targets) {
+            inOffsets[to + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            inOffsets[v + 1] += inOffsets[v];
+        }
+        this.inSources = new int[targets.length];
+        this.inWeights = new double[targets.length];
+        int[] fill = Arrays.copyOf(inOffsets, n);
+        for (int v = 0; v < n; v++) {
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int slot = fill[targets[e]]++;
+                inSources[slot] = v;
+                inWeights[slot] = weights[e];
+            }
+        }
+    }
+
+    /**
+     * Copies one top-level cell out of an overlay, with the overlay's current
+     * weights.
+     *
+     * @param overlay the customized overlay
+     * @param cell    a cell of the overlay's top level
+     * @return the region
+     */
+    public static RegionCell extract(MultiLevelOverlay overlay, int cell) {
+        CompactGraph graph = overlay.getGraph();
+        Partition partition = overlay.getPartition();
+        int level = partition.levels() - 1;
+        if (cell < 0 || cell >= partition.cellCount(level)) {
+            throw new IllegalArgumentException("No top-level cell " + cell);
+        }
+        MultiLevelOverlay.Metric metric = overlay.metric();
+
+        // Local ids are the positions in the partition's cell, so nothing is sized by the whole graph
+        int size = partition.cellSize(level, cell);
+        Node[] nodes = new Node[size];
+        int[] offsets = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            int v = partition.member(level, cell, i);
+            nodes[i] = graph.node(v);
+            for (int e = graph.firstEdge(v), last = graph.endEdge(v); e < last; e++) {
+                if (partition.cellOf(level, graph.target(e)) == cell) offsets[i + 1]++;
+            }
+            offsets[i + 1] += offsets[i];
+        }
+        int[] targets = new int[offsets[size]];
+        double[] weights = new double[offsets[size]];
+        for (int i = 0, k = 0; i < size; i++) {
+            int v = partition.member(level, cell, i);
+            for (int e = graph.firstEdge(v), last = graph.endEdge(v); e < last; e++) {
+                int to = graph.target(e);
+                if (partition.cellOf(level, to) != cell) continue;
+                targets[k] = partition.localIndex(level, to);
+                weights[k++] = metric.weights[e];
+            }
+        }
+
+        int entryCount = overlay.entryCount(level, cell);
+        int exitCount = overlay.exitCount(level, cell);
+        Node[] entries = new Node[entryCount];
+        for (int i = 0; i < entryCount; i++) {
+            entries[i] = graph.node(overlay.entry(level, cell, i));
+        }
+        Node[] exits = new Node[exitCount];
+        int[] cutOffsets = new int[exitCount + 1];
+        for (int j = 0; j < exitCount; j++) {
+            int v = overlay.exit(level, cell, j);
+            exits[j] = graph.node(v);
+            for (int e = graph.firstEdge(v), last = graph.endEdge(v); e < last; e++) {
+                if (partition.cellOf(level, graph.target(e)) != cell) cutOffsets[j + 1]++;
+            }
+            cutOffsets[j + 1] += cutOffsets[j];
+        }
+        String[] cutTargets = new String[cutOffsets[exitCount]];
+        double[] cutWeights = new double[cutOffsets[exitCount]];
+        for (int j = 0, k = 0; j < exitCount; j++) {
+            int v = overlay.exit(level, cell, j);
+            for (int e = graph.firstEdge(v), last = graph.endEdge(v); e < last; e++) {
+                int to = graph.target(e);
+                if (partition.cellOf(level, to) == cell) continue;
+                cutTargets[k] = graph.node(to).getId();
+                cutWeights[k++] = metric.weights[e];
+            }
+        }
+
+        RegionSummary summary = new RegionSummary(cell, entries, exits, metric.cliques[level][cell].clone(),
+                cutOffsets, cutTargets, cutWeights);
+        return new RegionCell(summary, nodes, offsets, targets, weights);
+    }
+
+    /**
+     * Copies every top-level cell out of an overlay.
+     *
+     * @param overlay the customized overlay
+     * @return one region per top-level cell
+     */
+    public static List<RegionCell> extractAll(MultiLevelOverlay overlay) {
+        Partition partition = overlay.getPartition();
+        List<RegionCell> regions = new ArrayList<>();
+        for (int cell = 0; cell < partition.cellCount(partition.levels() - 1); cell++) {
+            regions.add(extract(overlay, cell));
+        }
+        return regions;
+    }
+
+    /**
+     * Writes the region to a file, replacing any existing file.
+     *
+     * @param path the target file
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            summary.writeTo(out);
+            out.writeInt(nodes.length);
+            for (Node node : nodes) {
+                out.writeUTF(node.getId());
+            }
+            writeInts(out, offsets);
+            writeInts(out, targets);
+            writeDoubles(out, weights);
+        }
+    }
+
+    /**
+     * Loads a region written by {@link #write(Path)}.
+     *
+     * @param path the file to read
+     * @return the region
+     * @throws IOException if the file cannot be read or is not a region file
+     */
+    public static RegionCell read(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC) throw new IOException("Not a region file: " + path);
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported region file version " + version + ": " + path);
+            }
+            RegionSummary summary = RegionSummary.readFrom(in, path);
+            Node[] nodes = new Node[in.readInt()];
+            for (int v = 0; v < nodes.length; v++) {
+                nodes[v] = new Node(in.readUTF());
+            }
+            int[] offsets = readInts(in);
+            int[] targets = readInts(in);
+            double[] weights = readDoubles(in);
+            if (offsets.length != nodes.length + 1 || weights.length != targets.length) {
+                throw new IOException("Corrupt region file: " + path);
+            }
+            try {
+                return new RegionCell(summary, nodes, offsets, targets, weights);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Corrupt region file: " + path, e);
+            }
+        }
+    }
+
+    static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        out.writeInt(values.length);
+        for (int value : values) out.writeInt(value);
+    }
+
+    static void writeDoubles(DataOutputStream out, double[] values) throws IOException {
+        out.writeInt(values.length);
+        for (double value : values) out.writeDouble(value);
+    }
+
+    static int[] readInts(DataInputStream in) throws IOException {
+        int[] values = new int[in.readInt()];
+        for (int i = 0; i < values.length; i++) values[i] = in.readInt();
+        return values;
+    }
+
+    static double[] readDoubles(DataInputStream in) throws IOException {
+        double[] values = new double[in.readInt()];
+        for (int i = 0; i < values.length; i++) values[i] = in.readDouble();
+        return values;
+    }
+
+    /**
+     * @return the top-level cell this region was extracted from
+     */
+    public int getRegion() {
+        return region;
+    }
+
+    /**
+     * @return the entries, exits, clique and leaving edges of the region
+     */
+    public RegionSummary getSummary() {
+        return summary;
+    }
+
+    public int nodeCount() {
+        return nodes.length;
+    }
+
+    /**
+     * @return the region's nodes
+     */
+    public List<Node> nodes() {
+        return Collections.unmodifiableList(Arrays.asList(nodes));
+    }
+
+    public boolean contains(Node node) {
+        return indexOf.containsKey(node);
+    }
+
+    /**
+     * @param source a node of the region
+     * @return shortest distances inside the region from the node to every exit
+     */
+    public double[] distancesToExits(Node source) {
+        double[] distances = search(local(source), false, -1).distances;
+        double[] result = new double[exits.length];
+        for (int j = 0; j < exits.length; j++) {
+            result[j] = distances[exits[j]];
+        }
+        return result;
+    }
+
+    /**
+     * @param target a node of the region
+     * @return shortest distances inside the region from every entry to the node
+     */
+    public double[] distancesFromEntries(Node target) {
+        double[] distances = search(local(target), true, -1).distances;
+        double[] result = new double[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            result[i] = distances[entries[i]];
+        }
+        return result;
+    }
+
+    /**
+     * @return shortest distance between two nodes of the region without
+     * leaving it, or infinity
+     */
+    public double distance(Node from, Node to) {
+        int target = local(to);
+        return search(local(from), false, target).distances[target];
+    }
+
+    /**
+     * @return shortest path between two nodes of the region without leaving
+     * it, or empty if there is none
+     */
+    public List<Node> path(Node from, Node to) {
+        int source = local(from);
+        int target = local(to);
+        Tree tree = search(source, false, target);
+        if (tree.distances[target] == Double.POSITIVE_INFINITY) return Collections.emptyList();
+        LinkedList<Node> path = new LinkedList<>();
+        for (int v = target; v != source; v = tree.parents[v]) {
+            path.addFirst(nodes[v]);
+        }
+        path.addFirst(nodes[source]);
+        return path;
+    }
+
+    private int local(Node node) {
+        Integer v = indexOf.get(node);
+        if (v == null) throw new IllegalArgumentException("Node " + node + " is not in region " + region);
+        return v;
+    }
+
+    // Dijkstra over the region's own edges, backward along incoming edges if asked
+    private Tree search(int root, boolean backward, int stopAt) {
+        int n = nodes.length;
+        Tree tree = new Tree(n);
+        IndexedMinHeap queue = new IndexedMinHeap(n);
+        tree.distances[root] = 0.0;
+        queue.insertOrDecrease(root, 0.0);
+        int[] first = backward ? inOffsets : offsets;
+        int[] other = backward ? inSources : targets;
+        double[] cost = backward ? inWeights : weights;
+        while (!queue.isEmpty()) {
+            int current = queue.poll();
+            if (current == stopAt) break;
+            double base = tree.distances[current];
+            for (int e = first[current]; e < first[current + 1]; e++) {
+                int to = other[e];
+                double newDist = base + cost[e];
+                if (newDist < tree.distances[to]) {
+                    tree.distances[to] = newDist;
+                    tree.parents[to] = current;
+                    queue.insertOrDecrease(to, newDist);
+                }
+            }
+        }
+        return tree;
+    }
+
+    private static final class Tree {
+        final double[] distances;
+        final int[] parents;
+
+        Tree(int n) {
+            distances = new double[n];
+            parents = new int[n];
+            Arrays.fill(distances, Double.POSITIVE_INFINITY);
+            Arrays.fill(parents, -1);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RegionCell[" + region + ": " + nodes.length + " nodes, " + entries.length + " entries, "
+                + exits.length + " exits]";
+    }
+}
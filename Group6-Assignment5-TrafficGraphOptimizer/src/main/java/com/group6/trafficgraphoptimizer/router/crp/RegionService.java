@@ -0,0 +1,86 @@
+package com.group6.trafficgraphoptimizer.router.crp;
+
+import com.group6.trafficgraphoptimizer.graph.Node;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Searches inside single regions, answered by whoever holds the region's
+ * body: a {@link RegionCell} in this process, or a process serving it.
+ * {@link ShardedRouter} asks only for the start and end regions of a query,
+ * plus the regions a returned path passes through.
+ */
+public interface RegionService {
+
+    /**
+     * @param region a region id
+     * @param source a node of the region
+     * @return shortest distances inside the region from the node to every exit
+     */
+    double[] distancesToExits(int region, Node source);
+
+    /**
+     * @param region a region id
+     * @param target a node of the region
+     * @return shortest distances inside the region from every entry to the node
+     */
+    double[] distancesFromEntries(int region, Node target);
+
+    /**
+     * @return shortest distance between two nodes of the region without
+     * leaving it, or infinity
+     */
+    double distance(int region, Node from, Node to);
+
+    /**
+     * @return shortest path between two nodes of the region without leaving
+     * it, or empty if there is none
+     */
+    List<Node> path(int region, Node from, Node to);
+
+    /**
+     * Serves the given regions from this process.
+     *
+     * @param regions the loaded region bodies
+     * @return a service that rejects any other region
+     * @throws IllegalArgumentException if two regions have the same id
+     */
+    static RegionService local(Collection<RegionCell> regions) {
+        Map<Integer, RegionCell> byId = new HashMap<>();
+        for (RegionCell region : regions) {
+            if (byId.put(region.getRegion(), region) != null) {
+                throw new IllegalArgumentException("Region " + region.getRegion() + " is given twice");
+            }
+        }
+        return new RegionService() {
+            @Override
+            public double[] distancesToExits(int region, Node source) {
+                return body(region).distancesToExits(source);
+            }
+
+            @Override
+            public double[] distancesFromEntries(int region, Node target) {
+                return body(region).distancesFromEntries(target);
+            }
+
+            @Override
+            public double distance(int region, Node from, Node to) {
+                return body(region).distance(from, to);
+            }
+
+            @Override
+            public List<Node> path(int region, Node from, Node to) {
+                return body(region).path(from, to);
+            }
+
+            private RegionCell body(int region) {
+                RegionCell body = byId.get(region);
+                if (body == null) throw new IllegalArgumentException("Region " + region + " is not loaded");
+                return body;
+            }
+        };
+    }
+}
@@ -0,0 +1,176 @@
+package com.group6.trafficgraphoptimizer.router.crp;
+
+import com.group6.trafficgraphoptimizer.graph.Node;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The part of a {@link RegionCell} that routes passing through the region
+ * need: its entries and exits, the clique from every entry to every exit,
+ * and the edges leaving it through each exit, named by target node id.
+ * <p>
+ * A summary is a few entries and exits per region, so the process that
+ * routes between regions can hold the summaries of the whole network while
+ * the region bodies stay with the processes serving them.
+ */
+public final class RegionSummary {
+
+    static final int MAGIC = 0x31535254; // "TRS1"
+    static final int FORMAT_VERSION = 1;
+
+    private final int region;
+    private final Node[] entries;
+    private final Node[] exits;
+    private final double[] clique;
+
+    // Edges leaving through exit j: cutTargets[cutOffsets[j]..cutOffsets[j + 1])
+    private final int[] cutOffsets;
+    private final String[] cutTargets;
+    private final double[] cutWeights;
+
+    RegionSummary(int region, Node[] entries, Node[] exits, double[] clique, int[] cutOffsets, String[] cutTargets,
+                  double[] cutWeights) {
+        this.region = region;
+        this.entries = entries;
+        this.exits = exits;
+        this.clique = clique;
+        this.cutOffsets = cutOffsets;
+        this.cutTargets = cutTargets;
+        this.cutWeights = cutWeights;
+    }
+
+    /**
+     * Writes the summary to a file, replacing any existing file.
+     *
+     * @param path the target file
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            writeTo(out);
+        }
+    }
+
+    /**
+     * Loads a summary written by {@link #write(Path)}.
+     *
+     * @param path the file to read
+     * @return the summary
+     * @throws IOException if the file cannot be read or is not a summary file
+     */
+    public static RegionSummary read(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC) throw new IOException("Not a region summary file: " + path);
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported region summary file version " + version + ": " + path);
+            }
+            return readFrom(in, path);
+        }
+    }
+
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(region);
+        writeNodes(out, entries);
+        writeNodes(out, exits);
+        RegionCell.writeDoubles(out, clique);
+        RegionCell.writeInts(out, cutOffsets);
+        out.writeInt(cutTargets.length);
+        for (String id : cutTargets) {
+            out.writeUTF(id);
+        }
+        RegionCell.writeDoubles(out, cutWeights);
+    }
+
+    static RegionSummary readFrom(DataInputStream in, Path path) throws IOException {
+        int region = in.readInt();
+        Node[] entries = readNodes(in);
+        Node[] exits = readNodes(in);
+        double[] clique = RegionCell.readDoubles(in);
+        int[] cutOffsets = RegionCell.readInts(in);
+        String[] cutTargets = new String[in.readInt()];
+        for (int i = 0; i < cutTargets.length; i++) {
+            cutTargets[i] = in.readUTF();
+        }
+        double[] cutWeights = RegionCell.readDoubles(in);
+        if (clique.length != entries.length * exits.length || cutOffsets.length != exits.length + 1
+                || cutWeights.length != cutTargets.length) {
+            throw new IOException("Corrupt region file: " + path);
+        }
+        return new RegionSummary(region, entries, exits, clique, cutOffsets, cutTargets, cutWeights);
+    }
+
+    private static void writeNodes(DataOutputStream out, Node[] nodes) throws IOException {
+        out.writeInt(nodes.length);
+        for (Node node : nodes) {
+            out.writeUTF(node.getId());
+        }
+    }
+
+    private static Node[] readNodes(DataInputStream in) throws IOException {
+        Node[] nodes = new Node[in.readInt()];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = new Node(in.readUTF());
+        }
+        return nodes;
+    }
+
+    /**
+     * @return the top-level cell this region was extracted from
+     */
+    public int getRegion() {
+        return region;
+    }
+
+    public int entryCount() {
+        return entries.length;
+    }
+
+    public int exitCount() {
+        return exits.length;
+    }
+
+    public Node entry(int i) {
+        return entries[i];
+    }
+
+    public Node exit(int j) {
+        return exits[j];
+    }
+
+    /**
+     * @return shortest distance inside the region from entry {@code i} to exit {@code j}
+     */
+    public double clique(int i, int j) {
+        return clique[i * exits.length + j];
+    }
+
+    public int firstCutEdge(int j) {
+        return cutOffsets[j];
+    }
+
+    public int endCutEdge(int j) {
+        return cutOffsets[j + 1];
+    }
+
+    /**
+     * @return id of the node outside the region that a leaving edge leads to
+     */
+    public String cutTarget(int i) {
+        return cutTargets[i];
+    }
+
+    public double cutWeight(int i) {
+        return cutWeights[i];
+    }
+
+    @Override
+    public String toString() {
+        return "RegionSummary[" + region + ": " + entries.length + " entries, " + exits.length + " exits, "
+                + cutTargets.length + " leaving edges]";
+    }
+}
@@ -0,0 +1,276 @@
+package com.group6.trafficgraphoptimizer.router.crp;
+
+import com.group6.trafficgraphoptimizer.graph.Node;
+import com.group6.trafficgraphoptimizer.router.IndexedMinHeap;
+import com.group6.trafficgraphoptimizer.router.Router;
+import com.group6.trafficgraphoptimizer.router.SearchStats;
+
+import java.util.*;
+import java.util.function.ToIntFunction;
+
+/**
+ * Exact router over regions that need not live in this process. The router
+ * holds only the {@link RegionSummary} of every region: a small overlay whose
+ * vertices are the entries and exits of all regions, joined by each region's
+ * clique and the edges leaving it. Searches inside the start and end regions
+ * go to a {@link RegionService}, which may answer from loaded
+ * {@link RegionCell}s or from the processes serving them.
+ * <p>
+ * A distance query needs only the start and end regions. Turning the route
+ * into nodes also asks for the path inside every region it passes through.
+ * The regions must come from the same overlay and together cover the graph.
+ */
+public class ShardedRouter implements Router {
+
+    private final List<RegionSummary> summaries;
+    private final ToIntFunction<Node> regionOf;
+    private final RegionService bodies;
+    private final Map<Integer, Integer> positionOf;
+
+    // Overlay vertices: the entries of the region at position r, then its exits, from firstVertex[r]
+    private final int[] firstVertex;
+    private final int[] regionOfVertex;
+
+    // Overlay edges of each exit vertex: entry vertices reached by leaving edges
+    private final int[][] cutEntries;
+    private final double[][] cutWeights;
+
+    /**
+     * Routes over regions that are all loaded in this process.
+     *
+     * @param regions the regions of one overlay
+     * @throws IllegalArgumentException if two regions share a node
+     */
+    public ShardedRouter(List<RegionCell> regions) {
+        this(summaries(regions), lookup(regions), RegionService.local(regions));
+    }
+
+    /**
+     * Routes over region summaries, asking {@code bodies} for searches inside
+     * single regions.
+     *
+     * @param summaries the summaries of all regions of one overlay
+     * @param regionOf  region id of a node, or -1 for nodes of no region
+     * @param bodies    answers searches inside the start and end regions
+     * @throws IllegalArgumentException if two summaries have the same region id
+     *                                  or a leaving edge leads into no region
+     */
+    public ShardedRouter(List<RegionSummary> summaries, ToIntFunction<Node> regionOf, RegionService bodies) {
+        this.summaries = List.copyOf(summaries);
+        this.regionOf = regionOf;
+        this.bodies = bodies;
+        this.positionOf = new HashMap<>();
+        this.firstVertex = new int[this.summaries.size() + 1];
+        Map<Node, Integer> entryVertex = new HashMap<>();
+        for (int r = 0; r < this.summaries.size(); r++) {
+            RegionSummary summary = this.summaries.get(r);
+            if (positionOf.put(summary.getRegion(), r) != null) {
+                throw new IllegalArgumentException("Region " + summary.getRegion() + " is given twice");
+            }
+            for (int i = 0; i < summary.entryCount(); i++) {
+                entryVertex.put(summary.entry(i), firstVertex[r] + i);
+            }
+            firstVertex[r + 1] = firstVertex[r] + summary.entryCount() + summary.exitCount();
+        }
+        this.regionOfVertex = new int[firstVertex[this.summaries.size()]];
+        this.cutEntries = new int[regionOfVertex.length][];
+        this.cutWeights = new double[regionOfVertex.length][];
+        for (int r = 0; r < this.summaries.size(); r++) {
+            RegionSummary summary = this.summaries.get(r);
+            Arrays.fill(regionOfVertex, firstVertex[r], firstVertex[r + 1], r);
+            for (int j = 0; j < summary.exitCount(); j++) {
+                int vertex = firstVertex[r] + summary.entryCount() + j;
+                int first = summary.firstCutEdge(j);
+                int count = summary.endCutEdge(j) - first;
+                cutEntries[vertex] = new int[count];
+                cutWeights[vertex] = new double[count];
+                for (int k = 0; k < count; k++) {
+                    Integer entry = entryVertex.get(new Node(summary.cutTarget(first + k)));
+                    if (entry == null) {
+                        throw new IllegalArgumentException("No region holds node " + summary.cutTarget(first + k)
+                                + " reached from region " + summary.getRegion());
+                    }
+                    cutEntries[vertex][k] = entry;
+                    cutWeights[vertex][k] = summary.cutWeight(first + k);
+                }
+            }
+        }
+    }
+
+    private static List<RegionSummary> summaries(List<RegionCell> regions) {
+        List<RegionSummary> summaries = new ArrayList<>(regions.size());
+        for (RegionCell region : regions) {
+            summaries.add(region.getSummary());
+        }
+        return summaries;
+    }
+
+    private static ToIntFunction<Node> lookup(List<RegionCell> regions) {
+        Map<Node, Integer> regionOf = new HashMap<>();
+        for (RegionCell region : regions) {
+            for (Node node : region.nodes()) {
+                if (regionOf.put(node, region.getRegion()) != null) {
+                    throw new IllegalArgumentException("Node " + node + " is in more than one region");
+                }
+            }
+        }
+        return node -> regionOf.getOrDefault(node, -1);
+    }
+
+    public List<RegionSummary> getSummaries() {
+        return summaries;
+    }
+
+    /**
+     * Finds the shortest path from start to end.
+     *
+     * @param start the starting node
+     * @param end   the destination node
+     * @return list of nodes in the shortest path
+     */
+    @Override
+    public List<Node> findShortestPath(Node start, Node end) {
+        return findShortestPath(start, end, null);
+    }
+
+    /**
+     * Finds the shortest path from start to end and records how much of the
+     * overlay the search had to explore, not counting the searches inside the
+     * start and end regions.
+     *
+     * @param start the starting node
+     * @param end   the destination node
+     * @param stats receives settled-vertex and relaxation counts, may be null
+     * @return list of nodes in the shortest path
+     */
+    public List<Node> findShortestPath(Node start, Node end, SearchStats stats) {
+        if (start.equals(end)) return List.of(start);
+        Query query = new Query(start, end, stats);
+        if (query.best == Double.POSITIVE_INFINITY) return Collections.emptyList();
+        if (query.meeting < 0) return bodies.path(regionId(query.from), start, end);
+        return assemble(start, end, query);
+    }
+
+    /**
+     * Computes the cost of the shortest path from start to end. Only the start
+     * and end regions are searched.
+     *
+     * @param start the starting node
+     * @param end   the destination node
+     * @return the cost, or infinity if there is no path
+     */
+    public double distance(Node start, Node end) {
+        if (start.equals(end)) return 0.0;
+        return new Query(start, end, null).best;
+    }
+
+    // One overlay search between the start and end regions
+    private final class Query {
+        int from = -1;
+        int to = -1;
+        double best = Double.POSITIVE_INFINITY;
+        int meeting = -1;
+        int[] parents;
+
+        Query(Node start, Node end, SearchStats stats) {
+            Integer a = positionOf.get(regionOf.applyAsInt(start));
+            Integer b = positionOf.get(regionOf.applyAsInt(end));
+            if (a == null || b == null) return;
+            from = a;
+            to = b;
+            RegionSummary target = summaries.get(b);
+
+            int vertices = regionOfVertex.length;
+            double[] distances = new double[vertices];
+            parents = new int[vertices];
+            Arrays.fill(distances, Double.POSITIVE_INFINITY);
+            Arrays.fill(parents, -1);
+            IndexedMinHeap queue = new IndexedMinHeap(vertices);
+            double[] toExits = bodies.distancesToExits(regionId(a), start);
+            for (int j = 0; j < toExits.length; j++) {
+                int vertex = firstVertex[a] + summaries.get(a).entryCount() + j;
+                distances[vertex] = toExits[j];
+                if (toExits[j] < Double.POSITIVE_INFINITY) queue.insertOrDecrease(vertex, toExits[j]);
+            }
+            double[] fromEntries = bodies.distancesFromEntries(regionId(b), end);
+
+            if (a.equals(b)) best = bodies.distance(regionId(a), start, end);
+            int settled = 0;
+            int relaxed = 0;
+            while (!queue.isEmpty() && queue.peekKey() < best) {
+                int current = queue.poll();
+                settled++;
+                int r = regionOfVertex[current];
+                RegionSummary summary = summaries.get(r);
+                int local = current - firstVertex[r];
+                double base = distances[current];
+                if (local < summary.entryCount()) {
+                    if (r == b && base + fromEntries[local] < best) {
+                        best = base + fromEntries[local];
+                        meeting = current;
+                    }
+                    for (int j = 0; j < summary.exitCount(); j++) {
+                        relaxed++;
+                        relax(queue, distances, parents, current, firstVertex[r] + summary.entryCount() + j,
+                                base + summary.clique(local, j));
+                    }
+                } else {
+                    for (int k = 0; k < cutEntries[current].length; k++) {
+                        relaxed++;
+                        relax(queue, distances, parents, current, cutEntries[current][k],
+                                base + cutWeights[current][k]);
+                    }
+                }
+            }
+            if (stats != null) stats.add(settled, relaxed);
+        }
+    }
+
+    private static void relax(IndexedMinHeap queue, double[] distances, int[] parents, int from, int to,
+                              double newDist) {
+        if (newDist < distances[to]) {
+            distances[to] = newDist;
+            parents[to] = from;
+            queue.insertOrDecrease(to, newDist);
+        }
+    }
+
+    // Expands the overlay vertices into paths inside each region they pass through
+    private List<Node> assemble(Node start, Node end, Query query) {
+        LinkedList<Integer> chain = new LinkedList<>();
+        for (int v = query.meeting; v >= 0; v = query.parents[v]) {
+            chain.addFirst(v);
+        }
+        List<Node> path = new ArrayList<>();
+        Node previous = start;
+        int previousRegion = query.from;
+        for (int v : chain) {
+            Node next = node(v);
+            int r = regionOfVertex[v];
+            if (r != previousRegion) {
+                // A leaving edge between two regions
+                path.add(next);
+            } else {
+                append(path, bodies.path(regionId(r), previous, next));
+            }
+            previous = next;
+            previousRegion = r;
+        }
+        append(path, bodies.path(regionId(query.to), previous, end));
+        return path;
+    }
+
+    private static void append(List<Node> path, List<Node> segment) {
+        path.addAll(path.isEmpty() ? segment : segment.subList(1, segment.size()));
+    }
+
+    private Node node(int vertex) {
+        RegionSummary summary = summaries.get(regionOfVertex[vertex]);
+        int local = vertex - firstVertex[regionOfVertex[vertex]];
+        return local < summary.entryCount() ? summary.entry(local) : summary.exit(local - summary.entryCount());
+    }
+
+    private int regionId(int position) {
+        return summaries.get(position).getRegion();
+    }
+}
@@ -0,0 +1,133 @@
+package com.group6.trafficgraphoptimizer.server;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minimal streaming JSON encoder for the server's responses. Callers write
+ * fields in order, so no reflection or intermediate tree is involved; commas
+ * are inserted automatically. Non-finite numbers become {@code null}.
+ */
+final class JsonWriter {
+
+    private final StringBuilder out;
+
+    // True when the next value in the current object or array needs a comma first
+    private boolean needsComma;
+
+    JsonWriter() {
+        this(256);
+    }
+
+    JsonWriter(int capacity) {
+        this.out = new StringBuilder(capacity);
+    }
+
+    JsonWriter beginObject() {
+        separate();
+        out.append('{');
+        needsComma = false;
+        return this;
+    }
+
+    JsonWriter endObject() {
+        out.append('}');
+        needsComma = true;
+        return this;
+    }
+
+    JsonWriter beginArray() {
+        separate();
+        out.append('[');
+        needsComma = false;
+        return this;
+    }
+
+    JsonWriter endArray() {
+        out.append(']');
+        needsComma = true;
+        return this;
+    }
+
+    /**
+     * Writes an object key; the next call writes its value.
+     */
+    JsonWriter name(String name) {
+        separate();
+        string(name);
+        out.append(':');
+        needsComma = false;
+        return this;
+    }
+
+    JsonWriter value(String value) {
+        separate();
+        if (value == null) {
+            out.append("null");
+        } else {
+            string(value);
+        }
+        needsComma = true;
+        return this;
+    }
+
+    JsonWriter value(double value) {
+        separate();
+        if (!Double.isFinite(value)) {
+            out.append("null");
+        } else if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+        needsComma = true;
+        return this;
+    }
+
+    JsonWriter value(long value) {
+        separate();
+        out.append(value);
+        needsComma = true;
+        return this;
+    }
+
+    JsonWriter value(boolean value) {
+        separate();
+        out.append(value);
+        needsComma = true;
+        return this;
+    }
+
+    byte[] toBytes() {
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String toString() {
+        return out.toString();
+    }
+
+    private void separate() {
+        if (needsComma) out.append(',');
+    }
+
+    private void string(String s) {
+        out.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"': out.append("\\\""); break;
+                case '\\': out.append("\\\\"); break;
+                case '\n': out.append("\\n"); break;
+                case '\r': out.append("\\r"); break;
+                case '\t': out.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        out.append('"');
+    }
+}
@@ -0,0 +1,254 @@
+package com.group6.trafficgraphoptimizer.server;
+
+import com.group6.trafficgraphoptimizer.metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives load against a {@link RoutingServer} and measures throughput and
+ * latency. Requests cycle through a fixed list of URIs.
+ * <p>
+ * Two modes:
+ * - Closed loop: a fixed number of clients each send a request and wait for
+ *   the answer before sending the next, which finds the peak throughput.
+ * - Open loop: requests are sent on a fixed schedule whether or not earlier
+ *   ones have finished, as real users arrive. Latency is measured from the
+ *   scheduled send time, so a stalled server shows up in the tail instead of
+ *   just slowing the generator down.
+ */
+public class LoadGenerator {
+
+    private final HttpClient client;
+    private final List<URI> requests;
+
+    /**
+     * @param requests URIs to request, used round-robin
+     */
+    public LoadGenerator(List<URI> requests) {
+        if (requests.isEmpty()) throw new IllegalArgumentException("Need at least one request URI");
+        this.requests = List.copyOf(requests);
+        this.client = HttpClient.newBuilder()
+                .executor(RoutingServer.newRequestExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * Builds route requests between random pairs of node ids.
+     *
+     * @param baseUri the server, e.g. {@code http://localhost:8080}
+     * @param nodeIds ids to draw from
+     * @param count   number of requests to build
+     * @param seed    random seed
+     * @return the request URIs
+     */
+    public static List<URI> routeRequests(URI baseUri, List<String> nodeIds, int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<URI> uris = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String from = nodeIds.get(random.nextInt(nodeIds.size()));
+            String to = nodeIds.get(random.nextInt(nodeIds.size()));
+            uris.add(baseUri.resolve("/route?from=" + URLEncoder.encode(from, StandardCharsets.UTF_8)
+                    + "&to=" + URLEncoder.encode(to, StandardCharsets.UTF_8)));
+        }
+        return uris;
+    }
+
+    /**
+     * Runs a load test from the command line against a running server, e.g.
+     * {@code --url=http://localhost:8080 --mode=open --rate=2000 --seconds=30}.
+     * Node ids are read from {@code --ids=<file>}, one per line, or default to
+     * the ids of generated graphs, N0 to N{nodes - 1}.
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --key=value but got '" + arg + "'");
+            }
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        URI base = URI.create(options.getOrDefault("url", "http://localhost:8080"));
+        List<String> ids;
+        if (options.containsKey("ids")) {
+            ids = Files.readAllLines(Path.of(options.get("ids")));
+        } else {
+            int nodes = Integer.parseInt(options.getOrDefault("nodes", "10000"));
+            ids = new ArrayList<>(nodes);
+            for (int i = 0; i < nodes; i++) {
+                ids.add("N" + i);
+            }
+        }
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("seconds", "10")));
+        LoadGenerator generator = new LoadGenerator(routeRequests(base, ids, 10_000, 7L));
+
+        Result result = options.getOrDefault("mode", "closed").equals("open")
+                ? generator.openLoop(Double.parseDouble(options.getOrDefault("rate", "1000")), duration)
+                : generator.closedLoop(Integer.parseInt(options.getOrDefault("clients", "16")), duration);
+        System.out.println(result);
+    }
+
+    /**
+     * Runs clients that each keep exactly one request outstanding.
+     *
+     * @param clients  number of concurrent clients
+     * @param duration how long to send requests
+     * @return the measurements
+     */
+    public Result closedLoop(int clients, Duration duration) {
+        if (clients < 1) throw new IllegalArgumentException("Need at least one client: " + clients);
+        LatencyHistogram histogram = new LatencyHistogram();
+        LongAdder errors = new LongAdder();
+        AtomicInteger next = new AtomicInteger();
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+
+        ExecutorService executor = RoutingServer.newRequestExecutor();
+        try {
+            List<Future<?>> futures = new ArrayList<>(clients);
+            for (int c = 0; c < clients; c++) {
+                futures.add(executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        URI uri = requests.get(Math.floorMod(next.getAndIncrement(), requests.size()));
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<byte[]> response = client.send(request(uri),
+                                    HttpResponse.BodyHandlers.ofByteArray());
+                            if (response.statusCode() != 200) errors.increment();
+                        } catch (IOException e) {
+                            errors.increment();
+                        }
+                        histogram.record(System.nanoTime() - sent);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during load test", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Load test client failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return new Result(histogram.snapshot(), errors.sum(), System.nanoTime() - start);
+    }
+
+    /**
+     * Sends requests at a fixed rate without waiting for answers, then waits
+     * for the outstanding ones.
+     *
+     * @param rate     requests per second
+     * @param duration how long to send requests
+     * @return the measurements
+     */
+    public Result openLoop(double rate, Duration duration) {
+        if (!(rate > 0) || Double.isInfinite(rate)) throw new IllegalArgumentException("Rate must be positive: " + rate);
+        LatencyHistogram histogram = new LatencyHistogram();
+        LongAdder errors = new LongAdder();
+        double interval = 1e9 / rate;
+        long total = (long) (duration.toNanos() / interval);
+        List<CompletableFuture<?>> pending = new ArrayList<>();
+        long start = System.nanoTime();
+
+        for (long i = 0; i < total; i++) {
+            long scheduled = start + (long) (i * interval);
+            long wait;
+            while ((wait = scheduled - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            URI uri = requests.get((int) (i % requests.size()));
+            pending.add(client.sendAsync(request(uri), HttpResponse.BodyHandlers.ofByteArray())
+                    .whenComplete((response, failure) -> {
+                        if (failure != null || response.statusCode() != 200) errors.increment();
+                        histogram.record(System.nanoTime() - scheduled);
+                    }));
+            // Drop finished requests now and then so the list stays short
+            if (pending.size() >= 4096) pending.removeIf(CompletableFuture::isDone);
+        }
+
+        try {
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0]))
+                    .exceptionally(failure -> null)
+                    .get(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during load test", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Outstanding requests did not finish", e);
+        }
+        return new Result(histogram.snapshot(), errors.sum(), System.nanoTime() - start);
+    }
+
+    private static HttpRequest request(URI uri) {
+        return HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    /**
+     * Outcome of one load test.
+     */
+    public static final class Result {
+        private final LatencyHistogram.Snapshot latency;
+        private final long errors;
+        private final long durationNanos;
+
+        Result(LatencyHistogram.Snapshot latency, long errors, long durationNanos) {
+            this.latency = latency;
+            this.errors = errors;
+            this.durationNanos = durationNanos;
+        }
+
+        /**
+         * @return latencies of all requests, including failed ones
+         */
+        public LatencyHistogram.Snapshot getLatency() {
+            return latency;
+        }
+
+        public long getRequests() {
+            return latency.getCount();
+        }
+
+        /**
+         * @return requests that failed or did not answer 200
+         */
+        public long getErrors() {
+            return errors;
+        }
+
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        /**
+         * @return completed requests per second
+         */
+        public double getThroughput() {
+            return durationNanos == 0 ? 0.0 : latency.getCount() * 1e9 / durationNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("requests=%d, errors=%d, throughput=%.1f/s, %s",
+                    getRequests(), errors, getThroughput(), latency);
+        }
+    }
+}
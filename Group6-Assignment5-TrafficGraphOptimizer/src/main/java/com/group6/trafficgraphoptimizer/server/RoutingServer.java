@@ -0,0 +1,277 @@
+package com.group6.trafficgraphoptimizer.server;
+
+import com.group6.trafficgraphoptimizer.experiment.GraphGenerator;
+import com.group6.trafficgraphoptimizer.graph.CompactGraph;
+import com.group6.trafficgraphoptimizer.graph.EdgeListImporter;
+import com.group6.trafficgraphoptimizer.graph.GraphFile;
+import com.group6.trafficgraphoptimizer.graph.Node;
+import com.group6.trafficgraphoptimizer.router.DistanceMatrixRouter;
+import com.group6.trafficgraphoptimizer.router.RouteResult;
+import com.group6.trafficgraphoptimizer.router.RouteResultRouter;
+import com.group6.trafficgraphoptimizer.router.StaticRouter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * HTTP front end for a router on the JDK's built-in server. Endpoints, all
+ * GET with JSON responses:
+ * - {@code /route?from=A&to=B}: the path, the cost the router chose it by
+ *   and its cost without traffic, {@code found=false} if none, and the
+ *   number of nodes the search settled.
+ * - {@code /matrix?sources=A,B&targets=C,D}: costs from every source to every
+ *   target, {@code null} where unreachable.
+ * - {@code /health}: status and graph size.
+ * <p>
+ * Every request gets its own virtual thread when the JDK has them, otherwise
+ * a thread from a cached pool. The searches themselves run on a fixed pool
+ * with one platform thread per core: search workspaces are pooled per
+ * thread, so running them on short-lived virtual threads would allocate
+ * graph-sized arrays for every request. Responses are written by hand with
+ * {@link JsonWriter}.
+ */
+public class RoutingServer implements AutoCloseable {
+
+    /** Largest number of cells a single matrix request may ask for. */
+    public static final int MAX_MATRIX_CELLS = 100_000;
+
+    private final CompactGraph graph;
+    private final RouteResultRouter router;
+    private final ExecutorService searchPool;
+    private final DistanceMatrixRouter matrixRouter;
+    private final ExecutorService requestExecutor;
+    private final HttpServer server;
+
+    /**
+     * Creates and starts a server.
+     *
+     * @param graph  the snapshot the router works on, used for the matrix
+     * @param router answers route requests with their costs
+     * @param port   the port to listen on, 0 for any free port
+     * @throws IOException if the port cannot be bound
+     */
+    public RoutingServer(CompactGraph graph, RouteResultRouter router, int port) throws IOException {
+        this.graph = graph;
+        this.router = Objects.requireNonNull(router);
+        int cores = Runtime.getRuntime().availableProcessors();
+        this.searchPool = Executors.newFixedThreadPool(cores, daemonThreads("routing-search"));
+        this.matrixRouter = new DistanceMatrixRouter(graph, searchPool, cores);
+        this.requestExecutor = newRequestExecutor();
+
+        this.server = HttpServer.create(new InetSocketAddress(port), 1024);
+        server.createContext("/route", exchange -> respond(exchange, this::route));
+        server.createContext("/matrix", exchange -> respond(exchange, this::matrix));
+        server.createContext("/health", exchange -> respond(exchange, this::health));
+        server.setExecutor(requestExecutor);
+        server.start();
+    }
+
+    /**
+     * Starts a server from the command line, e.g.
+     * {@code --port=8080 --graph=roads.gr} or {@code --nodes=100000 --topology=grid}.
+     * Graph files ending in .tgf are mapped, .gr read as DIMACS and anything
+     * else as a CSV edge list; without a file a graph is generated.
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = parseOptions(args);
+        int port = Integer.parseInt(options.getOrDefault("port", "8080"));
+        CompactGraph graph = loadGraph(options);
+        RoutingServer server = new RoutingServer(graph, new StaticRouter(graph, StaticRouter.Mode.BIDIRECTIONAL), port);
+        System.out.println("Serving " + graph.nodeCount() + " nodes and " + graph.edgeCount()
+                + " edges on port " + server.getPort());
+    }
+
+    /**
+     * @return the port the server listens on
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops accepting requests, waits up to a second for running ones and
+     * shuts the thread pools down.
+     */
+    @Override
+    public void close() {
+        server.stop(1);
+        requestExecutor.shutdown();
+        searchPool.shutdown();
+    }
+
+    /**
+     * Creates an executor that starts a virtual thread per task, or a cached
+     * pool of daemon threads on JDKs without virtual threads. Looked up
+     * reflectively so the code still builds for Java 17.
+     *
+     * @return the executor
+     */
+    public static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(daemonThreads("routing-request"));
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        ThreadFactory defaults = Executors.defaultThreadFactory();
+        return task -> {
+            Thread thread = defaults.newThread(task);
+            thread.setName(prefix + "-" + thread.getName());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private void route(Map<String, String> query, JsonWriter json) throws Exception {
+        Node from = new Node(required(query, "from"));
+        Node to = new Node(required(query, "to"));
+        RouteResult result = searchPool.submit(() -> router.route(from, to)).get();
+
+        json.beginObject()
+                .name("from").value(from.getId())
+                .name("to").value(to.getId())
+                .name("found").value(result.isFound());
+        if (result.isFound()) {
+            json.name("cost").value(result.getAdjustedCost());
+            json.name("baseCost").value(result.getBaseCost());
+            json.name("path").beginArray();
+            for (Node node : result.getPath()) {
+                json.value(node.getId());
+            }
+            json.endArray();
+        }
+        json.name("settledNodes").value(result.getSettledNodes());
+        json.endObject();
+    }
+
+    private void matrix(Map<String, String> query, JsonWriter json) {
+        List<Node> sources = nodeList(required(query, "sources"));
+        List<Node> targets = nodeList(required(query, "targets"));
+        if ((long) sources.size() * targets.size() > MAX_MATRIX_CELLS) {
+            throw new IllegalArgumentException("Matrix larger than " + MAX_MATRIX_CELLS + " cells");
+        }
+        double[] costs = matrixRouter.computeMatrix(sources, targets);
+
+        json.beginObject().name("sources").beginArray();
+        for (Node node : sources) {
+            json.value(node.getId());
+        }
+        json.endArray().name("targets").beginArray();
+        for (Node node : targets) {
+            json.value(node.getId());
+        }
+        json.endArray().name("costs").beginArray();
+        for (int i = 0; i < sources.size(); i++) {
+            json.beginArray();
+            for (int j = 0; j < targets.size(); j++) {
+                json.value(costs[i * targets.size() + j]);
+            }
+            json.endArray();
+        }
+        json.endArray().endObject();
+    }
+
+    private void health(Map<String, String> query, JsonWriter json) {
+        json.beginObject()
+                .name("status").value("ok")
+                .name("nodes").value(graph.nodeCount())
+                .name("edges").value(graph.edgeCount())
+                .endObject();
+    }
+
+    private interface Handler {
+        void handle(Map<String, String> query, JsonWriter json) throws Exception;
+    }
+
+    private static void respond(HttpExchange exchange, Handler handler) throws IOException {
+        int status = 200;
+        JsonWriter json = new JsonWriter();
+        try {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                status = 405;
+                json.beginObject().name("error").value("Only GET is supported").endObject();
+            } else {
+                handler.handle(parseQuery(exchange.getRequestURI().getRawQuery()), json);
+            }
+        } catch (IllegalArgumentException e) {
+            status = 400;
+            json = new JsonWriter().beginObject().name("error").value(e.getMessage()).endObject();
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+            status = 500;
+            json = new JsonWriter().beginObject().name("error").value(String.valueOf(e)).endObject();
+        }
+
+        byte[] body = json.toBytes();
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) return query;
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            query.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    private static String required(Map<String, String> query, String key) {
+        String value = query.get(key);
+        if (value == null || value.isEmpty()) throw new IllegalArgumentException("Missing parameter '" + key + "'");
+        return value;
+    }
+
+    private static List<Node> nodeList(String ids) {
+        List<Node> nodes = new ArrayList<>();
+        for (String id : ids.split(",")) {
+            if (!id.isEmpty()) nodes.add(new Node(id));
+        }
+        return nodes;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --key=value but got '" + arg + "'");
+            }
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    private static CompactGraph loadGraph(Map<String, String> options) throws IOException {
+        String file = options.get("graph");
+        if (file != null) {
+            Path path = Path.of(file);
+            if (file.endsWith(".tgf")) return GraphFile.map(path);
+            if (file.endsWith(".gr")) return EdgeListImporter.readDimacs(path);
+            return EdgeListImporter.readCsv(path);
+        }
+        int nodes = Integer.parseInt(options.getOrDefault("nodes", "10000"));
+        Random random = new Random(Long.parseLong(options.getOrDefault("seed", "42")));
+        if (options.getOrDefault("topology", "random").equals("grid")) {
+            int side = (int) Math.ceil(Math.sqrt(nodes));
+            return GraphGenerator.grid(side, side, random).snapshot();
+        }
+        return GraphGenerator.random(nodes, nodes * 4, random).snapshot();
+    }
+}
@@ -0,0 +1,28 @@
+package com.group6.trafficgraphoptimizer.traffic;
+
+import com.group6.trafficgraphoptimizer.graph.Node;
+
+import java.util.Objects;
+
+/**
+ * Uses the live weights of a {@link TrafficOverlay}. Each query pins the
+ * overlay's current epoch, so a publish during the query has no effect on it.
+ */
+public class OverlayTrafficModel implements TrafficModel {
+
+    private final TrafficOverlay overlay;
+
+    public OverlayTrafficModel(TrafficOverlay overlay) {
+        this.overlay = Objects.requireNonNull(overlay);
+    }
+
+    @Override
+    public EdgeCosts forQuery(Node source, Node target) {
+        WeightEpoch epoch = overlay.current();
+        return epoch::weight;
+    }
+
+    public TrafficOverlay getOverlay() {
+        return overlay;
+    }
+}
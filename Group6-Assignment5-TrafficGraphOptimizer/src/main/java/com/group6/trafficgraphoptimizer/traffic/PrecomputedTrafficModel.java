@@ -0,0 +1,58 @@
+package com.group6.trafficgraphoptimizer.traffic;
+
+import com.group6.trafficgraphoptimizer.graph.Graph;
+import com.group6.trafficgraphoptimizer.graph.Node;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Applies a fixed congestion factor per edge, looked up by edge id. The
+ * factors are computed once up front, so a relaxation costs a single array
+ * read and queries are fully deterministic.
+ */
+public class PrecomputedTrafficModel implements TrafficModel {
+
+    private final double[] factors;
+    private final EdgeCosts costs;
+
+    /**
+     * Creates a model from per-edge factors.
+     *
+     * @param factors congestion factor of every edge, indexed by edge id; edges
+     *                beyond the array keep their base weight
+     */
+    public PrecomputedTrafficModel(double[] factors) {
+        this.factors = factors.clone();
+        double[] f = this.factors;
+        this.costs = (edgeId, baseWeight) -> edgeId < f.length ? baseWeight * f[edgeId] : baseWeight;
+    }
+
+    /**
+     * Draws a random factor in {@code [1, 1 + maxIncrease)} for every edge of a graph.
+     *
+     * @param graph       the road network
+     * @param maxIncrease largest fraction a cost can be raised by
+     * @param seed        random seed
+     * @return the model
+     */
+    public static PrecomputedTrafficModel random(Graph graph, double maxIncrease, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] factors = new double[graph.getEdgeCount()];
+        Arrays.setAll(factors, id -> 1.0 + random.nextDouble() * maxIncrease);
+        return new PrecomputedTrafficModel(factors);
+    }
+
+    @Override
+    public EdgeCosts forQuery(Node source, Node target) {
+        return costs;
+    }
+
+    /**
+     * @param edgeId the stable edge id
+     * @return the factor applied to the edge
+     */
+    public double factor(int edgeId) {
+        return edgeId < factors.length ? factors[edgeId] : 1.0;
+    }
+}
@@ -0,0 +1,55 @@
+package com.group6.trafficgraphoptimizer.traffic;
+
+import com.group6.trafficgraphoptimizer.graph.Node;
+
+import java.util.SplittableRandom;
+
+/**
+ * Simulates congestion by raising every edge cost by a random fraction.
+ * <p>
+ * Each query draws from its own {@link SplittableRandom}, seeded from the
+ * model seed and the query's endpoints, so threads never contend on a shared
+ * generator and the same query always sees the same traffic.
+ */
+public class RandomTrafficModel implements TrafficModel {
+
+    /** Default maximum increase, i.e. up to 20% slower. */
+    public static final double DEFAULT_MAX_INCREASE = 0.2;
+
+    private final double maxIncrease;
+    private final long seed;
+
+    /**
+     * Creates a model with the default spread and a random seed.
+     */
+    public RandomTrafficModel() {
+        this(DEFAULT_MAX_INCREASE, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Creates a reproducible model.
+     *
+     * @param maxIncrease largest fraction a cost can be raised by
+     * @param seed        seed that, together with the query endpoints, fixes the traffic
+     */
+    public RandomTrafficModel(double maxIncrease, long seed) {
+        if (!(maxIncrease >= 0)) throw new IllegalArgumentException("Max increase must not be negative: " + maxIncrease);
+        this.maxIncrease = maxIncrease;
+        this.seed = seed;
+    }
+
+    @Override
+    public EdgeCosts forQuery(Node source, Node target) {
+        long querySeed = seed ^ (31L * source.hashCode() + target.hashCode()) * 0x9E3779B97F4A7C15L;
+        SplittableRandom random = new SplittableRandom(querySeed);
+        return (edgeId, baseWeight) -> baseWeight * (1.0 + random.nextDouble() * maxIncrease);
+    }
+
+    public double getMaxIncrease() {
+        return maxIncrease;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+}
@@ -0,0 +1,60 @@
+package com.group6.trafficgraphoptimizer.traffic;
+
+import com.group6.trafficgraphoptimizer.graph.Node;
+
+import java.time.Clock;
+import java.time.LocalTime;
+import java.util.Objects;
+
+/**
+ * Scales all edge costs by a factor that depends on the time of day, linearly
+ * interpolated between 24 hourly values. The time is read once per query.
+ */
+public class TimeOfDayTrafficModel implements TrafficModel {
+
+    static final double[] RUSH_HOUR_PROFILE = {
+            1.0, 1.0, 1.0, 1.0, 1.0, 1.05, 1.2, 1.6, 1.8, 1.4, 1.2, 1.2,
+            1.3, 1.2, 1.2, 1.3, 1.5, 1.8, 1.7, 1.4, 1.2, 1.1, 1.05, 1.0
+    };
+
+    private final double[] hourlyFactors;
+    private final Clock clock;
+
+    /**
+     * Creates a model with morning and evening rush hours on the system clock.
+     */
+    public TimeOfDayTrafficModel() {
+        this(RUSH_HOUR_PROFILE, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Creates a model from an hourly profile.
+     *
+     * @param hourlyFactors factor at the start of each hour, exactly 24 values
+     * @param clock         source of the current time
+     */
+    public TimeOfDayTrafficModel(double[] hourlyFactors, Clock clock) {
+        if (hourlyFactors.length != 24) {
+            throw new IllegalArgumentException("Expected 24 hourly factors but got " + hourlyFactors.length);
+        }
+        this.hourlyFactors = hourlyFactors.clone();
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    @Override
+    public EdgeCosts forQuery(Node source, Node target) {
+        double factor = factorAt(LocalTime.now(clock));
+        return (edgeId, baseWeight) -> baseWeight * factor;
+    }
+
+    /**
+     * @param time a time of day
+     * @return the interpolated congestion factor at that time
+     */
+    public double factorAt(LocalTime time) {
+        double hour = time.toSecondOfDay() / 3600.0;
+        int h = (int) hour;
+        double t = hour - h;
+        return hourlyFactors[h] * (1 - t) + hourlyFactors[(h + 1) % 24] * t;
+    }
+}
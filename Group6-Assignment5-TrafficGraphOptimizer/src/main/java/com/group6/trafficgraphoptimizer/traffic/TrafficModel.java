@@ -0,0 +1,38 @@
+package com.group6.trafficgraphoptimizer.traffic;
+
+import com.group6.trafficgraphoptimizer.graph.Node;
+
+/**
+ * Source of traffic-adjusted edge costs for the adaptive router.
+ * <p>
+ * The router asks the model once per query for an {@link EdgeCosts} function
+ * and applies it to every edge it relaxes. The returned function is only used
+ * by the querying thread, so it may keep per-query state (such as its own
+ * random generator) without any synchronization.
+ */
+@FunctionalInterface
+public interface TrafficModel {
+
+    /**
+     * Prepares the edge costs for one query.
+     *
+     * @param source the starting node of the query
+     * @param target the destination node of the query
+     * @return the cost function to use for this query only
+     */
+    EdgeCosts forQuery(Node source, Node target);
+
+    /**
+     * Per-query cost function.
+     */
+    @FunctionalInterface
+    interface EdgeCosts {
+
+        /**
+         * @param edgeId     the stable {@link com.group6.trafficgraphoptimizer.graph.Edge#getId()}
+         * @param baseWeight the edge's weight in the graph
+         * @return the traffic-adjusted cost
+         */
+        double cost(int edgeId, double baseWeight);
+    }
+}
@@ -0,0 +1,96 @@
+package com.group6.trafficgraphoptimizer.traffic;
+
+import com.group6.trafficgraphoptimizer.graph.CompactGraph;
+import com.group6.trafficgraphoptimizer.graph.Graph;
+
+/**
+ * Live traffic weights layered over a graph without mutating its edges.
+ * <p>
+ * Weights live in a primitive array keyed by {@link com.group6.trafficgraphoptimizer.graph.Edge#getId()}.
+ * Updates arrive in batches; each publish copies the current array, applies
+ * the batch and swaps in a new immutable {@link WeightEpoch}. Readers just
+ * read the volatile current epoch, so they never block or see a half-applied
+ * batch. Publishing is serialized.
+ * <p>
+ * The overlay covers the edges that existed when it was created; edges added
+ * to the graph later keep their base weight.
+ */
+public class TrafficOverlay {
+
+    // Weights at overlay creation, the reference for congestion factors
+    private final double[] baseWeights;
+
+    private volatile WeightEpoch current;
+
+    /**
+     * Creates an overlay whose first epoch holds the graph's current weights.
+     *
+     * @param graph the road network
+     */
+    public TrafficOverlay(Graph graph) {
+        CompactGraph snapshot = graph.snapshot();
+        double[] weights = new double[graph.getEdgeCount()];
+        for (int e = 0; e < snapshot.edgeCount(); e++) {
+            weights[snapshot.edgeId(e)] = snapshot.weight(e);
+        }
+        this.baseWeights = weights;
+        this.current = new WeightEpoch(0, weights.clone());
+    }
+
+    /**
+     * Pins the latest epoch. Callers should keep using the returned epoch for
+     * the whole query.
+     *
+     * @return the current epoch
+     */
+    public WeightEpoch current() {
+        return current;
+    }
+
+    /**
+     * @return version of the current epoch
+     */
+    public long getVersion() {
+        return current.getVersion();
+    }
+
+    /**
+     * Applies a batch of updates and publishes them as a new epoch. Epochs
+     * already pinned by readers are not affected.
+     *
+     * @param batch the updates to apply
+     * @return the newly published epoch, or the current one if the batch is empty
+     * @throws IllegalArgumentException if the batch touches an edge the overlay does not cover
+     */
+    public synchronized WeightEpoch publish(TrafficUpdateBatch batch) {
+        WeightEpoch previous = current;
+        if (batch.isEmpty()) return previous;
+
+        int maxEdgeId = batch.maxEdgeId();
+        if (maxEdgeId >= baseWeights.length) {
+            throw new IllegalArgumentException("Edge " + maxEdgeId + " is not covered by this overlay");
+        }
+        double[] weights = previous.copyWeights();
+        batch.applyTo(weights, baseWeights);
+
+        WeightEpoch next = new WeightEpoch(previous.getVersion() + 1, weights);
+        current = next;
+        return next;
+    }
+
+    /**
+     * Gets the weight an edge had when the overlay was created.
+     *
+     * @param edgeId the stable edge id
+     * @return the base weight, or NaN for edges added later
+     */
+    public double baseWeight(int edgeId) {
+        return edgeId >= 0 && edgeId < baseWeights.length ? baseWeights[edgeId] : Double.NaN;
+    }
+
+    @Override
+    public String toString() {
+        return "TrafficOverlay[edges=" + baseWeights.length + ", version=" + current.getVersion() + "]";
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.group6.trafficgraphoptimizer.traffic;
+
+import java.util.Arrays;
+
+/**
+ * A batch of edge weight changes collected from a traffic feed and applied
+ * to a {@link TrafficOverlay} in one publish. Later entries for the same edge
+ * win. Not thread-safe; each feed thread fills its own batch.
+ */
+public class TrafficUpdateBatch {
+
+    private static final int ABSOLUTE = 0;
+    private static final int FACTOR = 1;
+
+    private int size;
+    private int[] edgeIds = new int[16];
+    private double[] values = new double[16];
+    private byte[] kinds = new byte[16];
+
+    /**
+     * Sets the live weight of an edge.
+     *
+     * @param edgeId the stable edge id
+     * @param weight the new weight
+     * @return this batch
+     */
+    public TrafficUpdateBatch setWeight(int edgeId, double weight) {
+        return add(edgeId, weight, ABSOLUTE);
+    }
+
+    /**
+     * Sets the live weight of an edge relative to its base weight, e.g. 1.5 for
+     * 50% slower traffic.
+     *
+     * @param edgeId the stable edge id
+     * @param factor multiplier applied to the base weight
+     * @return this batch
+     */
+    public TrafficUpdateBatch setCongestion(int edgeId, double factor) {
+        return add(edgeId, factor, FACTOR);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all collected updates so the batch can be reused.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    int maxEdgeId() {
+        int max = -1;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, edgeIds[i]);
+        }
+        return max;
+    }
+
+    void applyTo(double[] weights, double[] baseWeights) {
+        for (int i = 0; i < size; i++) {
+            int id = edgeIds[i];
+            if (kinds[i] == ABSOLUTE) {
+                weights[id] = values[i];
+            } else {
+                weights[id] = baseWeights[id] * values[i];
+            }
+        }
+    }
+
+    private TrafficUpdateBatch add(int edgeId, double value, int kind) {
+        if (edgeId < 0) throw new IllegalArgumentException("Edge id must not be negative: " + edgeId);
+        if (!(value >= 0)) throw new IllegalArgumentException("Weight must be a non-negative number: " + value);
+        if (size == edgeIds.length) {
+            int capacity = size * 2;
+            edgeIds = Arrays.copyOf(edgeIds, capacity);
+            values = Arrays.copyOf(values, capacity);
+            kinds = Arrays.copyOf(kinds, capacity);
+        }
+        edgeIds[size] = edgeId;
+        values[size] = value;
+        kinds[size] = (byte) kind;
+        size++;
+        return this;
+    }
+}
@@ -0,0 +1,312 @@
+package com.group6.trafficgraphoptimizer.traffic;
+
+import com.group6.trafficgraphoptimizer.graph.CompactGraph;
+
+import java.util.Arrays;
+
+/**
+ * Time-dependent travel times for all edges of a graph, as periodic
+ * piecewise-linear functions of the departure time.
+ * <p>
+ * Profiles are stored as shared shapes: a shape is a list of breakpoints
+ * (departure time, factor) and the travel time of an edge leaving at time
+ * {@code t} is its base weight times the shape's factor at {@code t},
+ * interpolated linearly between breakpoints and wrapping around the period.
+ * All breakpoints live in two flat arrays and each edge only stores the
+ * index of its shape, so millions of edges with a handful of road classes
+ * cost one int per edge. Edges without a shape keep their base weight at all
+ * times.
+ * <p>
+ * Times are in the unit of the edge weights. Travel times must satisfy the
+ * FIFO property, i.e. leaving later never means arriving earlier; see
+ * {@link #checkFifo(CompactGraph)}.
+ */
+public final class TravelTimeProfiles {
+
+    /** Period of daily profiles when weights are in minutes. */
+    public static final double MINUTES_PER_DAY = 1440.0;
+
+    private final double period;
+
+    // shapeOffsets[s]..shapeOffsets[s + 1] index the breakpoints of shape s
+    private final int[] shapeOffsets;
+    private final double[] times;
+    private final double[] factors;
+    private final double[] minFactors;
+    private final double[] minSlopes;
+
+    // Shape of each edge id, -1 for a constant travel time
+    private final int[] shapeOfEdge;
+
+    private TravelTimeProfiles(Builder builder) {
+        this.period = builder.period;
+        this.shapeOffsets = Arrays.copyOf(builder.shapeOffsets, builder.shapeCount + 1);
+        this.times = Arrays.copyOf(builder.times, builder.pointCount);
+        this.factors = Arrays.copyOf(builder.factors, builder.pointCount);
+        this.shapeOfEdge = builder.shapeOfEdge.clone();
+        this.minFactors = new double[builder.shapeCount];
+        this.minSlopes = new double[builder.shapeCount];
+        for (int s = 0; s < builder.shapeCount; s++) {
+            double min = Double.POSITIVE_INFINITY;
+            double slope = Double.POSITIVE_INFINITY;
+            for (int i = shapeOffsets[s]; i < shapeOffsets[s + 1]; i++) {
+                min = Math.min(min, factors[i]);
+                int next = i + 1 < shapeOffsets[s + 1] ? i + 1 : shapeOffsets[s];
+                double dt = times[next] - times[i] + (next <= i ? period : 0);
+                slope = Math.min(slope, (factors[next] - factors[i]) / dt);
+            }
+            minFactors[s] = min;
+            minSlopes[s] = slope;
+        }
+    }
+
+    /**
+     * Creates profiles where every edge follows the morning and evening rush
+     * hours of {@link TimeOfDayTrafficModel}, with times in minutes.
+     *
+     * @param edgeCount number of edge ids to cover
+     * @return the profiles
+     */
+    public static TravelTimeProfiles rushHour(int edgeCount) {
+        return hourly(TimeOfDayTrafficModel.RUSH_HOUR_PROFILE, edgeCount);
+    }
+
+    /**
+     * Creates profiles where every edge follows the same hourly congestion
+     * shape, with times in minutes.
+     *
+     * @param hourlyFactors factor at the start of each hour, exactly 24 values
+     * @param edgeCount     number of edge ids to cover
+     * @return the profiles
+     */
+    public static TravelTimeProfiles hourly(double[] hourlyFactors, int edgeCount) {
+        if (hourlyFactors.length != 24) {
+            throw new IllegalArgumentException("Expected 24 hourly factors but got " + hourlyFactors.length);
+        }
+        double[] times = new double[24];
+        for (int h = 0; h < 24; h++) {
+            times[h] = h * 60.0;
+        }
+        Builder builder = builder(MINUTES_PER_DAY, edgeCount);
+        int shape = builder.addShape(times, hourlyFactors);
+        for (int id = 0; id < edgeCount; id++) {
+            builder.assign(id, shape);
+        }
+        return builder.build();
+    }
+
+    /**
+     * @param period    length of one cycle, e.g. {@link #MINUTES_PER_DAY}
+     * @param edgeCount number of edge ids the profiles cover
+     * @return a builder with no shapes and every edge constant
+     */
+    public static Builder builder(double period, int edgeCount) {
+        return new Builder(period, edgeCount);
+    }
+
+    public double getPeriod() {
+        return period;
+    }
+
+    public int shapeCount() {
+        return minFactors.length;
+    }
+
+    /**
+     * @param edgeId an edge id
+     * @return the shape of the edge, or -1 if its travel time is constant
+     */
+    public int shapeOf(int edgeId) {
+        return edgeId < shapeOfEdge.length ? shapeOfEdge[edgeId] : -1;
+    }
+
+    /**
+     * @param shape a shape index
+     * @return index of the first breakpoint of the shape
+     */
+    public int firstPoint(int shape) {
+        return shapeOffsets[shape];
+    }
+
+    /**
+     * @param shape a shape index
+     * @return one past the index of the last breakpoint of the shape
+     */
+    public int endPoint(int shape) {
+        return shapeOffsets[shape + 1];
+    }
+
+    /**
+     * @param point a breakpoint index
+     * @return its departure time within the period
+     */
+    public double pointTime(int point) {
+        return times[point];
+    }
+
+    /**
+     * @param point a breakpoint index
+     * @return the factor at that breakpoint
+     */
+    public double pointFactor(int point) {
+        return factors[point];
+    }
+
+    /**
+     * Gets the travel time of an edge.
+     *
+     * @param edgeId     the edge id
+     * @param baseWeight the static weight of the edge
+     * @param departure  the time the edge is entered, any real number
+     * @return the travel time
+     */
+    public double travelTime(int edgeId, double baseWeight, double departure) {
+        int shape = shapeOf(edgeId);
+        return shape < 0 ? baseWeight : baseWeight * factorAt(shape, departure);
+    }
+
+    /**
+     * @param edgeId     the edge id
+     * @param baseWeight the static weight of the edge
+     * @return the smallest travel time of the edge at any time
+     */
+    public double lowerBound(int edgeId, double baseWeight) {
+        int shape = shapeOf(edgeId);
+        return shape < 0 ? baseWeight : baseWeight * minFactors[shape];
+    }
+
+    /**
+     * Evaluates a shape, interpolating between breakpoints across the period boundary.
+     *
+     * @param shape the shape index
+     * @param time  any time; only its position within the period matters
+     * @return the factor at that time
+     */
+    public double factorAt(int shape, double time) {
+        int first = shapeOffsets[shape];
+        int last = shapeOffsets[shape + 1] - 1;
+        if (first == last) return factors[first];
+        double t = time - Math.floor(time / period) * period;
+        if (t >= period) t = 0; // rounding just below a multiple of the period
+
+        // Segment containing t, wrapping from the last breakpoint to the first of the next period
+        double startTime;
+        double stopTime;
+        int lo;
+        int hi;
+        if (t < times[first]) {
+            lo = last;
+            hi = first;
+            startTime = times[last] - period;
+            stopTime = times[first];
+        } else {
+            lo = first;
+            int right = last;
+            while (lo < right) {
+                int mid = (lo + right + 1) >>> 1;
+                if (times[mid] <= t) lo = mid;
+                else right = mid - 1;
+            }
+            hi = lo == last ? first : lo + 1;
+            startTime = times[lo];
+            stopTime = lo == last ? times[first] + period : times[hi];
+        }
+        double fraction = (t - startTime) / (stopTime - startTime);
+        return factors[lo] + (factors[hi] - factors[lo]) * fraction;
+    }
+
+    /**
+     * Checks the FIFO property for every edge of a graph: the travel time may
+     * not drop faster than time passes, so a later departure never arrives
+     * earlier.
+     *
+     * @param graph the graph whose edge ids and base weights the profiles apply to
+     * @throws IllegalArgumentException if an edge violates FIFO
+     */
+    public void checkFifo(CompactGraph graph) {
+        for (int e = 0; e < graph.edgeCount(); e++) {
+            int shape = shapeOf(graph.edgeId(e));
+            if (shape >= 0 && graph.weight(e) * minSlopes[shape] < -1.0) {
+                throw new IllegalArgumentException("Edge " + graph.edgeId(e) + " with weight " + graph.weight(e)
+                        + " violates FIFO under shape " + shape);
+            }
+        }
+    }
+
+    /**
+     * Collects shapes and assigns them to edges.
+     */
+    public static final class Builder {
+        private final double period;
+        private final int[] shapeOfEdge;
+        private int[] shapeOffsets = new int[8];
+        private double[] times = new double[64];
+        private double[] factors = new double[64];
+        private int shapeCount;
+        private int pointCount;
+
+        private Builder(double period, int edgeCount) {
+            if (!(period > 0) || Double.isInfinite(period)) {
+                throw new IllegalArgumentException("Period must be positive: " + period);
+            }
+            if (edgeCount < 0) throw new IllegalArgumentException("Edge count must not be negative: " + edgeCount);
+            this.period = period;
+            this.shapeOfEdge = new int[edgeCount];
+            Arrays.fill(shapeOfEdge, -1);
+        }
+
+        /**
+         * Adds a shape.
+         *
+         * @param times   breakpoint times, strictly increasing within {@code [0, period)}
+         * @param factors positive factor at each breakpoint
+         * @return the index of the new shape
+         */
+        public int addShape(double[] times, double[] factors) {
+            if (times.length == 0 || times.length != factors.length) {
+                throw new IllegalArgumentException("Need the same positive number of times and factors");
+            }
+            for (int i = 0; i < times.length; i++) {
+                if (!(times[i] >= 0 && times[i] < period) || (i > 0 && !(times[i] > times[i - 1]))) {
+                    throw new IllegalArgumentException("Times must increase strictly within the period: " + times[i]);
+                }
+                if (!(factors[i] > 0) || Double.isInfinite(factors[i])) {
+                    throw new IllegalArgumentException("Factors must be positive: " + factors[i]);
+                }
+            }
+            if (shapeCount + 2 > shapeOffsets.length) {
+                shapeOffsets = Arrays.copyOf(shapeOffsets, shapeOffsets.length * 2);
+            }
+            if (pointCount + times.length > this.times.length) {
+                int capacity = Math.max(this.times.length * 2, pointCount + times.length);
+                this.times = Arrays.copyOf(this.times, capacity);
+                this.factors = Arrays.copyOf(this.factors, capacity);
+            }
+            System.arraycopy(times, 0, this.times, pointCount, times.length);
+            System.arraycopy(factors, 0, this.factors, pointCount, times.length);
+            pointCount += times.length;
+            shapeOffsets[++shapeCount] = pointCount;
+            return shapeCount - 1;
+        }
+
+        /**
+         * Gives an edge a shape.
+         *
+         * @param edgeId the edge id
+         * @param shape  a shape index, or -1 for a constant travel time
+         * @return this builder
+         */
+        public Builder assign(int edgeId, int shape) {
+            if (edgeId < 0 || edgeId >= shapeOfEdge.length) {
+                throw new IllegalArgumentException("Edge id out of range: " + edgeId);
+            }
+            if (shape < -1 || shape >= shapeCount) throw new IllegalArgumentException("Unknown shape: " + shape);
+            shapeOfEdge[edgeId] = shape;
+            return this;
+        }
+
+        public TravelTimeProfiles build() {
+            return new TravelTimeProfiles(this);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.group6.trafficgraphoptimizer.traffic;
+
+/**
+ * Immutable set of live edge weights published by a {@link TrafficOverlay}.
+ * A router pins one epoch for the whole query, so concurrent updates never
+ * change weights underneath a running search.
+ */
+public final class WeightEpoch {
+
+    private final long version;
+
+    // Indexed by Edge#getId()
+    private final double[] weights;
+
+    WeightEpoch(long version, double[] weights) {
+        this.version = version;
+        this.weights = weights;
+    }
+
+    /**
+     * @return version of this epoch, increasing with every publish
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return number of edges covered by this epoch
+     */
+    public int size() {
+        return weights.length;
+    }
+
+    /**
+     * Gets the live weight of an edge.
+     *
+     * @param edgeId     the stable edge id
+     * @param baseWeight weight to fall back to for edges the epoch does not cover
+     * @return the live weight
+     */
+    public double weight(int edgeId, double baseWeight) {
+        return edgeId >= 0 && edgeId < weights.length ? weights[edgeId] : baseWeight;
+    }
+
+    double[] copyWeights() {
+        return weights.clone();
+    }
+}
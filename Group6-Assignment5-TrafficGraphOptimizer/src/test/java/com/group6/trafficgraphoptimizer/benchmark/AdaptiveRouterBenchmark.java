@@ -0,0 +1,73 @@
+package com.group6.trafficgraphoptimizer.benchmark;
+
+import com.group6.trafficgraphoptimizer.experiment.GraphGenerator;
+import com.group6.trafficgraphoptimizer.graph.Graph;
+import com.group6.trafficgraphoptimizer.graph.Node;
+import com.group6.trafficgraphoptimizer.router.AdaptiveRouter;
+import com.group6.trafficgraphoptimizer.traffic.PrecomputedTrafficModel;
+import com.group6.trafficgraphoptimizer.traffic.RandomTrafficModel;
+import com.group6.trafficgraphoptimizer.traffic.TrafficModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures adaptive routing throughput with the original shared
+ * {@code Math.random()} cost function against the contention-free traffic
+ * models. Run with several thread counts to see the scaling, e.g.
+ * {@code -Djmh.args="AdaptiveRouterBenchmark -t 1"} and then {@code -t 4}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AdaptiveRouterBenchmark {
+
+    @Param({ "10000", "100000" })
+    public int nodes;
+
+    @Param({ "mathRandom", "seeded", "precomputed" })
+    public String model;
+
+    private AdaptiveRouter router;
+    private Node[] nodeArray;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Graph graph = GraphGenerator.random(nodes, nodes * 4, new Random(42));
+        nodeArray = graph.getNodes().toArray(new Node[0]);
+        router = new AdaptiveRouter(graph, createModel(graph));
+        graph.snapshot();
+    }
+
+    private TrafficModel createModel(Graph graph) {
+        switch (model) {
+            case "mathRandom":
+                return (source, target) -> (edgeId, baseWeight) -> baseWeight * (1.0 + Math.random() * 0.2);
+            case "seeded":
+                return new RandomTrafficModel(0.2, 42L);
+            case "precomputed":
+                return PrecomputedTrafficModel.random(graph, 0.2, 42L);
+            default:
+                throw new IllegalArgumentException("Unknown model: " + model);
+        }
+    }
+
+    /**
+     * Per-thread query generator, so picking endpoints is not shared either.
+     */
+    @State(Scope.Thread)
+    public static class Queries {
+        private final SplittableRandom random = new SplittableRandom(Thread.currentThread().getId());
+    }
+
+    @Benchmark
+    public List<Node> route(Queries queries) {
+        Node start = nodeArray[queries.random.nextInt(nodeArray.length)];
+        Node end = nodeArray[queries.random.nextInt(nodeArray.length)];
+        return router.findShortestPath(start, end);
+    }
+}
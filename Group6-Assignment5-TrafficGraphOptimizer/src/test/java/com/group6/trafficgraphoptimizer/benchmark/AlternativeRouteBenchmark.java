@@ -0,0 +1,65 @@
+package com.group6.trafficgraphoptimizer.benchmark;
+
+import com.group6.trafficgraphoptimizer.graph.Graph;
+import com.group6.trafficgraphoptimizer.graph.Node;
+import com.group6.trafficgraphoptimizer.router.AlternativeRouter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of a K=3 route query. "yenReverseTree" is Yen's algorithm with
+ * spur searches answered from the shared reverse tree, "yenNaive" runs a
+ * plain Dijkstra search for every spur node, and "penalty" is the
+ * penalty-method alternative-route mode.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AlternativeRouteBenchmark {
+
+    private static final int QUERIES = 256;
+    private static final int K = 3;
+
+    @Param({ "10000", "100000" })
+    public int nodes;
+
+    @Param({ "random", "grid" })
+    public String topology;
+
+    @Param({ "yenReverseTree", "yenNaive", "penalty" })
+    public String strategy;
+
+    private AlternativeRouter router;
+    private Node[] starts;
+    private Node[] ends;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Graph graph = BenchmarkGraphs.create(topology, nodes, 42L);
+        router = new AlternativeRouter(graph.snapshot(), !strategy.equals("yenNaive"));
+
+        Node[] nodeArray = graph.getNodes().toArray(new Node[0]);
+        SplittableRandom random = new SplittableRandom(7L);
+        starts = new Node[QUERIES];
+        ends = new Node[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            starts[i] = nodeArray[random.nextInt(nodeArray.length)];
+            ends[i] = nodeArray[random.nextInt(nodeArray.length)];
+        }
+    }
+
+    @Benchmark
+    public List<List<Node>> routes() {
+        int i = next++ & (QUERIES - 1);
+        return strategy.equals("penalty")
+                ? router.findAlternatives(starts[i], ends[i], K)
+                : router.findKShortestPaths(starts[i], ends[i], K);
+    }
+}
@@ -0,0 +1,30 @@
+package com.group6.trafficgraphoptimizer.benchmark;
+
+import com.group6.trafficgraphoptimizer.experiment.GraphGenerator;
+import com.group6.trafficgraphoptimizer.graph.Graph;
+
+import java.util.Random;
+
+/**
+ * Graph fixtures shared by the benchmarks, selected by the {@code topology}
+ * parameter: "random" for uniformly random edges with average out-degree 4,
+ * "grid" for a square city-block grid of roughly the same node count.
+ */
+final class BenchmarkGraphs {
+
+    private BenchmarkGraphs() {
+    }
+
+    static Graph create(String topology, int nodes, long seed) {
+        Random random = new Random(seed);
+        switch (topology) {
+            case "random":
+                return GraphGenerator.random(nodes, nodes * 4, random);
+            case "grid":
+                int side = (int) Math.ceil(Math.sqrt(nodes));
+                return GraphGenerator.grid(side, side, random);
+            default:
+                throw new IllegalArgumentException("Unknown topology: " + topology);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.group6.trafficgraphoptimizer.benchmark;
+
+import com.group6.trafficgraphoptimizer.graph.CompactGraph;
+import com.group6.trafficgraphoptimizer.graph.Node;
+import com.group6.trafficgraphoptimizer.router.DeltaSteppingSearch;
+import com.group6.trafficgraphoptimizer.router.DistanceMatrixRouter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One-to-all search time against thread count. "deltaStepping" runs the
+ * parallel search on a fixed pool of the given size; "dijkstra" is the
+ * single-threaded baseline, a one-row distance matrix to every node, and
+ * ignores the thread count.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeltaSteppingBenchmark {
+
+    private static final int SOURCES = 16;
+
+    @Param({ "1000000" })
+    public int nodes;
+
+    @Param({ "random", "grid" })
+    public String topology;
+
+    @Param({ "deltaStepping", "dijkstra" })
+    public String algorithm;
+
+    @Param({ "1", "2", "4", "8" })
+    public int threads;
+
+    private ExecutorService executor;
+    private DeltaSteppingSearch search;
+    private DistanceMatrixRouter matrix;
+    private List<Node> allNodes;
+    private Node[] sources;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CompactGraph graph = BenchmarkGraphs.create(topology, nodes, 42L).snapshot();
+        executor = Executors.newFixedThreadPool(threads);
+        search = new DeltaSteppingSearch(graph, executor, threads);
+        matrix = new DistanceMatrixRouter(graph, executor, 1);
+        allNodes = new ArrayList<>(graph.nodeCount());
+        for (int v = 0; v < graph.nodeCount(); v++) {
+            allNodes.add(graph.node(v));
+        }
+
+        SplittableRandom random = new SplittableRandom(7L);
+        sources = new Node[SOURCES];
+        for (int i = 0; i < SOURCES; i++) {
+            sources[i] = graph.node(random.nextInt(graph.nodeCount()));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public double[] oneToAll() {
+        Node source = sources[next++ & (SOURCES - 1)];
+        return algorithm.equals("dijkstra")
+                ? matrix.computeMatrix(List.of(source), allNodes)
+                : search.computeDistances(source);
+    }
+}
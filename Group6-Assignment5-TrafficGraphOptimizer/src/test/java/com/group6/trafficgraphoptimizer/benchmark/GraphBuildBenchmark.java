@@ -0,0 +1,86 @@
+package com.group6.trafficgraphoptimizer.benchmark;
+
+import com.group6.trafficgraphoptimizer.graph.CompactGraph;
+import com.group6.trafficgraphoptimizer.graph.Edge;
+import com.group6.trafficgraphoptimizer.graph.Graph;
+import com.group6.trafficgraphoptimizer.graph.GraphFile;
+import com.group6.trafficgraphoptimizer.graph.Node;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of loading a road network: inserting all edges with
+ * {@link Graph#addEdge} and freezing the result into a {@link CompactGraph},
+ * against mapping a prebuilt {@link GraphFile}. The edge list and the file
+ * are produced once per trial, so only the loading itself is measured.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class GraphBuildBenchmark {
+
+    @Param({ "10000", "100000", "1000000" })
+    public int nodes;
+
+    @Param({ "random", "grid" })
+    public String topology;
+
+    private Node[] from;
+    private Node[] to;
+    private double[] weights;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Graph source = BenchmarkGraphs.create(topology, nodes, 42L);
+        int m = source.getEdgeCount();
+        from = new Node[m];
+        to = new Node[m];
+        weights = new double[m];
+        for (Node node : source.getNodes()) {
+            for (Edge edge : source.getEdgesFrom(node)) {
+                from[edge.getId()] = edge.getFrom();
+                to[edge.getId()] = edge.getTo();
+                weights[edge.getId()] = edge.getWeight();
+            }
+        }
+        file = Files.createTempFile("graph", ".tgf");
+        GraphFile.write(source, file);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Graph addEdges() {
+        Graph graph = new Graph();
+        for (int i = 0; i < from.length; i++) {
+            graph.addEdge(from[i], to[i], weights[i]);
+        }
+        return graph;
+    }
+
+    @Benchmark
+    public CompactGraph addEdgesAndSnapshot() {
+        return addEdges().snapshot();
+    }
+
+    /**
+     * Maps the file and touches one node so the lookup path is included.
+     */
+    @Benchmark
+    public int mapGraphFile() throws IOException {
+        CompactGraph graph = GraphFile.map(file);
+        return graph.indexOf(graph.node(graph.nodeCount() / 2));
+    }
+}
@@ -0,0 +1,102 @@
+package com.group6.trafficgraphoptimizer.benchmark;
+
+import com.group6.trafficgraphoptimizer.experiment.GraphGenerator;
+import com.group6.trafficgraphoptimizer.graph.CompactGraph;
+import com.group6.trafficgraphoptimizer.graph.Edge;
+import com.group6.trafficgraphoptimizer.graph.Graph;
+import com.group6.trafficgraphoptimizer.graph.Node;
+import com.group6.trafficgraphoptimizer.router.IndexedMinHeap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares one-to-all Dijkstra driven by the original {@code PriorityQueue<Node>}
+ * against the indexed decrease-key heap on random graphs of 10k to 1M nodes.
+ * Only the indexed heap varies with the arity, so the baseline runs once per
+ * graph size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HeapBenchmark {
+
+    @Param({ "10000", "100000", "1000000" })
+    public int nodes;
+
+    private Graph graph;
+    private CompactGraph compact;
+    private Node source;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = GraphGenerator.random(nodes, nodes * 4, new Random(42));
+        compact = graph.snapshot();
+        source = compact.node(0);
+    }
+
+    /**
+     * Branching factor of the indexed heap.
+     */
+    @State(Scope.Benchmark)
+    public static class Arity {
+
+        @Param({ "2", "4", "8" })
+        public int arity;
+    }
+
+    /**
+     * The queue the routers used before: a comparator reading a mutable map, with
+     * a duplicate entry added on every improvement.
+     */
+    @Benchmark
+    public Map<Node, Double> priorityQueueOfNodes() {
+        Map<Node, Double> distances = new HashMap<>();
+        PriorityQueue<Node> queue = new PriorityQueue<>(Comparator.comparingDouble(distances::get));
+        for (Node node : graph.getNodes()) {
+            distances.put(node, Double.POSITIVE_INFINITY);
+        }
+        distances.put(source, 0.0);
+        queue.add(source);
+
+        while (!queue.isEmpty()) {
+            Node current = queue.poll();
+            for (Edge edge : graph.getEdgesFrom(current)) {
+                double newDist = distances.get(current) + edge.getWeight();
+                if (newDist < distances.get(edge.getTo())) {
+                    distances.put(edge.getTo(), newDist);
+                    queue.add(edge.getTo());
+                }
+            }
+        }
+        return distances;
+    }
+
+    @Benchmark
+    public double[] indexedHeap(Arity heap) {
+        int n = compact.nodeCount();
+        double[] distances = new double[n];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        IndexedMinHeap queue = new IndexedMinHeap(n, heap.arity);
+        int s = compact.indexOf(source);
+        distances[s] = 0.0;
+        queue.insertOrDecrease(s, 0.0);
+
+        while (!queue.isEmpty()) {
+            int current = queue.poll();
+            for (int e = compact.firstEdge(current), last = compact.endEdge(current); e < last; e++) {
+                int to = compact.target(e);
+                double newDist = distances[current] + compact.weight(e);
+                if (newDist < distances[to]) {
+                    distances[to] = newDist;
+                    queue.insertOrDecrease(to, newDist);
+                }
+            }
+        }
+        return distances;
+    }
+}
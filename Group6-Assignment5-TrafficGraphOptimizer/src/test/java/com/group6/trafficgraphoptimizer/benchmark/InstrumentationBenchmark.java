@@ -0,0 +1,75 @@
+package com.group6.trafficgraphoptimizer.benchmark;
+
+import com.group6.trafficgraphoptimizer.graph.Graph;
+import com.group6.trafficgraphoptimizer.graph.Node;
+import com.group6.trafficgraphoptimizer.router.RouteResult;
+import com.group6.trafficgraphoptimizer.router.StaticRouter;
+import jdk.jfr.Recording;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of the query instrumentation on the static router. "off" disables
+ * the counters and records nothing, "counters" only updates the JMX
+ * counters, and "jfr" additionally records a Flight Recorder event for every
+ * query. Small graphs keep queries short, so the overhead is visible.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InstrumentationBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({ "1000", "10000" })
+    public int nodes;
+
+    @Param({ "off", "counters", "jfr" })
+    public String instrumentation;
+
+    private StaticRouter router;
+    private Recording recording;
+    private Node[] starts;
+    private Node[] ends;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Graph graph = BenchmarkGraphs.create("random", nodes, 42L);
+        router = new StaticRouter(graph.snapshot());
+        router.getCounters().setEnabled(!instrumentation.equals("off"));
+        if (instrumentation.equals("jfr")) {
+            recording = new Recording();
+            recording.enable("com.group6.trafficgraphoptimizer.RoutingQuery").withThreshold(Duration.ZERO);
+            recording.setToDisk(false);
+            recording.start();
+        }
+
+        Node[] nodeArray = graph.getNodes().toArray(new Node[0]);
+        SplittableRandom random = new SplittableRandom(7L);
+        starts = new Node[QUERIES];
+        ends = new Node[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            starts[i] = nodeArray[random.nextInt(nodeArray.length)];
+            ends[i] = nodeArray[random.nextInt(nodeArray.length)];
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        router.getCounters().setEnabled(true);
+        if (recording != null) recording.close();
+    }
+
+    @Benchmark
+    public RouteResult route() {
+        int i = next++ & (QUERIES - 1);
+        return router.route(starts[i], ends[i]);
+    }
+}
@@ -0,0 +1,63 @@
+package com.group6.trafficgraphoptimizer.benchmark;
+
+import com.group6.trafficgraphoptimizer.metrics.MetricsLogger;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of recording route metrics with {@link MetricsLogger#log} and writing
+ * them out with {@link MetricsLogger#exportToCSV}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricsExportBenchmark {
+
+    @Param({ "1000", "100000" })
+    public int records;
+
+    private MetricsLogger logger;
+    private Path file;
+    private PrintStream originalOut;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        logger = fill(new MetricsLogger(), records);
+        file = Files.createTempFile("metrics", ".csv");
+        // exportToCSV reports every write on stdout; keep it out of the results
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.setOut(originalOut);
+        Files.deleteIfExists(file);
+    }
+
+    private static MetricsLogger fill(MetricsLogger logger, int count) {
+        for (int i = 0; i < count; i++) {
+            logger.log("N" + i, "N" + (i * 7 + 3), 12 + i % 40, 15.5 + i % 100, i % 5);
+        }
+        return logger;
+    }
+
+    @Benchmark
+    public MetricsLogger log() {
+        return fill(new MetricsLogger(), records);
+    }
+
+    @Benchmark
+    public void exportToCSV() {
+        logger.exportToCSV(file.toString());
+    }
+}
@@ -0,0 +1,100 @@
+package com.group6.trafficgraphoptimizer.benchmark;
+
+import com.group6.trafficgraphoptimizer.graph.CompactGraph;
+import com.group6.trafficgraphoptimizer.graph.Graph;
+import com.group6.trafficgraphoptimizer.graph.GraphFile;
+import com.group6.trafficgraphoptimizer.graph.Node;
+import com.group6.trafficgraphoptimizer.router.*;
+import com.group6.trafficgraphoptimizer.router.crp.CRPRouter;
+import com.group6.trafficgraphoptimizer.traffic.RandomTrafficModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point-to-point query latency of the routers on warmed-up snapshots, over
+ * random and grid topologies. Each invocation routes between a fresh random
+ * pair of nodes drawn from a fixed sequence, so every router sees the same
+ * queries. "staticMapped" runs the static router on a memory-mapped
+ * {@link GraphFile} instead of the heap snapshot.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RouterBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({ "10000", "100000" })
+    public int nodes;
+
+    @Param({ "random", "grid" })
+    public String topology;
+
+    @Param({ "static", "staticMapped", "bidirectional", "adaptive", "alt", "crp" })
+    public String router;
+
+    private Router instance;
+    private Node[] starts;
+    private Node[] ends;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Graph graph = BenchmarkGraphs.create(topology, nodes, 42L);
+        instance = createRouter(graph);
+
+        Node[] nodeArray = graph.getNodes().toArray(new Node[0]);
+        SplittableRandom random = new SplittableRandom(7L);
+        starts = new Node[QUERIES];
+        ends = new Node[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            starts[i] = nodeArray[random.nextInt(nodeArray.length)];
+            ends[i] = nodeArray[random.nextInt(nodeArray.length)];
+        }
+    }
+
+    private Router createRouter(Graph graph) {
+        switch (router) {
+            case "static":
+                return new StaticRouter(graph.snapshot());
+            case "staticMapped":
+                return new StaticRouter(mapped(graph));
+            case "bidirectional":
+                return new StaticRouter(graph.snapshot(), StaticRouter.Mode.BIDIRECTIONAL);
+            case "adaptive":
+                return new AdaptiveRouter(graph.snapshot(), new RandomTrafficModel(0.2, 42L));
+            case "alt":
+                return new AltRouter(graph);
+            case "crp":
+                return new CRPRouter(graph);
+            default:
+                throw new IllegalArgumentException("Unknown router: " + router);
+        }
+    }
+
+    private static CompactGraph mapped(Graph graph) {
+        try {
+            Path file = Files.createTempFile("router", ".tgf");
+            file.toFile().deleteOnExit();
+            GraphFile.write(graph, file);
+            return GraphFile.map(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Benchmark
+    public List<Node> route() {
+        int i = next++ & (QUERIES - 1);
+        return instance.findShortestPath(starts[i], ends[i]);
+    }
+}
@@ -0,0 +1,50 @@
+package com.group6.trafficgraphoptimizer.experiment;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ExperimentConfig class.
+ */
+public class ExperimentConfigTest {
+
+    @Test
+    void testDefaults() {
+        ExperimentConfig config = ExperimentConfig.parse();
+        assertEquals(10_000, config.getNodes(), "Default node count");
+        assertEquals(40_000, config.getEdges(), "Edges should default to four per node");
+        assertEquals(config.getQueries() / 10, config.getWarmupQueries(), "Warmup should default to a tenth");
+        assertEquals("random", config.getTopology(), "Default topology");
+        assertTrue(config.getThreads() >= 1, "At least one thread");
+    }
+
+    @Test
+    void testParseAllOptions() {
+        ExperimentConfig config = ExperimentConfig.parse("--nodes=2000000", "--edges=5000000", "--queries=500",
+                "--warmup=0", "--threads=8", "--seed=7", "--routers=ch, static,ch", "--topology=grid",
+                "--output=out.csv");
+        assertEquals(2_000_000, config.getNodes());
+        assertEquals(5_000_000, config.getEdges());
+        assertEquals(500, config.getQueries());
+        assertEquals(0, config.getWarmupQueries());
+        assertEquals(8, config.getThreads());
+        assertEquals(7L, config.getSeed());
+        assertEquals(List.of("ch", "static"), config.getRouters(), "Routers should be trimmed and deduplicated");
+        assertEquals("grid", config.getTopology());
+        assertEquals("out.csv", config.getOutput());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> ExperimentConfig.parse("--nodes"));
+        assertThrows(IllegalArgumentException.class, () -> ExperimentConfig.parse("nodes=5"));
+        assertThrows(IllegalArgumentException.class, () -> ExperimentConfig.parse("--size=5"));
+        assertThrows(IllegalArgumentException.class, () -> ExperimentConfig.parse("--threads=0"));
+        assertThrows(IllegalArgumentException.class, () -> ExperimentConfig.parse("--queries=many"));
+        assertThrows(IllegalArgumentException.class, () -> ExperimentConfig.parse("--routers=static,fast"));
+        assertThrows(IllegalArgumentException.class, () -> ExperimentConfig.parse("--topology=ring"));
+    }
+}
@@ -0,0 +1,57 @@
+package com.group6.trafficgraphoptimizer.experiment;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ExperimentRunner class.
+ */
+public class ExperimentRunnerTest {
+
+    @Test
+    void testRunReportsEveryRouter() {
+        ExperimentConfig config = ExperimentConfig.parse("--nodes=400", "--queries=300", "--threads=3",
+                "--routers=static,bidirectional,alt,ch", "--topology=grid");
+        List<ExperimentRunner.RouterResult> results = new ExperimentRunner(config).run();
+
+        assertEquals(4, results.size(), "One result per router");
+        for (ExperimentRunner.RouterResult result : results) {
+            assertEquals(300, result.getQueries(), "Every query should be measured");
+            assertEquals(300, result.getFound(), "A grid is strongly connected");
+            assertTrue(result.getThroughput() > 0, "Throughput should be positive");
+            assertTrue(result.percentileMicros(50) <= result.percentileMicros(99), "Percentiles should be ordered");
+            assertTrue(result.percentileMicros(99) <= result.percentileMicros(100), "Max should be the largest");
+        }
+    }
+
+    @Test
+    void testRoutersFindTheSamePaths() {
+        ExperimentConfig config = ExperimentConfig.parse("--nodes=500", "--queries=200", "--threads=2",
+                "--routers=static,bidirectional,alt");
+        List<ExperimentRunner.RouterResult> results = new ExperimentRunner(config).run();
+        int found = results.get(0).getFound();
+        for (ExperimentRunner.RouterResult result : results) {
+            assertEquals(found, result.getFound(), "Exact routers should agree on reachability");
+        }
+    }
+
+    @Test
+    void testComparesBidirectionalWithForwardSearch() {
+        ExperimentConfig config = ExperimentConfig.parse("--nodes=900", "--queries=150", "--threads=2",
+                "--routers=static", "--topology=grid");
+        ExperimentRunner runner = new ExperimentRunner(config);
+        assertNull(runner.getComparison(), "No comparison before the run");
+        runner.run();
+
+        ExperimentRunner.BidirectionalComparison comparison = runner.getComparison();
+        assertEquals(100, comparison.getRuns(), "The first 100 measured queries are replayed");
+        assertEquals(0, comparison.getCostMismatches(), "Both searches should return the same costs");
+        assertEquals(100, comparison.getStaticStats().getQueries());
+        assertTrue(comparison.getBidirectionalStats().getSettledNodes() < comparison.getStaticStats().getSettledNodes(),
+                "Bidirectional search should settle fewer nodes on a grid");
+        assertTrue(comparison.getSettledSavedPercent() > 0);
+    }
+}
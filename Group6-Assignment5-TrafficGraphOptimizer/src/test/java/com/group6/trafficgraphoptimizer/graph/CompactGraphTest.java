@@ -0,0 +1,93 @@
+package com.group6.trafficgraphoptimizer.graph;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the CompactGraph class.
+ */
+public class CompactGraphTest {
+
+    private Graph graph;
+    private Node A, B, C, D;
+
+    @BeforeEach
+    void setUp() {
+        graph = new Graph();
+        A = new Node("A");
+        B = new Node("B");
+        C = new Node("C");
+        D = new Node("D");
+
+        graph.addEdge(A, B, 1.0);
+        graph.addEdge(A, C, 4.0);
+        graph.addEdge(B, C, 2.0);
+        graph.addNode(D);
+    }
+
+    @Test
+    void testNodeIndexRoundTrip() {
+        CompactGraph compact = graph.snapshot();
+        assertEquals(4, compact.nodeCount(), "Snapshot should contain every node");
+        for (Node node : graph.getNodes()) {
+            assertEquals(node, compact.node(compact.indexOf(node)), "Index should map back to the same node");
+        }
+        assertEquals(-1, compact.indexOf(new Node("Z")), "Unknown nodes should have no index");
+    }
+
+    @Test
+    void testEdgeSlotsMatchAdjacency() {
+        CompactGraph compact = graph.snapshot();
+        assertEquals(3, compact.edgeCount(), "Snapshot should contain every edge");
+
+        int a = compact.indexOf(A);
+        assertEquals(2, compact.endEdge(a) - compact.firstEdge(a), "A should have two outgoing edges");
+        int first = compact.firstEdge(a);
+        assertEquals(B, compact.node(compact.target(first)), "Edges should keep insertion order");
+        assertEquals(1.0, compact.weight(first), 0.0001);
+        assertEquals(graph.getEdgesFrom(A).get(0).getId(), compact.edgeId(first), "Slot should carry the edge id");
+
+        int d = compact.indexOf(D);
+        assertEquals(compact.firstEdge(d), compact.endEdge(d), "Isolated node should have no edges");
+    }
+
+    @Test
+    void testReverseIndexListsIncomingEdges() {
+        CompactGraph compact = graph.snapshot();
+        int c = compact.indexOf(C);
+        assertEquals(2, compact.endInEdge(c) - compact.firstInEdge(c), "C should have two incoming edges");
+        for (int i = compact.firstInEdge(c); i < compact.endInEdge(c); i++) {
+            int edge = compact.inEdge(i);
+            assertEquals(c, compact.target(edge), "Incoming edge should point at C");
+            int from = compact.inSource(i);
+            assertTrue(edge >= compact.firstEdge(from) && edge < compact.endEdge(from), "Source should own the edge");
+        }
+        int a = compact.indexOf(A);
+        assertEquals(compact.firstInEdge(a), compact.endInEdge(a), "A should have no incoming edges");
+    }
+
+    @Test
+    void testSnapshotIsCachedUntilModified() {
+        CompactGraph first = graph.snapshot();
+        assertSame(first, graph.snapshot(), "Unchanged graph should reuse its snapshot");
+
+        graph.addEdge(C, D, 1.0);
+        CompactGraph second = graph.snapshot();
+        assertNotSame(first, second, "Adding an edge should invalidate the snapshot");
+        assertEquals(3, first.edgeCount(), "Old snapshot should stay immutable");
+        assertEquals(4, second.edgeCount());
+    }
+
+    @Test
+    void testWeightChangeInvalidatesSnapshot() {
+        CompactGraph before = graph.snapshot();
+        graph.getEdgesFrom(A).get(0).setWeight(9.0);
+        CompactGraph after = graph.snapshot();
+
+        int a = after.indexOf(A);
+        assertEquals(1.0, before.weight(before.firstEdge(a)), 0.0001, "Old snapshot should keep the old weight");
+        assertEquals(9.0, after.weight(after.firstEdge(a)), 0.0001, "New snapshot should see the new weight");
+    }
+}
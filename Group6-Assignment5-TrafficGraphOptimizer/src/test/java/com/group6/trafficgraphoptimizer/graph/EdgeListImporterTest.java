@@ -0,0 +1,170 @@
+package com.group6.trafficgraphoptimizer.graph;
+
+import com.group6.trafficgraphoptimizer.experiment.GraphGenerator;
+import com.group6.trafficgraphoptimizer.router.StaticRouter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the EdgeListImporter class.
+ */
+public class EdgeListImporterTest {
+
+    @TempDir
+    Path dir;
+
+    private Path write(String name, String content) throws IOException {
+        return Files.write(dir.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testReadsDimacsGraph() throws IOException {
+        Path file = write("tiny.gr", "c tiny example\r\n"
+                + "p sp 4 5\r\n"
+                + "c arcs\r\n"
+                + "a 1 2 7\r\n"
+                + "a 2 3 1\r\n"
+                + "a 1 3 10\r\n"
+                + "a 3 4 2\r\n"
+                + "a 4 1 3\r\n");
+        CompactGraph graph = EdgeListImporter.readDimacs(file, 1);
+
+        assertEquals(4, graph.nodeCount(), "Node count should come from the problem line");
+        assertEquals(5, graph.edgeCount(), "Every arc should be imported");
+        assertEquals(new Node("3"), graph.node(2), "Nodes should keep their DIMACS ids");
+        assertEquals(2, graph.indexOf(new Node("3")), "DIMACS ids should map to indices");
+        assertEquals(-1, graph.indexOf(new Node("5")), "Ids beyond the node count should be unknown");
+        assertEquals(-1, graph.indexOf(new Node("03")), "Non-canonical ids should be unknown");
+
+        int a = graph.indexOf(new Node("1"));
+        assertEquals(2, graph.endEdge(a) - graph.firstEdge(a), "Node 1 should have two arcs");
+        assertEquals(0, graph.edgeId(graph.firstEdge(a)), "Edge ids should follow file order");
+        assertEquals(2, graph.edgeId(graph.firstEdge(a) + 1), "Edge ids should follow file order");
+        assertEquals(10.0, graph.weight(graph.firstEdge(a) + 1), "Weights should be kept");
+
+        List<Node> path = new StaticRouter(graph).findShortestPath(new Node("1"), new Node("4"));
+        assertEquals(List.of(new Node("1"), new Node("2"), new Node("3"), new Node("4")), path,
+                "Imported graph should be routable");
+    }
+
+    @Test
+    void testParallelChunksMatchSequentialImport() throws IOException {
+        Graph source = GraphGenerator.random(200, 900, new Random(3));
+        CompactGraph snapshot = source.snapshot();
+        StringBuilder gr = new StringBuilder("c generated\np sp " + snapshot.nodeCount() + " "
+                + snapshot.edgeCount() + "\n");
+        StringBuilder csv = new StringBuilder("from,to,weight\n");
+        for (int v = 0; v < snapshot.nodeCount(); v++) {
+            for (int e = snapshot.firstEdge(v); e < snapshot.endEdge(v); e++) {
+                long weight = Math.round(snapshot.weight(e) * 100);
+                gr.append("a ").append(v + 1).append(' ').append(snapshot.target(e) + 1).append(' ')
+                        .append(weight).append('\n');
+                csv.append(snapshot.node(v).getId()).append(',').append(snapshot.node(snapshot.target(e)).getId())
+                        .append(',').append(weight / 100.0).append('\n');
+            }
+        }
+        Path grFile = write("random.gr", gr.toString());
+        Path csvFile = write("random.csv", csv.toString());
+
+        assertSameGraph(EdgeListImporter.readDimacs(grFile, 1), EdgeListImporter.readDimacs(grFile, 4, 97));
+        assertSameGraph(EdgeListImporter.readCsv(csvFile, 1), EdgeListImporter.readCsv(csvFile, 4, 61));
+        // Chunks shorter than a line leave some chunks without any line of their own
+        assertSameGraph(EdgeListImporter.readCsv(csvFile, 1), EdgeListImporter.readCsv(csvFile, 3, 5));
+    }
+
+    private static void assertSameGraph(CompactGraph expected, CompactGraph actual) {
+        assertEquals(expected.nodeCount(), actual.nodeCount(), "Node count should not depend on chunking");
+        assertEquals(expected.edgeCount(), actual.edgeCount(), "Edge count should not depend on chunking");
+        for (int v = 0; v < expected.nodeCount(); v++) {
+            assertEquals(expected.node(v), actual.node(v), "Node order should not depend on chunking");
+            assertEquals(expected.firstEdge(v), actual.firstEdge(v));
+        }
+        for (int e = 0; e < expected.edgeCount(); e++) {
+            assertEquals(expected.target(e), actual.target(e));
+            assertEquals(expected.weight(e), actual.weight(e));
+            assertEquals(expected.edgeId(e), actual.edgeId(e), "Edge ids should not depend on chunking");
+        }
+    }
+
+    @Test
+    void testReadsCsvWithHeaderQuotesAndComments() throws IOException {
+        Path file = write("roads.csv", "\"From\",\"To\",\"Weight\"\n"
+                + "# comment\n"
+                + "\n"
+                + "\"A\",\"B\",\"2.5\"\n"
+                + " B , C , 1e1 \n"
+                + "C,A,0.125\n"
+                + "Straße,A,3\n");
+        CompactGraph graph = EdgeListImporter.readCsv(file);
+
+        assertEquals(4, graph.nodeCount(), "Nodes should be interned once");
+        assertEquals(4, graph.edgeCount(), "Header, comments and blank lines should be skipped");
+        assertEquals(new Node("A"), graph.node(0), "Nodes should be numbered by first appearance");
+        assertEquals(new Node("Straße"), graph.node(3), "UTF-8 names should be decoded");
+        int b = graph.indexOf(new Node("B"));
+        assertEquals(10.0, graph.weight(graph.firstEdge(b)), "Exponents should be parsed");
+        int c = graph.indexOf(new Node("C"));
+        assertEquals(0.125, graph.weight(graph.firstEdge(c)), "Decimals should be parsed exactly");
+    }
+
+    @Test
+    void testReadsDimacsCoordinates() throws IOException {
+        Path file = write("tiny.co", "c coordinates\np aux sp co 3\nv 1 -73530767 41085396\nv 3 10 20.5\n");
+        double[] coordinates = EdgeListImporter.readDimacsCoordinates(file, 3);
+
+        assertEquals(-73530767, coordinates[0], "x of node 1");
+        assertEquals(41085396, coordinates[1], "y of node 1");
+        assertTrue(Double.isNaN(coordinates[2]), "Missing nodes should have no coordinates");
+        assertEquals(20.5, coordinates[5], "y of node 3");
+    }
+
+    @Test
+    void testRejectsMalformedFiles() throws IOException {
+        Path noProblem = write("noproblem.gr", "c nothing\na 1 2 3\n");
+        assertThrows(IOException.class, () -> EdgeListImporter.readDimacs(noProblem),
+                "Arcs before the problem line should be rejected");
+
+        Path outOfRange = write("range.gr", "p sp 2 1\na 1 3 3\n");
+        assertThrows(IOException.class, () -> EdgeListImporter.readDimacs(outOfRange),
+                "Node ids beyond the node count should be rejected");
+
+        Path wrongCount = write("count.gr", "p sp 2 2\na 1 2 3\n");
+        assertThrows(IOException.class, () -> EdgeListImporter.readDimacs(wrongCount),
+                "Missing arcs should be rejected");
+
+        Path negative = write("negative.csv", "a,b,-1\n");
+        assertThrows(IOException.class, () -> EdgeListImporter.readCsv(negative),
+                "Negative weights should be rejected");
+
+        Path missingField = write("fields.csv", "a,b,1\nc\n");
+        IOException e = assertThrows(IOException.class, () -> EdgeListImporter.readCsv(missingField));
+        assertTrue(e.getMessage().contains("at byte 6"), "Error should point at the bad line");
+
+        assertThrows(IllegalArgumentException.class, () -> EdgeListImporter.readCsv(missingField, 0),
+                "Parallelism must be positive");
+    }
+
+    @Test
+    void testImportedGraphRoundTripsThroughGraphFile() throws IOException {
+        Path gr = write("line.gr", "p sp 3 2\na 1 2 1\na 2 3 1\n");
+        CompactGraph graph = EdgeListImporter.readDimacs(gr);
+        Path file = dir.resolve("line.tgf");
+        GraphFile.write(graph, file);
+        CompactGraph mapped = GraphFile.map(file);
+
+        assertEquals(1, mapped.indexOf(new Node("2")), "Mapped file should find imported nodes");
+        List<Node> expected = new ArrayList<>(List.of(new Node("1"), new Node("2"), new Node("3")));
+        assertEquals(expected, new StaticRouter(mapped).findShortestPath(new Node("1"), new Node("3")),
+                "Mapped import should be routable");
+    }
+}
@@ -0,0 +1,114 @@
+package com.group6.trafficgraphoptimizer.graph;
+
+import com.group6.trafficgraphoptimizer.experiment.GraphGenerator;
+import com.group6.trafficgraphoptimizer.router.StaticRouter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the GraphFile class.
+ */
+public class GraphFileTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testRoundTripKeepsEveryArray() throws IOException {
+        Graph graph = GraphGenerator.random(300, 1200, new Random(9));
+        CompactGraph original = graph.snapshot();
+        Path file = dir.resolve("graph.tgf");
+        GraphFile.write(graph, file);
+        CompactGraph mapped = GraphFile.map(file);
+
+        assertEquals(original.getVersion(), mapped.getVersion(), "Version should be kept");
+        assertEquals(original.nodeCount(), mapped.nodeCount(), "Node count should be kept");
+        assertEquals(original.edgeCount(), mapped.edgeCount(), "Edge count should be kept");
+        for (int v = 0; v < original.nodeCount(); v++) {
+            assertEquals(original.node(v), mapped.node(v), "Node names should be kept");
+            assertEquals(v, mapped.indexOf(original.node(v)), "Hash index should find every node");
+            assertEquals(original.firstEdge(v), mapped.firstEdge(v));
+            assertEquals(original.firstInEdge(v), mapped.firstInEdge(v));
+        }
+        for (int e = 0; e < original.edgeCount(); e++) {
+            assertEquals(original.target(e), mapped.target(e));
+            assertEquals(original.weight(e), mapped.weight(e));
+            assertEquals(original.edgeId(e), mapped.edgeId(e));
+            assertEquals(original.inEdge(e), mapped.inEdge(e));
+            assertEquals(original.inSource(e), mapped.inSource(e));
+        }
+        assertEquals(-1, mapped.indexOf(new Node("missing")), "Unknown nodes should have no index");
+    }
+
+    @Test
+    void testRoutersRunOnMappedGraph() throws IOException {
+        Graph graph = GraphGenerator.grid(12, 12, new Random(4));
+        Path file = dir.resolve("grid.tgf");
+        GraphFile.write(graph, file);
+
+        StaticRouter heap = new StaticRouter(graph);
+        StaticRouter mapped = new StaticRouter(GraphFile.map(file));
+        List<Node> nodes = new ArrayList<>(graph.getNodes());
+        for (int i = 0; i < 20; i++) {
+            Node start = nodes.get(i * 7), end = nodes.get(nodes.size() - 1 - i * 3);
+            assertEquals(heap.findShortestPath(start, end), mapped.findShortestPath(start, end),
+                    "Mapped graph should give the same route");
+        }
+    }
+
+    @Test
+    void testUnicodeNamesAndEmptyGraph() throws IOException {
+        Graph graph = new Graph();
+        Node a = new Node("Straße-1"), b = new Node("東京");
+        graph.addEdge(a, b, 2.5);
+        graph.addNode(new Node(""));
+        Path file = dir.resolve("names.tgf");
+        GraphFile.write(graph, file);
+        CompactGraph mapped = GraphFile.map(file);
+        assertEquals(b, mapped.node(mapped.indexOf(b)), "Multi-byte names should round-trip");
+        assertEquals(2, mapped.indexOf(new Node("")), "Empty names should be found");
+
+        Path empty = dir.resolve("empty.tgf");
+        GraphFile.write(new Graph(), empty);
+        assertEquals(0, GraphFile.map(empty).nodeCount(), "Empty graph should round-trip");
+    }
+
+    @Test
+    void testRejectsOtherFiles() throws IOException {
+        Path junk = dir.resolve("junk.bin");
+        Files.write(junk, new byte[100]);
+        assertThrows(IOException.class, () -> GraphFile.map(junk), "Wrong magic should be rejected");
+
+        Path file = dir.resolve("graph.tgf");
+        GraphFile.write(GraphGenerator.random(50, 100, new Random(1)), file);
+        Path truncated = dir.resolve("truncated.tgf");
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(truncated, java.util.Arrays.copyOf(bytes, bytes.length / 2));
+        assertThrows(IOException.class, () -> GraphFile.map(truncated), "Truncated file should be rejected");
+
+        Path huge = dir.resolve("huge.tgf");
+        java.nio.ByteBuffer.wrap(bytes).order(java.nio.ByteOrder.LITTLE_ENDIAN).putInt(16, 1 << 29);
+        Files.write(huge, bytes);
+        assertThrows(IOException.class, () -> GraphFile.map(huge), "Impossible node count should be rejected");
+    }
+
+    @Test
+    void testHashTableSizeIsBounded() {
+        assertEquals(4, GraphFile.hashSlots(0));
+        assertEquals(8, GraphFile.hashSlots(3));
+        assertEquals(GraphFile.MAX_HASH_SLOTS, GraphFile.hashSlots(GraphFile.MAX_NODES));
+        assertThrows(IllegalArgumentException.class, () -> GraphFile.hashSlots(GraphFile.MAX_NODES + 1));
+        assertThrows(IllegalArgumentException.class, () -> GraphFile.hashSlots(1 << 29),
+                "Would overflow an int table size");
+        assertThrows(IllegalArgumentException.class, () -> GraphFile.hashSlots(Integer.MAX_VALUE));
+    }
+}
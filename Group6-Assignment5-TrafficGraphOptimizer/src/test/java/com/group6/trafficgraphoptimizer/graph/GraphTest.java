@@ -65,4 +65,15 @@ public class GraphTest {
         assertNotNull(edges, "Should return an empty list, not null");
         assertTrue(edges.isEmpty(), "Unconnected node should have no edges");
     }
+
+    @Test
+    void testGetEdgesTo() {
+        graph.addEdge(A, C, 1.0);
+        graph.addEdge(B, C, 2.0);
+
+        List<Edge> edgesToC = graph.getEdgesTo(C);
+        assertEquals(2, edgesToC.size(), "C should have two incoming edges");
+        assertTrue(edgesToC.stream().allMatch(e -> e.getTo().equals(C)));
+        assertTrue(graph.getEdgesTo(A).isEmpty(), "A should have no incoming edges");
+    }
 }
@@ -0,0 +1,74 @@
+package com.group6.trafficgraphoptimizer.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the NodeRegistry class.
+ */
+public class NodeRegistryTest {
+
+    @Test
+    void testHandlesAreDenseAndStable() {
+        NodeRegistry registry = new NodeRegistry();
+        Node a = new Node("A");
+        assertEquals(0, registry.intern(a), "First node should get handle 0");
+        assertEquals(1, registry.intern("B"), "Second node should get handle 1");
+        assertEquals(0, registry.intern(new Node("A")), "Equal ids should share a handle");
+        assertSame(a, registry.node(0), "First registered node should be kept");
+        assertEquals(2, registry.size(), "Duplicates should not be registered");
+        assertEquals(1, registry.indexOf(new Node("B")), "Lookup should find registered nodes");
+        assertEquals(-1, registry.indexOf("C"), "Lookup should not register nodes");
+        assertThrows(IndexOutOfBoundsException.class, () -> registry.node(2));
+    }
+
+    @Test
+    void testGrowsPastInitialCapacity() {
+        NodeRegistry registry = new NodeRegistry(0);
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, registry.intern("N" + i), "Handles should follow insertion order");
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, registry.indexOf("N" + i), "Every node should be found after rehashing");
+        }
+        // "Aa" and "BB" share a String hash code
+        assertEquals(10_000, registry.intern("Aa"));
+        assertEquals(10_001, registry.intern("BB"), "Hash collisions should still get separate handles");
+        assertEquals(10_000, registry.indexOf("Aa"));
+    }
+
+    @Test
+    void testCopyIsIndependent() {
+        NodeRegistry registry = new NodeRegistry();
+        registry.intern("A");
+        NodeRegistry copy = registry.copy();
+        registry.intern("B");
+        assertEquals(1, copy.size(), "Copy should not see later nodes");
+        assertEquals(-1, copy.indexOf("B"));
+        assertEquals(1, copy.intern("C"), "Copy should accept its own nodes");
+        assertEquals(-1, registry.indexOf("C"));
+    }
+
+    @Test
+    void testGraphUsesHandles() {
+        Graph graph = new Graph();
+        Node a = new Node("A"), b = new Node("B"), c = new Node("C");
+        graph.addEdge(b, a, 1.0);
+        graph.addNode(c);
+        graph.addEdge(b, c, 2.0);
+
+        assertEquals(3, graph.getNodeCount());
+        assertEquals(0, graph.indexOf(b), "Handles should follow insertion order");
+        assertEquals(c, graph.getNode(2));
+        assertEquals(graph.getEdgesFrom(b), graph.getEdgesFrom(0), "Handle and node lookups should agree");
+        assertEquals(List.of(b, a, c), new ArrayList<>(graph.getNodes()), "Node set should keep insertion order");
+        assertTrue(graph.getNodes().contains(new Node("C")));
+        assertTrue(graph.getEdgesFrom(new Node("D")).isEmpty(), "Unknown nodes should have no edges");
+        assertThrows(UnsupportedOperationException.class, () -> graph.getNodes().add(new Node("D")),
+                "Node set should be read-only");
+    }
+}
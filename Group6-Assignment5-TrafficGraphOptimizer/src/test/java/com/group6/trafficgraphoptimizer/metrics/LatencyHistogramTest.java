@@ -0,0 +1,94 @@
+package com.group6.trafficgraphoptimizer.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the LatencyHistogram class.
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    void testBucketsAreContiguousAndPrecise() {
+        int previous = -1;
+        for (long value = 0; value < 1_000_000; value++) {
+            int index = LatencyHistogram.indexOf(value);
+            assertTrue(index == previous || index == previous + 1, "Bucket indices should be contiguous");
+            assertTrue(LatencyHistogram.highestEquivalentValue(index) >= value, "Bucket should contain the value");
+            previous = index;
+        }
+        for (long value : new long[] { 1_000, 123_456_789L, Long.MAX_VALUE / 3, Long.MAX_VALUE }) {
+            long top = LatencyHistogram.highestEquivalentValue(LatencyHistogram.indexOf(value));
+            assertTrue(top >= value && top - value <= value / 100, "Value should be reported within 1%: " + value);
+        }
+    }
+
+    @Test
+    void testPercentilesOfUniformValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 10_000; i++) {
+            histogram.record(i * 1_000L);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(10_000, snapshot.getCount(), "Every value should be counted");
+        assertEquals(5_000_000, snapshot.getValueAtPercentile(50), 50_000, "p50 within 1%");
+        assertEquals(9_900_000, snapshot.getValueAtPercentile(99), 99_000, "p99 within 1%");
+        assertEquals(10_000_000, snapshot.getMax(), "Max should be exact");
+        assertEquals(10_000_000, snapshot.getValueAtPercentile(100), "p100 is the max");
+        assertEquals(5_000_500, snapshot.getMean(), 1e-6, "Mean should be exact");
+    }
+
+    @Test
+    void testSubMillisecondLatenciesAreResolved() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(150);
+        histogram.record(-5);
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(0, snapshot.getValueAtPercentile(50), "Negative values count as zero");
+        assertEquals(150, snapshot.getValueAtPercentile(100), "Nanosecond values should be kept");
+    }
+
+    @Test
+    void testIntervalSnapshotsOnlyCoverNewValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1_000_000);
+        histogram.record(2_000_000);
+        LatencyHistogram.Snapshot first = histogram.intervalSnapshot();
+        histogram.record(10_000);
+        LatencyHistogram.Snapshot second = histogram.intervalSnapshot();
+        LatencyHistogram.Snapshot empty = histogram.intervalSnapshot();
+
+        assertEquals(2, first.getCount(), "First interval has two values");
+        assertEquals(1, second.getCount(), "Second interval has one value");
+        assertEquals(10_000, second.getMax(), 100, "Interval max should ignore older values");
+        assertEquals(0, empty.getCount(), "Nothing recorded in the third interval");
+        assertEquals(3, histogram.snapshot().getCount(), "Cumulative snapshot keeps everything");
+    }
+
+    @Test
+    void testConcurrentRecording() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                Random random = new Random();
+                for (int i = 0; i < 50_000; i++) {
+                    histogram.record(random.nextInt(1_000_000));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(200_000, histogram.getCount(), "No recording should be lost");
+        assertEquals(200_000, histogram.snapshot().getCount(), "Bucket counts should add up");
+    }
+}
@@ -1,6 +1,7 @@
 
 package com.group6.trafficgraphoptimizer.metrics;
 
+import com.group6.trafficgraphoptimizer.router.CacheStats;
 import org.junit.jupiter.api.*;
 import java.io.*;
 import java.nio.file.*;
@@ -41,6 +42,39 @@ public class MetricsLoggerTest {
         assertTrue(lines.get(1).contains("Start"), "CSV line should include node IDs");
     }
 
+    @Test
+    void testCacheStatsExport() throws IOException {
+        logger.logCacheStats("StaticRouter", new CacheStats(3, 1, 0, 2, 1));
+        logger.exportCacheStatsToCSV(TEST_CSV_PATH);
+
+        List<String> lines = Files.readAllLines(Paths.get(TEST_CSV_PATH));
+        assertEquals(2, lines.size(), "CSV should contain header and one record");
+        assertTrue(lines.get(0).contains("Hits"), "Header should name the counters");
+        assertTrue(lines.get(1).contains("0.7500"), "Record should include the hit rate");
+    }
+
+    @Test
+    void testLatencySummaryAndIntervals() throws IOException {
+        for (int i = 1; i <= 100; i++) {
+            logger.recordLatency("static", i * 1_000L);
+        }
+        logger.recordLatency("ch", 500);
+        logger.snapshotIntervals();
+        logger.recordLatency("static", 7_000);
+        logger.snapshotIntervals();
+
+        logger.exportLatencySummaryToCSV(TEST_CSV_PATH);
+        List<String> summary = Files.readAllLines(Paths.get(TEST_CSV_PATH));
+        assertEquals(3, summary.size(), "Header plus one row per router");
+        assertTrue(summary.get(1).startsWith("\"ch\",\"1\",\"0.50\""), "Sub-millisecond latency should be kept");
+        assertTrue(summary.get(2).contains("\"101\""), "Static router should have all its queries");
+
+        logger.exportLatencyIntervalsToCSV(TEST_CSV_PATH);
+        List<String> intervals = Files.readAllLines(Paths.get(TEST_CSV_PATH));
+        assertEquals(5, intervals.size(), "Header plus two intervals for two routers");
+        assertTrue(intervals.get(4).contains("\"1\""), "Second static interval holds one query");
+    }
+
     @AfterEach
     void cleanUp() {
         File file = new File(TEST_CSV_PATH);
@@ -0,0 +1,118 @@
+package com.group6.trafficgraphoptimizer.metrics;
+
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the StreamingMetricsLogger class.
+ */
+public class StreamingMetricsLoggerTest {
+
+    private static final String TEST_CSV_PATH = "results/test_streaming_metrics.csv";
+
+    @BeforeEach
+    void setUp() {
+        new File(TEST_CSV_PATH).delete();
+    }
+
+    @Test
+    void testRowsMatchMetricsLoggerFormat() throws IOException {
+        try (StreamingMetricsLogger logger = new StreamingMetricsLogger(TEST_CSV_PATH)) {
+            logger.log("Start", "End", 2, 5.5, 100);
+        }
+        MetricsLogger reference = new MetricsLogger();
+        reference.log("Start", "End", 2, 5.5, 100);
+        String referencePath = "results/test_reference_metrics.csv";
+        reference.exportToCSV(referencePath);
+        try {
+            assertEquals(Files.readAllLines(Paths.get(referencePath)), Files.readAllLines(Paths.get(TEST_CSV_PATH)),
+                    "Streaming output should match the batch export");
+        } finally {
+            new File(referencePath).delete();
+        }
+    }
+
+    @Test
+    void testFormatting() {
+        StringBuilder buffer = new StringBuilder();
+        StreamingMetricsLogger.appendRow(buffer, "a\"b", "N1", 3, 12.345, 7);
+        StreamingMetricsLogger.appendRow(buffer, "X", "Y", 0, -0.004, 0);
+        StreamingMetricsLogger.appendRow(buffer, "X", "Y", 0, Double.POSITIVE_INFINITY, 0);
+        String[] lines = buffer.toString().split("\n");
+        assertEquals("\"a\"\"b\",\"N1\",\"3\",\"12.35\",\"7\"", lines[0], "Quotes should be doubled, cost rounded");
+        assertEquals("\"X\",\"Y\",\"0\",\"0.00\",\"0\"", lines[1], "Tiny negatives round to zero");
+        assertEquals("\"X\",\"Y\",\"0\",\"Infinity\",\"0\"", lines[2], "Infinite cost for missing paths");
+    }
+
+    @Test
+    void testConcurrentProducersWithBackpressure() throws Exception {
+        int threads = 4, perThread = 5000;
+        try (StreamingMetricsLogger logger = new StreamingMetricsLogger(TEST_CSV_PATH, 64,
+                StreamingMetricsLogger.OverflowPolicy.BLOCK, 10)) {
+            List<Thread> producers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                String prefix = "T" + t + "-";
+                Thread producer = new Thread(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        assertTrue(logger.log(prefix + i, "E", i, i, i), "Blocking logger should accept every row");
+                    }
+                });
+                producers.add(producer);
+                producer.start();
+            }
+            for (Thread producer : producers) {
+                producer.join();
+            }
+            logger.flush();
+            assertEquals(threads * perThread, logger.getWritten(), "All rows should be written after flush");
+            assertEquals(0, logger.getDropped(), "Nothing should be dropped");
+        }
+
+        List<String> lines = Files.readAllLines(Paths.get(TEST_CSV_PATH));
+        assertEquals(threads * perThread + 1, lines.size(), "Header plus one line per row");
+        Set<String> unique = new HashSet<>(lines);
+        assertEquals(lines.size(), unique.size(), "No row should be written twice");
+    }
+
+    @Test
+    void testDropPolicyNeverBlocks() throws IOException {
+        long accepted = 0;
+        int rows = 20_000;
+        try (StreamingMetricsLogger logger = new StreamingMetricsLogger(TEST_CSV_PATH, 4,
+                StreamingMetricsLogger.OverflowPolicy.DROP, 1000)) {
+            for (int i = 0; i < rows; i++) {
+                if (logger.log("S", "E", 1, 1.0, i)) accepted++;
+            }
+            assertEquals(rows, accepted + logger.getDropped(), "Every row is either queued or dropped");
+        }
+        assertEquals(accepted + 1, Files.readAllLines(Paths.get(TEST_CSV_PATH)).size(),
+                "Every accepted row should reach the file");
+    }
+
+    @Test
+    void testAppendsToExistingFileAndRejectsAfterClose() throws IOException {
+        StreamingMetricsLogger first = new StreamingMetricsLogger(TEST_CSV_PATH);
+        first.log("A", "B", 2, 1.0, 1);
+        first.close();
+        StreamingMetricsLogger second = new StreamingMetricsLogger(TEST_CSV_PATH);
+        second.log("C", "D", 2, 1.0, 1);
+        second.close();
+
+        List<String> lines = Files.readAllLines(Paths.get(TEST_CSV_PATH));
+        assertEquals(3, lines.size(), "Header should only be written once");
+        assertThrows(IllegalStateException.class, () -> second.log("E", "F", 1, 0.0, 0));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        new File(TEST_CSV_PATH).delete();
+    }
+}
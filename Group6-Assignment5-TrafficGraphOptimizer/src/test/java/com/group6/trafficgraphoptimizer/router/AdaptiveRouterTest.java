@@ -64,4 +64,21 @@ public class AdaptiveRouterTest {
             assertFalse(path.isEmpty(), "Should consistently find a path");
         }
     }
+
+    @Test
+    void testRouteResultKeepsAdjustedCost() {
+        // Doubling every cost except A -> D makes the direct edge the cheapest route
+        AdaptiveRouter congested = new AdaptiveRouter(graph, (source, target) -> (edgeId, baseWeight) ->
+                baseWeight == 5.0 ? baseWeight : baseWeight * 2);
+        RouteResult route = congested.route(A, D);
+        assertEquals(List.of(A, D), route.getPath());
+        assertEquals(5.0, route.getBaseCost(), 1e-9, "Base cost uses the stored weights");
+        assertEquals(5.0, route.getAdjustedCost(), 1e-9);
+
+        AdaptiveRouter tripled = new AdaptiveRouter(graph, (source, target) -> (edgeId, baseWeight) -> baseWeight * 3);
+        RouteResult slow = tripled.route(A, D);
+        assertEquals(List.of(A, B, C, D), slow.getPath());
+        assertEquals(3.0, slow.getBaseCost(), 1e-9);
+        assertEquals(9.0, slow.getAdjustedCost(), 1e-9, "Adjusted cost uses the traffic model's costs");
+    }
 }
@@ -0,0 +1,104 @@
+package com.group6.trafficgraphoptimizer.router;
+
+import com.group6.trafficgraphoptimizer.experiment.GraphGenerator;
+import com.group6.trafficgraphoptimizer.graph.CompactGraph;
+import com.group6.trafficgraphoptimizer.graph.Graph;
+import com.group6.trafficgraphoptimizer.graph.Node;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the AltRouter and LandmarkTable classes.
+ */
+public class AltRouterTest {
+
+    @Test
+    void testMatchesDijkstraWithAvoidLandmarks() {
+        assertMatchesDijkstra(GraphGenerator.grid(30, 30, new Random(3)), LandmarkSelection.AVOID);
+    }
+
+    @Test
+    void testMatchesDijkstraWithFarthestLandmarks() {
+        assertMatchesDijkstra(GraphGenerator.random(400, 1600, new Random(5)), LandmarkSelection.FARTHEST);
+    }
+
+    @Test
+    void testLowerBoundsNeverOverestimate() {
+        Graph graph = GraphGenerator.grid(15, 15, new Random(9));
+        CompactGraph compact = graph.snapshot();
+        LandmarkTable table = LandmarkTable.build(compact, 6, LandmarkSelection.AVOID, 1L);
+        assertEquals(6, table.landmarkCount());
+
+        for (int s = 0; s < compact.nodeCount(); s += 17) {
+            SearchWorkspace exact = DijkstraSearch.oneToAll(compact, s, false, SearchWorkspace.FORWARD);
+            for (int t = 0; t < compact.nodeCount(); t++) {
+                assertTrue(table.lowerBound(s, t) <= exact.distance(t) + 1e-9, "Bound must not exceed the distance");
+            }
+        }
+    }
+
+    @Test
+    void testRejectsTableFromOtherSnapshot() {
+        Graph graph = GraphGenerator.grid(3, 3, new Random(1));
+        LandmarkTable table = LandmarkTable.build(CompactGraph.of(graph), 2, LandmarkSelection.FARTHEST, 1L);
+        assertThrows(IllegalArgumentException.class, () -> new AltRouter(graph.snapshot(), table));
+    }
+
+    @Test
+    void testConcurrentBuildsPickTheSameLandmarks() {
+        CompactGraph compact = GraphGenerator.grid(20, 20, new Random(4)).snapshot();
+        for (LandmarkSelection selection : LandmarkSelection.values()) {
+            LandmarkTable expected = LandmarkTable.build(compact, 8, selection, 3L);
+            List<LandmarkTable> tables = IntStream.range(0, 4).parallel()
+                    .mapToObj(i -> LandmarkTable.build(compact, 8, selection, 3L))
+                    .collect(Collectors.toList());
+            for (LandmarkTable table : tables) {
+                for (int l = 0; l < expected.landmarkCount(); l++) {
+                    assertEquals(expected.landmark(l), table.landmark(l), selection + " landmark " + l);
+                }
+                for (int v = 0; v < compact.nodeCount(); v += 11) {
+                    for (int t = 0; t < compact.nodeCount(); t += 7) {
+                        assertEquals(expected.lowerBound(v, t), table.lowerBound(v, t), 0.0);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testRejectsTablesTooLargeForOneArray() {
+        CompactGraph compact = GraphGenerator.grid(216, 216, new Random(2)).snapshot();
+        assertThrows(IllegalArgumentException.class,
+                () -> LandmarkTable.build(compact, compact.nodeCount(), LandmarkSelection.FARTHEST, 1L),
+                "46656 nodes x 46656 landmarks overflow an int index");
+    }
+
+    private void assertMatchesDijkstra(Graph graph, LandmarkSelection selection) {
+        CompactGraph compact = graph.snapshot();
+        AltRouter alt = new AltRouter(compact, LandmarkTable.build(compact, 8, selection, 7L));
+        StaticRouter dijkstra = new StaticRouter(compact);
+        SearchStats altStats = new SearchStats();
+        SearchStats dijkstraStats = new SearchStats();
+
+        Random rand = new Random(13);
+        List<Node> nodes = new ArrayList<>(graph.getNodes());
+        for (int i = 0; i < 200; i++) {
+            Node start = nodes.get(rand.nextInt(nodes.size()));
+            Node end = nodes.get(rand.nextInt(nodes.size()));
+            List<Node> expected = dijkstra.findShortestPath(start, end, dijkstraStats);
+            List<Node> actual = alt.findShortestPath(start, end, altStats);
+            assertEquals(expected.isEmpty(), actual.isEmpty(), "ALT should agree on reachability");
+            assertEquals(StaticRouterTest.pathCost(graph, expected), StaticRouterTest.pathCost(graph, actual), 1e-9,
+                    "ALT should return exact shortest paths");
+        }
+        assertTrue(altStats.getSettledNodes() < dijkstraStats.getSettledNodes(),
+                "Landmark bounds should prune the search");
+    }
+}
@@ -0,0 +1,163 @@
+package com.group6.trafficgraphoptimizer.router;
+
+import com.group6.trafficgraphoptimizer.experiment.GraphGenerator;
+import com.group6.trafficgraphoptimizer.graph.CompactGraph;
+import com.group6.trafficgraphoptimizer.graph.Edge;
+import com.group6.trafficgraphoptimizer.graph.Graph;
+import com.group6.trafficgraphoptimizer.graph.Node;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the AlternativeRouter class.
+ */
+public class AlternativeRouterTest {
+
+    @Test
+    void testFindsKShortestLooplessPaths() {
+        Graph graph = new Graph();
+        Node C = new Node("C"), D = new Node("D"), E = new Node("E"), F = new Node("F"), G = new Node("G"),
+                H = new Node("H");
+        // Classic example from Yen's algorithm write-ups
+        graph.addEdge(C, D, 3);
+        graph.addEdge(C, E, 2);
+        graph.addEdge(D, F, 4);
+        graph.addEdge(E, D, 1);
+        graph.addEdge(E, F, 2);
+        graph.addEdge(E, G, 3);
+        graph.addEdge(F, G, 2);
+        graph.addEdge(F, H, 1);
+        graph.addEdge(G, H, 2);
+
+        List<List<Node>> paths = new AlternativeRouter(graph).findKShortestPaths(C, H, 3);
+        assertEquals(3, paths.size(), "Should find three paths");
+        assertEquals(List.of(C, E, F, H), paths.get(0), "Shortest path costs 5");
+        assertEquals(List.of(C, E, G, H), paths.get(1), "Second path costs 7");
+        // Three paths tie at cost 8
+        assertEquals(8.0, cost(graph, paths.get(2)), 1e-9, "Third path should cost 8");
+        assertEquals(List.of(C, E, F, H), new AlternativeRouter(graph).findShortestPath(C, H));
+    }
+
+    @Test
+    void testMatchesBruteForceOnRandomGraphs() {
+        Random rand = new Random(17);
+        for (int round = 0; round < 5; round++) {
+            Graph graph = GraphGenerator.random(12, 40, rand);
+            CompactGraph snapshot = graph.snapshot();
+            AlternativeRouter optimized = new AlternativeRouter(snapshot, true);
+            AlternativeRouter naive = new AlternativeRouter(snapshot, false);
+            for (int q = 0; q < 10; q++) {
+                Node start = snapshot.node(rand.nextInt(12)), end = snapshot.node(rand.nextInt(12));
+                if (start.equals(end)) continue;
+                List<Double> expected = allSimplePathCosts(graph, start, end);
+                List<List<Node>> fast = optimized.findKShortestPaths(start, end, 5);
+                List<List<Node>> slow = naive.findKShortestPaths(start, end, 5);
+
+                assertEquals(Math.min(5, expected.size()), fast.size(), "Should find min(k, #paths) paths");
+                assertEquals(fast.size(), slow.size());
+                Set<List<Node>> distinct = new HashSet<>();
+                for (int i = 0; i < fast.size(); i++) {
+                    assertEquals(expected.get(i), cost(graph, fast.get(i)), 1e-9, "Path " + i + " cost");
+                    assertEquals(expected.get(i), cost(graph, slow.get(i)), 1e-9, "Naive path " + i + " cost");
+                    assertEquals(new HashSet<>(fast.get(i)).size(), fast.get(i).size(), "Paths should be loopless");
+                    assertTrue(distinct.add(fast.get(i)), "Paths should be distinct");
+                }
+            }
+        }
+    }
+
+    @Test
+    void testReverseTreeSavesSearchWork() {
+        Graph graph = GraphGenerator.grid(30, 30, new Random(2));
+        CompactGraph snapshot = graph.snapshot();
+        SearchStats optimized = new SearchStats();
+        SearchStats naive = new SearchStats();
+        Node start = snapshot.node(0), end = snapshot.node(snapshot.nodeCount() - 1);
+        new AlternativeRouter(snapshot, true).findKShortestPaths(start, end, 3, optimized);
+        new AlternativeRouter(snapshot, false).findKShortestPaths(start, end, 3, naive);
+        assertTrue(optimized.getSettledNodes() * 10 < naive.getSettledNodes(),
+                "Spur searches should mostly be answered by the tree: " + optimized.getSettledNodes()
+                        + " vs " + naive.getSettledNodes());
+    }
+
+    @Test
+    void testAlternativesAreDifferentAndReasonable() {
+        Graph graph = GraphGenerator.grid(20, 20, new Random(8));
+        CompactGraph snapshot = graph.snapshot();
+        Node start = snapshot.node(0), end = snapshot.node(snapshot.nodeCount() - 1);
+        AlternativeRouter router = new AlternativeRouter(graph);
+        List<List<Node>> routes = router.findAlternatives(start, end, 3);
+
+        assertEquals(3, routes.size(), "A grid should have three reasonable alternatives");
+        assertEquals(router.findShortestPath(start, end), routes.get(0), "Best route should come first");
+        double best = cost(graph, routes.get(0));
+        for (int i = 1; i < routes.size(); i++) {
+            assertTrue(cost(graph, routes.get(i)) <= AlternativeRouter.MAX_STRETCH * best + 1e-9,
+                    "Alternatives should not be much longer");
+            assertNotEquals(routes.get(0), routes.get(i), "Alternatives should differ");
+        }
+        assertEquals(List.of(List.of(start)), router.findAlternatives(start, start, 3));
+        assertTrue(router.findKShortestPaths(start, new Node("missing"), 3).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> router.findKShortestPaths(start, end, 0));
+    }
+
+    @Test
+    void testPooledStateDoesNotLeakBetweenQueries() {
+        Graph graph = GraphGenerator.grid(15, 15, new Random(3));
+        CompactGraph snapshot = graph.snapshot();
+        Node start = snapshot.node(0), end = snapshot.node(snapshot.nodeCount() - 1);
+        AlternativeRouter router = new AlternativeRouter(graph);
+        List<List<Node>> paths = router.findKShortestPaths(start, end, 4);
+        List<List<Node>> alternatives = router.findAlternatives(start, end, 3);
+
+        // Blocks and penalties of earlier queries on this thread must not affect later ones
+        for (int i = 0; i < 20; i++) {
+            router.findKShortestPaths(snapshot.node(i), snapshot.node(200 - i), 3);
+            router.findAlternatives(snapshot.node(200 - i), snapshot.node(i), 3);
+        }
+        assertEquals(paths, router.findKShortestPaths(start, end, 4));
+        assertEquals(alternatives, router.findAlternatives(start, end, 3));
+        assertEquals(paths.get(0), router.findShortestPath(start, end), "A single path skips the reverse tree");
+    }
+
+    private static double cost(Graph graph, List<Node> path) {
+        double total = 0;
+        for (int i = 0; i + 1 < path.size(); i++) {
+            double best = Double.POSITIVE_INFINITY;
+            for (Edge edge : graph.getEdgesFrom(path.get(i))) {
+                if (edge.getTo().equals(path.get(i + 1))) best = Math.min(best, edge.getWeight());
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    // Costs of all simple paths, taking the cheapest of parallel edges, in increasing order
+    private static List<Double> allSimplePathCosts(Graph graph, Node start, Node end) {
+        List<Double> costs = new ArrayList<>();
+        enumerate(graph, start, end, new HashSet<>(Set.of(start)), 0.0, costs);
+        Collections.sort(costs);
+        return costs;
+    }
+
+    private static void enumerate(Graph graph, Node current, Node end, Set<Node> visited, double cost,
+                                  List<Double> costs) {
+        if (current.equals(end)) {
+            costs.add(cost);
+            return;
+        }
+        Map<Node, Double> cheapest = new HashMap<>();
+        for (Edge edge : graph.getEdgesFrom(current)) {
+            cheapest.merge(edge.getTo(), edge.getWeight(), Math::min);
+        }
+        for (Map.Entry<Node, Double> hop : cheapest.entrySet()) {
+            if (visited.add(hop.getKey())) {
+                enumerate(graph, hop.getKey(), end, visited, cost + hop.getValue(), costs);
+                visited.remove(hop.getKey());
+            }
+        }
+    }
+}
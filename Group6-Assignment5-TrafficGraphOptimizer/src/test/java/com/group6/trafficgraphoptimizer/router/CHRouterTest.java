@@ -0,0 +1,122 @@
+package com.group6.trafficgraphoptimizer.router;
+
+import com.group6.trafficgraphoptimizer.experiment.GraphGenerator;
+import com.group6.trafficgraphoptimizer.graph.CompactGraph;
+import com.group6.trafficgraphoptimizer.graph.Graph;
+import com.group6.trafficgraphoptimizer.graph.Node;
+import com.group6.trafficgraphoptimizer.router.ch.CHRouter;
+import com.group6.trafficgraphoptimizer.router.ch.ContractionHierarchy;
+import com.group6.trafficgraphoptimizer.router.ch.ContractionHierarchyBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the CHRouter and ContractionHierarchyBuilder classes.
+ */
+public class CHRouterTest {
+
+    @Test
+    void testMatchesDijkstraOnGrid() {
+        assertMatchesDijkstra(GraphGenerator.grid(25, 25, new Random(2)), 4);
+    }
+
+    @Test
+    void testMatchesDijkstraOnRandomGraph() {
+        assertMatchesDijkstra(GraphGenerator.random(400, 1400, new Random(4)), 2);
+    }
+
+    @Test
+    void testSingleThreadedBuildAndTinyWitnessLimit() {
+        Graph graph = GraphGenerator.grid(10, 10, new Random(6));
+        ContractionHierarchy hierarchy = new ContractionHierarchyBuilder()
+                .parallelism(1)
+                .witnessSettleLimit(1)
+                .build(graph.snapshot());
+        assertTrue(hierarchy.getShortcutCount() > 0, "Grid contraction should need shortcuts");
+        assertTrue(hierarchy.getPreprocessingNanos() > 0, "Preprocessing time should be reported");
+        assertMatchesDijkstra(graph, new CHRouter(hierarchy));
+    }
+
+    @Test
+    void testMatchesDijkstraOnAllPairsWithTiedWeights() {
+        // Integer weights make equal-cost alternatives common, as in road data
+        Random rand = new Random(8);
+        int size = 15;
+        Graph graph = new Graph();
+        Node[][] grid = new Node[size][size];
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                grid[r][c] = new Node("N" + (r * size + c));
+                graph.addNode(grid[r][c]);
+            }
+        }
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                if (c + 1 < size) {
+                    graph.addEdge(grid[r][c], grid[r][c + 1], 1 + rand.nextInt(2));
+                    graph.addEdge(grid[r][c + 1], grid[r][c], 1 + rand.nextInt(2));
+                }
+                if (r + 1 < size) {
+                    graph.addEdge(grid[r][c], grid[r + 1][c], 1 + rand.nextInt(2));
+                    graph.addEdge(grid[r + 1][c], grid[r][c], 1 + rand.nextInt(2));
+                }
+            }
+        }
+
+        StaticRouter dijkstra = new StaticRouter(graph);
+        for (int threads : new int[] { 1, 4 }) {
+            CHRouter ch = new CHRouter(new ContractionHierarchyBuilder().parallelism(threads).build(graph.snapshot()));
+            for (Node start : graph.getNodes()) {
+                for (Node end : graph.getNodes()) {
+                    double expected = dijkstra.route(start, end).getBaseCost();
+                    double actual = StaticRouterTest.pathCost(graph, ch.findShortestPath(start, end));
+                    assertEquals(expected, actual, 1e-9,
+                            "CH cost from " + start.getId() + " to " + end.getId() + " with " + threads + " threads");
+                }
+            }
+        }
+    }
+
+    @Test
+    void testSimpleGraph() {
+        Graph graph = new Graph();
+        Node A = new Node("A"), B = new Node("B"), C = new Node("C"), D = new Node("D");
+        graph.addEdge(A, B, 1.0);
+        graph.addEdge(B, C, 1.0);
+        graph.addEdge(C, D, 1.0);
+        graph.addEdge(A, D, 5.0);
+
+        CHRouter router = new CHRouter(graph);
+        assertEquals(List.of(A, B, C, D), router.findShortestPath(A, D));
+        assertEquals(List.of(A), router.findShortestPath(A, A));
+        assertTrue(router.findShortestPath(D, A).isEmpty(), "Edges are directed");
+    }
+
+    private void assertMatchesDijkstra(Graph graph, int threads) {
+        CompactGraph compact = graph.snapshot();
+        assertMatchesDijkstra(graph, new CHRouter(new ContractionHierarchyBuilder().parallelism(threads).build(compact)));
+    }
+
+    private void assertMatchesDijkstra(Graph graph, CHRouter ch) {
+        StaticRouter dijkstra = new StaticRouter(graph);
+        Random rand = new Random(21);
+        List<Node> nodes = new ArrayList<>(graph.getNodes());
+        for (int i = 0; i < 300; i++) {
+            Node start = nodes.get(rand.nextInt(nodes.size()));
+            Node end = nodes.get(rand.nextInt(nodes.size()));
+            List<Node> expected = dijkstra.findShortestPath(start, end);
+            List<Node> actual = ch.findShortestPath(start, end);
+            assertEquals(expected.isEmpty(), actual.isEmpty(), "CH should agree on reachability");
+            if (actual.isEmpty()) continue;
+            assertEquals(start, actual.get(0), "Unpacked path should start at the start node");
+            assertEquals(end, actual.get(actual.size() - 1), "Unpacked path should end at the end node");
+            assertEquals(StaticRouterTest.pathCost(graph, expected), StaticRouterTest.pathCost(graph, actual), 1e-9,
+                    "Unpacked path should have the shortest cost");
+        }
+    }
+}
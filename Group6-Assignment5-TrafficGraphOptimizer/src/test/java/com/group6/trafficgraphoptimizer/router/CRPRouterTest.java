@@ -0,0 +1,167 @@
+package com.group6.trafficgraphoptimizer.router;
+
+import com.group6.trafficgraphoptimizer.experiment.GraphGenerator;
+import com.group6.trafficgraphoptimizer.graph.CompactGraph;
+import com.group6.trafficgraphoptimizer.graph.Edge;
+import com.group6.trafficgraphoptimizer.graph.Graph;
+import com.group6.trafficgraphoptimizer.graph.Node;
+import com.group6.trafficgraphoptimizer.router.crp.CRPRouter;
+import com.group6.trafficgraphoptimizer.router.crp.GraphPartitioner;
+import com.group6.trafficgraphoptimizer.router.crp.MultiLevelOverlay;
+import com.group6.trafficgraphoptimizer.router.crp.Partition;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the CRPRouter, GraphPartitioner and MultiLevelOverlay classes.
+ */
+public class CRPRouterTest {
+
+    @Test
+    void testPartitionIsNestedAndBalanced() {
+        CompactGraph graph = GraphGenerator.grid(40, 40, new Random(1)).snapshot();
+        Partition partition = new GraphPartitioner().cellSizes(32, 256).build(graph);
+
+        assertEquals(2, partition.levels());
+        for (int level = 0; level < partition.levels(); level++) {
+            int limit = level == 0 ? 32 : 256;
+            for (int size : partition.cellSizes(level)) {
+                assertTrue(size > 0 && size <= limit, "Cell size " + size + " should fit level " + level);
+            }
+        }
+        assertTrue(partition.cellCount(0) <= 4 * 1600 / 32, "Bisection should not leave tiny cells");
+        int[] parent = new int[partition.cellCount(0)];
+        Arrays.fill(parent, -1);
+        for (int v = 0; v < graph.nodeCount(); v++) {
+            int cell = partition.cellOf(0, v);
+            int upper = partition.cellOf(1, v);
+            assertTrue(parent[cell] < 0 || parent[cell] == upper, "Every cell should lie inside one cell above");
+            parent[cell] = upper;
+        }
+
+        MultiLevelOverlay overlay = new MultiLevelOverlay(graph, partition, 1);
+        assertTrue(overlay.getBoundaryNodeCount(1) < graph.nodeCount() / 4,
+                "Cells should be compact, with few boundary nodes");
+        assertTrue(overlay.getBoundaryNodeCount(1) < overlay.getBoundaryNodeCount(0),
+                "Higher levels should have fewer boundary nodes");
+    }
+
+    @Test
+    void testInvalidCellSizes() {
+        assertThrows(IllegalArgumentException.class, () -> new GraphPartitioner().cellSizes());
+        assertThrows(IllegalArgumentException.class, () -> new GraphPartitioner().cellSizes(64, 64));
+        assertThrows(IllegalArgumentException.class, () -> new GraphPartitioner().cellSizes(0, 64));
+    }
+
+    @Test
+    void testMatchesDijkstraOnGrid() {
+        Graph graph = GraphGenerator.grid(30, 30, new Random(2));
+        assertMatchesDijkstra(graph, new CRPRouter(overlay(graph.snapshot(), 2)));
+    }
+
+    @Test
+    void testMatchesDijkstraOnRandomGraph() {
+        Graph graph = GraphGenerator.random(500, 1500, new Random(4));
+        assertMatchesDijkstra(graph, new CRPRouter(overlay(graph.snapshot(), 1)));
+    }
+
+    @Test
+    void testRecustomizeOnlyTouchesChangedCells() {
+        Graph graph = GraphGenerator.grid(30, 30, new Random(8));
+        MultiLevelOverlay overlay = overlay(graph.snapshot(), 1);
+        CRPRouter router = new CRPRouter(overlay);
+        Partition partition = overlay.getPartition();
+        int allCells = 0;
+        for (int level = 0; level < partition.levels(); level++) {
+            allCells += partition.cellCount(level);
+        }
+
+        assertEquals(0, overlay.recustomize(), "Nothing should be recomputed without changes");
+        Random rand = new Random(9);
+        List<Node> nodes = new ArrayList<>(graph.getNodes());
+        for (int i = 0; i < 5; i++) {
+            List<Edge> edges = graph.getEdgesFrom(nodes.get(rand.nextInt(nodes.size())));
+            Edge edge = edges.get(rand.nextInt(edges.size()));
+            edge.setWeight(edge.getWeight() * 20);
+            overlay.updateWeight(edge);
+        }
+        assertEquals(5, overlay.getPendingUpdates());
+        int recomputed = overlay.recustomize();
+        assertEquals(0, overlay.getPendingUpdates());
+        assertTrue(recomputed > 0 && recomputed < allCells,
+                "Only cells with a changed edge should be recomputed, got " + recomputed + " of " + allCells);
+
+        assertMatchesDijkstra(graph, router);
+    }
+
+    @Test
+    void testSimpleGraphAndErrors() {
+        Graph graph = new Graph();
+        Node A = new Node("A"), B = new Node("B"), C = new Node("C"), D = new Node("D");
+        graph.addEdge(A, B, 1.0);
+        graph.addEdge(B, C, 1.0);
+        graph.addEdge(C, D, 1.0);
+        graph.addEdge(A, D, 5.0);
+
+        CRPRouter router = new CRPRouter(overlay(graph.snapshot(), 1));
+        assertEquals(List.of(A, B, C, D), router.findShortestPath(A, D));
+        assertEquals(List.of(A), router.findShortestPath(A, A));
+        assertTrue(router.findShortestPath(D, A).isEmpty(), "Edges are directed");
+        assertTrue(router.findShortestPath(A, new Node("unknown")).isEmpty(), "Unknown nodes have no path");
+
+        MultiLevelOverlay overlay = router.getOverlay();
+        assertThrows(IllegalArgumentException.class, () -> overlay.updateWeight(99, 1.0), "Unknown edge id");
+        assertThrows(IllegalArgumentException.class, () -> overlay.updateWeight(0, -1.0), "Negative weight");
+        CompactGraph other = GraphGenerator.grid(3, 3, new Random(1)).snapshot();
+        assertThrows(IllegalArgumentException.class,
+                () -> new MultiLevelOverlay(other, overlay.getPartition()), "Partition of another graph");
+    }
+
+    @Test
+    void testQueriesSettleFewerNodesThanDijkstra() {
+        Graph graph = GraphGenerator.grid(60, 60, new Random(5));
+        CRPRouter router = new CRPRouter(overlay(graph.snapshot(), 1));
+        StaticRouter dijkstra = new StaticRouter(graph);
+        SearchStats crpStats = new SearchStats();
+        SearchStats dijkstraStats = new SearchStats();
+        Random rand = new Random(6);
+        List<Node> nodes = new ArrayList<>(graph.getNodes());
+        for (int i = 0; i < 50; i++) {
+            Node start = nodes.get(rand.nextInt(nodes.size()));
+            Node end = nodes.get(rand.nextInt(nodes.size()));
+            router.findShortestPath(start, end, crpStats);
+            dijkstra.findShortestPath(start, end, dijkstraStats);
+        }
+        assertTrue(crpStats.getSettledNodes() * 2 < dijkstraStats.getSettledNodes(),
+                "The overlay should skip the inside of cells away from start and end");
+    }
+
+    private static MultiLevelOverlay overlay(CompactGraph graph, int threads) {
+        Partition partition = new GraphPartitioner().cellSizes(16, 64, 256).build(graph);
+        return new MultiLevelOverlay(graph, partition, threads);
+    }
+
+    private void assertMatchesDijkstra(Graph graph, CRPRouter crp) {
+        StaticRouter dijkstra = new StaticRouter(graph);
+        Random rand = new Random(21);
+        List<Node> nodes = new ArrayList<>(graph.getNodes());
+        for (int i = 0; i < 300; i++) {
+            Node start = nodes.get(rand.nextInt(nodes.size()));
+            Node end = nodes.get(rand.nextInt(nodes.size()));
+            List<Node> expected = dijkstra.findShortestPath(start, end);
+            List<Node> actual = crp.findShortestPath(start, end);
+            assertEquals(expected.isEmpty(), actual.isEmpty(), "CRP should agree on reachability");
+            if (actual.isEmpty()) continue;
+            assertEquals(start, actual.get(0), "Unpacked path should start at the start node");
+            assertEquals(end, actual.get(actual.size() - 1), "Unpacked path should end at the end node");
+            assertEquals(StaticRouterTest.pathCost(graph, expected), StaticRouterTest.pathCost(graph, actual), 1e-9,
+                    "Unpacked path should have the shortest cost");
+        }
+    }
+}
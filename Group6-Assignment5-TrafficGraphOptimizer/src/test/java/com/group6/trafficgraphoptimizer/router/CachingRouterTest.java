@@ -0,0 +1,147 @@
+package com.group6.trafficgraphoptimizer.router;
+
+import com.group6.trafficgraphoptimizer.experiment.GraphGenerator;
+import com.group6.trafficgraphoptimizer.graph.Edge;
+import com.group6.trafficgraphoptimizer.graph.Graph;
+import com.group6.trafficgraphoptimizer.graph.Node;
+import com.group6.trafficgraphoptimizer.traffic.TrafficOverlay;
+import com.group6.trafficgraphoptimizer.traffic.TrafficUpdateBatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the CachingRouter class.
+ */
+public class CachingRouterTest {
+
+    private Graph graph;
+    private Node A, B, C, D;
+    private AtomicInteger searches;
+    private Router counting;
+
+    @BeforeEach
+    void setUp() {
+        graph = new Graph();
+        A = new Node("A");
+        B = new Node("B");
+        C = new Node("C");
+        D = new Node("D");
+        graph.addEdge(A, B, 1.0);
+        graph.addEdge(B, D, 1.0);
+        graph.addEdge(A, C, 2.0);
+        graph.addEdge(C, D, 2.0);
+
+        searches = new AtomicInteger();
+        StaticRouter router = new StaticRouter(graph);
+        counting = (start, end) -> {
+            searches.incrementAndGet();
+            return router.findShortestPath(start, end);
+        };
+    }
+
+    @Test
+    void testRepeatedQueryIsServedFromCache() {
+        CachingRouter cache = new CachingRouter(counting, graph, 10);
+        List<Node> first = cache.findShortestPath(A, D);
+        List<Node> second = cache.findShortestPath(A, D);
+
+        assertEquals(List.of(A, B, D), first, "Cache should return the delegate's route");
+        assertEquals(first, second, "Repeated query should return the same route");
+        assertEquals(1, searches.get(), "Second query should not search");
+        CacheStats stats = cache.getStats();
+        assertEquals(1, stats.getHits(), "One hit expected");
+        assertEquals(1, stats.getMisses(), "One miss expected");
+        assertThrows(UnsupportedOperationException.class, () -> second.add(C), "Cached paths must be read-only");
+    }
+
+    @Test
+    void testLeastRecentlyUsedRouteIsEvicted() {
+        CachingRouter cache = new CachingRouter(counting, graph, 2);
+        cache.findShortestPath(A, D);
+        cache.findShortestPath(A, C);
+        cache.findShortestPath(A, D); // A-D is now most recent
+        cache.findShortestPath(B, D); // evicts A-C
+
+        assertEquals(1, cache.getStats().getEvictions(), "One eviction expected");
+        assertEquals(2, cache.getStats().getSize(), "Cache should stay within capacity");
+        int before = searches.get();
+        cache.findShortestPath(A, D);
+        assertEquals(before, searches.get(), "Recently used route should still be cached");
+        cache.findShortestPath(A, C);
+        assertEquals(before + 1, searches.get(), "Evicted route should be searched again");
+    }
+
+    @Test
+    void testGraphChangeInvalidatesCache() {
+        CachingRouter cache = new CachingRouter(counting, graph, 10);
+        assertEquals(List.of(A, B, D), cache.findShortestPath(A, D));
+
+        graph.addEdge(A, D, 0.5);
+        assertEquals(List.of(A, D), cache.findShortestPath(A, D), "New edge should be used after invalidation");
+
+        for (Edge edge : graph.getEdgesFrom(A)) {
+            if (edge.getTo().equals(D)) edge.setWeight(10.0);
+        }
+        assertEquals(List.of(A, B, D), cache.findShortestPath(A, D), "Weight update should invalidate the cache");
+        assertEquals(3, searches.get(), "Every change should force a new search");
+        assertEquals(2, cache.getStats().getInvalidations(), "Each change drops the cached route");
+    }
+
+    @Test
+    void testOverlayUpdateInvalidatesCache() {
+        TrafficOverlay overlay = new TrafficOverlay(graph);
+        CachingRouter cache = new CachingRouter(new AdaptiveRouter(graph, overlay), graph, overlay, 10);
+        assertEquals(List.of(A, B, D), cache.findShortestPath(A, D));
+
+        overlay.publish(new TrafficUpdateBatch().setCongestion(1, 10.0));
+        assertEquals(List.of(A, C, D), cache.findShortestPath(A, D), "Traffic update should invalidate the cache");
+    }
+
+    @Test
+    void testConcurrentQueriesReturnCorrectRoutes() throws Exception {
+        Graph big = GraphGenerator.random(500, 2000, new Random(5));
+        List<Node> nodes = new ArrayList<>(big.getNodes());
+        StaticRouter router = new StaticRouter(big);
+        CachingRouter cache = new CachingRouter(router, big, 64);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int seed = t;
+                futures.add(executor.submit(() -> {
+                    Random random = new Random(seed);
+                    for (int i = 0; i < 500; i++) {
+                        Node start = nodes.get(random.nextInt(20));
+                        Node end = nodes.get(random.nextInt(20));
+                        assertEquals(router.findShortestPath(start, end), cache.findShortestPath(start, end),
+                                "Cached route should match a fresh search");
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        CacheStats stats = cache.getStats();
+        assertEquals(2000, stats.getHits() + stats.getMisses(), "Every lookup should be counted");
+        assertTrue(stats.getSize() <= 64, "Cache should stay within capacity");
+    }
+
+    @Test
+    void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new CachingRouter(counting, graph, 0));
+    }
+}
@@ -0,0 +1,129 @@
+package com.group6.trafficgraphoptimizer.router;
+
+import com.group6.trafficgraphoptimizer.experiment.GraphGenerator;
+import com.group6.trafficgraphoptimizer.graph.CompactGraph;
+import com.group6.trafficgraphoptimizer.graph.Graph;
+import com.group6.trafficgraphoptimizer.graph.Node;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the DeltaSteppingSearch class.
+ */
+public class DeltaSteppingSearchTest {
+
+    @Test
+    void testMatchesDijkstraOnRandomAndGridGraphs() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (Graph graph : List.of(GraphGenerator.random(3000, 12000, new Random(3)),
+                    GraphGenerator.grid(60, 60, new Random(4)))) {
+                CompactGraph snapshot = graph.snapshot();
+                for (int source : new int[] {0, 17, snapshot.nodeCount() - 1}) {
+                    double[] expected = dijkstra(snapshot, source);
+                    for (int parallelism : new int[] {1, 4}) {
+                        double[] actual = new DeltaSteppingSearch(snapshot, executor, parallelism)
+                                .computeDistances(snapshot.node(source));
+                        assertArrayEquals(expected, actual, 1e-9,
+                                "Distances should match Dijkstra with " + parallelism + " threads");
+                    }
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testAnyDeltaGivesTheSameDistances() {
+        CompactGraph snapshot = GraphGenerator.random(2000, 8000, new Random(5)).snapshot();
+        double[] expected = dijkstra(snapshot, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            for (double delta : new double[] {0.01, 0.5, 3.0, 1000.0}) {
+                double[] actual = new DeltaSteppingSearch(snapshot, delta, executor, 3)
+                        .computeDistances(snapshot.node(0));
+                assertArrayEquals(expected, actual, 1e-9, "Distances should not depend on delta " + delta);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testVeryLongEdgesGoThroughTheOverflowBuckets() {
+        // Far more buckets than the window holds between the cheap and the expensive edges
+        Graph graph = GraphGenerator.random(2000, 8000, new Random(6));
+        List<Node> nodes = new ArrayList<>(graph.getNodes());
+        Random rand = new Random(7);
+        for (int i = 0; i < 50; i++) {
+            graph.addEdge(nodes.get(rand.nextInt(nodes.size())), nodes.get(rand.nextInt(nodes.size())),
+                    1e6 * (1 + rand.nextInt(1000)));
+        }
+        CompactGraph snapshot = graph.snapshot();
+        double[] expected = dijkstra(snapshot, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            for (double delta : new double[] {1e-3, 0.5}) {
+                double[] actual = new DeltaSteppingSearch(snapshot, delta, executor, 3)
+                        .computeDistances(snapshot.node(0));
+                assertArrayEquals(expected, actual, 1e-6, "Distances should not depend on delta " + delta);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testAgreesWithStaticRouterPathCosts() {
+        Graph graph = GraphGenerator.random(300, 1200, new Random(8));
+        Node source = graph.getNode(0);
+        double[] distances = new DeltaSteppingSearch(graph).computeDistances(source);
+        StaticRouter router = new StaticRouter(graph);
+        for (Node target : graph.getNodes()) {
+            List<Node> path = router.findShortestPath(source, target);
+            double expected = path.isEmpty() ? Double.POSITIVE_INFINITY : StaticRouterTest.pathCost(graph, path);
+            assertEquals(expected, distances[graph.indexOf(target)], 1e-9, "Distance to " + target);
+        }
+    }
+
+    @Test
+    void testEdgeCases() {
+        Graph graph = new Graph();
+        Node A = new Node("A"), B = new Node("B"), C = new Node("C");
+        graph.addEdge(A, B, 0.0);
+        graph.addEdge(B, A, 2.0);
+        graph.addNode(C);
+        DeltaSteppingSearch search = new DeltaSteppingSearch(graph);
+
+        SearchStats stats = new SearchStats();
+        double[] distances = search.computeDistances(A, stats);
+        assertEquals(0.0, distances[graph.indexOf(A)]);
+        assertEquals(0.0, distances[graph.indexOf(B)], "Zero-weight edges should be followed");
+        assertEquals(Double.POSITIVE_INFINITY, distances[graph.indexOf(C)], "Unreachable nodes stay infinite");
+        assertEquals(2, stats.getSettledNodes(), "Each reachable node should leave its bucket once");
+
+        for (double d : search.computeDistances(new Node("missing"))) {
+            assertEquals(Double.POSITIVE_INFINITY, d, "Unknown sources reach nothing");
+        }
+        assertTrue(search.getDelta() > 0);
+        assertThrows(IllegalArgumentException.class,
+                () -> new DeltaSteppingSearch(graph.snapshot(), 0.0, Executors.newSingleThreadExecutor(), 1));
+    }
+
+    private static double[] dijkstra(CompactGraph graph, int source) {
+        SearchWorkspace workspace = DijkstraSearch.oneToAll(graph, source, false, SearchWorkspace.FORWARD);
+        double[] distances = new double[graph.nodeCount()];
+        for (int v = 0; v < distances.length; v++) {
+            distances[v] = workspace.distance(v);
+        }
+        return distances;
+    }
+}
@@ -0,0 +1,80 @@
+package com.group6.trafficgraphoptimizer.router;
+
+import com.group6.trafficgraphoptimizer.experiment.GraphGenerator;
+import com.group6.trafficgraphoptimizer.graph.Graph;
+import com.group6.trafficgraphoptimizer.graph.Node;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the DistanceMatrixRouter class.
+ */
+public class DistanceMatrixRouterTest {
+
+    @Test
+    void testMatrixMatchesPointToPointQueries() {
+        Graph graph = GraphGenerator.random(300, 1200, new Random(8));
+        List<Node> nodes = new ArrayList<>(graph.getNodes());
+        List<Node> sources = nodes.subList(0, 20);
+        List<Node> targets = nodes.subList(100, 115);
+
+        double[] matrix = new DistanceMatrixRouter(graph).computeMatrix(sources, targets);
+        assertEquals(sources.size() * targets.size(), matrix.length, "Matrix should have one entry per pair");
+
+        StaticRouter router = new StaticRouter(graph);
+        for (int i = 0; i < sources.size(); i++) {
+            for (int j = 0; j < targets.size(); j++) {
+                List<Node> path = router.findShortestPath(sources.get(i), targets.get(j));
+                double expected = path.isEmpty() ? Double.POSITIVE_INFINITY : StaticRouterTest.pathCost(graph, path);
+                assertEquals(expected, matrix[i * targets.size() + j], 1e-9, "Entry should equal the shortest path cost");
+            }
+        }
+    }
+
+    @Test
+    void testCustomExecutorGivesSameResult() {
+        Graph graph = GraphGenerator.grid(20, 20, new Random(2));
+        List<Node> nodes = new ArrayList<>(graph.getNodes());
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            double[] pooled = new DistanceMatrixRouter(graph, executor, 3).computeMatrix(nodes, nodes.subList(0, 10));
+            double[] common = new DistanceMatrixRouter(graph).computeMatrix(nodes, nodes.subList(0, 10));
+            assertArrayEquals(common, pooled, "Result should not depend on the executor");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testUnknownAndRepeatedNodes() {
+        Graph graph = new Graph();
+        Node A = new Node("A"), B = new Node("B"), X = new Node("X");
+        graph.addEdge(A, B, 2.0);
+
+        double[] matrix = new DistanceMatrixRouter(graph).computeMatrix(List.of(A, X), List.of(B, A, B, X));
+        assertArrayEquals(new double[] {
+                2.0, 0.0, 2.0, Double.POSITIVE_INFINITY,
+                Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, 0.0
+        }, matrix, 1e-9);
+    }
+
+    @Test
+    void testRejectsMatricesTooLargeForOneArray() {
+        Graph graph = new Graph();
+        Node A = new Node("A");
+        graph.addNode(A);
+        List<Node> many = Collections.nCopies(50_000, A);
+
+        DistanceMatrixRouter router = new DistanceMatrixRouter(graph);
+        assertThrows(IllegalArgumentException.class, () -> router.computeMatrix(many, many),
+                "50000 x 50000 entries overflow an int index");
+    }
+}
@@ -0,0 +1,123 @@
+package com.group6.trafficgraphoptimizer.router;
+
+import com.group6.trafficgraphoptimizer.experiment.GraphGenerator;
+import com.group6.trafficgraphoptimizer.graph.CompactGraph;
+import com.group6.trafficgraphoptimizer.graph.Edge;
+import com.group6.trafficgraphoptimizer.graph.Graph;
+import com.group6.trafficgraphoptimizer.graph.Node;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the DynamicShortestPathTree class.
+ */
+public class DynamicShortestPathTreeTest {
+
+    @Test
+    void testRepairMatchesRecomputation() {
+        Random rand = new Random(21);
+        Graph graph = GraphGenerator.random(400, 1600, rand);
+        List<Edge> edges = new ArrayList<>();
+        for (Node node : graph.getNodes()) {
+            edges.addAll(graph.getEdgesFrom(node));
+        }
+        Node source = graph.getNode(0);
+        DynamicShortestPathTree tree = new DynamicShortestPathTree(graph, source);
+        assertDistances(graph, source, tree);
+
+        for (int round = 0; round < 30; round++) {
+            int changes = 1 + rand.nextInt(20);
+            for (int i = 0; i < changes; i++) {
+                Edge edge = edges.get(rand.nextInt(edges.size()));
+                double factor = rand.nextBoolean() ? 0.2 + rand.nextDouble() * 0.8 : 1 + rand.nextDouble() * 10;
+                edge.setWeight(edge.getWeight() * factor);
+                tree.updateWeight(edge);
+            }
+            assertEquals(changes, tree.getPendingUpdates());
+            tree.repair();
+            assertEquals(0, tree.getPendingUpdates(), "Repair should consume the queued updates");
+            assertDistances(graph, source, tree);
+        }
+    }
+
+    private static void assertDistances(Graph graph, Node source, DynamicShortestPathTree tree) {
+        CompactGraph snapshot = graph.snapshot();
+        SearchWorkspace expected = DijkstraSearch.oneToAll(snapshot, snapshot.indexOf(source), false,
+                SearchWorkspace.FORWARD);
+        for (int v = 0; v < snapshot.nodeCount(); v++) {
+            Node node = snapshot.node(v);
+            assertEquals(expected.distance(v), tree.getDistance(node), 1e-9, "Distance to " + node);
+
+            List<Node> path = tree.getPath(node);
+            if (!expected.isVisited(v)) {
+                assertTrue(path.isEmpty(), "Unreachable nodes should have no path");
+                continue;
+            }
+            double cost = 0;
+            for (int i = 0; i + 1 < path.size(); i++) {
+                double best = Double.POSITIVE_INFINITY;
+                for (Edge edge : graph.getEdgesFrom(path.get(i))) {
+                    if (edge.getTo().equals(path.get(i + 1))) best = Math.min(best, edge.getWeight());
+                }
+                cost += best;
+            }
+            assertEquals(expected.distance(v), cost, 1e-9, "Tree path should have the tree distance");
+        }
+    }
+
+    @Test
+    void testRepairWorkIsLocal() {
+        // A long chain with a cheap side road near the end
+        Graph graph = new Graph();
+        int length = 1000;
+        List<Edge> chain = new ArrayList<>();
+        for (int i = 0; i < length; i++) {
+            graph.addEdge(new Node("C" + i), new Node("C" + (i + 1)), 1.0);
+            chain.addAll(graph.getEdgesFrom(new Node("C" + i)));
+        }
+        graph.addEdge(new Node("C" + (length - 3)), new Node("C" + (length - 1)), 5.0);
+        DynamicShortestPathTree tree = new DynamicShortestPathTree(graph, new Node("C0"));
+
+        Edge nearEnd = chain.get(length - 2);
+        nearEnd.setWeight(10.0);
+        tree.updateWeight(nearEnd);
+        SearchStats stats = new SearchStats();
+        int settled = tree.repair(stats);
+
+        assertTrue(settled <= 3, "Only the cut-off tail should be settled again, was " + settled);
+        assertEquals(settled, stats.getSettledNodes());
+        assertEquals(length - 3 + 5.0, tree.getDistance(new Node("C" + (length - 1))), 1e-9,
+                "Tail should be reattached through the side road");
+        assertEquals(length - 3 + 6.0, tree.getDistance(new Node("C" + length)), 1e-9);
+
+        nearEnd.setWeight(1.0);
+        tree.updateWeight(nearEnd);
+        assertEquals(length, tree.getDistance(new Node("C" + length)), 1e-9,
+                "Queries should apply queued decreases");
+        assertEquals(0, tree.repair(), "Repair without updates should do nothing");
+    }
+
+    @Test
+    void testDisconnectionAndInvalidInput() {
+        Graph graph = new Graph();
+        Node a = new Node("A"), b = new Node("B"), c = new Node("C");
+        graph.addEdge(a, b, 1.0);
+        graph.addNode(c);
+        DynamicShortestPathTree tree = new DynamicShortestPathTree(graph, a);
+
+        assertEquals(a, tree.getSource());
+        assertEquals(List.of(a), tree.getPath(a), "Source path should be the source alone");
+        assertEquals(Double.POSITIVE_INFINITY, tree.getDistance(c), "Isolated nodes should be unreachable");
+        assertTrue(tree.getPath(new Node("Z")).isEmpty(), "Unknown nodes should have no path");
+
+        assertThrows(IllegalArgumentException.class, () -> new DynamicShortestPathTree(graph, new Node("Z")));
+        assertThrows(IllegalArgumentException.class, () -> tree.updateWeight(5, 1.0), "Unknown edge id");
+        assertThrows(IllegalArgumentException.class, () -> tree.updateWeight(0, -1.0), "Negative weight");
+        assertThrows(IllegalArgumentException.class, () -> tree.updateWeight(0, Double.NaN), "NaN weight");
+    }
+}
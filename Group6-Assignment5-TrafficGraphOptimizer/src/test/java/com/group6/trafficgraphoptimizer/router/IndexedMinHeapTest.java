@@ -0,0 +1,98 @@
+package com.group6.trafficgraphoptimizer.router;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the IndexedMinHeap class.
+ */
+public class IndexedMinHeapTest {
+
+    @Test
+    void testPollsInKeyOrder() {
+        IndexedMinHeap heap = new IndexedMinHeap(5);
+        heap.insertOrDecrease(3, 3.0);
+        heap.insertOrDecrease(1, 1.0);
+        heap.insertOrDecrease(4, 4.0);
+        heap.insertOrDecrease(0, 0.5);
+
+        assertEquals(0, heap.poll());
+        assertEquals(1, heap.poll());
+        assertEquals(3, heap.poll());
+        assertEquals(4, heap.poll());
+        assertTrue(heap.isEmpty(), "Heap should be empty after polling everything");
+    }
+
+    @Test
+    void testDecreaseKeyKeepsSingleEntry() {
+        IndexedMinHeap heap = new IndexedMinHeap(3);
+        heap.insertOrDecrease(2, 10.0);
+        heap.insertOrDecrease(1, 5.0);
+        assertTrue(heap.insertOrDecrease(2, 1.0), "Smaller key should update the entry");
+        assertFalse(heap.insertOrDecrease(2, 7.0), "Larger key should be ignored");
+
+        assertEquals(2, heap.size(), "Decrease-key must not add duplicates");
+        assertEquals(1.0, heap.peekKey(), 0.0001);
+        assertEquals(2, heap.poll());
+        assertFalse(heap.contains(2), "Polled id should no longer be contained");
+    }
+
+    @Test
+    void testMatchesSortedOrderForEveryArity() {
+        Random rand = new Random(7);
+        for (int arity = 2; arity <= 8; arity++) {
+            IndexedMinHeap heap = new IndexedMinHeap(200, arity);
+            double[] keys = new double[200];
+            for (int i = 0; i < 200; i++) {
+                keys[i] = rand.nextDouble() * 100;
+                heap.insertOrDecrease(i, keys[i]);
+            }
+            for (int i = 0; i < 200; i += 3) {
+                keys[i] /= 2;
+                heap.insertOrDecrease(i, keys[i]);
+            }
+            double[] sorted = keys.clone();
+            Arrays.sort(sorted);
+            for (double expected : sorted) {
+                assertEquals(expected, keys[heap.poll()], 0.0, "Arity " + arity + " should poll in order");
+            }
+        }
+    }
+
+    @Test
+    void testClearAndGrow() {
+        IndexedMinHeap heap = new IndexedMinHeap(2);
+        heap.insertOrDecrease(0, 1.0);
+        heap.insertOrDecrease(1, 2.0);
+        heap.clear();
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(0), "Cleared ids should be absent");
+
+        heap.ensureCapacity(10);
+        heap.insertOrDecrease(9, 3.0);
+        assertEquals(9, heap.poll());
+    }
+
+    @Test
+    void testEmptyHeapThrows() {
+        IndexedMinHeap heap = new IndexedMinHeap(1);
+        assertThrows(NoSuchElementException.class, heap::poll);
+    }
+
+    @Test
+    void testPeakSizeTracksLargestSize() {
+        IndexedMinHeap heap = new IndexedMinHeap(4);
+        heap.insertOrDecrease(0, 1.0);
+        heap.insertOrDecrease(1, 2.0);
+        heap.insertOrDecrease(2, 3.0);
+        heap.poll();
+        heap.poll();
+        heap.insertOrDecrease(2, 0.5);
+        assertEquals(3, heap.peakSize(), "Peak should survive polls and decrease-keys");
+        heap.clear();
+        assertEquals(0, heap.peakSize(), "Clear should reset the peak");
+    }
+}
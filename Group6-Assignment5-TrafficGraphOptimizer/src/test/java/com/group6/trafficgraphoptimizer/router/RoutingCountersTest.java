@@ -0,0 +1,118 @@
+package com.group6.trafficgraphoptimizer.router;
+
+import com.group6.trafficgraphoptimizer.graph.Graph;
+import com.group6.trafficgraphoptimizer.graph.Node;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.management.MBeanServer;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the RoutingCounters and RoutingQueryEvent classes.
+ */
+public class RoutingCountersTest {
+
+    private Graph graph;
+    private Node A, B, C;
+
+    @BeforeEach
+    void setUp() {
+        graph = new Graph();
+        A = new Node("A");
+        B = new Node("B");
+        C = new Node("C");
+        graph.addEdge(A, B, 1.0);
+        graph.addEdge(B, C, 2.0);
+    }
+
+    @Test
+    void testCountsQueriesAndUnreachableTargets() {
+        StaticRouter router = new StaticRouter(graph);
+        RoutingCounters counters = router.getCounters();
+        assertSame(RoutingCounters.forRouter("static"), counters, "Routers of one kind should share counters");
+        long queries = counters.getQueries();
+        long unreachable = counters.getUnreachable();
+        long settled = counters.getSettledNodes();
+
+        RouteResult found = router.route(A, C);
+        router.route(C, A);
+        assertEquals(queries + 2, counters.getQueries());
+        assertEquals(unreachable + 1, counters.getUnreachable(), "C -> A has no route");
+        assertTrue(counters.getSettledNodes() >= settled + found.getSettledNodes());
+        assertEquals(0, counters.getFailures());
+    }
+
+    @Test
+    void testDisabledCountersIgnoreQueries() {
+        AdaptiveRouter router = new AdaptiveRouter(graph);
+        RoutingCounters counters = router.getCounters();
+        counters.setEnabled(false);
+        try {
+            long queries = counters.getQueries();
+            router.route(A, C);
+            assertEquals(queries, counters.getQueries(), "Disabled counters should not change");
+        } finally {
+            counters.setEnabled(true);
+        }
+        router.route(A, C);
+        assertTrue(counters.getQueries() > 0);
+        counters.reset();
+        assertEquals(0, counters.getQueries(), "Reset should zero the counters");
+    }
+
+    @Test
+    void testFailuresAreCounted() {
+        AdaptiveRouter router = new AdaptiveRouter(graph, (source, target) -> {
+            throw new IllegalStateException("Traffic feed down");
+        });
+        long failures = router.getCounters().getFailures();
+        assertThrows(IllegalStateException.class, () -> router.route(A, C));
+        assertEquals(failures + 1, router.getCounters().getFailures());
+    }
+
+    @Test
+    void testCountersAreExposedOverJmx() throws Exception {
+        StaticRouter router = new StaticRouter(graph, StaticRouter.Mode.BIDIRECTIONAL);
+        router.route(A, C);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        RoutingCounters counters = router.getCounters();
+        assertTrue(server.isRegistered(counters.getObjectName()));
+        assertEquals(counters.getQueries(), server.getAttribute(counters.getObjectName(), "Queries"));
+        assertEquals("bidirectional", counters.getObjectName().getKeyProperty("router"));
+    }
+
+    @Test
+    void testQueriesEmitFlightRecorderEvents(@TempDir Path dir) throws Exception {
+        StaticRouter router = new StaticRouter(graph);
+        Path file = dir.resolve("routing.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.group6.trafficgraphoptimizer.RoutingQuery").withThreshold(Duration.ZERO);
+            recording.start();
+            router.route(A, C);
+            router.route(C, A);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertEquals(2, events.size(), "One event per query");
+        RecordedEvent first = events.get(0);
+        assertEquals("static", first.getString("router"));
+        assertEquals("A", first.getString("source"));
+        assertEquals("C", first.getString("target"));
+        assertTrue(first.getBoolean("found"));
+        assertTrue(first.getLong("settledNodes") > 0);
+        assertTrue(first.getInt("queuePeak") > 0);
+        assertFalse(events.get(1).getBoolean("found"), "C -> A has no route");
+    }
+}
@@ -0,0 +1,49 @@
+package com.group6.trafficgraphoptimizer.router;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the SearchWorkspace class.
+ */
+public class SearchWorkspaceTest {
+
+    @Test
+    void testResetForgetsPreviousQuery() {
+        SearchWorkspace workspace = new SearchWorkspace(4);
+        workspace.reach(2, 5.0, 1, 7);
+        assertTrue(workspace.isVisited(2));
+        assertEquals(5.0, workspace.distance(2), 0.0001);
+        assertEquals(1, workspace.parent(2));
+        assertEquals(7, workspace.parentEdge(2));
+
+        workspace.reset();
+        assertFalse(workspace.isVisited(2), "Reset should invalidate old entries");
+        assertEquals(Double.POSITIVE_INFINITY, workspace.distance(2), "Unvisited distance should be infinite");
+        assertEquals(-1, workspace.parent(2));
+        assertTrue(workspace.heap().isEmpty(), "Reset should drain the queue");
+    }
+
+    @Test
+    void testSettledAfterPoll() {
+        SearchWorkspace workspace = new SearchWorkspace(3);
+        workspace.reach(0, 0.0, -1, -1);
+        assertFalse(workspace.isSettled(0), "Queued node is not settled yet");
+        workspace.heap().poll();
+        assertTrue(workspace.isSettled(0), "Polled node should count as settled");
+        assertFalse(workspace.isSettled(1), "Unreached node is not settled");
+    }
+
+    @Test
+    void testThreadPoolReusesAndGrows() {
+        SearchWorkspace first = SearchWorkspace.forThread(SearchWorkspace.FORWARD, 10);
+        first.reach(9, 1.0, -1, -1);
+        SearchWorkspace second = SearchWorkspace.forThread(SearchWorkspace.FORWARD, 100);
+        assertSame(first, second, "Same thread and slot should reuse the workspace");
+        assertFalse(second.isVisited(9), "Pooled workspace should come back reset");
+        second.reach(99, 2.0, -1, -1);
+        assertEquals(2.0, second.distance(99), 0.0001, "Workspace should grow to the requested size");
+        assertNotSame(first, SearchWorkspace.forThread(SearchWorkspace.BACKWARD, 10), "Slots are independent");
+    }
+}
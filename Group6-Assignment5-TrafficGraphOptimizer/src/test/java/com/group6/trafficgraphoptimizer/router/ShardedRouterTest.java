@@ -0,0 +1,224 @@
+package com.group6.trafficgraphoptimizer.router;
+
+import com.group6.trafficgraphoptimizer.experiment.GraphGenerator;
+import com.group6.trafficgraphoptimizer.graph.CompactGraph;
+import com.group6.trafficgraphoptimizer.graph.Edge;
+import com.group6.trafficgraphoptimizer.graph.Graph;
+import com.group6.trafficgraphoptimizer.graph.Node;
+import com.group6.trafficgraphoptimizer.router.crp.GraphPartitioner;
+import com.group6.trafficgraphoptimizer.router.crp.MultiLevelOverlay;
+import com.group6.trafficgraphoptimizer.router.crp.RegionCell;
+import com.group6.trafficgraphoptimizer.router.crp.RegionService;
+import com.group6.trafficgraphoptimizer.router.crp.RegionSummary;
+import com.group6.trafficgraphoptimizer.router.crp.ShardedRouter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ShardedRouter and RegionCell classes.
+ */
+public class ShardedRouterTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testRegionsRoundTripThroughFiles() throws IOException {
+        Graph graph = GraphGenerator.grid(20, 20, new Random(3));
+        MultiLevelOverlay overlay = overlay(graph.snapshot());
+        List<RegionCell> regions = RegionCell.extractAll(overlay);
+        assertTrue(regions.size() > 1, "The grid should be split into several regions");
+
+        List<RegionCell> loaded = new ArrayList<>();
+        for (RegionCell region : regions) {
+            Path file = dir.resolve("region-" + region.getRegion() + ".bin");
+            region.write(file);
+            loaded.add(RegionCell.read(file));
+        }
+        int nodes = 0;
+        for (int r = 0; r < regions.size(); r++) {
+            RegionCell original = regions.get(r);
+            RegionCell copy = loaded.get(r);
+            nodes += copy.nodeCount();
+            assertEquals(original.toString(), copy.toString(), "Sizes should survive the round trip");
+            assertEquals(original.nodes(), copy.nodes());
+            assertSameSummary(original.getSummary(), copy.getSummary());
+
+            Path file = dir.resolve("summary-" + original.getRegion() + ".bin");
+            original.getSummary().write(file);
+            assertSameSummary(original.getSummary(), RegionSummary.read(file));
+        }
+        assertEquals(graph.getNodeCount(), nodes, "Regions should cover the graph");
+
+        Path bogus = dir.resolve("bogus.bin");
+        Files.write(bogus, new byte[]{1, 2, 3, 4});
+        assertThrows(IOException.class, () -> RegionCell.read(bogus), "Other files should be rejected");
+        assertThrows(IOException.class, () -> RegionSummary.read(bogus), "Other files should be rejected");
+    }
+
+    @Test
+    void testRoutesWithOnlyTwoRegionBodiesLoaded() throws IOException {
+        Graph graph = GraphGenerator.grid(25, 25, new Random(7));
+        List<RegionCell> regions = RegionCell.extractAll(overlay(graph.snapshot()));
+        Map<Node, Integer> regionOf = new HashMap<>();
+        List<RegionSummary> summaries = new ArrayList<>();
+        for (RegionCell region : regions) {
+            for (Node node : region.nodes()) regionOf.put(node, region.getRegion());
+            Path file = dir.resolve("summary-" + region.getRegion() + ".bin");
+            region.getSummary().write(file);
+            summaries.add(RegionSummary.read(file));
+            region.write(dir.resolve("region-" + region.getRegion() + ".bin"));
+        }
+        RegionCell first = regions.get(0);
+        RegionCell last = regions.get(regions.size() - 1);
+        ShardedRouter router = new ShardedRouter(summaries, node -> regionOf.getOrDefault(node, -1),
+                RegionService.local(List.of(first, last)));
+
+        StaticRouter dijkstra = new StaticRouter(graph);
+        for (int i = 0; i < first.nodeCount(); i += 3) {
+            for (int j = 0; j < last.nodeCount(); j += 5) {
+                Node start = first.nodes().get(i);
+                Node end = last.nodes().get(j);
+                assertEquals(dijkstra.route(start, end).getBaseCost(), router.distance(start, end), 1e-9,
+                        "Two region bodies should be enough for the distance");
+            }
+        }
+
+        // Paths fetch the bodies of the regions they pass through, and no others
+        Set<Integer> fetched = new HashSet<>();
+        Map<Integer, RegionCell> cache = new HashMap<>();
+        ShardedRouter paths = new ShardedRouter(summaries, node -> regionOf.getOrDefault(node, -1),
+                new RegionService() {
+                    @Override
+                    public double[] distancesToExits(int region, Node source) {
+                        return body(region).distancesToExits(source);
+                    }
+
+                    @Override
+                    public double[] distancesFromEntries(int region, Node target) {
+                        return body(region).distancesFromEntries(target);
+                    }
+
+                    @Override
+                    public double distance(int region, Node from, Node to) {
+                        return body(region).distance(from, to);
+                    }
+
+                    @Override
+                    public List<Node> path(int region, Node from, Node to) {
+                        return body(region).path(from, to);
+                    }
+
+                    private RegionCell body(int region) {
+                        fetched.add(region);
+                        return cache.computeIfAbsent(region, r -> {
+                            try {
+                                return RegionCell.read(dir.resolve("region-" + r + ".bin"));
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+                    }
+                });
+        Node start = first.nodes().get(0);
+        Node end = last.nodes().get(last.nodeCount() - 1);
+        List<Node> path = paths.findShortestPath(start, end);
+        assertEquals(dijkstra.route(start, end).getBaseCost(), StaticRouterTest.pathCost(graph, path), 1e-9);
+        Set<Integer> crossed = new HashSet<>();
+        for (Node node : path) crossed.add(regionOf.get(node));
+        assertTrue(crossed.size() > 2, "The route should pass through other regions");
+        assertEquals(crossed, fetched, "Only the regions on the path should be fetched");
+    }
+
+    @Test
+    void testMatchesDijkstraAcrossLoadedRegions() throws IOException {
+        Graph graph = GraphGenerator.grid(25, 25, new Random(4));
+        List<RegionCell> loaded = new ArrayList<>();
+        for (RegionCell region : RegionCell.extractAll(overlay(graph.snapshot()))) {
+            Path file = dir.resolve("region-" + region.getRegion() + ".bin");
+            region.write(file);
+            loaded.add(RegionCell.read(file));
+        }
+        assertMatchesDijkstra(graph, new ShardedRouter(loaded));
+    }
+
+    @Test
+    void testOnlyChangedRegionsNeedRewriting() {
+        Graph graph = GraphGenerator.random(400, 1400, new Random(5));
+        MultiLevelOverlay overlay = overlay(graph.snapshot());
+        List<RegionCell> regions = new ArrayList<>(RegionCell.extractAll(overlay));
+
+        Node node = graph.getNodes().iterator().next();
+        Edge edge = graph.getEdgesFrom(node).get(0);
+        edge.setWeight(edge.getWeight() * 50);
+        overlay.updateWeight(edge);
+        overlay.recustomize();
+        for (int r = 0; r < regions.size(); r++) {
+            if (regions.get(r).contains(node)) regions.set(r, RegionCell.extract(overlay, r));
+        }
+        assertMatchesDijkstra(graph, new ShardedRouter(regions));
+    }
+
+    @Test
+    void testUnknownNodesAndOverlappingRegions() {
+        Graph graph = GraphGenerator.grid(10, 10, new Random(6));
+        List<RegionCell> regions = RegionCell.extractAll(overlay(graph.snapshot()));
+        ShardedRouter router = new ShardedRouter(regions);
+        Node start = graph.getNode(0);
+        assertEquals(List.of(start), router.findShortestPath(start, start));
+        assertTrue(router.findShortestPath(start, new Node("unknown")).isEmpty(), "Unknown nodes have no path");
+
+        List<RegionCell> twice = new ArrayList<>(regions);
+        twice.add(regions.get(0));
+        assertThrows(IllegalArgumentException.class, () -> new ShardedRouter(twice), "Regions must not overlap");
+        assertThrows(IllegalArgumentException.class, () -> new ShardedRouter(regions.subList(0, 1)),
+                "Edges leaving the regions must lead into one of them");
+    }
+
+    private static void assertSameSummary(RegionSummary expected, RegionSummary actual) {
+        assertEquals(expected.toString(), actual.toString());
+        for (int i = 0; i < actual.entryCount(); i++) {
+            assertEquals(expected.entry(i), actual.entry(i));
+            for (int j = 0; j < actual.exitCount(); j++) {
+                assertEquals(expected.clique(i, j), actual.clique(i, j), "Cliques should survive the round trip");
+            }
+        }
+        for (int j = 0; j < actual.exitCount(); j++) {
+            assertEquals(expected.exit(j), actual.exit(j));
+            for (int k = actual.firstCutEdge(j); k < actual.endCutEdge(j); k++) {
+                assertEquals(expected.cutTarget(k), actual.cutTarget(k));
+                assertEquals(expected.cutWeight(k), actual.cutWeight(k));
+            }
+        }
+    }
+
+    private static MultiLevelOverlay overlay(CompactGraph graph) {
+        return new MultiLevelOverlay(graph, new GraphPartitioner().cellSizes(16, 64).build(graph), 1);
+    }
+
+    private void assertMatchesDijkstra(Graph graph, ShardedRouter sharded) {
+        StaticRouter dijkstra = new StaticRouter(graph);
+        Random rand = new Random(21);
+        List<Node> nodes = new ArrayList<>(graph.getNodes());
+        for (int i = 0; i < 300; i++) {
+            Node start = nodes.get(rand.nextInt(nodes.size()));
+            Node end = nodes.get(rand.nextInt(nodes.size()));
+            List<Node> expected = dijkstra.findShortestPath(start, end);
+            List<Node> actual = sharded.findShortestPath(start, end);
+            assertEquals(expected.isEmpty(), actual.isEmpty(), "Regions should agree on reachability");
+            if (actual.isEmpty()) continue;
+            assertEquals(start, actual.get(0), "Path should start at the start node");
+            assertEquals(end, actual.get(actual.size() - 1), "Path should end at the end node");
+            assertEquals(StaticRouterTest.pathCost(graph, expected), StaticRouterTest.pathCost(graph, actual), 1e-9,
+                    "Path should have the shortest cost");
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.group6.trafficgraphoptimizer.router;
+
+import com.group6.trafficgraphoptimizer.experiment.GraphGenerator;
+import com.group6.trafficgraphoptimizer.graph.Edge;
+import com.group6.trafficgraphoptimizer.graph.Graph;
+import com.group6.trafficgraphoptimizer.graph.Node;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the StaticRouter class.
+ */
+public class StaticRouterTest {
+
+    private Graph graph;
+    private Node A, B, C, D;
+
+    @BeforeEach
+    void setUp() {
+        graph = new Graph();
+        A = new Node("A");
+        B = new Node("B");
+        C = new Node("C");
+        D = new Node("D");
+
+        graph.addEdge(A, B, 1.0);
+        graph.addEdge(B, C, 1.0);
+        graph.addEdge(C, D, 1.0);
+        graph.addEdge(A, D, 5.0);
+    }
+
+    @Test
+    void testFindsCheapestPath() {
+        List<Node> path = new StaticRouter(graph).findShortestPath(A, D);
+        assertEquals(List.of(A, B, C, D), path, "Cheaper three-hop route should win over the direct edge");
+    }
+
+    @Test
+    void testSnapshotRouterMatchesGraphRouter() {
+        StaticRouter live = new StaticRouter(graph);
+        StaticRouter frozen = new StaticRouter(graph.snapshot());
+        assertEquals(live.findShortestPath(A, D), frozen.findShortestPath(A, D),
+                "Snapshot-backed router should return the same path");
+    }
+
+    @Test
+    void testPicksUpGraphChanges() {
+        StaticRouter router = new StaticRouter(graph);
+        graph.addEdge(A, C, 0.5);
+        assertEquals(List.of(A, C, D), router.findShortestPath(A, D), "New edge should be used by later queries");
+    }
+
+    @Test
+    void testStartEqualsEnd() {
+        assertEquals(List.of(A), new StaticRouter(graph).findShortestPath(A, A), "Path to itself is the node alone");
+    }
+
+    @Test
+    void testUnreachableTarget() {
+        assertTrue(new StaticRouter(graph).findShortestPath(D, A).isEmpty(), "Edges are directed");
+    }
+
+    @Test
+    void testBidirectionalFindsSamePath() {
+        StaticRouter router = new StaticRouter(graph, StaticRouter.Mode.BIDIRECTIONAL);
+        assertEquals(List.of(A, B, C, D), router.findShortestPath(A, D));
+        assertEquals(List.of(A), router.findShortestPath(A, A));
+        assertTrue(router.findShortestPath(D, A).isEmpty(), "Unreachable target should give an empty path");
+    }
+
+    @Test
+    void testBidirectionalMatchesUnidirectionalCost() {
+        Random rand = new Random(11);
+        Graph random = GraphGenerator.random(300, 900, rand);
+        List<Node> nodes = new ArrayList<>(random.getNodes());
+        StaticRouter forward = new StaticRouter(random);
+        StaticRouter bidirectional = new StaticRouter(random, StaticRouter.Mode.BIDIRECTIONAL);
+        SearchStats forwardStats = new SearchStats();
+        SearchStats bidirectionalStats = new SearchStats();
+
+        for (int i = 0; i < 200; i++) {
+            Node start = nodes.get(rand.nextInt(nodes.size()));
+            Node end = nodes.get(rand.nextInt(nodes.size()));
+            List<Node> expected = forward.findShortestPath(start, end, forwardStats);
+            List<Node> actual = bidirectional.findShortestPath(start, end, bidirectionalStats);
+            assertEquals(expected.isEmpty(), actual.isEmpty(), "Both modes should agree on reachability");
+            assertEquals(pathCost(random, expected), pathCost(random, actual), 1e-9, "Both modes should find the same cost");
+        }
+        assertTrue(bidirectionalStats.getSettledNodes() < forwardStats.getSettledNodes(),
+                "Bidirectional search should settle fewer nodes overall");
+    }
+
+    @Test
+    void testRouteResultCarriesCostsAndEdges() {
+        for (StaticRouter.Mode mode : StaticRouter.Mode.values()) {
+            RouteResult route = new StaticRouter(graph, mode).route(A, D);
+            assertTrue(route.isFound(), mode + " should find a route");
+            assertEquals(3.0, route.getBaseCost(), 1e-9, mode + " base cost");
+            assertEquals(route.getBaseCost(), route.getAdjustedCost(), 1e-9, "Stored weights are used as-is");
+            assertEquals(3, route.getHopCount());
+            assertEquals(List.of(A, B, C, D), route.getPath());
+            int[] expectedIds = {graph.getEdgesFrom(A).get(0).getId(), graph.getEdgesFrom(B).get(0).getId(),
+                    graph.getEdgesFrom(C).get(0).getId()};
+            assertArrayEquals(expectedIds, route.getEdgeIds(), "Edge ids should follow the path");
+            assertTrue(route.getSettledNodes() > 0 && route.getRelaxedEdges() > 0);
+            assertTrue(route.getHeapOperations() >= route.getSettledNodes(), "Every settled node was polled");
+        }
+
+        RouteResult missing = new StaticRouter(graph).route(D, A);
+        assertFalse(missing.isFound(), "Edges are directed");
+        assertTrue(missing.getPath().isEmpty());
+        assertEquals(Double.POSITIVE_INFINITY, missing.getBaseCost());
+
+        RouteResult self = new StaticRouter(graph, StaticRouter.Mode.BIDIRECTIONAL).route(A, A);
+        assertTrue(self.isFound());
+        assertEquals(List.of(A), self.getPath());
+        assertEquals(0.0, self.getBaseCost());
+    }
+
+    @Test
+    void testRouteResultAddsToStats() {
+        SearchStats stats = new SearchStats();
+        RouteResult route = new StaticRouter(graph).route(A, D, stats);
+        assertEquals(route.getSettledNodes(), stats.getSettledNodes());
+        assertEquals(route.getRelaxedEdges(), stats.getRelaxedEdges());
+        assertEquals(route.getHeapOperations(), stats.getHeapOperations());
+        stats.add(route);
+        assertEquals(2, stats.getQueries());
+        assertEquals(2 * route.getHeapOperations(), stats.getHeapOperations());
+    }
+
+    static double pathCost(Graph graph, List<Node> path) {
+        double total = 0.0;
+        for (int i = 0; i < path.size() - 1; i++) {
+            double best = Double.POSITIVE_INFINITY;
+            for (Edge edge : graph.getEdgesFrom(path.get(i))) {
+                if (edge.getTo().equals(path.get(i + 1))) best = Math.min(best, edge.getWeight());
+            }
+            total += best;
+        }
+        return total;
+    }
+}
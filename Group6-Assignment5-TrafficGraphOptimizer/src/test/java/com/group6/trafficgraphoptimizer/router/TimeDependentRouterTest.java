@@ -0,0 +1,132 @@
+package com.group6.trafficgraphoptimizer.router;
+
+import com.group6.trafficgraphoptimizer.experiment.GraphGenerator;
+import com.group6.trafficgraphoptimizer.graph.CompactGraph;
+import com.group6.trafficgraphoptimizer.graph.Edge;
+import com.group6.trafficgraphoptimizer.graph.Graph;
+import com.group6.trafficgraphoptimizer.graph.Node;
+import com.group6.trafficgraphoptimizer.traffic.TravelTimeProfiles;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the TimeDependentRouter class.
+ */
+public class TimeDependentRouterTest {
+
+    private Graph graph;
+    private Node A, B, C, D;
+    private TravelTimeProfiles profiles;
+
+    @BeforeEach
+    void setUp() {
+        // A-B-D is quick at night but B-D jams at midday; A-C-D is steady
+        graph = new Graph();
+        A = new Node("A");
+        B = new Node("B");
+        C = new Node("C");
+        D = new Node("D");
+        graph.addEdge(A, B, 10.0);
+        graph.addEdge(B, D, 10.0);
+        graph.addEdge(A, C, 15.0);
+        graph.addEdge(C, D, 15.0);
+
+        TravelTimeProfiles.Builder builder = TravelTimeProfiles.builder(TravelTimeProfiles.MINUTES_PER_DAY, 4);
+        int jam = builder.addShape(new double[] {0, 600, 720, 840}, new double[] {1.0, 1.0, 4.0, 1.0});
+        profiles = builder.assign(1, jam).build();
+    }
+
+    @Test
+    void testRouteDependsOnDepartureTime() {
+        TimeDependentRouter router = new TimeDependentRouter(graph, profiles);
+
+        assertEquals(List.of(A, B, D), router.findShortestPath(A, D, 120), "Night route should use the fast road");
+        assertEquals(140.0, router.earliestArrival(A, D, 120), 1e-9);
+        assertEquals(List.of(A, C, D), router.findShortestPath(A, D, 700), "Midday route should avoid the jam");
+        assertEquals(730.0, router.earliestArrival(A, D, 700), 1e-9);
+        assertEquals(List.of(A, B, D), router.findShortestPath(A, D), "Default departure is time 0");
+        assertEquals(Double.POSITIVE_INFINITY, router.earliestArrival(D, A, 0), "No way back");
+        assertEquals(50.0, router.earliestArrival(A, A, 50), "Start equals end");
+    }
+
+    @Test
+    void testProfileMatchesSingleQueries() {
+        TimeDependentRouter router = new TimeDependentRouter(graph, profiles);
+        TravelTimeFunction profile = router.profile(A, D, 480, 960);
+
+        assertNotNull(profile);
+        assertEquals(20.0, profile.getMin(), 1e-9, "Fastest trip uses the free road");
+        assertEquals(30.0, profile.getMax(), 1e-9, "Slowest trip takes the steady road");
+        for (double departure = 480; departure <= 960; departure += 7.5) {
+            assertEquals(router.earliestArrival(A, D, departure) - departure, profile.valueAt(departure), 1e-9,
+                    "Profile should agree with a query at " + departure);
+        }
+        assertTrue(profile.size() < 20, "Profile should be compact, had " + profile.size() + " breakpoints");
+        assertNull(router.profile(D, A, 0, 10), "Unreachable targets have no profile");
+        assertThrows(IllegalArgumentException.class, () -> router.profile(A, D, 10, 0));
+    }
+
+    @Test
+    void testAStarAndProfilesOnRandomGraph() {
+        Random rand = new Random(5);
+        Graph random = GraphGenerator.random(300, 1200, rand);
+        CompactGraph snapshot = random.snapshot();
+        TravelTimeProfiles rushHour = TravelTimeProfiles.rushHour(random.getEdgeCount());
+        TimeDependentRouter dijkstra = new TimeDependentRouter(snapshot, rushHour, 0);
+        TimeDependentRouter aStar = new TimeDependentRouter(snapshot, rushHour, 8);
+
+        SearchStats dijkstraStats = new SearchStats();
+        SearchStats aStarStats = new SearchStats();
+        for (int i = 0; i < 40; i++) {
+            Node start = snapshot.node(rand.nextInt(300)), end = snapshot.node(rand.nextInt(300));
+            double departure = rand.nextDouble() * TravelTimeProfiles.MINUTES_PER_DAY;
+            double expected = dijkstra.earliestArrival(start, end, departure);
+            assertEquals(expected, aStar.earliestArrival(start, end, departure), 1e-9, "A* should be exact");
+            dijkstra.findShortestPath(start, end, departure, dijkstraStats);
+            List<Node> path = aStar.findShortestPath(start, end, departure, aStarStats);
+            if (expected < Double.POSITIVE_INFINITY) {
+                assertEquals(expected, replay(random, path, departure), 1e-9, "Path should achieve the arrival time");
+            }
+
+            if (i % 8 == 0 && expected < Double.POSITIVE_INFINITY) {
+                TravelTimeFunction profile = aStar.profile(start, end, 420, 600);
+                for (double t = 420; t <= 600; t += 15) {
+                    assertEquals(dijkstra.earliestArrival(start, end, t) - t, profile.valueAt(t), 1e-6,
+                            "Profile should match single queries");
+                }
+            }
+        }
+        assertTrue(aStarStats.getSettledNodes() < dijkstraStats.getSettledNodes(),
+                "Lower-bound landmarks should prune the search");
+    }
+
+    private static double replay(Graph graph, List<Node> path, double departure) {
+        CompactGraph snapshot = graph.snapshot();
+        TravelTimeProfiles rushHour = TravelTimeProfiles.rushHour(graph.getEdgeCount());
+        double time = departure;
+        for (int i = 0; i + 1 < path.size(); i++) {
+            double best = Double.POSITIVE_INFINITY;
+            for (Edge edge : graph.getEdgesFrom(path.get(i))) {
+                if (edge.getTo().equals(path.get(i + 1))) {
+                    best = Math.min(best, rushHour.travelTime(edge.getId(), edge.getWeight(), time));
+                }
+            }
+            time += best;
+        }
+        assertEquals(snapshot.nodeCount(), graph.getNodeCount());
+        return time;
+    }
+
+    @Test
+    void testRejectsNonFifoProfiles() {
+        TravelTimeProfiles.Builder builder = TravelTimeProfiles.builder(100.0, 4);
+        int cliff = builder.addShape(new double[] {0, 1}, new double[] {5.0, 1.0});
+        TravelTimeProfiles bad = builder.assign(0, cliff).build();
+        assertThrows(IllegalArgumentException.class, () -> new TimeDependentRouter(graph, bad));
+    }
+}
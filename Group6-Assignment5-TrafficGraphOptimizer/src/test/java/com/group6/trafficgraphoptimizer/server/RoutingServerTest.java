@@ -0,0 +1,127 @@
+package com.group6.trafficgraphoptimizer.server;
+
+import com.group6.trafficgraphoptimizer.graph.CompactGraph;
+import com.group6.trafficgraphoptimizer.graph.Graph;
+import com.group6.trafficgraphoptimizer.graph.Node;
+import com.group6.trafficgraphoptimizer.router.AdaptiveRouter;
+import com.group6.trafficgraphoptimizer.router.StaticRouter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the RoutingServer class.
+ */
+public class RoutingServerTest {
+
+    private RoutingServer server;
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Graph graph = new Graph();
+        Node A = new Node("A"), B = new Node("B"), C = new Node("C"), D = new Node("D");
+        graph.addEdge(A, B, 4);
+        graph.addEdge(B, C, 3);
+        graph.addEdge(A, C, 10);
+        graph.addEdge(C, D, 2.5);
+        graph.addNode(new Node("lonely \"one\""));
+        CompactGraph snapshot = graph.snapshot();
+        server = new RoutingServer(snapshot, new StaticRouter(snapshot), 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void testRouteEndpoint() throws Exception {
+        HttpResponse<String> response = get("/route?from=A&to=D");
+        assertEquals(200, response.statusCode());
+        assertEquals("application/json", response.headers().firstValue("Content-Type").orElse(""));
+        assertEquals("{\"from\":\"A\",\"to\":\"D\",\"found\":true,\"cost\":9.5,\"baseCost\":9.5,\"path\":[\"A\",\"B\",\"C\",\"D\"],"
+                        + "\"settledNodes\":4}",
+                response.body(), "Route should list the path, its cost and the search effort");
+
+        assertEquals("{\"from\":\"D\",\"to\":\"A\",\"found\":false,\"settledNodes\":1}", get("/route?from=D&to=A").body(),
+                "Unreachable targets should be reported as not found");
+        assertEquals("{\"from\":\"lonely \\\"one\\\"\",\"to\":\"A\",\"found\":false,\"settledNodes\":1}",
+                get("/route?from=lonely%20%22one%22&to=A").body(), "Ids should be decoded and escaped");
+    }
+
+    @Test
+    void testRouteReportsTheCostTheRouterChoseBy() throws Exception {
+        server.close();
+        Graph graph = new Graph();
+        Node A = new Node("A"), B = new Node("B"), C = new Node("C"), D = new Node("D");
+        graph.addEdge(A, B, 4);
+        graph.addEdge(B, C, 3);
+        graph.addEdge(A, C, 10);
+        graph.addEdge(C, D, 2.5);
+        CompactGraph snapshot = graph.snapshot();
+        // Traffic doubles every edge and jams A -> B, so the router avoids it
+        AdaptiveRouter router = new AdaptiveRouter(snapshot, (source, target) -> (edgeId, baseWeight) ->
+                baseWeight == 4 ? baseWeight * 10 : baseWeight * 2);
+        server = new RoutingServer(snapshot, router, 0);
+
+        assertEquals("{\"from\":\"A\",\"to\":\"D\",\"found\":true,\"cost\":25,\"baseCost\":12.5,"
+                        + "\"path\":[\"A\",\"C\",\"D\"],\"settledNodes\":3}",
+                get("/route?from=A&to=D").body(), "Cost should be the adjusted cost the route was chosen by");
+    }
+
+    @Test
+    void testMatrixEndpoint() throws Exception {
+        HttpResponse<String> response = get("/matrix?sources=A,B&targets=C,A");
+        assertEquals(200, response.statusCode());
+        assertEquals("{\"sources\":[\"A\",\"B\"],\"targets\":[\"C\",\"A\"],\"costs\":[[7,0],[3,null]]}",
+                response.body(), "Unreachable cells should be null");
+    }
+
+    @Test
+    void testHealthAndErrors() throws Exception {
+        assertEquals("{\"status\":\"ok\",\"nodes\":5,\"edges\":4}", get("/health").body());
+
+        HttpResponse<String> missing = get("/route?from=A");
+        assertEquals(400, missing.statusCode(), "Missing parameters are client errors");
+        assertEquals("{\"error\":\"Missing parameter 'to'\"}", missing.body());
+
+        HttpResponse<String> post = client.send(HttpRequest.newBuilder(uri("/health"))
+                .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(405, post.statusCode(), "Only GET should be accepted");
+    }
+
+    @Test
+    void testLoadGeneratorMeasuresBothModes() {
+        URI base = uri("/");
+        LoadGenerator generator = new LoadGenerator(LoadGenerator.routeRequests(base, List.of("A", "B", "C", "D"),
+                100, 1L));
+
+        LoadGenerator.Result closed = generator.closedLoop(4, Duration.ofMillis(300));
+        assertTrue(closed.getRequests() > 0, "Closed loop should complete requests");
+        assertEquals(0, closed.getErrors(), "All requests should succeed");
+        assertTrue(closed.getThroughput() > 0);
+
+        LoadGenerator.Result open = generator.openLoop(200, Duration.ofMillis(300));
+        assertEquals(60, open.getRequests(), "Open loop should send rate x duration requests");
+        assertEquals(0, open.getErrors());
+        assertTrue(open.getLatency().getValueAtPercentile(99) > 0, "Latencies should be recorded");
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(path)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + server.getPort() + path);
+    }
+}
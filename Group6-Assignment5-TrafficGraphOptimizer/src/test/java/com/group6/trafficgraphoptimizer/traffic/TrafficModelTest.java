@@ -0,0 +1,98 @@
+package com.group6.trafficgraphoptimizer.traffic;
+
+import com.group6.trafficgraphoptimizer.experiment.GraphGenerator;
+import com.group6.trafficgraphoptimizer.graph.Graph;
+import com.group6.trafficgraphoptimizer.graph.Node;
+import com.group6.trafficgraphoptimizer.router.AdaptiveRouter;
+import com.group6.trafficgraphoptimizer.router.StaticRouter;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the TrafficModel implementations.
+ */
+public class TrafficModelTest {
+
+    private final Node A = new Node("A");
+    private final Node B = new Node("B");
+
+    @Test
+    void testRandomModelIsReproduciblePerQuery() {
+        RandomTrafficModel model = new RandomTrafficModel(0.2, 7L);
+        TrafficModel.EdgeCosts first = model.forQuery(A, B);
+        TrafficModel.EdgeCosts second = model.forQuery(A, B);
+        for (int i = 0; i < 100; i++) {
+            double cost = first.cost(i, 10.0);
+            assertEquals(cost, second.cost(i, 10.0), "Same query and seed should give the same costs");
+            assertTrue(cost >= 10.0 && cost < 12.0, "Cost should be raised by at most 20%");
+        }
+    }
+
+    @Test
+    void testRandomModelRejectsNegativeSpread() {
+        assertThrows(IllegalArgumentException.class, () -> new RandomTrafficModel(-0.1, 1L));
+    }
+
+    @Test
+    void testPrecomputedModelUsesFactorPerEdge() {
+        PrecomputedTrafficModel model = new PrecomputedTrafficModel(new double[] { 1.5, 2.0 });
+        TrafficModel.EdgeCosts costs = model.forQuery(A, B);
+        assertEquals(3.0, costs.cost(0, 2.0), "Edge 0 should use factor 1.5");
+        assertEquals(4.0, costs.cost(1, 2.0), "Edge 1 should use factor 2.0");
+        assertEquals(2.0, costs.cost(5, 2.0), "Edges without a factor should keep their weight");
+    }
+
+    @Test
+    void testTimeOfDayModelInterpolatesBetweenHours() {
+        double[] hourly = new double[24];
+        Arrays.fill(hourly, 1.0);
+        hourly[8] = 2.0;
+        Clock clock = Clock.fixed(Instant.parse("2024-01-01T07:30:00Z"), ZoneOffset.UTC);
+        TimeOfDayTrafficModel model = new TimeOfDayTrafficModel(hourly, clock);
+
+        assertEquals(1.5, model.factorAt(LocalTime.of(7, 30)), 1e-9, "Half past seven is halfway to the peak");
+        assertEquals(2.0, model.factorAt(LocalTime.of(8, 0)), 1e-9, "Peak hour should use its factor");
+        assertEquals(15.0, model.forQuery(A, B).cost(0, 10.0), 1e-9, "Query should use the clock time");
+        assertThrows(IllegalArgumentException.class, () -> new TimeOfDayTrafficModel(new double[12], clock));
+    }
+
+    @Test
+    void testAdaptiveRouterWithNeutralModelMatchesStaticRouter() {
+        Graph graph = GraphGenerator.random(200, 800, new Random(3));
+        double[] ones = new double[graph.getEdgeCount()];
+        Arrays.fill(ones, 1.0);
+        AdaptiveRouter adaptive = new AdaptiveRouter(graph, new PrecomputedTrafficModel(ones));
+        StaticRouter router = new StaticRouter(graph);
+
+        List<Node> nodes = new ArrayList<>(graph.getNodes());
+        for (int i = 0; i < 20; i++) {
+            Node start = nodes.get(i), end = nodes.get(nodes.size() - 1 - i);
+            assertEquals(router.findShortestPath(start, end), adaptive.findShortestPath(start, end),
+                    "Neutral traffic should give the static route");
+        }
+    }
+
+    @Test
+    void testSeededAdaptiveRoutingIsReproducible() {
+        Graph graph = GraphGenerator.grid(15, 15, new Random(4));
+        AdaptiveRouter first = new AdaptiveRouter(graph, new RandomTrafficModel(0.5, 11L));
+        AdaptiveRouter second = new AdaptiveRouter(graph, new RandomTrafficModel(0.5, 11L));
+
+        List<Node> nodes = new ArrayList<>(graph.getNodes());
+        for (int i = 0; i < 20; i++) {
+            Node start = nodes.get(i * 3), end = nodes.get(nodes.size() - 1 - i * 5);
+            assertEquals(first.findShortestPath(start, end), second.findShortestPath(start, end),
+                    "Equal seeds should give equal routes");
+        }
+    }
+}
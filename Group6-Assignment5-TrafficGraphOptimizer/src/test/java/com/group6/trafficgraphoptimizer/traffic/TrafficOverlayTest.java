@@ -0,0 +1,93 @@
+package com.group6.trafficgraphoptimizer.traffic;
+
+import com.group6.trafficgraphoptimizer.graph.Edge;
+import com.group6.trafficgraphoptimizer.graph.Graph;
+import com.group6.trafficgraphoptimizer.graph.Node;
+import com.group6.trafficgraphoptimizer.router.AdaptiveRouter;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the TrafficOverlay class.
+ */
+public class TrafficOverlayTest {
+
+    @Test
+    void testInitialEpochHoldsBaseWeights() {
+        Graph graph = new Graph();
+        Node A = new Node("A"), B = new Node("B"), C = new Node("C");
+        graph.addEdge(A, B, 2.0);
+        graph.addEdge(B, C, 5.0);
+
+        TrafficOverlay overlay = new TrafficOverlay(graph);
+        WeightEpoch epoch = overlay.current();
+
+        assertEquals(0, epoch.getVersion(), "First epoch should have version 0");
+        assertEquals(2, epoch.size(), "Epoch should cover every edge");
+        for (Node node : graph.getNodes()) {
+            for (Edge edge : graph.getEdgesFrom(node)) {
+                assertEquals(edge.getWeight(), epoch.weight(edge.getId(), -1), "Epoch should start at the base weight");
+            }
+        }
+        assertEquals(7.5, epoch.weight(99, 7.5), "Uncovered edges should fall back to the given weight");
+    }
+
+    @Test
+    void testPublishCreatesNewEpochAndKeepsPinnedOne() {
+        Graph graph = new Graph();
+        Node A = new Node("A"), B = new Node("B");
+        graph.addEdge(A, B, 4.0);
+        graph.addEdge(B, A, 3.0);
+        long graphVersion = graph.getVersion();
+
+        TrafficOverlay overlay = new TrafficOverlay(graph);
+        WeightEpoch pinned = overlay.current();
+
+        WeightEpoch next = overlay.publish(new TrafficUpdateBatch().setWeight(0, 10.0).setCongestion(1, 2.0));
+
+        assertEquals(1, next.getVersion(), "Publishing should advance the version");
+        assertSame(next, overlay.current(), "Published epoch should become current");
+        assertEquals(10.0, next.weight(0, 0), "Absolute update should replace the weight");
+        assertEquals(6.0, next.weight(1, 0), "Congestion should scale the base weight");
+        assertEquals(4.0, pinned.weight(0, 0), "Pinned epoch must not change");
+        assertEquals(graphVersion, graph.getVersion(), "Traffic updates must not modify the graph");
+
+        WeightEpoch later = overlay.publish(new TrafficUpdateBatch().setCongestion(1, 1.5));
+        assertEquals(10.0, later.weight(0, 0), "Untouched edges should carry over");
+        assertEquals(4.5, later.weight(1, 0), "Congestion should be relative to the base, not the last epoch");
+    }
+
+    @Test
+    void testEmptyBatchAndInvalidUpdates() {
+        Graph graph = new Graph();
+        graph.addEdge(new Node("A"), new Node("B"), 1.0);
+        TrafficOverlay overlay = new TrafficOverlay(graph);
+
+        assertSame(overlay.current(), overlay.publish(new TrafficUpdateBatch()), "Empty batch should not publish");
+        assertThrows(IllegalArgumentException.class, () -> new TrafficUpdateBatch().setWeight(-1, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new TrafficUpdateBatch().setWeight(0, Double.NaN));
+        assertThrows(IllegalArgumentException.class,
+                () -> overlay.publish(new TrafficUpdateBatch().setWeight(5, 1.0)));
+        assertEquals(0, overlay.getVersion(), "Rejected batch should not publish");
+    }
+
+    @Test
+    void testAdaptiveRouterFollowsOverlay() {
+        Graph graph = new Graph();
+        Node A = new Node("A"), B = new Node("B"), C = new Node("C"), D = new Node("D");
+        graph.addEdge(A, B, 1.0); // id 0
+        graph.addEdge(B, D, 1.0); // id 1
+        graph.addEdge(A, C, 2.0); // id 2
+        graph.addEdge(C, D, 2.0); // id 3
+
+        TrafficOverlay overlay = new TrafficOverlay(graph);
+        AdaptiveRouter router = new AdaptiveRouter(graph, overlay);
+        assertEquals(List.of(A, B, D), router.findShortestPath(A, D), "Free-flowing route should go via B");
+
+        overlay.publish(new TrafficUpdateBatch().setCongestion(1, 10.0));
+        assertEquals(List.of(A, C, D), router.findShortestPath(A, D), "Jam on B-D should divert via C");
+    }
+}
@@ -0,0 +1,65 @@
+package com.group6.trafficgraphoptimizer.traffic;
+
+import com.group6.trafficgraphoptimizer.graph.Graph;
+import com.group6.trafficgraphoptimizer.graph.Node;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the TravelTimeProfiles class.
+ */
+public class TravelTimeProfilesTest {
+
+    @Test
+    void testInterpolatesAndWrapsAroundThePeriod() {
+        TravelTimeProfiles.Builder builder = TravelTimeProfiles.builder(100.0, 3);
+        int shape = builder.addShape(new double[] {20, 60}, new double[] {1.0, 3.0});
+        TravelTimeProfiles profiles = builder.assign(0, shape).assign(2, shape).build();
+
+        assertEquals(1.0, profiles.factorAt(shape, 20), 1e-12, "Breakpoints should be exact");
+        assertEquals(2.0, profiles.factorAt(shape, 40), 1e-12, "Between breakpoints should be linear");
+        assertEquals(2.0, profiles.factorAt(shape, 90), 1e-12, "After the last breakpoint should head back to the first");
+        assertEquals(4.0 / 3, profiles.factorAt(shape, 10), 1e-12, "Before the first breakpoint should wrap around");
+        assertEquals(2.0, profiles.factorAt(shape, 340), 1e-12, "Later periods should repeat");
+        assertEquals(4.0 / 3, profiles.factorAt(shape, -90), 1e-12, "Negative times should wrap");
+
+        assertEquals(20.0, profiles.travelTime(0, 10.0, 40), 1e-12, "Travel time should scale the base weight");
+        assertEquals(10.0, profiles.travelTime(1, 10.0, 40), "Edges without a shape should stay constant");
+        assertEquals(10.0, profiles.lowerBound(2, 10.0), 1e-12, "Lower bound should use the smallest factor");
+        assertEquals(-1, profiles.shapeOf(99), "Unknown edges should be constant");
+    }
+
+    @Test
+    void testRushHourProfileFollowsTimeOfDayModel() {
+        TravelTimeProfiles profiles = TravelTimeProfiles.rushHour(1);
+        assertEquals(TravelTimeProfiles.MINUTES_PER_DAY, profiles.getPeriod());
+        assertEquals(1.8, profiles.travelTime(0, 1.0, 8 * 60), 1e-12, "Morning peak at 8:00");
+        assertEquals(1.6, profiles.travelTime(0, 1.0, 8 * 60 + 30), 1e-12, "Half past eight is interpolated");
+    }
+
+    @Test
+    void testRejectsNonFifoEdgesAndBadShapes() {
+        Graph graph = new Graph();
+        graph.addEdge(new Node("A"), new Node("B"), 100.0);
+        TravelTimeProfiles.Builder builder = TravelTimeProfiles.builder(100.0, 1);
+        // Factor drops by 1 over 10 time units: a weight of 100 arrives 9 units earlier by waiting 1
+        int shape = builder.addShape(new double[] {0, 10}, new double[] {2.0, 1.0});
+        TravelTimeProfiles profiles = builder.assign(0, shape).build();
+        assertThrows(IllegalArgumentException.class, () -> profiles.checkFifo(graph.snapshot()),
+                "Steep drops should violate FIFO");
+
+        graph.getEdgesFrom(new Node("A")).get(0).setWeight(5.0);
+        assertDoesNotThrow(() -> profiles.checkFifo(graph.snapshot()), "Light edges should be FIFO");
+
+        TravelTimeProfiles.Builder other = TravelTimeProfiles.builder(100.0, 1);
+        assertThrows(IllegalArgumentException.class, () -> other.addShape(new double[] {10, 10}, new double[] {1, 1}),
+                "Times must increase");
+        assertThrows(IllegalArgumentException.class, () -> other.addShape(new double[] {100}, new double[] {1}),
+                "Times must lie within the period");
+        assertThrows(IllegalArgumentException.class, () -> other.addShape(new double[] {0}, new double[] {0}),
+                "Factors must be positive");
+        assertThrows(IllegalArgumentException.class, () -> other.assign(0, 0), "Shape must exist");
+        assertThrows(IllegalArgumentException.class, () -> TravelTimeProfiles.builder(0, 1), "Period must be positive");
+    }
+}